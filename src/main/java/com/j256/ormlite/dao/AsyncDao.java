@@ -0,0 +1,661 @@
+package com.j256.ormlite.dao;
+
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.stmt.PreparedDelete;
+import com.j256.ormlite.stmt.PreparedQuery;
+import com.j256.ormlite.stmt.PreparedUpdate;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.table.DatabaseTableConfig;
+
+/**
+ * Proxy to a {@link Dao} that runs each operation on an executor and returns a {@link CompletableFuture} of the result
+ * so a number of independent DAO calls can overlap instead of running one after another on the calling thread. Any
+ * {@link SQLException} completes the future exceptionally.
+ *
+ * <pre>
+ * AsyncDao&lt;Account, String&gt; asyncDao = AsyncDao.createDao(connectionSource, Account.class);
+ * CompletableFuture&lt;Account&gt; account = asyncDao.queryForId(&quot;foo&quot;);
+ * CompletableFuture&lt;Long&gt; count = asyncDao.countOf();
+ * </pre>
+ *
+ * <p>
+ * The number of operations running at once is limited to the max-concurrent value which should be the number of
+ * connections in the {@link ConnectionSource} pool. When that many operations are running, the calling thread blocks
+ * until one finishes (or the acquire-timeout expires) which provides back-pressure instead of queuing an unlimited
+ * number of operations that are all waiting for a connection. The default executor uses virtual threads if the JVM
+ * supports them, otherwise a fixed pool of max-concurrent daemon threads.
+ * </p>
+ *
+ * <p>
+ * <b>NOTE:</b> Operations that return iterators or other objects holding open a connection are not included since the
+ * connection would be used outside of the executor. Use {@link #submit(String, Callable)} to run any other operation.
+ * You should {@link #close()} the async DAO when you are done with it to shutdown the default executor.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class AsyncDao<T, ID> implements AutoCloseable {
+
+	/** default maximum number of operations that run at once if the connection-source is not single connection */
+	public static final int DEFAULT_MAX_CONCURRENT = 10;
+
+	private static final Logger logger = LoggerFactory.getLogger(AsyncDao.class);
+	private static final AtomicInteger threadCounter = new AtomicInteger();
+
+	private final Dao<T, ID> dao;
+	private final Executor executor;
+	private final ExecutorService ownedExecutor;
+	private final int maxConcurrent;
+	private final Semaphore permits;
+	private final ConcurrentHashMap<String, OperationStats> statsMap = new ConcurrentHashMap<String, OperationStats>();
+	private volatile long acquireTimeoutMillis;
+
+	/**
+	 * Create an async DAO which runs at most {@link #DEFAULT_MAX_CONCURRENT} operations at once, or 1 if the DAO's
+	 * connection-source only has a single connection, on its own executor.
+	 */
+	public AsyncDao(Dao<T, ID> dao) {
+		this(dao, defaultMaxConcurrent(dao));
+	}
+
+	/**
+	 * Create an async DAO which runs at most maxConcurrent operations at once on its own executor.
+	 */
+	public AsyncDao(Dao<T, ID> dao, int maxConcurrent) {
+		this(dao, null, createExecutor(maxConcurrent), maxConcurrent);
+	}
+
+	/**
+	 * Create an async DAO which runs at most maxConcurrent operations at once on the executor. The executor is not shut
+	 * down by {@link #close()}.
+	 */
+	public AsyncDao(Dao<T, ID> dao, Executor executor, int maxConcurrent) {
+		this(dao, executor, null, maxConcurrent);
+	}
+
+	private AsyncDao(Dao<T, ID> dao, Executor executor, ExecutorService ownedExecutor, int maxConcurrent) {
+		if (maxConcurrent <= 0) {
+			throw new IllegalArgumentException("Max concurrent must be > 0: " + maxConcurrent);
+		}
+		this.dao = dao;
+		this.ownedExecutor = ownedExecutor;
+		this.executor = (ownedExecutor == null ? executor : ownedExecutor);
+		this.maxConcurrent = maxConcurrent;
+		this.permits = new Semaphore(maxConcurrent, true);
+	}
+
+	/**
+	 * Call through to {@link DaoManager#createDao(ConnectionSource, Class)} with the returned DAO wrapped in an
+	 * AsyncDao.
+	 */
+	public static <T, ID> AsyncDao<T, ID> createDao(ConnectionSource connectionSource, Class<T> clazz)
+			throws SQLException {
+		@SuppressWarnings("unchecked")
+		Dao<T, ID> castDao = (Dao<T, ID>) DaoManager.createDao(connectionSource, clazz);
+		return new AsyncDao<T, ID>(castDao);
+	}
+
+	/**
+	 * Call through to {@link DaoManager#createDao(ConnectionSource, DatabaseTableConfig)} with the returned DAO wrapped
+	 * in an AsyncDao.
+	 */
+	public static <T, ID> AsyncDao<T, ID> createDao(ConnectionSource connectionSource,
+			DatabaseTableConfig<T> tableConfig) throws SQLException {
+		@SuppressWarnings("unchecked")
+		Dao<T, ID> castDao = (Dao<T, ID>) DaoManager.createDao(connectionSource, tableConfig);
+		return new AsyncDao<T, ID>(castDao);
+	}
+
+	/**
+	 * @see Dao#queryForId(Object)
+	 */
+	public CompletableFuture<T> queryForId(final ID id) {
+		return submit("queryForId", new Callable<T>() {
+			@Override
+			public T call() throws SQLException {
+				return dao.queryForId(id);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#queryForFirst(PreparedQuery)
+	 */
+	public CompletableFuture<T> queryForFirst(final PreparedQuery<T> preparedQuery) {
+		return submit("queryForFirst", new Callable<T>() {
+			@Override
+			public T call() throws SQLException {
+				return dao.queryForFirst(preparedQuery);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#queryForAll()
+	 */
+	public CompletableFuture<List<T>> queryForAll() {
+		return submit("queryForAll", new Callable<List<T>>() {
+			@Override
+			public List<T> call() throws SQLException {
+				return dao.queryForAll();
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#queryForEq(String, Object)
+	 */
+	public CompletableFuture<List<T>> queryForEq(final String fieldName, final Object value) {
+		return submit("queryForEq", new Callable<List<T>>() {
+			@Override
+			public List<T> call() throws SQLException {
+				return dao.queryForEq(fieldName, value);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#queryForMatching(Object)
+	 */
+	public CompletableFuture<List<T>> queryForMatching(final T matchObj) {
+		return submit("queryForMatching", new Callable<List<T>>() {
+			@Override
+			public List<T> call() throws SQLException {
+				return dao.queryForMatching(matchObj);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#queryForFieldValues(Map)
+	 */
+	public CompletableFuture<List<T>> queryForFieldValues(final Map<String, Object> fieldValues) {
+		return submit("queryForFieldValues", new Callable<List<T>>() {
+			@Override
+			public List<T> call() throws SQLException {
+				return dao.queryForFieldValues(fieldValues);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#query(PreparedQuery)
+	 */
+	public CompletableFuture<List<T>> query(final PreparedQuery<T> preparedQuery) {
+		return submit("query", new Callable<List<T>>() {
+			@Override
+			public List<T> call() throws SQLException {
+				return dao.query(preparedQuery);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#create(Object)
+	 */
+	public CompletableFuture<Integer> create(final T data) {
+		return submit("create", new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.create(data);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#create(Collection)
+	 */
+	public CompletableFuture<Integer> create(final Collection<T> datas) {
+		return submit("createCollection", new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.create(datas);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#createIfNotExists(Object)
+	 */
+	public CompletableFuture<T> createIfNotExists(final T data) {
+		return submit("createIfNotExists", new Callable<T>() {
+			@Override
+			public T call() throws SQLException {
+				return dao.createIfNotExists(data);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#createOrUpdate(Object)
+	 */
+	public CompletableFuture<Dao.CreateOrUpdateStatus> createOrUpdate(final T data) {
+		return submit("createOrUpdate", new Callable<Dao.CreateOrUpdateStatus>() {
+			@Override
+			public Dao.CreateOrUpdateStatus call() throws SQLException {
+				return dao.createOrUpdate(data);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#update(Object)
+	 */
+	public CompletableFuture<Integer> update(final T data) {
+		return submit("update", new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.update(data);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#updateId(Object, Object)
+	 */
+	public CompletableFuture<Integer> updateId(final T data, final ID newId) {
+		return submit("updateId", new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.updateId(data, newId);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#update(PreparedUpdate)
+	 */
+	public CompletableFuture<Integer> update(final PreparedUpdate<T> preparedUpdate) {
+		return submit("updatePrepared", new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.update(preparedUpdate);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#refresh(Object)
+	 */
+	public CompletableFuture<Integer> refresh(final T data) {
+		return submit("refresh", new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.refresh(data);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#delete(Object)
+	 */
+	public CompletableFuture<Integer> delete(final T data) {
+		return submit("delete", new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.delete(data);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#deleteById(Object)
+	 */
+	public CompletableFuture<Integer> deleteById(final ID id) {
+		return submit("deleteById", new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.deleteById(id);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#delete(Collection)
+	 */
+	public CompletableFuture<Integer> delete(final Collection<T> datas) {
+		return submit("deleteCollection", new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.delete(datas);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#deleteIds(Collection)
+	 */
+	public CompletableFuture<Integer> deleteIds(final Collection<ID> ids) {
+		return submit("deleteIds", new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.deleteIds(ids);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#delete(PreparedDelete)
+	 */
+	public CompletableFuture<Integer> delete(final PreparedDelete<T> preparedDelete) {
+		return submit("deletePrepared", new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.delete(preparedDelete);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#countOf()
+	 */
+	public CompletableFuture<Long> countOf() {
+		return submit("countOf", new Callable<Long>() {
+			@Override
+			public Long call() throws SQLException {
+				return dao.countOf();
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#countOf(PreparedQuery)
+	 */
+	public CompletableFuture<Long> countOf(final PreparedQuery<T> preparedQuery) {
+		return submit("countOfPrepared", new Callable<Long>() {
+			@Override
+			public Long call() throws SQLException {
+				return dao.countOf(preparedQuery);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#idExists(Object)
+	 */
+	public CompletableFuture<Boolean> idExists(final ID id) {
+		return submit("idExists", new Callable<Boolean>() {
+			@Override
+			public Boolean call() throws SQLException {
+				return dao.idExists(id);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#executeRaw(String, String...)
+	 */
+	public CompletableFuture<Integer> executeRaw(final String statement, final String... arguments) {
+		return submit("executeRaw", new Callable<Integer>() {
+			@Override
+			public Integer call() throws SQLException {
+				return dao.executeRaw(statement, arguments);
+			}
+		});
+	}
+
+	/**
+	 * @see Dao#callBatchTasks(Callable)
+	 */
+	public <CT> CompletableFuture<CT> callBatchTasks(final Callable<CT> callable) {
+		return submit("callBatchTasks", new Callable<CT>() {
+			@Override
+			public CT call() throws Exception {
+				return dao.callBatchTasks(callable);
+			}
+		});
+	}
+
+	/**
+	 * Run the callable on the executor with the same concurrency limit and metrics as the other operations. This can
+	 * be used to run any other DAO operations or a number of them together.
+	 *
+	 * @param operation
+	 *            Name of the operation used for the {@link #getOperationStats()}.
+	 */
+	public <R> CompletableFuture<R> submit(final String operation, final Callable<R> callable) {
+		final CompletableFuture<R> future = new CompletableFuture<R>();
+		try {
+			acquirePermit(operation);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			future.completeExceptionally(e);
+			return future;
+		} catch (SQLException e) {
+			future.completeExceptionally(e);
+			return future;
+		}
+		Runnable task = new Runnable() {
+			@Override
+			public void run() {
+				long startNanos = System.nanoTime();
+				R result = null;
+				Throwable throwable = null;
+				try {
+					result = callable.call();
+				} catch (Throwable th) {
+					throwable = th;
+				} finally {
+					// release before completing so dependent stages can get the permit
+					permits.release();
+				}
+				getStats(operation).record(System.nanoTime() - startNanos, (throwable == null));
+				if (throwable == null) {
+					future.complete(result);
+				} else {
+					logger.debug(throwable, "async {} operation threw exception", operation);
+					future.completeExceptionally(throwable);
+				}
+			}
+		};
+		try {
+			executor.execute(task);
+		} catch (RejectedExecutionException e) {
+			permits.release();
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	/**
+	 * Return the DAO that we are wrapping.
+	 */
+	public Dao<T, ID> getDao() {
+		return dao;
+	}
+
+	/**
+	 * Return the maximum number of operations that run at once.
+	 */
+	public int getMaxConcurrent() {
+		return maxConcurrent;
+	}
+
+	/**
+	 * Return the number of operations that are currently running.
+	 */
+	public int getActiveCount() {
+		return maxConcurrent - permits.availablePermits();
+	}
+
+	/**
+	 * Return an estimate of the number of threads blocked waiting to submit an operation.
+	 */
+	public int getWaitingCount() {
+		return permits.getQueueLength();
+	}
+
+	/**
+	 * Set the number of milliseconds to wait to submit an operation when max-concurrent operations are already running
+	 * after which the future completes with a {@link SQLException}. The default of 0 waits forever.
+	 */
+	public void setAcquireTimeoutMillis(long acquireTimeoutMillis) {
+		this.acquireTimeoutMillis = acquireTimeoutMillis;
+	}
+
+	/**
+	 * Return the latency statistics of each operation by operation name.
+	 */
+	public Map<String, OperationStats> getOperationStats() {
+		return Collections.<String, OperationStats> unmodifiableMap(statsMap);
+	}
+
+	/**
+	 * Clear the operation statistics.
+	 */
+	public void clearOperationStats() {
+		statsMap.clear();
+	}
+
+	/**
+	 * Shutdown the default executor. Operations that have already been submitted will finish. This does nothing if the
+	 * executor was passed into the constructor.
+	 */
+	@Override
+	public void close() {
+		if (ownedExecutor != null) {
+			ownedExecutor.shutdown();
+		}
+	}
+
+	private void acquirePermit(String operation) throws InterruptedException, SQLException {
+		long timeoutMillis = acquireTimeoutMillis;
+		if (timeoutMillis <= 0) {
+			permits.acquire();
+		} else if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+			throw new SQLException("Timed out after " + timeoutMillis + "ms waiting for one of " + maxConcurrent
+					+ " running operations to finish before running " + operation);
+		}
+	}
+
+	private OperationStats getStats(String operation) {
+		OperationStats stats = statsMap.get(operation);
+		if (stats == null) {
+			stats = new OperationStats();
+			OperationStats existing = statsMap.putIfAbsent(operation, stats);
+			if (existing != null) {
+				stats = existing;
+			}
+		}
+		return stats;
+	}
+
+	private static int defaultMaxConcurrent(Dao<?, ?> dao) {
+		ConnectionSource connectionSource = dao.getConnectionSource();
+		if (connectionSource != null && connectionSource.isSingleConnection(dao.getTableName())) {
+			return 1;
+		} else {
+			return DEFAULT_MAX_CONCURRENT;
+		}
+	}
+
+	/**
+	 * Create an executor using virtual threads if they are available (java 21+) otherwise a fixed thread pool.
+	 */
+	private static ExecutorService createExecutor(int maxConcurrent) {
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) method.invoke(null);
+		} catch (Exception e) {
+			// not available in this JVM
+		}
+		return Executors.newFixedThreadPool(maxConcurrent, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "ormlite-async-" + threadCounter.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Latency statistics for an operation.
+	 */
+	public static class OperationStats {
+
+		private final LongAdder count = new LongAdder();
+		private final LongAdder failureCount = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final AtomicLong maxNanos = new AtomicLong();
+
+		void record(long nanos, boolean success) {
+			count.increment();
+			if (!success) {
+				failureCount.increment();
+			}
+			totalNanos.add(nanos);
+			long max;
+			do {
+				max = maxNanos.get();
+			} while (nanos > max && !maxNanos.compareAndSet(max, nanos));
+		}
+
+		/**
+		 * Return the number of times the operation was run.
+		 */
+		public long getCount() {
+			return count.sum();
+		}
+
+		/**
+		 * Return the number of times the operation threw an exception.
+		 */
+		public long getFailureCount() {
+			return failureCount.sum();
+		}
+
+		/**
+		 * Return the total time spent running the operation in nanoseconds.
+		 */
+		public long getTotalNanos() {
+			return totalNanos.sum();
+		}
+
+		/**
+		 * Return the average time of the operation in nanoseconds or 0 if it has not been run.
+		 */
+		public long getAverageNanos() {
+			long num = count.sum();
+			if (num == 0) {
+				return 0;
+			} else {
+				return totalNanos.sum() / num;
+			}
+		}
+
+		/**
+		 * Return the maximum time of the operation in nanoseconds.
+		 */
+		public long getMaxNanos() {
+			return maxNanos.get();
+		}
+
+		@Override
+		public String toString() {
+			return "count=" + getCount() + ",failures=" + getFailureCount() + ",avgNanos=" + getAverageNanos()
+					+ ",maxNanos=" + getMaxNanos();
+		}
+	}
+}
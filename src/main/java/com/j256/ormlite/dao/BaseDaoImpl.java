@@ -11,7 +11,9 @@ import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
 
+import com.j256.ormlite.dao.ColumnChunk.ColumnType;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.DatabaseField;
@@ -69,6 +71,8 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 			};
 	private static ReferenceObjectCache defaultObjectCache;
 	private static final Object constantObject = new Object();
+	/** default number of rows that are inserted in each batch by {@link #create(Collection)} */
+	public static final int DEFAULT_CREATE_BATCH_SIZE = 1000;
 
 	protected StatementExecutor<T, ID> statementExecutor;
 	protected DatabaseType databaseType;
@@ -81,6 +85,9 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	protected ObjectFactory<T> objectFactory;
 
 	private boolean initialized;
+	private int createBatchSize = DEFAULT_CREATE_BATCH_SIZE;
+	private int foreignAutoRefreshBatchSize;
+	private int foreignCollectionBatchSize;
 	// NOTE: package perms to removed synthetic accessor
 	ObjectCache objectCache;
 	private ConcurrentMap<DaoObserver, Object> daoObserverMap;
@@ -163,6 +170,8 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 			tableInfo = new TableInfo<T, ID>(databaseType, tableConfig);
 		}
 		statementExecutor = new StatementExecutor<T, ID>(databaseType, tableInfo, this);
+		statementExecutor.setForeignAutoRefreshBatchSize(foreignAutoRefreshBatchSize);
+		statementExecutor.setForeignCollectionBatchSize(foreignCollectionBatchSize);
 
 		/*
 		 * This is a bit complex. Initially, when we were configuring the field types, external DAO information would be
@@ -247,6 +256,11 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	@Override
+	public T queryForFirst(PreparedQuery<T> preparedQuery, Object... argumentValues) throws SQLException {
+		return queryForFirst(preparedQuery.withArguments(argumentValues));
+	}
+
 	@Override
 	public List<T> queryForAll() throws SQLException {
 		checkForInitialized();
@@ -288,6 +302,11 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		return statementExecutor.query(connectionSource, preparedQuery, objectCache);
 	}
 
+	@Override
+	public List<T> query(PreparedQuery<T> preparedQuery, Object... argumentValues) throws SQLException {
+		return query(preparedQuery.withArguments(argumentValues));
+	}
+
 	@Override
 	public List<T> queryForMatching(T matchObj) throws SQLException {
 		return queryForMatching(matchObj, false);
@@ -361,11 +380,7 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 			return callBatchTasks(new Callable<Integer>() {
 				@Override
 				public Integer call() throws SQLException {
-					int modCount = 0;
-					for (T data : datas) {
-						modCount += statementExecutor.create(connection, data, objectCache);
-					}
-					return modCount;
+					return statementExecutor.create(connection, datas, objectCache, createBatchSize);
 				}
 			});
 		} finally {
@@ -374,47 +389,70 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 	}
 
 	@Override
-	public synchronized T createIfNotExists(T data) throws SQLException {
+	public T createIfNotExists(T data) throws SQLException {
 		if (data == null) {
 			return null;
 		}
-		T existing = queryForSameId(data);
-		if (existing == null) {
-			create(data);
-			return data;
+		checkForInitialized();
+		if (isSingleConnection()) {
+			synchronized (this) {
+				return doCreateIfNotExists(data);
+			}
 		} else {
-			return existing;
+			return doCreateIfNotExists(data);
 		}
 	}
 
 	@Override
-	public synchronized T createIfNotExists(ID key, final Supplier<T> entitySupplier) throws SQLException {
+	public T createIfNotExists(ID key, final Supplier<T> entitySupplier) throws SQLException {
 		if (key == null) {
 			return null;
 		}
-		T existing = queryForId(key);
-		if (existing == null) {
-			final T data = entitySupplier.get();
-			create(data);
-			return data;
+		checkForInitialized();
+		if (isSingleConnection()) {
+			synchronized (this) {
+				return doCreateIfNotExists(key, entitySupplier);
+			}
 		} else {
-			return existing;
+			return doCreateIfNotExists(key, entitySupplier);
 		}
 	}
 
 	@Override
-	public synchronized CreateOrUpdateStatus createOrUpdate(T data) throws SQLException {
+	public CreateOrUpdateStatus createOrUpdate(T data) throws SQLException {
 		if (data == null) {
 			return new CreateOrUpdateStatus(false, false, 0);
 		}
-		ID id = extractId(data);
-		// assume we need to create it if there is no id
-		if (id == null || !idExists(id)) {
-			int numRows = create(data);
-			return new CreateOrUpdateStatus(true, false, numRows);
+		checkForInitialized();
+		if (isSingleConnection()) {
+			synchronized (this) {
+				return doCreateOrUpdate(data);
+			}
 		} else {
-			int numRows = update(data);
-			return new CreateOrUpdateStatus(false, true, numRows);
+			return doCreateOrUpdate(data);
+		}
+	}
+
+	@Override
+	public int createOrUpdateAll(final Collection<T> datas) throws SQLException {
+		checkForInitialized();
+		for (T data : datas) {
+			if (data instanceof BaseDaoEnabled) {
+				@SuppressWarnings("unchecked")
+				BaseDaoEnabled<T, ID> daoEnabled = (BaseDaoEnabled<T, ID>) data;
+				daoEnabled.setDao(this);
+			}
+		}
+		final DatabaseConnection connection = connectionSource.getReadWriteConnection(tableInfo.getTableName());
+		try {
+			return callBatchTasks(new Callable<Integer>() {
+				@Override
+				public Integer call() throws SQLException {
+					return statementExecutor.createOrUpdateAll(connection, datas, objectCache, createBatchSize);
+				}
+			});
+		} finally {
+			connectionSource.releaseConnection(connection);
 		}
 	}
 
@@ -639,6 +677,12 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		return li; // make sure we return the newly created iterator and not the field!
 	}
 
+	@Override
+	public Stream<T> parallelStream(PreparedQuery<T> preparedQuery, int partitions) throws SQLException {
+		checkForInitialized();
+		return statementExecutor.parallelStream(connectionSource, preparedQuery, partitions, objectCache);
+	}
+
 	@Override
 	public GenericRawResults<String[]> queryRaw(String query) throws SQLException {
 		checkForInitialized();
@@ -798,6 +842,44 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	@Override
+	public long queryRawColumnar(String query, ColumnType[] columnTypes, int chunkSize, ColumnChunkHandler handler)
+			throws SQLException {
+		checkForInitialized();
+		try {
+			return statementExecutor.queryRawColumnar(connectionSource, query, columnTypes, chunkSize, handler,
+					null);
+		} catch (SQLException e) {
+			throw new SQLException("Could not perform raw columnar query for " + query, e);
+		}
+	}
+
+	@Override
+	public long queryRawColumnar(String query, ColumnType[] columnTypes, int chunkSize, ColumnChunkHandler handler,
+			ArgumentHolder... arguments)
+			throws SQLException {
+		checkForInitialized();
+		try {
+			return statementExecutor.queryRawColumnar(connectionSource, query, columnTypes, chunkSize, handler,
+					arguments);
+		} catch (SQLException e) {
+			throw new SQLException("Could not perform raw columnar query for " + query, e);
+		}
+	}
+
+	@Override
+	public long queryRawColumnar(String query, ColumnType[] columnTypes, int chunkSize, ColumnChunkHandler handler,
+			String... arguments)
+			throws SQLException {
+		checkForInitialized();
+		try {
+			return statementExecutor.queryRawColumnar(connectionSource, query, columnTypes, chunkSize, handler,
+					arguments);
+		} catch (SQLException e) {
+			throw new SQLException("Could not perform raw columnar query for " + query, e);
+		}
+	}
+
 	@Override
 	public long queryRawValue(String query) throws SQLException {
 		checkForInitialized();
@@ -1091,6 +1173,22 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	@Override
+	public void setDirtyFieldTracking(boolean enabled) throws SQLException {
+		if (enabled) {
+			if (tableInfo.getDirtyFieldTracker() == null) {
+				tableInfo.setDirtyFieldTracker(new DirtyFieldTracker<T, ID>(tableInfo));
+			}
+		} else {
+			tableInfo.setDirtyFieldTracker(null);
+		}
+	}
+
+	@Override
+	public boolean isDirtyFieldTracking() {
+		return (tableInfo.getDirtyFieldTracker() != null);
+	}
+
 	/**
 	 * Special call mostly used in testing to clear the internal object caches so we can reset state.
 	 */
@@ -1217,6 +1315,27 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		this.objectFactory = objectFactory;
 	}
 
+	@Override
+	public void setCreateBatchSize(int createBatchSize) {
+		this.createBatchSize = createBatchSize;
+	}
+
+	@Override
+	public void setForeignAutoRefreshBatchSize(int foreignAutoRefreshBatchSize) {
+		this.foreignAutoRefreshBatchSize = foreignAutoRefreshBatchSize;
+		if (statementExecutor != null) {
+			statementExecutor.setForeignAutoRefreshBatchSize(foreignAutoRefreshBatchSize);
+		}
+	}
+
+	@Override
+	public void setForeignCollectionBatchSize(int foreignCollectionBatchSize) {
+		this.foreignCollectionBatchSize = foreignCollectionBatchSize;
+		if (statementExecutor != null) {
+			statementExecutor.setForeignCollectionBatchSize(foreignCollectionBatchSize);
+		}
+	}
+
 	/**
 	 * Returns the table configuration information associated with the Dao's class or null if none.
 	 */
@@ -1390,6 +1509,90 @@ public abstract class BaseDaoImpl<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * Returns true if the connection-source has a single connection for our table in which case the check-then-act
+	 * methods are synchronized. With a pool of connections we rely on the database's id constraint instead and recover
+	 * if another thread creates the same row between our check and our insert.
+	 */
+	private boolean isSingleConnection() {
+		return connectionSource.isSingleConnection(tableInfo.getTableName());
+	}
+
+	private T doCreateIfNotExists(T data) throws SQLException {
+		T existing = queryForSameId(data);
+		if (existing != null) {
+			return existing;
+		}
+		try {
+			create(data);
+			return data;
+		} catch (SQLException e) {
+			// another thread may have created it after our query
+			existing = queryForSameIdAfterFailure(data, e);
+			return existing;
+		}
+	}
+
+	private T doCreateIfNotExists(ID key, Supplier<T> entitySupplier) throws SQLException {
+		T existing = queryForId(key);
+		if (existing != null) {
+			return existing;
+		}
+		T data = entitySupplier.get();
+		try {
+			create(data);
+			return data;
+		} catch (SQLException e) {
+			// another thread may have created it after our query
+			existing = queryForSameIdAfterFailure(data, e);
+			return existing;
+		}
+	}
+
+	private CreateOrUpdateStatus doCreateOrUpdate(T data) throws SQLException {
+		ID id = extractId(data);
+		// assume we need to create it if there is no id
+		if (id == null || !idExists(id)) {
+			int numRows;
+			try {
+				numRows = create(data);
+			} catch (SQLException e) {
+				if (id == null) {
+					throw e;
+				}
+				// another thread may have created it after our exists check so update it instead
+				queryForSameIdAfterFailure(data, e);
+				numRows = update(data);
+				return new CreateOrUpdateStatus(false, true, numRows);
+			}
+			return new CreateOrUpdateStatus(true, false, numRows);
+		} else {
+			int numRows = update(data);
+			return new CreateOrUpdateStatus(false, true, numRows);
+		}
+	}
+
+	/**
+	 * After a create failed, look for a row with the same id that was created by another thread. If there isn't one, or
+	 * we can't query for it, then the original exception is thrown.
+	 */
+	private T queryForSameIdAfterFailure(T data, SQLException createException) throws SQLException {
+		if (isSingleConnection()) {
+			throw createException;
+		}
+		T existing;
+		try {
+			existing = queryForSameId(data);
+		} catch (SQLException e) {
+			// some databases fail all statements in a transaction after an error
+			throw createException;
+		}
+		if (existing == null) {
+			throw createException;
+		}
+		return existing;
+	}
+
 	/**
 	 * Locate the no arg constructor for the class.
 	 */
@@ -2,11 +2,13 @@ package com.j256.ormlite.dao;
 
 import java.io.Serializable;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
 
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.ForeignCollectionField;
 import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.stmt.Page;
 import com.j256.ormlite.stmt.PreparedQuery;
 import com.j256.ormlite.stmt.QueryBuilder;
 import com.j256.ormlite.stmt.SelectArg;
@@ -160,6 +162,19 @@ public abstract class BaseForeignCollection<T, ID> implements ForeignCollection<
 		}
 	}
 
+	@Override
+	public Page<T> queryPage(String cursor, long pageSize) throws SQLException {
+		if (dao == null) {
+			return new Page<T>(new ArrayList<T>(), null);
+		}
+		QueryBuilder<T, ID> qb = dao.queryBuilder();
+		if (orderColumn != null) {
+			qb.orderBy(orderColumn, orderAscending);
+		}
+		qb.where().eq(foreignFieldType.getColumnName(), new SelectArg(parentId));
+		return qb.queryPage(cursor, pageSize);
+	}
+
 	@Override
 	public Dao<T, ?> getDao() {
 		return dao;
@@ -0,0 +1,190 @@
+package com.j256.ormlite.dao;
+
+import java.sql.SQLException;
+import java.util.BitSet;
+
+import com.j256.ormlite.support.DatabaseResults;
+
+/**
+ * A chunk of rows from a raw query stored as primitive arrays per column instead of as an object per row. Used by
+ * {@link Dao#queryRawColumnar(String, ColumnType[], int, ColumnChunkHandler, String...)} so aggregations across
+ * large numbers of numeric rows don't have to box every value. Null values are recorded in a bitmap per column with the
+ * array entry set to 0.
+ * 
+ * <p>
+ * <b>NOTE:</b> The same chunk and arrays are re-used for each chunk of a query. The arrays are the capacity of the chunk
+ * so only the first {@link #getSize()} entries are valid.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class ColumnChunk {
+
+	private final ColumnType[] columnTypes;
+	private final int[][] intColumns;
+	private final long[][] longColumns;
+	private final double[][] doubleColumns;
+	private final BitSet[] nullColumns;
+	private final int capacity;
+	private int size;
+
+	public ColumnChunk(ColumnType[] columnTypes, int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Chunk capacity must be > 0: " + capacity);
+		}
+		this.columnTypes = columnTypes;
+		this.capacity = capacity;
+		this.intColumns = new int[columnTypes.length][];
+		this.longColumns = new long[columnTypes.length][];
+		this.doubleColumns = new double[columnTypes.length][];
+		this.nullColumns = new BitSet[columnTypes.length];
+		for (int i = 0; i < columnTypes.length; i++) {
+			switch (columnTypes[i]) {
+				case INT:
+					intColumns[i] = new int[capacity];
+					break;
+				case LONG:
+					longColumns[i] = new long[capacity];
+					break;
+				case DOUBLE:
+					doubleColumns[i] = new double[capacity];
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown column type: " + columnTypes[i]);
+			}
+			nullColumns[i] = new BitSet(capacity);
+		}
+	}
+
+	/**
+	 * Return the number of rows in the chunk.
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Return the maximum number of rows in the chunk which is the length of the column arrays.
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Return true if the chunk has no more room.
+	 */
+	public boolean isFull() {
+		return (size >= capacity);
+	}
+
+	/**
+	 * Return the number of columns.
+	 */
+	public int getColumnCount() {
+		return columnTypes.length;
+	}
+
+	/**
+	 * Return the type of the column.
+	 */
+	public ColumnType getColumnType(int column) {
+		return columnTypes[column];
+	}
+
+	/**
+	 * Return the values of an {@link ColumnType#INT} column.
+	 */
+	public int[] getInts(int column) {
+		checkColumnType(column, ColumnType.INT);
+		return intColumns[column];
+	}
+
+	/**
+	 * Return the values of a {@link ColumnType#LONG} column.
+	 */
+	public long[] getLongs(int column) {
+		checkColumnType(column, ColumnType.LONG);
+		return longColumns[column];
+	}
+
+	/**
+	 * Return the values of a {@link ColumnType#DOUBLE} column.
+	 */
+	public double[] getDoubles(int column) {
+		checkColumnType(column, ColumnType.DOUBLE);
+		return doubleColumns[column];
+	}
+
+	/**
+	 * Return true if the column value of the row was null.
+	 */
+	public boolean isNull(int column, int row) {
+		return nullColumns[column].get(row);
+	}
+
+	/**
+	 * Return the bitmap of the rows which had null values in the column.
+	 */
+	public BitSet getNulls(int column) {
+		return nullColumns[column];
+	}
+
+	/**
+	 * Add the current row of the results to the end of the chunk. For internal use.
+	 */
+	public void addRow(DatabaseResults results) throws SQLException {
+		if (size >= capacity) {
+			throw new IllegalStateException("Chunk is full at " + capacity + " rows");
+		}
+		for (int i = 0; i < columnTypes.length; i++) {
+			switch (columnTypes[i]) {
+				case INT:
+					intColumns[i][size] = results.getInt(i);
+					break;
+				case LONG:
+					longColumns[i][size] = results.getLong(i);
+					break;
+				case DOUBLE:
+					doubleColumns[i][size] = results.getDouble(i);
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown column type: " + columnTypes[i]);
+			}
+			if (results.wasNull(i)) {
+				nullColumns[i].set(size);
+			}
+		}
+		size++;
+	}
+
+	/**
+	 * Empty the chunk so it can be filled again. For internal use.
+	 */
+	public void clear() {
+		for (BitSet nulls : nullColumns) {
+			nulls.clear();
+		}
+		size = 0;
+	}
+
+	private void checkColumnType(int column, ColumnType columnType) {
+		if (columnTypes[column] != columnType) {
+			throw new IllegalArgumentException(
+					"Column " + column + " is of type " + columnTypes[column] + " not " + columnType);
+		}
+	}
+
+	/**
+	 * Primitive type of the column which determines which {@link DatabaseResults} method is used to get the values.
+	 */
+	public enum ColumnType {
+		/** stored in an int[] using {@link DatabaseResults#getInt(int)} */
+		INT,
+		/** stored in a long[] using {@link DatabaseResults#getLong(int)} */
+		LONG,
+		/** stored in a double[] using {@link DatabaseResults#getDouble(int)} */
+		DOUBLE,
+		// end
+		;
+	}
+}
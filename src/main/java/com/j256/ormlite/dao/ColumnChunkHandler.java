@@ -0,0 +1,21 @@
+package com.j256.ormlite.dao;
+
+import java.sql.SQLException;
+
+/**
+ * Handler which is called with each chunk of rows filled in by
+ * {@link Dao#queryRawColumnar(String, ColumnChunk.ColumnType[], int, ColumnChunkHandler, String...)}.
+ * 
+ * @author graywatson
+ */
+public interface ColumnChunkHandler {
+
+	/**
+	 * Process the rows in the chunk. The column arrays of the chunk are re-used for the next chunk so you must not hold
+	 * on to them or the chunk after this method returns.
+	 * 
+	 * @throws SQLException
+	 *             If there is any critical error with the data and you want to stop the query.
+	 */
+	public void handleChunk(ColumnChunk chunk) throws SQLException;
+}
@@ -8,7 +8,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.stream.Stream;
 
+import com.j256.ormlite.dao.ColumnChunk.ColumnType;
 import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
@@ -23,6 +25,7 @@ import com.j256.ormlite.stmt.PreparedQuery;
 import com.j256.ormlite.stmt.PreparedUpdate;
 import com.j256.ormlite.stmt.QueryBuilder;
 import com.j256.ormlite.stmt.SelectArg;
+import com.j256.ormlite.stmt.ThreadLocalSelectArg;
 import com.j256.ormlite.stmt.UpdateBuilder;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
@@ -67,6 +70,12 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public T queryForFirst(PreparedQuery<T> preparedQuery) throws SQLException;
 
+	/**
+	 * Same as {@link #queryForFirst(PreparedQuery)} but with the arguments of the query set to the values for this call
+	 * only. See {@link PreparedQuery#withArguments(Object...)}.
+	 */
+	public T queryForFirst(PreparedQuery<T> preparedQuery, Object... argumentValues) throws SQLException;
+
 	/**
 	 * Query for all of the items in the object table. For medium sized or large tables, this may load a lot of objects
 	 * into memory so you should consider using the {@link #iterator()} method instead.
@@ -164,6 +173,19 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public List<T> query(PreparedQuery<T> preparedQuery) throws SQLException;
 
+	/**
+	 * Same as {@link #query(PreparedQuery)} but with the arguments of the query set to the values for this call only.
+	 * The query is not changed so it can be prepared once and then run by multiple threads at the same time without
+	 * using {@link ThreadLocalSelectArg} or building the SQL again. See {@link PreparedQuery#withArguments(Object...)}.
+	 *
+	 * <pre>
+	 * PreparedQuery&lt;Account&gt; byName = accountDao.queryBuilder().where().eq(&quot;name&quot;, new SelectArg()).prepare();
+	 * ...
+	 * List&lt;Account&gt; accounts = accountDao.query(byName, &quot;bob&quot;);
+	 * </pre>
+	 */
+	public List<T> query(PreparedQuery<T> preparedQuery, Object... argumentValues) throws SQLException;
+
 	/**
 	 * Create a new row in the database from an object. If the object being created uses
 	 * {@link DatabaseField#generatedId()} then the data parameter will be modified and set with the corresponding id
@@ -177,7 +199,8 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 
 	/**
 	 * Just like {@link #create(Object)} but with a collection of objects. This will wrap the creates using the same
-	 * mechanism as {@link #callBatchTasks(Callable)}.
+	 * mechanism as {@link #callBatchTasks(Callable)}. The objects are inserted using a single compiled statement which
+	 * is run in batches of rows. See {@link #setCreateBatchSize(int)}.
 	 *
 	 * @param datas
 	 *            The collection of data items that we are creating in the database.
@@ -230,6 +253,22 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public CreateOrUpdateStatus createOrUpdate(T data) throws SQLException;
 
+	/**
+	 * Just like {@link #createOrUpdate(Object)} but with a collection of objects. This will wrap the operations using
+	 * the same mechanism as {@link #callBatchTasks(Callable)}. If the database supports an upsert statement then the
+	 * objects with ids are written with it. Otherwise the ids that already exist are found with one {@code IN} query
+	 * for each batch of objects, the existing objects are updated in batches, and the rest of the objects are inserted
+	 * in batches. See {@link #setCreateBatchSize(int)}. Objects with the same id as an earlier object in the collection
+	 * are updated afterwards as if createOrUpdate had been called on each object in turn.
+	 *
+	 * <p>
+	 * <b>NOTE:</b> Unlike {@link #createOrUpdate(Object)}, this method is not synchronized.
+	 * </p>
+	 *
+	 * @return The number of rows changed in the database.
+	 */
+	public int createOrUpdateAll(Collection<T> datas) throws SQLException;
+
 	/**
 	 * Store the fields from an object to the database row corresponding to the id from the data parameter. If you have
 	 * made changes to an object, this is how you persist those changes to the database. You cannot use this method to
@@ -431,6 +470,36 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public CloseableIterator<T> iterator(PreparedQuery<T> preparedQuery, int resultFlags) throws SQLException;
 
+	/**
+	 * Return a parallel stream of the results of the prepared query. The minimum and maximum ids of the query results
+	 * are looked up and the id range is split into up to about partitions sub-ranges which are each queried with their
+	 * own iterator and database connection as the stream is processed. The id field must be numeric and the query must
+	 * have been built with the {@link QueryBuilder}.
+	 *
+	 * <p>
+	 * <b>NOTE:</b> You must close the stream when you are done with it, typically with a try-with-resources, otherwise
+	 * the iterators and connections of any ranges that were not fully processed will not be closed.
+	 * </p>
+	 *
+	 * <p>
+	 * <b>NOTE:</b> If the connection source has a single connection, see
+	 * {@link ConnectionSource#isSingleConnection(String)}, then the ranges can't be queried at the same time so a
+	 * sequential stream of all of the results is returned instead.
+	 * </p>
+	 *
+	 * <pre>
+	 * try (Stream&lt;Account&gt; stream = accountDao.parallelStream(accountDao.queryBuilder().prepare(), 8);) {
+	 * 	total = stream.mapToLong(Account::getBalance).sum();
+	 * }
+	 * </pre>
+	 *
+	 * @param preparedQuery
+	 *            Query whose results are streamed.
+	 * @param partitions
+	 *            Number of id ranges that the query is split into, typically the number of processors.
+	 */
+	public Stream<T> parallelStream(PreparedQuery<T> preparedQuery, int partitions) throws SQLException;
+
 	/**
 	 * <p>
 	 * This makes a one time use iterable class that can be closed afterwards. The DAO itself is
@@ -607,6 +676,38 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	public <UO> GenericRawResults<UO> queryRaw(String query, DatabaseResultsMapper<UO> mapper, String... arguments)
 			throws SQLException;
 
+	/**
+	 * Similar to {@link #queryRawColumnar(String, ColumnType[], int, ColumnChunkHandler, String...)} except with no
+	 * arguments.
+	 */
+	public long queryRawColumnar(String query, ColumnType[] columnTypes, int chunkSize, ColumnChunkHandler handler)
+			throws SQLException;
+
+	/**
+	 * Similar to {@link #queryRawColumnar(String, ColumnType[], int, ColumnChunkHandler, String...)} except the
+	 * arguments are {@link ArgumentHolder}s which you can use to set the {@link SqlType} on for specifying the type of
+	 * the argument.
+	 */
+	public long queryRawColumnar(String query, ColumnType[] columnTypes, int chunkSize, ColumnChunkHandler handler,
+			ArgumentHolder... arguments) throws SQLException;
+
+	/**
+	 * Run a raw query for numeric columns and fill the results into primitive arrays per column instead of creating an
+	 * object per row like {@link #queryRaw(String, DataType[], String...)}. The handler is called with each chunk of up
+	 * to chunkSize rows so aggregations can be done across a large number of rows without any per-row allocations. The
+	 * arguments are optional but can be set with objects to expand ? type of SQL as _string_ values. Use
+	 * {@link #queryRawColumnar(String, ColumnType[], int, ColumnChunkHandler, ArgumentHolder...)} to set the
+	 * {@link SqlType} of the arguments.
+	 * 
+	 * @param columnTypes
+	 *            Primitive type of each of the result columns.
+	 * @param chunkSize
+	 *            Number of rows in each chunk which is also set as the fetch-size of the query.
+	 * @return The number of rows returned by the query.
+	 */
+	public long queryRawColumnar(String query, ColumnType[] columnTypes, int chunkSize, ColumnChunkHandler handler,
+			String... arguments) throws SQLException;
+
 	/**
 	 * Similar to {@link #queryRawValue(String, String...)} except with no arguments.
 	 * 
@@ -847,6 +948,31 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public void clearObjectCache();
 
+	/**
+	 * Call this with true to have the DAO remember the field values of the objects that it returns from queries and
+	 * refreshes so that {@link #update(Object)} only writes the fields that have been changed since. If none of the
+	 * fields have been changed then the update is skipped altogether. The values are compared as they would be written
+	 * to the database and are held using {@link WeakReference}s to the objects. Only the object last read for each id
+	 * is tracked and other objects write all of their fields. Set to false to disable the tracking and go back to
+	 * writing all of the fields. Values read or written inside of a transaction are not remembered since the
+	 * transaction may be rolled back so the next update of those objects writes all of their fields.
+	 *
+	 * <p>
+	 * <b>NOTE:</b> Changes made to the rows by other means, such as by an {@link UpdateBuilder}, raw statements, or
+	 * another DAO, are not seen so an update may not write fields that were changed in the database in the meantime.
+	 * An update which is skipped returns 1 without checking the row or, if there is one, its version field.
+	 * </p>
+	 *
+	 * @throws SQLException
+	 *             If the DAO's class does not have an id field which is required to track the objects.
+	 */
+	public void setDirtyFieldTracking(boolean enabled) throws SQLException;
+
+	/**
+	 * Return true if dirty-field tracking has been enabled with {@link #setDirtyFieldTracking(boolean)}.
+	 */
+	public boolean isDirtyFieldTracking();
+
 	/**
 	 * Return the latest row from the database results from a query to select * (star).
 	 */
@@ -977,6 +1103,42 @@ public interface Dao<T, ID> extends CloseableIterable<T> {
 	 */
 	public void setObjectFactory(ObjectFactory<T> objectFactory);
 
+	/**
+	 * Set the number of rows that are sent to the database in each batch by {@link #create(Collection)}. Set to 1 to
+	 * insert the objects one at a time. Default is {@link BaseDaoImpl#DEFAULT_CREATE_BATCH_SIZE}.
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> If the database generates the ids and the database-type does not support returning all of the
+	 * generated keys from a batch then the objects are always inserted one at a time.
+	 * </p>
+	 */
+	public void setCreateBatchSize(int createBatchSize);
+
+	/**
+	 * Set the number of ids that are queried at a time to refresh the {@link DatabaseField#foreignAutoRefresh()} fields
+	 * of the objects returned by the query methods that return lists. Instead of a query for each row, the foreign ids
+	 * of all of the rows are collected and the foreign objects are queried with {@code WHERE id IN (...)} queries
+	 * through the foreign DAO. Default is 0 which refreshes the foreign objects with a query per row.
+	 *
+	 * <p>
+	 * <b>NOTE:</b> This does not apply to the iterator methods which return each row as it is read.
+	 * </p>
+	 */
+	public void setForeignAutoRefreshBatchSize(int foreignAutoRefreshBatchSize);
+
+	/**
+	 * Set the number of parent ids that are queried at a time to fill in the eager {@link ForeignCollectionField}
+	 * collections of the objects returned by the query methods that return lists. Instead of a query for each parent,
+	 * the children of all of the parents are queried with {@code WHERE parent_id IN (...)} queries through the foreign
+	 * DAO and then assigned to each parent's collection in {@link ForeignCollectionField#orderColumnName()} order.
+	 * Default is 0 which queries each collection separately.
+	 *
+	 * <p>
+	 * <b>NOTE:</b> This does not apply to the iterator methods which return each row as it is read.
+	 * </p>
+	 */
+	public void setForeignCollectionBatchSize(int foreignCollectionBatchSize);
+
 	/**
 	 * Register an observer that will be called when data changes for this DAO. You mustq make a call to
 	 * {@link #unregisterObserver(DaoObserver)} to de-register the observer after you are done with it.
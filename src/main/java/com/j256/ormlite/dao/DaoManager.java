@@ -4,12 +4,15 @@ import java.lang.reflect.Constructor;
 import java.sql.SQLException;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.misc.DependencyLevels;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.table.DatabaseTable;
 import com.j256.ormlite.table.DatabaseTableConfig;
@@ -101,6 +104,34 @@ public class DaoManager {
 		return castDao;
 	}
 
+	/**
+	 * Create or lookup the DAOs of a number of classes at once using the executor to construct them in parallel. This
+	 * is for application startup where constructing many DAOs one after another, each scanning its class and building
+	 * its table information, can take a while. The classes are created in levels ordered by their foreign fields so
+	 * that the DAO of a foreign class is created, once, before the DAOs of the classes that refer to it which then find
+	 * it in the cache. See {@link DependencyLevels#findLevels(Collection)}.
+	 * 
+	 * @param executor
+	 *            Used to run the DAO constructions. If null then they are constructed in the calling thread.
+	 * @return Map of the classes to their DAOs in the order that they were created.
+	 */
+	public static Map<Class<?>, Dao<?, ?>> createDaos(final ConnectionSource connectionSource,
+			Collection<Class<?>> classes, Executor executor) throws SQLException {
+		if (connectionSource == null) {
+			throw new IllegalArgumentException("connectionSource argument cannot be null");
+		}
+		List<List<Class<?>>> levels = DependencyLevels.findLevels(classes);
+		Map<Class<?>, Dao<?, ?>> daoMap =
+				DependencyLevels.runLevels(levels, executor, new DependencyLevels.ClassTask<Dao<?, ?>>() {
+					@Override
+					public Dao<?, ?> call(Class<?> clazz) throws SQLException {
+						return createDao(connectionSource, clazz);
+					}
+				});
+		logger.debug("created {} daos in {} levels", daoMap.size(), levels.size());
+		return daoMap;
+	}
+
 	/**
 	 * Helper method to lookup a DAO if it has already been associated with the class. Otherwise this returns null.
 	 */
@@ -0,0 +1,175 @@
+package com.j256.ormlite.dao;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.table.TableInfo;
+
+/**
+ * Remembers the field values of the objects as they were last read from or written to the database so that an update
+ * only has to write the fields that have changed since. Enabled with {@link Dao#setDirtyFieldTracking(boolean)}.
+ *
+ * <p>
+ * The values are held by id along with a {@link WeakReference} to the object that they were taken from so they are
+ * only used when the same object is updated and they go away when the object is garbage collected. The field values
+ * are compared as the SQL argument values that would be written to the database.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class DirtyFieldTracker<T, ID> {
+
+	/** value of the fields which were not read from the database and so are always dirty */
+	private static final Object UNKNOWN = new Object();
+
+	private final FieldType idField;
+	private final FieldType[] fieldTypes;
+	private final Map<FieldType, Integer> fieldIndexMap = new IdentityHashMap<FieldType, Integer>();
+	private final Map<Object, Snapshot> snapshotMap = new ConcurrentHashMap<Object, Snapshot>();
+	private final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<Object>();
+
+	public DirtyFieldTracker(TableInfo<T, ID> tableInfo) throws SQLException {
+		this.idField = tableInfo.getIdField();
+		if (idField == null) {
+			throw new SQLException(
+					"Class " + tableInfo.getDataClass() + " must have an id field to enable dirty-field tracking");
+		}
+		this.fieldTypes = tableInfo.getFieldTypes();
+		for (int i = 0; i < fieldTypes.length; i++) {
+			fieldIndexMap.put(fieldTypes[i], i);
+		}
+	}
+
+	/**
+	 * Remember the current values of all of the fields of the object.
+	 */
+	public void snapshot(T data) throws SQLException {
+		snapshot(data, fieldTypes);
+	}
+
+	/**
+	 * Remember the current values of the loaded fields of the object. The other fields are considered dirty until the
+	 * next snapshot.
+	 */
+	public void snapshot(T data, FieldType[] loadedFieldTypes) throws SQLException {
+		Object id = idField.extractJavaFieldValue(data);
+		if (id == null) {
+			return;
+		}
+		Object[] values = new Object[fieldTypes.length];
+		Arrays.fill(values, UNKNOWN);
+		for (FieldType fieldType : loadedFieldTypes) {
+			Integer index = fieldIndexMap.get(fieldType);
+			if (index != null && !fieldType.isForeignCollection()) {
+				values[index] = copyValue(fieldType.extractJavaFieldToSqlArgValue(data));
+			}
+		}
+		drainReferenceQueue();
+		snapshotMap.put(id, new Snapshot(data, referenceQueue, id, values));
+	}
+
+	/**
+	 * Return the indexes, into {@link TableInfo#getFieldTypes()}, of the fields that have changed since the last
+	 * snapshot of the object or null if we don't have a snapshot of this object.
+	 */
+	public BitSet findDirtyFields(T data) throws SQLException {
+		Object id = idField.extractJavaFieldValue(data);
+		if (id == null) {
+			return null;
+		}
+		drainReferenceQueue();
+		Snapshot snapshot = snapshotMap.get(id);
+		if (snapshot == null || snapshot.get() != data) {
+			// a different object with the same id may have different values
+			return null;
+		}
+		BitSet dirtyFields = new BitSet(fieldTypes.length);
+		for (int i = 0; i < fieldTypes.length; i++) {
+			Object value = snapshot.values[i];
+			if (value == UNKNOWN || !valueEquals(value, fieldTypes[i].extractJavaFieldToSqlArgValue(data))) {
+				dirtyFields.set(i);
+			}
+		}
+		return dirtyFields;
+	}
+
+	/**
+	 * Forget the snapshot of the object, if any, because its row has been written some other way.
+	 */
+	public void remove(T data) throws SQLException {
+		removeId(idField.extractJavaFieldValue(data));
+	}
+
+	/**
+	 * Forget the snapshot of the object with the id, if any.
+	 */
+	public void removeId(Object id) {
+		if (id != null) {
+			snapshotMap.remove(id);
+		}
+	}
+
+	/**
+	 * Forget all of the snapshots.
+	 */
+	public void clear() {
+		snapshotMap.clear();
+	}
+
+	/**
+	 * Return the number of snapshots being held.
+	 */
+	public int size() {
+		drainReferenceQueue();
+		return snapshotMap.size();
+	}
+
+	private void drainReferenceQueue() {
+		while (true) {
+			Reference<?> ref = referenceQueue.poll();
+			if (ref == null) {
+				return;
+			}
+			Snapshot snapshot = (Snapshot) ref;
+			// only remove if we haven't already been replaced
+			snapshotMap.remove(snapshot.id, snapshot);
+		}
+	}
+
+	private static Object copyValue(Object value) {
+		if (value instanceof byte[]) {
+			return ((byte[]) value).clone();
+		} else {
+			return value;
+		}
+	}
+
+	private static boolean valueEquals(Object value, Object current) {
+		if (value == null) {
+			return current == null;
+		} else if (value instanceof byte[]) {
+			return (current instanceof byte[] && Arrays.equals((byte[]) value, (byte[]) current));
+		} else {
+			return value.equals(current);
+		}
+	}
+
+	private static class Snapshot extends WeakReference<Object> {
+		final Object id;
+		final Object[] values;
+
+		public Snapshot(Object referent, ReferenceQueue<Object> queue, Object id, Object[] values) {
+			super(referent, queue);
+			this.id = id;
+			this.values = values;
+		}
+	}
+}
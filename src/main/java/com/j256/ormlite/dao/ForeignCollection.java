@@ -4,6 +4,8 @@ import java.sql.SQLException;
 import java.util.Collection;
 
 import com.j256.ormlite.field.ForeignCollectionField;
+import com.j256.ormlite.stmt.Page;
+import com.j256.ormlite.stmt.QueryBuilder;
 
 /**
  * <p>
@@ -121,6 +123,19 @@ public interface ForeignCollection<T> extends Collection<T>, CloseableIterable<T
 	 */
 	public int refreshCollection() throws SQLException;
 
+	/**
+	 * Query the database for a page of the objects in the collection using
+	 * {@link QueryBuilder#queryPage(String, long)}. This is mostly useful for lazy collections which are too large to
+	 * iterate across at once. The results are in the order of the {@link ForeignCollectionField#orderColumnName()}, if
+	 * set, and then the id.
+	 * 
+	 * @param cursor
+	 *            Cursor returned by {@link Page#getNextCursor()} of the previous page or null for the first page.
+	 * @param pageSize
+	 *            Maximum number of results to return in the page.
+	 */
+	public Page<T> queryPage(String cursor, long pageSize) throws SQLException;
+
 	/**
 	 * Adds the object to the collection. This will also add it to the database by calling through to [@link
 	 * {@link Dao#create(Object)}. If the object has already been created in the database then you just need to set the
@@ -18,11 +18,13 @@ import java.util.concurrent.ConcurrentHashMap;
  * 
  * @author graywatson
  */
-public class LruObjectCache implements ObjectCache {
+public class LruObjectCache implements StatsObjectCache {
 
 	private final int capacity;
 	private final ConcurrentHashMap<Class<?>, Map<Object, Object>> classMaps =
 			new ConcurrentHashMap<Class<?>, Map<Object, Object>>();
+	private final ConcurrentHashMap<Class<?>, ObjectCacheCounters> classCounters =
+			new ConcurrentHashMap<Class<?>, ObjectCacheCounters>();
 
 	public LruObjectCache(int capacity) {
 		this.capacity = capacity;
@@ -32,7 +34,9 @@ public class LruObjectCache implements ObjectCache {
 	public synchronized <T> void registerClass(Class<T> clazz) {
 		Map<Object, Object> objectMap = classMaps.get(clazz);
 		if (objectMap == null) {
-			objectMap = Collections.synchronizedMap(new LimitedLinkedHashMap<Object, Object>(capacity));
+			ObjectCacheCounters counters = new ObjectCacheCounters();
+			classCounters.put(clazz, counters);
+			objectMap = Collections.synchronizedMap(new LimitedLinkedHashMap<Object, Object>(capacity, counters));
 			classMaps.put(clazz, objectMap);
 		}
 	}
@@ -44,6 +48,12 @@ public class LruObjectCache implements ObjectCache {
 			return null;
 		}
 		Object obj = objectMap.get(id);
+		ObjectCacheCounters counters = classCounters.get(clazz);
+		if (obj == null) {
+			counters.misses.increment();
+		} else {
+			counters.hits.increment();
+		}
 		@SuppressWarnings("unchecked")
 		T castObj = (T) obj;
 		return castObj;
@@ -53,6 +63,7 @@ public class LruObjectCache implements ObjectCache {
 	public <T, ID> void put(Class<T> clazz, ID id, T data) {
 		Map<Object, Object> objectMap = getMapForClass(clazz);
 		if (objectMap != null) {
+			classCounters.get(clazz).puts.increment();
 			objectMap.put(id, data);
 		}
 	}
@@ -115,6 +126,21 @@ public class LruObjectCache implements ObjectCache {
 		return size;
 	}
 
+	@Override
+	public <T> ObjectCacheStats getStats(Class<T> clazz) {
+		ObjectCacheCounters counters = classCounters.get(clazz);
+		if (counters == null) {
+			return null;
+		} else {
+			return counters.snapshot(size(clazz));
+		}
+	}
+
+	@Override
+	public ObjectCacheStats getStatsAll() {
+		return ObjectCacheCounters.snapshotAll(classCounters.values(), sizeAll());
+	}
+
 	private Map<Object, Object> getMapForClass(Class<?> clazz) {
 		Map<Object, Object> objectMap = classMaps.get(clazz);
 		if (objectMap == null) {
@@ -131,15 +157,22 @@ public class LruObjectCache implements ObjectCache {
 
 		private static final long serialVersionUID = -4566528080395573236L;
 		private final int capacity;
+		private final ObjectCacheCounters counters;
 
-		public LimitedLinkedHashMap(int capacity) {
+		public LimitedLinkedHashMap(int capacity, ObjectCacheCounters counters) {
 			super(capacity, 0.75F, true);
 			this.capacity = capacity;
+			this.counters = counters;
 		}
 
 		@Override
 		protected boolean removeEldestEntry(Entry<K, V> eldest) {
-			return size() > capacity;
+			if (size() > capacity) {
+				counters.evictions.increment();
+				return true;
+			} else {
+				return false;
+			}
 		}
 	}
 }
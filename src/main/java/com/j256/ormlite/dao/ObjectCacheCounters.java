@@ -0,0 +1,45 @@
+package com.j256.ormlite.dao;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters used by the object caches to build their {@link ObjectCacheStats}. These use {@link LongAdder}s so many
+ * threads can increment them without contending.
+ * 
+ * @author graywatson
+ */
+class ObjectCacheCounters {
+
+	final LongAdder hits = new LongAdder();
+	final LongAdder misses = new LongAdder();
+	final LongAdder puts = new LongAdder();
+	final LongAdder evictions = new LongAdder();
+	final LongAdder referencesCleared = new LongAdder();
+
+	/**
+	 * Return a snapshot of the counters.
+	 */
+	ObjectCacheStats snapshot(int size) {
+		return new ObjectCacheStats(hits.sum(), misses.sum(), puts.sum(), evictions.sum(), referencesCleared.sum(),
+				size);
+	}
+
+	/**
+	 * Return a snapshot of the counters added together.
+	 */
+	static ObjectCacheStats snapshotAll(Iterable<ObjectCacheCounters> countersList, int size) {
+		long hitCount = 0;
+		long missCount = 0;
+		long putCount = 0;
+		long evictionCount = 0;
+		long referenceClearedCount = 0;
+		for (ObjectCacheCounters counters : countersList) {
+			hitCount += counters.hits.sum();
+			missCount += counters.misses.sum();
+			putCount += counters.puts.sum();
+			evictionCount += counters.evictions.sum();
+			referenceClearedCount += counters.referencesCleared.sum();
+		}
+		return new ObjectCacheStats(hitCount, missCount, putCount, evictionCount, referenceClearedCount, size);
+	}
+}
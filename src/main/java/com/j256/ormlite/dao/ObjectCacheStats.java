@@ -0,0 +1,88 @@
+package com.j256.ormlite.dao;
+
+/**
+ * Snapshot of the statistics of an {@link ObjectCache} for a class or for all of the classes. This is returned by the
+ * methods of the {@link StatsObjectCache} and does not change once created.
+ * 
+ * @author graywatson
+ */
+public class ObjectCacheStats {
+
+	private final long hitCount;
+	private final long missCount;
+	private final long putCount;
+	private final long evictionCount;
+	private final long referenceClearedCount;
+	private final int size;
+
+	public ObjectCacheStats(long hitCount, long missCount, long putCount, long evictionCount,
+			long referenceClearedCount, int size) {
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.putCount = putCount;
+		this.evictionCount = evictionCount;
+		this.referenceClearedCount = referenceClearedCount;
+		this.size = size;
+	}
+
+	/**
+	 * Return the number of times that an object was found in the cache.
+	 */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Return the number of times that an object was not found in the cache.
+	 */
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Return the number of objects that were put into the cache.
+	 */
+	public long getPutCount() {
+		return putCount;
+	}
+
+	/**
+	 * Return the number of objects that were ejected from the cache because it was full.
+	 */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * Return the number of entries that were removed from the cache because their reference was cleared by the
+	 * garbage collector. Only the {@link ReferenceObjectCache} uses references.
+	 */
+	public long getReferenceClearedCount() {
+		return referenceClearedCount;
+	}
+
+	/**
+	 * Return the number of objects in the cache when the snapshot was taken.
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Return the ratio of hits to lookups or 0 if there have been no lookups.
+	 */
+	public double getHitRatio() {
+		long lookups = hitCount + missCount;
+		if (lookups == 0) {
+			return 0;
+		} else {
+			return (double) hitCount / lookups;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "hits=" + hitCount + ",misses=" + missCount + ",puts=" + putCount + ",evictions=" + evictionCount
+				+ ",referencesCleared=" + referenceClearedCount + ",size=" + size;
+	}
+}
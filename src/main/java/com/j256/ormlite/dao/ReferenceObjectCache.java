@@ -1,9 +1,9 @@
 package com.j256.ormlite.dao;
 
 import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
@@ -13,13 +13,23 @@ import java.util.concurrent.ConcurrentHashMap;
  * Collection can then free these objects if no one has a "strong" reference to the object (weak) or if it runs out of
  * memory (soft).
  * 
+ * <p>
+ * The references are registered with a {@link ReferenceQueue} so when the GC frees an object its entry is removed from
+ * the cache the next time that an object is put into the cache. For caches that are mostly read, you can also call
+ * {@link #startCleanupThread()} to remove the entries in the background.
+ * </p>
+ * 
  * @author graywatson
  */
-public class ReferenceObjectCache implements ObjectCache {
+public class ReferenceObjectCache implements StatsObjectCache {
 
 	private final ConcurrentHashMap<Class<?>, Map<Object, Reference<Object>>> classMaps =
 			new ConcurrentHashMap<Class<?>, Map<Object, Reference<Object>>>();
+	private final ConcurrentHashMap<Class<?>, ObjectCacheCounters> classCounters =
+			new ConcurrentHashMap<Class<?>, ObjectCacheCounters>();
 	private final boolean useWeak;
+	private final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<Object>();
+	private volatile Thread cleanupThread;
 
 	/**
 	 * @param useWeak
@@ -48,6 +58,7 @@ public class ReferenceObjectCache implements ObjectCache {
 	public synchronized <T> void registerClass(Class<T> clazz) {
 		Map<Object, Reference<Object>> objectMap = classMaps.get(clazz);
 		if (objectMap == null) {
+			classCounters.put(clazz, new ObjectCacheCounters());
 			objectMap = new ConcurrentHashMap<Object, Reference<Object>>();
 			classMaps.put(clazz, objectMap);
 		}
@@ -59,15 +70,21 @@ public class ReferenceObjectCache implements ObjectCache {
 		if (objectMap == null) {
 			return null;
 		}
+		ObjectCacheCounters counters = classCounters.get(clazz);
 		Reference<Object> ref = objectMap.get(id);
 		if (ref == null) {
+			counters.misses.increment();
 			return null;
 		}
 		Object obj = ref.get();
 		if (obj == null) {
-			objectMap.remove(id);
+			if (objectMap.remove(id, ref)) {
+				counters.referencesCleared.increment();
+			}
+			counters.misses.increment();
 			return null;
 		} else {
+			counters.hits.increment();
 			@SuppressWarnings("unchecked")
 			T castObj = (T) obj;
 			return castObj;
@@ -78,11 +95,10 @@ public class ReferenceObjectCache implements ObjectCache {
 	public <T, ID> void put(Class<T> clazz, ID id, T data) {
 		Map<Object, Reference<Object>> objectMap = getMapForClass(clazz);
 		if (objectMap != null) {
-			if (useWeak) {
-				objectMap.put(id, new WeakReference<Object>(data));
-			} else {
-				objectMap.put(id, new SoftReference<Object>(data));
-			}
+			ObjectCacheCounters counters = classCounters.get(clazz);
+			counters.puts.increment();
+			objectMap.put(id, makeReference(objectMap, counters, id, data));
+			drainReferenceQueue();
 		}
 	}
 
@@ -119,9 +135,13 @@ public class ReferenceObjectCache implements ObjectCache {
 		if (ref == null) {
 			return null;
 		}
-		objectMap.put(newId, ref);
+		Object obj = ref.get();
+		if (obj != null) {
+			// new reference since the old one will remove the old-id from the map when it is queued
+			objectMap.put(newId, makeReference(objectMap, classCounters.get(clazz), newId, obj));
+		}
 		@SuppressWarnings("unchecked")
-		T castObj = (T) ref.get();
+		T castObj = (T) obj;
 		return castObj;
 	}
 
@@ -145,12 +165,14 @@ public class ReferenceObjectCache implements ObjectCache {
 	}
 
 	/**
-	 * Run through the map and remove any references that have been null'd out by the GC.
+	 * Run through the map and remove any references that have been null'd out by the GC. This iterates across the
+	 * whole map and is usually not needed since the cleared references are removed using the reference queue. See
+	 * {@link #drainReferenceQueue()}.
 	 */
 	public <T> void cleanNullReferences(Class<T> clazz) {
 		Map<Object, Reference<Object>> objectMap = getMapForClass(clazz);
 		if (objectMap != null) {
-			cleanMap(objectMap);
+			cleanMap(objectMap, classCounters.get(clazz));
 		}
 	}
 
@@ -158,16 +180,96 @@ public class ReferenceObjectCache implements ObjectCache {
 	 * Run through all maps and remove any references that have been null'd out by the GC.
 	 */
 	public <T> void cleanNullReferencesAll() {
-		for (Map<Object, Reference<Object>> objectMap : classMaps.values()) {
-			cleanMap(objectMap);
+		for (Entry<Class<?>, Map<Object, Reference<Object>>> entry : classMaps.entrySet()) {
+			cleanMap(entry.getValue(), classCounters.get(entry.getKey()));
 		}
 	}
 
-	private void cleanMap(Map<Object, Reference<Object>> objectMap) {
-		Iterator<Entry<Object, Reference<Object>>> iterator = objectMap.entrySet().iterator();
-		while (iterator.hasNext()) {
-			if (iterator.next().getValue().get() == null) {
-				iterator.remove();
+	/**
+	 * Remove the entries from the cache whose references have been cleared by the GC and queued. This is called
+	 * automatically when objects are put into the cache and costs nothing if no references have been queued.
+	 */
+	public void drainReferenceQueue() {
+		while (true) {
+			Reference<?> ref = referenceQueue.poll();
+			if (ref == null) {
+				return;
+			}
+			((CacheReference) ref).removeFromCache();
+		}
+	}
+
+	/**
+	 * Start a daemon thread which waits on the reference queue and removes the entries from the cache as the GC clears
+	 * their references. This does nothing if the thread has already been started.
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> The thread holds a reference to the cache so {@link #stopCleanupThread()} should be called when the
+	 * cache is no longer used.
+	 * </p>
+	 */
+	public synchronized void startCleanupThread() {
+		if (cleanupThread != null) {
+			return;
+		}
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				while (!Thread.currentThread().isInterrupted()) {
+					try {
+						((CacheReference) referenceQueue.remove()).removeFromCache();
+					} catch (InterruptedException e) {
+						// we are being stopped
+						Thread.currentThread().interrupt();
+					}
+				}
+			}
+		}, getClass().getSimpleName() + "-cleanup");
+		thread.setDaemon(true);
+		thread.start();
+		cleanupThread = thread;
+	}
+
+	/**
+	 * Stop the thread started by {@link #startCleanupThread()}. This does nothing if it has not been started.
+	 */
+	public synchronized void stopCleanupThread() {
+		Thread thread = cleanupThread;
+		if (thread != null) {
+			thread.interrupt();
+			cleanupThread = null;
+		}
+	}
+
+	@Override
+	public <T> ObjectCacheStats getStats(Class<T> clazz) {
+		ObjectCacheCounters counters = classCounters.get(clazz);
+		if (counters == null) {
+			return null;
+		} else {
+			return counters.snapshot(size(clazz));
+		}
+	}
+
+	@Override
+	public ObjectCacheStats getStatsAll() {
+		return ObjectCacheCounters.snapshotAll(classCounters.values(), sizeAll());
+	}
+
+	private Reference<Object> makeReference(Map<Object, Reference<Object>> objectMap, ObjectCacheCounters counters,
+			Object id, Object data) {
+		if (useWeak) {
+			return new CacheWeakReference(data, referenceQueue, objectMap, counters, id);
+		} else {
+			return new CacheSoftReference(data, referenceQueue, objectMap, counters, id);
+		}
+	}
+
+	private void cleanMap(Map<Object, Reference<Object>> objectMap, ObjectCacheCounters counters) {
+		for (Entry<Object, Reference<Object>> entry : objectMap.entrySet()) {
+			// only remove if it hasn't been replaced
+			if (entry.getValue().get() == null && objectMap.remove(entry.getKey(), entry.getValue())) {
+				counters.referencesCleared.increment();
 			}
 		}
 	}
@@ -180,4 +282,55 @@ public class ReferenceObjectCache implements ObjectCache {
 			return objectMap;
 		}
 	}
+
+	/**
+	 * Reference which knows how to remove its entry from the cache once it has been queued.
+	 */
+	private interface CacheReference {
+		void removeFromCache();
+	}
+
+	private static class CacheWeakReference extends WeakReference<Object> implements CacheReference {
+		private final Map<Object, Reference<Object>> objectMap;
+		private final ObjectCacheCounters counters;
+		private final Object id;
+
+		public CacheWeakReference(Object referent, ReferenceQueue<Object> queue,
+				Map<Object, Reference<Object>> objectMap, ObjectCacheCounters counters, Object id) {
+			super(referent, queue);
+			this.objectMap = objectMap;
+			this.counters = counters;
+			this.id = id;
+		}
+
+		@Override
+		public void removeFromCache() {
+			// only remove if we haven't already been removed or replaced
+			if (objectMap.remove(id, this)) {
+				counters.referencesCleared.increment();
+			}
+		}
+	}
+
+	private static class CacheSoftReference extends SoftReference<Object> implements CacheReference {
+		private final Map<Object, Reference<Object>> objectMap;
+		private final ObjectCacheCounters counters;
+		private final Object id;
+
+		public CacheSoftReference(Object referent, ReferenceQueue<Object> queue,
+				Map<Object, Reference<Object>> objectMap, ObjectCacheCounters counters, Object id) {
+			super(referent, queue);
+			this.objectMap = objectMap;
+			this.counters = counters;
+			this.id = id;
+		}
+
+		@Override
+		public void removeFromCache() {
+			// only remove if we haven't already been removed or replaced
+			if (objectMap.remove(id, this)) {
+				counters.referencesCleared.increment();
+			}
+		}
+	}
 }
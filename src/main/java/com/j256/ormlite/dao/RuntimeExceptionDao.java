@@ -5,7 +5,9 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.stream.Stream;
 
+import com.j256.ormlite.dao.ColumnChunk.ColumnType;
 import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.logger.Level;
@@ -100,6 +102,19 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * @see Dao#queryForFirst(PreparedQuery, Object...)
+	 */
+	@Override
+	public T queryForFirst(PreparedQuery<T> preparedQuery, Object... argumentValues) {
+		try {
+			return dao.queryForFirst(preparedQuery, argumentValues);
+		} catch (SQLException e) {
+			logMessage(e, "queryForFirst threw exception on: " + preparedQuery);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#queryForAll()
 	 */
@@ -241,6 +256,19 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * @see Dao#query(PreparedQuery, Object...)
+	 */
+	@Override
+	public List<T> query(PreparedQuery<T> preparedQuery, Object... argumentValues) {
+		try {
+			return dao.query(preparedQuery, argumentValues);
+		} catch (SQLException e) {
+			logMessage(e, "query threw exception on: " + preparedQuery);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#create(Object)
 	 */
@@ -303,6 +331,19 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * @see Dao#createOrUpdateAll(Collection)
+	 */
+	@Override
+	public int createOrUpdateAll(Collection<T> datas) {
+		try {
+			return dao.createOrUpdateAll(datas);
+		} catch (SQLException e) {
+			logMessage(e, "createOrUpdateAll threw exception on: " + datas);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#update(Object)
 	 */
@@ -499,6 +540,19 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * @see Dao#parallelStream(PreparedQuery, int)
+	 */
+	@Override
+	public Stream<T> parallelStream(PreparedQuery<T> preparedQuery, int partitions) {
+		try {
+			return dao.parallelStream(preparedQuery, partitions);
+		} catch (SQLException e) {
+			logMessage(e, "parallelStream threw exception on: " + preparedQuery);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#queryRaw(String)
 	 */
@@ -736,6 +790,47 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		}
 	}
 
+	/**
+	 * @see Dao#queryRawColumnar(String, ColumnType[], int, ColumnChunkHandler)
+	 */
+	@Override
+	public long queryRawColumnar(String query, ColumnType[] columnTypes, int chunkSize, ColumnChunkHandler handler) {
+		try {
+			return dao.queryRawColumnar(query, columnTypes, chunkSize, handler);
+		} catch (SQLException e) {
+			logMessage(e, "queryRawColumnar threw exception on: " + query);
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * @see Dao#queryRawColumnar(String, ColumnType[], int, ColumnChunkHandler, ArgumentHolder...)
+	 */
+	@Override
+	public long queryRawColumnar(String query, ColumnType[] columnTypes, int chunkSize, ColumnChunkHandler handler,
+			ArgumentHolder... arguments) {
+		try {
+			return dao.queryRawColumnar(query, columnTypes, chunkSize, handler, arguments);
+		} catch (SQLException e) {
+			logMessage(e, "queryRawColumnar threw exception on: " + query);
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * @see Dao#queryRawColumnar(String, ColumnType[], int, ColumnChunkHandler, String...)
+	 */
+	@Override
+	public long queryRawColumnar(String query, ColumnType[] columnTypes, int chunkSize, ColumnChunkHandler handler,
+			String... arguments) {
+		try {
+			return dao.queryRawColumnar(query, columnTypes, chunkSize, handler, arguments);
+		} catch (SQLException e) {
+			logMessage(e, "queryRawColumnar threw exception on: " + query);
+			throw new RuntimeException(e);
+		}
+	}
+
 	/**
 	 * @see Dao#executeRaw(String)
 	 */
@@ -1006,6 +1101,27 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		dao.clearObjectCache();
 	}
 
+	/**
+	 * @see Dao#setDirtyFieldTracking(boolean)
+	 */
+	@Override
+	public void setDirtyFieldTracking(boolean enabled) {
+		try {
+			dao.setDirtyFieldTracking(enabled);
+		} catch (SQLException e) {
+			logMessage(e, "setDirtyFieldTracking(" + enabled + ") threw exception");
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * @see Dao#isDirtyFieldTracking()
+	 */
+	@Override
+	public boolean isDirtyFieldTracking() {
+		return dao.isDirtyFieldTracking();
+	}
+
 	/**
 	 * @see Dao#mapSelectStarRow(DatabaseResults)
 	 */
@@ -1131,6 +1247,30 @@ public class RuntimeExceptionDao<T, ID> implements Dao<T, ID> {
 		dao.setObjectFactory(objectFactory);
 	}
 
+	/**
+	 * @see Dao#setCreateBatchSize(int)
+	 */
+	@Override
+	public void setCreateBatchSize(int createBatchSize) {
+		dao.setCreateBatchSize(createBatchSize);
+	}
+
+	/**
+	 * @see Dao#setForeignAutoRefreshBatchSize(int)
+	 */
+	@Override
+	public void setForeignAutoRefreshBatchSize(int foreignAutoRefreshBatchSize) {
+		dao.setForeignAutoRefreshBatchSize(foreignAutoRefreshBatchSize);
+	}
+
+	/**
+	 * @see Dao#setForeignCollectionBatchSize(int)
+	 */
+	@Override
+	public void setForeignCollectionBatchSize(int foreignCollectionBatchSize) {
+		dao.setForeignCollectionBatchSize(foreignCollectionBatchSize);
+	}
+
 	/**
 	 * @see Dao#getRawRowMapper()
 	 */
@@ -0,0 +1,438 @@
+package com.j256.ormlite.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache for ORMLite which stores a certain number of items and is designed for high concurrency. Reads do not lock and
+ * the entries are spread across a number of segments each of which does its own eviction. Inserting an object into a
+ * full segment causes an object that has not been recently used to be ejected using the CLOCK (second-chance)
+ * algorithm which approximates least-recently-used. They can be injected into a dao with the
+ * {@link Dao#setObjectCache(ObjectCache)}.
+ *
+ * <p>
+ * <b>NOTE:</b> If the cache is constructed with {@link #SegmentedLruObjectCache(int)} then, like the
+ * {@link LruObjectCache}, each <i>Class</i> will allow capacity items in the cache. If it is constructed with
+ * {@link #makeSharedCapacityCache(int)} then the capacity is a global budget shared by all of the classes.
+ * </p>
+ *
+ * <p>
+ * <b>NOTE:</b> Eviction is done by the thread that is inserting and is skipped if another thread is already evicting
+ * from the same segment so the cache may briefly hold a few more objects than its capacity.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class SegmentedLruObjectCache implements StatsObjectCache {
+
+	private static final int MIN_SEGMENT_CAPACITY = 16;
+
+	private final int capacity;
+	private final boolean sharedCapacity;
+	private final int segmentCount;
+	private final Store sharedStore;
+	private final ConcurrentHashMap<Class<?>, ClassInfo> classInfos = new ConcurrentHashMap<Class<?>, ClassInfo>();
+
+	/**
+	 * Create a cache that holds up to capacity items for each class.
+	 */
+	public SegmentedLruObjectCache(int capacity) {
+		this(capacity, false);
+	}
+
+	private SegmentedLruObjectCache(int capacity, boolean sharedCapacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be > 0: " + capacity);
+		}
+		this.capacity = capacity;
+		this.sharedCapacity = sharedCapacity;
+		this.segmentCount = segmentCountForCapacity(capacity);
+		if (sharedCapacity) {
+			this.sharedStore = new Store(capacity, segmentCount);
+		} else {
+			this.sharedStore = null;
+		}
+	}
+
+	/**
+	 * Create a cache that holds up to capacity items in total across all of the registered classes.
+	 */
+	public static SegmentedLruObjectCache makeSharedCapacityCache(int capacity) {
+		return new SegmentedLruObjectCache(capacity, true);
+	}
+
+	@Override
+	public <T> void registerClass(Class<T> clazz) {
+		if (classInfos.get(clazz) == null) {
+			Store store;
+			if (sharedCapacity) {
+				store = sharedStore;
+			} else {
+				store = new Store(capacity, segmentCount);
+			}
+			classInfos.putIfAbsent(clazz, new ClassInfo(store));
+		}
+	}
+
+	@Override
+	public <T, ID> T get(Class<T> clazz, ID id) {
+		ClassInfo classInfo = classInfos.get(clazz);
+		if (classInfo == null) {
+			return null;
+		}
+		Node node = classInfo.store.get(makeKey(clazz, id));
+		if (node == null) {
+			classInfo.counters.misses.increment();
+			return null;
+		}
+		classInfo.counters.hits.increment();
+		// only write if needed so reads of popular entries don't bounce the cache-line between processors
+		if (!node.referenced) {
+			node.referenced = true;
+		}
+		@SuppressWarnings("unchecked")
+		T castObj = (T) node.value;
+		return castObj;
+	}
+
+	@Override
+	public <T, ID> void put(Class<T> clazz, ID id, T data) {
+		ClassInfo classInfo = classInfos.get(clazz);
+		if (classInfo != null) {
+			classInfo.store.put(classInfo, makeKey(clazz, id), data);
+		}
+	}
+
+	@Override
+	public <T> void clear(Class<T> clazz) {
+		ClassInfo classInfo = classInfos.get(clazz);
+		if (classInfo != null) {
+			classInfo.store.clear(classInfo);
+		}
+	}
+
+	@Override
+	public void clearAll() {
+		for (ClassInfo classInfo : classInfos.values()) {
+			classInfo.store.clear(null);
+		}
+	}
+
+	@Override
+	public <T, ID> void remove(Class<T> clazz, ID id) {
+		ClassInfo classInfo = classInfos.get(clazz);
+		if (classInfo != null) {
+			classInfo.store.remove(makeKey(clazz, id));
+		}
+	}
+
+	@Override
+	public <T, ID> T updateId(Class<T> clazz, ID oldId, ID newId) {
+		ClassInfo classInfo = classInfos.get(clazz);
+		if (classInfo == null) {
+			return null;
+		}
+		Node node = classInfo.store.remove(makeKey(clazz, oldId));
+		if (node == null) {
+			return null;
+		}
+		classInfo.store.put(classInfo, makeKey(clazz, newId), node.value);
+		@SuppressWarnings("unchecked")
+		T castObj = (T) node.value;
+		return castObj;
+	}
+
+	@Override
+	public <T> int size(Class<T> clazz) {
+		ClassInfo classInfo = classInfos.get(clazz);
+		if (classInfo == null) {
+			return 0;
+		} else {
+			return classInfo.size.get();
+		}
+	}
+
+	@Override
+	public int sizeAll() {
+		int size = 0;
+		for (ClassInfo classInfo : classInfos.values()) {
+			size += classInfo.size.get();
+		}
+		return size;
+	}
+
+	@Override
+	public <T> ObjectCacheStats getStats(Class<T> clazz) {
+		ClassInfo classInfo = classInfos.get(clazz);
+		if (classInfo == null) {
+			return null;
+		} else {
+			return classInfo.counters.snapshot(classInfo.size.get());
+		}
+	}
+
+	@Override
+	public ObjectCacheStats getStatsAll() {
+		List<ObjectCacheCounters> countersList = new ArrayList<ObjectCacheCounters>(classInfos.size());
+		for (ClassInfo classInfo : classInfos.values()) {
+			countersList.add(classInfo.counters);
+		}
+		return ObjectCacheCounters.snapshotAll(countersList, sizeAll());
+	}
+
+	private Object makeKey(Class<?> clazz, Object id) {
+		if (sharedCapacity) {
+			return new ClassIdKey(clazz, id);
+		} else {
+			return id;
+		}
+	}
+
+	private static int segmentCountForCapacity(int capacity) {
+		int maxSegments = Runtime.getRuntime().availableProcessors();
+		int segments = 1;
+		// power of 2 so we can mask the hash
+		while (segments < maxSegments && segments * 2 <= capacity / MIN_SEGMENT_CAPACITY) {
+			segments *= 2;
+		}
+		return segments;
+	}
+
+	/**
+	 * Per class information.
+	 */
+	private static class ClassInfo {
+		final Store store;
+		final AtomicInteger size = new AtomicInteger();
+		final ObjectCacheCounters counters = new ObjectCacheCounters();
+
+		public ClassInfo(Store store) {
+			this.store = store;
+		}
+	}
+
+	/**
+	 * Collection of segments that shares a capacity.
+	 */
+	private static class Store {
+		private final Segment[] segments;
+		private final int mask;
+
+		public Store(int capacity, int segmentCount) {
+			this.segments = new Segment[segmentCount];
+			for (int i = 0; i < segmentCount; i++) {
+				// spread the remainder across the first segments
+				int segmentCapacity = capacity / segmentCount;
+				if (i < capacity % segmentCount) {
+					segmentCapacity++;
+				}
+				segments[i] = new Segment(segmentCapacity);
+			}
+			this.mask = segmentCount - 1;
+		}
+
+		public Node get(Object key) {
+			return segmentFor(key).map.get(key);
+		}
+
+		public void put(ClassInfo classInfo, Object key, Object value) {
+			segmentFor(key).put(classInfo, key, value);
+		}
+
+		public Node remove(Object key) {
+			return segmentFor(key).remove(key);
+		}
+
+		/**
+		 * Remove all of the nodes from the store for a particular class or all classes if null.
+		 */
+		public void clear(ClassInfo classInfo) {
+			for (Segment segment : segments) {
+				segment.clear(classInfo);
+			}
+		}
+
+		private Segment segmentFor(Object key) {
+			int hash = key.hashCode();
+			// spread the higher bits down since the segment count is usually small
+			hash ^= (hash >>> 16);
+			return segments[hash & mask];
+		}
+	}
+
+	/**
+	 * A segment of the cache which holds the nodes in a concurrent map and keeps a queue of the nodes for the CLOCK
+	 * eviction algorithm.
+	 */
+	private static class Segment {
+		final ConcurrentHashMap<Object, Node> map = new ConcurrentHashMap<Object, Node>();
+		private final ConcurrentLinkedQueue<Node> clockQueue = new ConcurrentLinkedQueue<Node>();
+		private final AtomicInteger size = new AtomicInteger();
+		// removed nodes stay in the queue until eviction passes them so we track its size separately
+		private final AtomicInteger queueSize = new AtomicInteger();
+		private final ReentrantLock evictionLock = new ReentrantLock();
+		private final int capacity;
+
+		public Segment(int capacity) {
+			this.capacity = capacity;
+		}
+
+		public void put(ClassInfo classInfo, Object key, Object value) {
+			classInfo.counters.puts.increment();
+			Node existing = map.get(key);
+			if (existing != null) {
+				existing.value = value;
+				return;
+			}
+			Node node = new Node(classInfo, key, value);
+			existing = map.putIfAbsent(key, node);
+			if (existing != null) {
+				existing.value = value;
+				return;
+			}
+			size.incrementAndGet();
+			classInfo.size.incrementAndGet();
+			clockQueue.offer(node);
+			queueSize.incrementAndGet();
+			if (size.get() > capacity || queueSize.get() > maxQueueSize()) {
+				evict();
+			}
+		}
+
+		public Node remove(Object key) {
+			Node node = map.remove(key);
+			if (node != null) {
+				removed(node);
+			}
+			return node;
+		}
+
+		public void clear(ClassInfo classInfo) {
+			for (Node node : map.values()) {
+				if ((classInfo == null || node.classInfo == classInfo) && map.remove(node.key, node)) {
+					removed(node);
+				}
+			}
+			evictionLock.lock();
+			try {
+				// drop the removed nodes from the queue
+				compactQueue();
+			} finally {
+				evictionLock.unlock();
+			}
+		}
+
+		private void removed(Node node) {
+			size.decrementAndGet();
+			node.classInfo.size.decrementAndGet();
+		}
+
+		private void evict() {
+			if (!evictionLock.tryLock()) {
+				// someone else is already evicting
+				return;
+			}
+			try {
+				if (queueSize.get() > maxQueueSize()) {
+					compactQueue();
+				}
+				// each node gets at most one second chance so this bounds our loop
+				int maxPolls = queueSize.get() * 2;
+				while (size.get() > capacity && maxPolls-- > 0) {
+					Node node = clockQueue.poll();
+					if (node == null) {
+						break;
+					}
+					if (map.get(node.key) != node) {
+						// node was removed or replaced
+						queueSize.decrementAndGet();
+					} else if (node.referenced) {
+						// give it a second chance
+						node.referenced = false;
+						clockQueue.offer(node);
+					} else {
+						queueSize.decrementAndGet();
+						if (map.remove(node.key, node)) {
+							removed(node);
+							node.classInfo.counters.evictions.increment();
+						}
+					}
+				}
+			} finally {
+				evictionLock.unlock();
+			}
+		}
+
+		/**
+		 * Remove the nodes from the queue that are no longer in the map. Must be called with the eviction lock held.
+		 */
+		private void compactQueue() {
+			int polls = queueSize.get();
+			while (polls-- > 0) {
+				Node node = clockQueue.poll();
+				if (node == null) {
+					break;
+				}
+				if (map.get(node.key) == node) {
+					clockQueue.offer(node);
+				} else {
+					queueSize.decrementAndGet();
+				}
+			}
+		}
+
+		private int maxQueueSize() {
+			// long math in case the capacity is large
+			return (int) Math.min(Integer.MAX_VALUE, (long) capacity * 2 + MIN_SEGMENT_CAPACITY);
+		}
+	}
+
+	/**
+	 * Cache entry which holds our value and the referenced bit for the CLOCK algorithm.
+	 */
+	private static class Node {
+		final ClassInfo classInfo;
+		final Object key;
+		volatile Object value;
+		volatile boolean referenced;
+
+		public Node(ClassInfo classInfo, Object key, Object value) {
+			this.classInfo = classInfo;
+			this.key = key;
+			this.value = value;
+			// new entries are recently used
+			this.referenced = true;
+		}
+	}
+
+	/**
+	 * Key of the class and id when the classes share the same store.
+	 */
+	private static class ClassIdKey {
+		private final Class<?> clazz;
+		private final Object id;
+
+		public ClassIdKey(Class<?> clazz, Object id) {
+			this.clazz = clazz;
+			this.id = id;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * clazz.hashCode() + id.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == null || obj.getClass() != getClass()) {
+				return false;
+			}
+			ClassIdKey other = (ClassIdKey) obj;
+			return clazz == other.clazz && id.equals(other.id);
+		}
+	}
+}
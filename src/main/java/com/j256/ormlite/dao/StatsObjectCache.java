@@ -0,0 +1,20 @@
+package com.j256.ormlite.dao;
+
+/**
+ * An {@link ObjectCache} which also keeps statistics about its use. The counters are designed to be cheap to update so
+ * they don't slow down the cache and the snapshots can be safely taken from another thread such as a metrics reporter.
+ * 
+ * @author graywatson
+ */
+public interface StatsObjectCache extends ObjectCache {
+
+	/**
+	 * Return a snapshot of the statistics of a certain class or null if the class has not been registered.
+	 */
+	public <T> ObjectCacheStats getStats(Class<T> clazz);
+
+	/**
+	 * Return a snapshot of the statistics of all of the classes added together.
+	 */
+	public ObjectCacheStats getStatsAll();
+}
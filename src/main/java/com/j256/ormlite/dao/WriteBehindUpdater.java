@@ -0,0 +1,389 @@
+package com.j256.ormlite.dao;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.misc.TransactionManager;
+
+/**
+ * Write-behind layer in front of {@link Dao#update(Object)} for entities whose rows are rewritten over and over such as
+ * counters or "last seen" timestamps. Updates are held in memory per id and only the latest version of each row is
+ * written when the pending updates are flushed. Flushes happen every flush-interval milliseconds, as soon as max-pending
+ * different rows are waiting, when {@link #flush()} is called, and on {@link #close()}. Each flush writes all of the
+ * pending rows in one transaction. The field values are copied when an update is queued so the object can be changed
+ * and queued again while the flushes run in another thread. Classes with a version field are not supported since the
+ * version of the queued copy would be changed and not that of the object.
+ *
+ * <pre>
+ * WriteBehindUpdater&lt;Account, String&gt; updater = new WriteBehindUpdater&lt;Account, String&gt;(accountDao, 100, 1000);
+ * account.setLastSeen(now);
+ * updater.update(account);
+ * </pre>
+ *
+ * <p>
+ * Updates to the same id are written in the order they were made: flushes run one at a time and an update made while a
+ * flush is running is written by the next one. If a flush fails then its rows are written again one at a time so a
+ * single bad row does not hold back the others. Rows that still fail are put back into the pending updates, unless a
+ * newer version has been queued since, and are retried by the next flush. A row that fails on its own, either because
+ * it was the only row in the flush or while other rows were written, is dropped with an error logged after it has
+ * failed {@value #MAX_ROW_FAILURES} times.
+ * </p>
+ *
+ * <p>
+ * <b>NOTE:</b> Until they are flushed, the updates are not visible to queries and will be lost if the JVM exits without
+ * calling {@link #close()}. Code running in a {@link TransactionManager} transaction that needs to see the updates can
+ * call {@link #flush()} which writes them using the transaction's connection so they commit or roll back with it.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class WriteBehindUpdater<T, ID> implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(WriteBehindUpdater.class);
+	private static final AtomicInteger threadCounter = new AtomicInteger();
+	/** number of times a row can fail on its own before it is dropped */
+	public static final int MAX_ROW_FAILURES = 3;
+
+	private final Dao<T, ID> dao;
+	private final FieldType[] fieldTypes;
+	private final int maxPending;
+	private final ScheduledExecutorService flushExecutor;
+	/** lock around the pending map, never held while writing to the database */
+	private final Object pendingLock = new Object();
+	/** held while flushing so that the flushes run one after another */
+	private final Object flushLock = new Object();
+	private final AtomicBoolean flushRequested = new AtomicBoolean();
+	private Map<ID, T> pending = new LinkedHashMap<ID, T>();
+	/** number of times that each pending row has failed on its own, only used while holding the flush lock */
+	private final Map<ID, Integer> rowFailureCounts = new HashMap<ID, Integer>();
+	private volatile boolean closed;
+
+	private final LongAdder updateCount = new LongAdder();
+	private final LongAdder coalescedCount = new LongAdder();
+	private final LongAdder flushCount = new LongAdder();
+	private final LongAdder flushedRowCount = new LongAdder();
+	private final LongAdder flushFailureCount = new LongAdder();
+	private final LongAdder droppedRowCount = new LongAdder();
+
+	/**
+	 * Create a write-behind updater which flushes the pending updates every flushIntervalMillis or as soon as
+	 * maxPending different rows are waiting to be written.
+	 *
+	 * @throws IllegalArgumentException
+	 *             If the arguments are not valid or the DAO's class has a version field.
+	 */
+	public WriteBehindUpdater(Dao<T, ID> dao, long flushIntervalMillis, int maxPending) {
+		if (flushIntervalMillis <= 0) {
+			throw new IllegalArgumentException("Flush interval must be > 0: " + flushIntervalMillis);
+		}
+		if (maxPending <= 0) {
+			throw new IllegalArgumentException("Max pending must be > 0: " + maxPending);
+		}
+		this.fieldTypes = dao.getTableInfo().getFieldTypes();
+		for (FieldType fieldType : fieldTypes) {
+			if (fieldType.isVersion()) {
+				throw new IllegalArgumentException(
+						"Write-behind updates are not supported for " + dao.getDataClass() + " with a version field");
+			}
+		}
+		this.dao = dao;
+		this.maxPending = maxPending;
+		this.flushExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "ormlite-write-behind-" + threadCounter.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		flushExecutor.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				backgroundFlush();
+			}
+		}, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Queue an update of the data item, replacing any pending update of the same id. A shallow copy of the data is
+	 * queued so later changes to it are not written unless it is queued again. The row is written to the database by
+	 * the next flush.
+	 *
+	 * @throws SQLException
+	 *             If the data has no id.
+	 * @throws IllegalStateException
+	 *             If the updater has been closed.
+	 */
+	public void update(T data) throws SQLException {
+		if (closed) {
+			throw new IllegalStateException("Write-behind updater for " + dao.getDataClass() + " has been closed");
+		}
+		ID id = dao.extractId(data);
+		if (id == null) {
+			throw new SQLException("Cannot update " + data + " because its id is null");
+		}
+		T copy = copyFields(data);
+		int size;
+		synchronized (pendingLock) {
+			if (pending.put(id, copy) != null) {
+				coalescedCount.increment();
+			}
+			size = pending.size();
+		}
+		updateCount.increment();
+		if (size >= maxPending && flushRequested.compareAndSet(false, true)) {
+			flushExecutor.execute(new Runnable() {
+				@Override
+				public void run() {
+					flushRequested.set(false);
+					backgroundFlush();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Write all of the pending updates to the database in one transaction in the calling thread. If the calling thread
+	 * is in a {@link TransactionManager} transaction then the updates are part of that transaction. If the transaction
+	 * fails then the rows are written one at a time.
+	 *
+	 * @return The number of rows updated.
+	 * @throws SQLException
+	 *             If some of the updates could not be written in which case they will be retried by the next flush.
+	 */
+	public int flush() throws SQLException {
+		synchronized (flushLock) {
+			final Map<ID, T> batch;
+			synchronized (pendingLock) {
+				if (pending.isEmpty()) {
+					return 0;
+				}
+				batch = pending;
+				pending = new LinkedHashMap<ID, T>();
+			}
+			int numRows;
+			try {
+				numRows = TransactionManager.callInTransaction(dao.getTableName(), dao.getConnectionSource(),
+						new Callable<Integer>() {
+							@Override
+							public Integer call() throws SQLException {
+								int total = 0;
+								for (T data : batch.values()) {
+									total += dao.update(data);
+								}
+								return total;
+							}
+						});
+			} catch (SQLException e) {
+				flushFailureCount.increment();
+				if (batch.size() == 1) {
+					requeueFailed(batch, true);
+					throw new SQLException("Unable to flush 1 pending update of " + dao.getDataClass(), e);
+				}
+				logger.debug(e, "write-behind flush of {} rows of {} failed, writing them one at a time", batch.size(),
+						dao.getDataClass());
+				return flushOneAtATime(batch);
+			}
+			flushCount.increment();
+			flushedRowCount.add(batch.size());
+			rowFailureCounts.keySet().removeAll(batch.keySet());
+			return numRows;
+		}
+	}
+
+	/**
+	 * Stop the background flushes and write any pending updates to the database. Further calls to
+	 * {@link #update(Object)} will throw.
+	 *
+	 * @throws SQLException
+	 *             If some of the pending updates could not be written in which case they are lost. The other updates
+	 *             have been written.
+	 */
+	@Override
+	public void close() throws SQLException {
+		closed = true;
+		flushExecutor.shutdown();
+		try {
+			flushExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		flush();
+	}
+
+	/**
+	 * Return the DAO that the updates are written through.
+	 */
+	public Dao<T, ID> getDao() {
+		return dao;
+	}
+
+	/**
+	 * Return the number of updates that have been queued.
+	 */
+	public long getUpdateCount() {
+		return updateCount.sum();
+	}
+
+	/**
+	 * Return the number of updates that replaced a pending update of the same id and so never had to be written.
+	 */
+	public long getCoalescedCount() {
+		return coalescedCount.sum();
+	}
+
+	/**
+	 * Return the number of flushes that wrote rows to the database.
+	 */
+	public long getFlushCount() {
+		return flushCount.sum();
+	}
+
+	/**
+	 * Return the number of rows that have been written to the database.
+	 */
+	public long getFlushedRowCount() {
+		return flushedRowCount.sum();
+	}
+
+	/**
+	 * Return the number of flushes that failed.
+	 */
+	public long getFlushFailureCount() {
+		return flushFailureCount.sum();
+	}
+
+	/**
+	 * Return the number of rows that were dropped because they failed to be written too many times.
+	 */
+	public long getDroppedRowCount() {
+		return droppedRowCount.sum();
+	}
+
+	/**
+	 * Return the number of rows waiting to be written.
+	 */
+	public int getPendingCount() {
+		synchronized (pendingLock) {
+			return pending.size();
+		}
+	}
+
+	private void backgroundFlush() {
+		try {
+			flush();
+		} catch (SQLException e) {
+			logger.error(e, "write-behind flush of {} failed, will retry", dao.getDataClass());
+		}
+	}
+
+	/**
+	 * Write the rows of a failed flush each in their own transaction so one bad row does not hold back the others. The
+	 * rows that fail are requeued or dropped if they have failed too many times.
+	 */
+	private int flushOneAtATime(Map<ID, T> batch) throws SQLException {
+		Map<ID, T> failed = new LinkedHashMap<ID, T>();
+		SQLException firstException = null;
+		int numRows = 0;
+		for (Map.Entry<ID, T> entry : batch.entrySet()) {
+			final T data = entry.getValue();
+			try {
+				numRows += TransactionManager.callInTransaction(dao.getTableName(), dao.getConnectionSource(),
+						new Callable<Integer>() {
+							@Override
+							public Integer call() throws SQLException {
+								return dao.update(data);
+							}
+						});
+				rowFailureCounts.remove(entry.getKey());
+			} catch (SQLException e) {
+				failed.put(entry.getKey(), data);
+				if (firstException == null) {
+					firstException = e;
+				}
+			}
+		}
+		int written = batch.size() - failed.size();
+		if (written > 0) {
+			flushCount.increment();
+			flushedRowCount.add(written);
+		}
+		if (failed.isEmpty()) {
+			return numRows;
+		}
+		// if nothing could be written then the problem is most likely the database and not the rows
+		requeueFailed(failed, written > 0);
+		throw new SQLException("Unable to flush " + (batch.size() - written) + " of " + batch.size()
+				+ " pending updates of " + dao.getDataClass(), firstException);
+	}
+
+	/**
+	 * Requeue the rows that failed to be written after counting the failure against each row, if countFailures is
+	 * true, and dropping the ones that have failed too many times.
+	 */
+	private void requeueFailed(Map<ID, T> failed, boolean countFailures) {
+		if (countFailures) {
+			for (Iterator<Map.Entry<ID, T>> iterator = failed.entrySet().iterator(); iterator.hasNext();) {
+				Map.Entry<ID, T> entry = iterator.next();
+				Integer count = rowFailureCounts.get(entry.getKey());
+				int failures = (count == null ? 1 : count + 1);
+				if (failures >= MAX_ROW_FAILURES) {
+					logger.error("write-behind update of {} with id {} failed {} times, dropping it: {}",
+							dao.getDataClass(), entry.getKey(), failures, entry.getValue());
+					rowFailureCounts.remove(entry.getKey());
+					droppedRowCount.increment();
+					iterator.remove();
+				} else {
+					rowFailureCounts.put(entry.getKey(), failures);
+				}
+			}
+		}
+		requeue(failed);
+	}
+
+	/**
+	 * Copy the values of the fields that are written by an update into a new instance.
+	 */
+	private T copyFields(T data) throws SQLException {
+		T copy = dao.createObjectInstance();
+		for (FieldType fieldType : fieldTypes) {
+			if (!fieldType.isForeignCollection()) {
+				// parent-object so foreign objects are copied as is and not looked up
+				fieldType.assignField(dao.getConnectionSource(), copy, fieldType.extractRawJavaFieldValue(data), true,
+						null);
+			}
+		}
+		return copy;
+	}
+
+	/**
+	 * Put the rows of a failed flush back ahead of the pending rows unless a newer version has been queued since.
+	 */
+	private void requeue(Map<ID, T> batch) {
+		synchronized (pendingLock) {
+			Map<ID, T> newPending = new LinkedHashMap<ID, T>(batch);
+			for (Map.Entry<ID, T> entry : pending.entrySet()) {
+				if (newPending.put(entry.getKey(), entry.getValue()) != null) {
+					coalescedCount.increment();
+					// a newer version of the row gets a fresh start
+					rowFailureCounts.remove(entry.getKey());
+				}
+			}
+			pending = newPending;
+		}
+	}
+}
@@ -607,6 +607,75 @@ public abstract class BaseDatabaseType implements DatabaseType {
 		return false;
 	}
 
+	@Override
+	public boolean isBatchGeneratedKeysSupported() {
+		return false;
+	}
+
+	@Override
+	public boolean isMultiRowInsertSupported() {
+		return false;
+	}
+
+	@Override
+	public boolean isMultiRowInsertGeneratedKeysSupported() {
+		return false;
+	}
+
+	@Override
+	public int getMaxStatementArguments() {
+		return 0;
+	}
+
+	@Override
+	public int getDefaultFetchSize() {
+		return 0;
+	}
+
+	@Override
+	public boolean isNullsSortedFirst() {
+		return true;
+	}
+
+	@Override
+	public boolean isUpsertSupported() {
+		return false;
+	}
+
+	/**
+	 * Default is the {@code INSERT ... ON CONFLICT (id) DO UPDATE SET ...} form which is used by Postgres and Sqlite.
+	 */
+	@Override
+	public void appendUpsertStatement(StringBuilder sb, String escapedTableName, FieldType[] fieldTypes,
+			FieldType idFieldType) {
+		sb.append("INSERT INTO ").append(escapedTableName).append(" (");
+		appendColumnNames(sb, fieldTypes);
+		sb.append(") VALUES (");
+		appendArgs(sb, fieldTypes.length);
+		sb.append(") ON CONFLICT (");
+		appendEscapedEntityName(sb, idFieldType.getColumnName());
+		sb.append(") ");
+		boolean first = true;
+		for (FieldType fieldType : fieldTypes) {
+			if (fieldType == idFieldType) {
+				continue;
+			}
+			if (first) {
+				sb.append("DO UPDATE SET ");
+				first = false;
+			} else {
+				sb.append(", ");
+			}
+			appendEscapedEntityName(sb, fieldType.getColumnName());
+			sb.append(" = excluded.");
+			appendEscapedEntityName(sb, fieldType.getColumnName());
+		}
+		if (first) {
+			// only the id field so there is nothing to update
+			sb.append("DO NOTHING");
+		}
+	}
+
 	@Override
 	public boolean isTruncateSupported() {
 		return false;
@@ -658,6 +727,33 @@ public abstract class BaseDatabaseType implements DatabaseType {
 		return false;
 	}
 
+	/**
+	 * Append the comma separated and escaped column names of the field types.
+	 */
+	protected void appendColumnNames(StringBuilder sb, FieldType[] fieldTypes) {
+		boolean first = true;
+		for (FieldType fieldType : fieldTypes) {
+			if (first) {
+				first = false;
+			} else {
+				sb.append(',');
+			}
+			appendEscapedEntityName(sb, fieldType.getColumnName());
+		}
+	}
+
+	/**
+	 * Append a comma separated '?' argument for each of the columns.
+	 */
+	protected void appendArgs(StringBuilder sb, int numArgs) {
+		for (int i = 0; i < numArgs; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append('?');
+		}
+	}
+
 	/**
 	 * If the field can be nullable, do we need to add some sort of NULL SQL for the create table. By default it is a
 	 * noop. This is necessary because MySQL has a auto default value for the TIMESTAMP type that required a default
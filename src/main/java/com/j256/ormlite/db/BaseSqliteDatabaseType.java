@@ -70,6 +70,18 @@ public abstract class BaseSqliteDatabaseType extends BaseDatabaseType {
 		return true;
 	}
 
+	@Override
+	public boolean isMultiRowInsertSupported() {
+		// supported since Sqlite 3.7.11
+		return true;
+	}
+
+	@Override
+	public int getMaxStatementArguments() {
+		// default SQLITE_MAX_VARIABLE_NUMBER before Sqlite 3.32.0
+		return 999;
+	}
+
 	@Override
 	public FieldConverter getFieldConverter(DataPersister dataPersister, FieldType fieldType) {
 		// we are only overriding certain types
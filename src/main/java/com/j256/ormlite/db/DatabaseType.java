@@ -9,6 +9,7 @@ import com.j256.ormlite.field.DataPersister;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldConverter;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.stmt.QueryBuilder;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.table.DatabaseTableConfig;
 
@@ -273,6 +274,57 @@ public interface DatabaseType {
 	 */
 	public boolean isBatchUseTransaction();
 
+	/**
+	 * Returns true if the database returns the generated-id keys for all of the rows of a batched insert. If false then
+	 * objects with database generated-ids are inserted one at a time so their ids can be assigned.
+	 */
+	public boolean isBatchGeneratedKeysSupported();
+
+	/**
+	 * Returns true if the database supports inserting multiple rows with a single
+	 * {@code INSERT INTO ... VALUES (...),(...)} statement.
+	 */
+	public boolean isMultiRowInsertSupported();
+
+	/**
+	 * Returns true if the database returns the generated-id keys for all of the rows of a multi-row insert. If false
+	 * then objects with database generated-ids are not inserted with multi-row inserts.
+	 */
+	public boolean isMultiRowInsertGeneratedKeysSupported();
+
+	/**
+	 * Return the maximum number of '?' arguments that the database allows in a single statement or 0 if there is no
+	 * limit.
+	 */
+	public int getMaxStatementArguments();
+
+	/**
+	 * Return the number of rows that the database driver should fetch at a time for queries that do not set their own
+	 * fetch-size with {@link QueryBuilder#fetchSize(Integer)} or 0 to use the driver default.
+	 */
+	public int getDefaultFetchSize();
+
+	/**
+	 * Returns true if null values sort before all other values in an ascending ORDER BY when NULLS FIRST or NULLS LAST
+	 * is not specified. This is used by the keyset pagination to pick an explicit null ordering for nullable columns
+	 * which matches the order of the other queries.
+	 */
+	public boolean isNullsSortedFirst();
+
+	/**
+	 * Returns true if the database supports inserting a row or updating it if the id already exists with a single
+	 * statement. See {@link #appendUpsertStatement(StringBuilder, String, FieldType[], FieldType)}.
+	 */
+	public boolean isUpsertSupported();
+
+	/**
+	 * Append the statement which inserts a row or updates the existing row with the same id. The table name has
+	 * already been escaped. There must be one '?' argument for each of the field-types, in order, and the id field is
+	 * one of them.
+	 */
+	public void appendUpsertStatement(StringBuilder sb, String escapedTableName, FieldType[] fieldTypes,
+			FieldType idFieldType);
+
 	/**
 	 * Returns true if the table truncate operation is supported.
 	 */
@@ -70,6 +70,7 @@ public class DatabaseFieldConfig {
 	private String fullColumnDefinition;
 	private boolean javaxEntity;
 	private String afterField;
+	private FieldAccessor fieldAccessor;
 
 	static {
 		try {
@@ -521,6 +522,19 @@ public class DatabaseFieldConfig {
 		this.afterField = afterField;
 	}
 
+	public FieldAccessor getFieldAccessor() {
+		return fieldAccessor;
+	}
+
+	/**
+	 * Set the accessor used to get and set the field instead of one created with reflection. This is set by the
+	 * configurations generated by the {@link com.j256.ormlite.processor.DatabaseTableProcessor}. It is ignored if a
+	 * factory has been set with {@link FieldType#setFieldAccessorFactory(FieldAccessorFactory)}.
+	 */
+	public void setFieldAccessor(FieldAccessor fieldAccessor) {
+		this.fieldAccessor = fieldAccessor;
+	}
+
 	/**
 	 * Create and return a config converted from a {@link Field} that may have one of the following annotations:
 	 * {@link DatabaseField}, {@link ForeignCollectionField}, or javax.persistence...
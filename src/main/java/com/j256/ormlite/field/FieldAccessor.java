@@ -0,0 +1,24 @@
+package com.j256.ormlite.field;
+
+/**
+ * Gets and sets the value of a field in an object. This is used by the {@link FieldType} to extract and assign field
+ * values either directly or through the get/set methods if {@link DatabaseField#useGetSet()} is set.
+ * 
+ * <p>
+ * See {@link FieldType#setFieldAccessorFactory(FieldAccessorFactory)} to change how these are created.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public interface FieldAccessor {
+
+	/**
+	 * Return the value of the field from the object argument.
+	 */
+	public Object getValue(Object data) throws Exception;
+
+	/**
+	 * Set the value of the field in the object argument.
+	 */
+	public void setValue(Object data, Object value) throws Exception;
+}
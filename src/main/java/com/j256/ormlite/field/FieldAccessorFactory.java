@@ -0,0 +1,25 @@
+package com.j256.ormlite.field;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Creates the {@link FieldAccessor} for each of the fields. This can be set with
+ * {@link FieldType#setFieldAccessorFactory(FieldAccessorFactory)}.
+ * 
+ * @author graywatson
+ */
+public interface FieldAccessorFactory {
+
+	/**
+	 * Create and return an accessor for the field.
+	 * 
+	 * @param field
+	 *            Field that we are accessing.
+	 * @param getMethod
+	 *            Method to use to get the field value or null to get the field directly.
+	 * @param setMethod
+	 *            Method to use to set the field value or null to set the field directly.
+	 */
+	public FieldAccessor createAccessor(Field field, Method getMethod, Method setMethod) throws Exception;
+}
@@ -8,7 +8,11 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 
 import com.j256.ormlite.dao.BaseDaoImpl;
@@ -26,6 +30,9 @@ import com.j256.ormlite.field.types.VoidType;
 import com.j256.ormlite.logger.Level;
 import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.stmt.PreparedQuery;
+import com.j256.ormlite.stmt.QueryBuilder;
+import com.j256.ormlite.stmt.mapped.MappedPreparedStmt;
 import com.j256.ormlite.stmt.mapped.MappedQueryForFieldEq;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
@@ -67,6 +74,7 @@ public class FieldType {
 	private final String generatedIdSequence;
 	private final Method fieldGetMethod;
 	private final Method fieldSetMethod;
+	private final FieldAccessor fieldAccessor;
 	private final Class<?> parentClass;
 
 	private DataPersister dataPersister;
@@ -80,6 +88,7 @@ public class FieldType {
 	private Dao<?, ?> foreignDao;
 	private MappedQueryForFieldEq<?, ?> mappedQueryForForeignField;
 	private static boolean hasStreamClass;
+	private static FieldAccessorFactory fieldAccessorFactory;
 
 	/**
 	 * ThreadLocal counters to detect initialization loops. Notice that there is _not_ an initValue() method on purpose.
@@ -270,6 +279,7 @@ public class FieldType {
 			this.fieldGetMethod = null;
 			this.fieldSetMethod = null;
 		}
+		this.fieldAccessor = createFieldAccessor(field, fieldGetMethod, fieldSetMethod, fieldConfig.getFieldAccessor());
 		if (fieldConfig.isAllowGeneratedIdInsert() && !fieldConfig.isGeneratedId()) {
 			throw new IllegalArgumentException(
 					"Field " + field.getName() + " must be a generated-id if allowGeneratedIdInsert = true");
@@ -572,31 +582,29 @@ public class FieldType {
 			if (cachedVal != null) {
 				val = cachedVal;
 			} else if (!parentObject) {
-				// the value we are to assign to our field is now the foreign object itself
-				val = createForeignObject(connectionSource, val, objectCache);
-			}
-		}
-
-		if (fieldSetMethod == null) {
-			try {
-				field.set(data, val);
-			} catch (IllegalArgumentException e) {
-				if (val == null) {
-					throw new SQLException("Could not assign object '" + val + "' to field " + this, e);
+				ForeignAutoRefreshBatch refreshBatch = getForeignAutoRefreshBatch();
+				if (refreshBatch == null) {
+					// the value we are to assign to our field is now the foreign object itself
+					val = createForeignObject(connectionSource, val, objectCache);
 				} else {
-					throw new SQLException(
-							"Could not assign object '" + val + "' of type " + val.getClass() + " to field " + this, e);
+					// the foreign object is queried along with the others in the batch once the rows are mapped
+					refreshBatch.addPending(this, data, val);
+					val = createForeignShell(connectionSource, val, objectCache);
 				}
-			} catch (IllegalAccessException e) {
-				throw new SQLException(
-						"Could not assign object '" + val + "' of type " + val.getClass() + "' to field " + this, e);
 			}
-		} else {
-			try {
-				fieldSetMethod.invoke(data, val);
-			} catch (Exception e) {
+		}
+
+		try {
+			fieldAccessor.setValue(data, val);
+		} catch (Exception e) {
+			if (fieldSetMethod != null) {
 				throw new SQLException("Could not call " + fieldSetMethod + " on object with '" + val + "' for " + this,
 						e);
+			} else if (val == null) {
+				throw new SQLException("Could not assign object '" + val + "' to field " + this, e);
+			} else {
+				throw new SQLException(
+						"Could not assign object '" + val + "' of type " + val.getClass() + " to field " + this, e);
 			}
 		}
 	}
@@ -620,17 +628,13 @@ public class FieldType {
 	 */
 	public <FV> FV extractRawJavaFieldValue(Object object) throws SQLException {
 		Object val;
-		if (fieldGetMethod == null) {
-			try {
-				// field object may not be a T yet
-				val = field.get(object);
-			} catch (Exception e) {
+		try {
+			// field object may not be a T yet
+			val = fieldAccessor.getValue(object);
+		} catch (Exception e) {
+			if (fieldGetMethod == null) {
 				throw new SQLException("Could not get field value for " + this, e);
-			}
-		} else {
-			try {
-				val = fieldGetMethod.invoke(object);
-			} catch (Exception e) {
+			} else {
 				throw new SQLException("Could not call " + fieldGetMethod + " for " + this, e);
 			}
 		}
@@ -678,6 +682,18 @@ public class FieldType {
 		}
 	}
 
+	/**
+	 * Convert a SQL argument value, as returned by {@link #convertJavaFieldToSqlArgValue(Object)}, back into the
+	 * appropriate Java field value.
+	 */
+	public Object convertSqlArgToJavaField(Object sqlArg, int columnPos) throws SQLException {
+		if (sqlArg == null) {
+			return null;
+		} else {
+			return fieldConverter.sqlArgToJava(this, sqlArg, columnPos);
+		}
+	}
+
 	/**
 	 * Convert a string value into the appropriate Java field value.
 	 */
@@ -820,6 +836,15 @@ public class FieldType {
 						fieldConfig.getForeignCollectionOrderColumnName(),
 						fieldConfig.isForeignCollectionOrderAscending());
 			}
+			ForeignCollectionBatch collectionBatch = ForeignCollectionBatch.getCurrent();
+			if (collectionBatch != null && id != null) {
+				// the results are queried along with the other parents in the batch once the rows are mapped
+				List<FT> results = new ArrayList<FT>();
+				collectionBatch.addPending(this, parent, id, results);
+				return new EagerForeignCollection<FT, FID>(castDao, parent, id, foreignFieldType,
+						fieldConfig.getForeignCollectionOrderColumnName(),
+						fieldConfig.isForeignCollectionOrderAscending(), results);
+			}
 			levelCounters = new LevelCounters();
 			threadLevelCounters.set(levelCounters);
 		}
@@ -851,7 +876,14 @@ public class FieldType {
 			dbColumnPos = results.findColumn(columnName);
 			columnPositions.put(columnName, dbColumnPos);
 		}
+		return resultToJava(results, (int) dbColumnPos);
+	}
 
+	/**
+	 * Get the result object from the results at the column position which has already been looked up with
+	 * {@link DatabaseResults#findColumn(String)}. A call through to {@link FieldConverter#resultToJava}.
+	 */
+	public <T> T resultToJava(DatabaseResults results, int dbColumnPos) throws SQLException {
 		/*
 		 * Subtle problem here. If the field is a foreign-field and/or a primitive and the value was null then we get 0
 		 * from results.getInt() which mirrors the ResultSet. We have to specifically test to see if we have a null
@@ -1017,6 +1049,14 @@ public class FieldType {
 		}
 	}
 
+	/**
+	 * Set the factory used to create the {@link FieldAccessor} of the field-types constructed after this call. Set to
+	 * null to use the default {@link ReflectionFieldAccessor}.
+	 */
+	public static void setFieldAccessorFactory(FieldAccessorFactory fieldAccessorFactory) {
+		FieldType.fieldAccessorFactory = fieldAccessorFactory;
+	}
+
 	@Override
 	public boolean equals(Object arg) {
 		if (arg == null || arg.getClass() != this.getClass()) {
@@ -1096,6 +1136,127 @@ public class FieldType {
 		}
 	}
 
+	/**
+	 * Return the active batch if this field should be added to it. Only auto-refresh fields that are not already inside
+	 * of an auto-refresh of another object are batched.
+	 */
+	private ForeignAutoRefreshBatch getForeignAutoRefreshBatch() {
+		if (fieldConfig.isForeignAutoRefresh() && fieldConfig.getMaxForeignAutoRefreshLevel() > 0
+				&& threadLevelCounters.get() == null) {
+			return ForeignAutoRefreshBatch.getCurrent();
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Query for the foreign objects of a batch of data objects with {@code IN} queries of up to batchSize ids and
+	 * assign them to the field. The foreign objects are queried as the first auto-refresh level so their own
+	 * auto-refresh fields honor {@link DatabaseField#maxForeignAutoRefreshLevel()}.
+	 */
+	void resolveForeignAutoRefresh(List<Object> datas, List<Object> ids, int batchSize) throws SQLException {
+		@SuppressWarnings("unchecked")
+		Dao<Object, Object> castDao = (Dao<Object, Object>) foreignDao;
+		int maxArgs = castDao.getConnectionSource().getDatabaseType().getMaxStatementArguments();
+		if (maxArgs > 0 && batchSize > maxArgs) {
+			batchSize = maxArgs;
+		}
+		List<Object> distinctIds = new ArrayList<Object>(new LinkedHashSet<Object>(ids));
+		Map<Object, Object> foreignObjectMap = new HashMap<Object, Object>();
+		LevelCounters levelCounters = new LevelCounters();
+		levelCounters.autoRefreshLevel = 1;
+		levelCounters.autoRefreshLevelMax = fieldConfig.getMaxForeignAutoRefreshLevel();
+		threadLevelCounters.set(levelCounters);
+		try {
+			for (int start = 0; start < distinctIds.size(); start += batchSize) {
+				List<Object> chunk = distinctIds.subList(start, Math.min(start + batchSize, distinctIds.size()));
+				for (Object foreignObject : castDao.queryBuilder()
+						.where()
+						.in(foreignRefField.getColumnName(), chunk)
+						.query()) {
+					foreignObjectMap.put(foreignRefField.extractJavaFieldValue(foreignObject), foreignObject);
+				}
+			}
+		} finally {
+			threadLevelCounters.remove();
+		}
+		logger.debug("batch auto-refreshed {} {} objects for {} rows of {}", foreignObjectMap.size(),
+				castDao.getDataClass().getSimpleName(), datas.size(), this);
+		for (int i = 0; i < datas.size(); i++) {
+			// like the query-for-id, the field is set to null if the foreign object does not exist
+			Object val = foreignObjectMap.get(ids.get(i));
+			try {
+				fieldAccessor.setValue(datas.get(i), val);
+			} catch (Exception e) {
+				throw new SQLException("Could not assign auto-refreshed object '" + val + "' to field " + this, e);
+			}
+		}
+	}
+
+	/**
+	 * Query for the foreign objects of a batch of parent objects with {@code IN} queries of up to batchSize parent ids
+	 * and add them to the results lists of the parents' eager collections. The foreign objects are queried as the first
+	 * eager collection level so their own collections honor {@link ForeignCollectionField#maxEagerLevel()}.
+	 */
+	void resolveForeignCollections(List<Object> parents, List<Object> ids, List<List<Object>> resultsList,
+			int batchSize) throws SQLException {
+		@SuppressWarnings("unchecked")
+		Dao<Object, Object> castDao = (Dao<Object, Object>) foreignDao;
+		int maxArgs = castDao.getConnectionSource().getDatabaseType().getMaxStatementArguments();
+		if (maxArgs > 0 && batchSize > maxArgs) {
+			batchSize = maxArgs;
+		}
+		Map<Object, Object> parentMap = new HashMap<Object, Object>();
+		Map<Object, List<List<Object>>> resultsMap = new HashMap<Object, List<List<Object>>>();
+		for (int i = 0; i < ids.size(); i++) {
+			Object id = ids.get(i);
+			parentMap.put(id, parents.get(i));
+			List<List<Object>> idResultsList = resultsMap.get(id);
+			if (idResultsList == null) {
+				idResultsList = new ArrayList<List<Object>>(1);
+				resultsMap.put(id, idResultsList);
+			}
+			idResultsList.add(resultsList.get(i));
+		}
+		List<Object> distinctIds = new ArrayList<Object>(resultsMap.keySet());
+		String orderColumn = fieldConfig.getForeignCollectionOrderColumnName();
+		int foreignC = 0;
+		LevelCounters levelCounters = new LevelCounters();
+		levelCounters.foreignCollectionLevel = 1;
+		levelCounters.foreignCollectionLevelMax = fieldConfig.getForeignCollectionMaxEagerLevel();
+		threadLevelCounters.set(levelCounters);
+		try {
+			for (int start = 0; start < distinctIds.size(); start += batchSize) {
+				List<Object> chunk = distinctIds.subList(start, Math.min(start + batchSize, distinctIds.size()));
+				QueryBuilder<Object, Object> qb = castDao.queryBuilder();
+				if (orderColumn != null) {
+					qb.orderBy(orderColumn, fieldConfig.isForeignCollectionOrderAscending());
+				}
+				PreparedQuery<Object> preparedQuery = qb.where().in(foreignFieldType.getColumnName(), chunk).prepare();
+				if (preparedQuery instanceof MappedPreparedStmt) {
+					@SuppressWarnings("unchecked")
+					MappedPreparedStmt<Object, Object> mappedStmt = (MappedPreparedStmt<Object, Object>) preparedQuery;
+					mappedStmt.setParentInformation(parentMap);
+				}
+				// the query is ordered so each of the parents' results are ordered as well
+				for (Object foreignObject : castDao.query(preparedQuery)) {
+					List<List<Object>> idResultsList =
+							resultsMap.get(foreignFieldType.extractJavaFieldValue(foreignObject));
+					if (idResultsList != null) {
+						for (List<Object> results : idResultsList) {
+							results.add(foreignObject);
+						}
+					}
+					foreignC++;
+				}
+			}
+		} finally {
+			threadLevelCounters.remove();
+		}
+		logger.debug("batch queried {} {} objects for the collections of {} parents of {}", foreignC,
+				castDao.getDataClass().getSimpleName(), parents.size(), this);
+	}
+
 	/**
 	 * Create a shell object and assign its id field.
 	 */
@@ -1193,6 +1354,22 @@ public class FieldType {
 		}
 	}
 
+	private static FieldAccessor createFieldAccessor(Field field, Method getMethod, Method setMethod,
+			FieldAccessor configAccessor) throws SQLException {
+		FieldAccessorFactory factory = fieldAccessorFactory;
+		if (factory != null) {
+			try {
+				return factory.createAccessor(field, getMethod, setMethod);
+			} catch (Exception e) {
+				throw new SQLException("Could not create accessor for field " + field.getName(), e);
+			}
+		}
+		if (configAccessor != null) {
+			return configAccessor;
+		}
+		return new ReflectionFieldAccessor(field, getMethod, setMethod);
+	}
+
 	private <FT, FID> LazyForeignCollection<FT, FID> createLazyForeignCollection(Dao<FT, FID> castDao, Object parent,
 			Object parentId, FieldType foreignFieldType, String orderColumn, boolean orderAscending) {
 		if (hasStreamClass) {
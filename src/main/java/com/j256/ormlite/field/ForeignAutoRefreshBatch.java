@@ -0,0 +1,92 @@
+package com.j256.ormlite.field;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the {@link DatabaseField#foreignAutoRefresh()} fields of the objects mapped from a query so that the foreign
+ * objects can be queried with a couple of {@code WHERE id IN (...)} queries instead of a query per row. While a batch
+ * is active on a thread, the foreign fields are assigned shell objects with just their id set which are then replaced
+ * when the batch is resolved.
+ *
+ * @author graywatson
+ */
+public class ForeignAutoRefreshBatch {
+
+	private static final ThreadLocal<ForeignAutoRefreshBatch> threadBatch = new ThreadLocal<ForeignAutoRefreshBatch>();
+
+	private final int batchSize;
+	private final Map<FieldType, PendingRefreshes> pendingMap = new LinkedHashMap<FieldType, PendingRefreshes>();
+
+	private ForeignAutoRefreshBatch(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Start a batch on the current thread. Returns null if batchSize is not > 0 or if a batch is already active in
+	 * which case the pending fields are added to the outer batch.
+	 *
+	 * @param batchSize
+	 *            Maximum number of ids in each {@code IN} query.
+	 */
+	public static ForeignAutoRefreshBatch begin(int batchSize) {
+		if (batchSize <= 0 || threadBatch.get() != null) {
+			return null;
+		}
+		ForeignAutoRefreshBatch batch = new ForeignAutoRefreshBatch(batchSize);
+		threadBatch.set(batch);
+		return batch;
+	}
+
+	/**
+	 * Stop collecting fields and query for all of the pending foreign objects.
+	 */
+	public void resolve() throws SQLException {
+		end();
+		for (Map.Entry<FieldType, PendingRefreshes> entry : pendingMap.entrySet()) {
+			PendingRefreshes pending = entry.getValue();
+			entry.getKey().resolveForeignAutoRefresh(pending.datas, pending.ids, batchSize);
+		}
+		pendingMap.clear();
+	}
+
+	/**
+	 * Stop collecting fields on the current thread. This should be called in a finally block in case resolve is not.
+	 */
+	public void end() {
+		if (threadBatch.get() == this) {
+			threadBatch.remove();
+		}
+	}
+
+	/**
+	 * Return the batch active on the current thread or null if none.
+	 */
+	static ForeignAutoRefreshBatch getCurrent() {
+		return threadBatch.get();
+	}
+
+	/**
+	 * Add a foreign field of the data object whose foreign object needs to be queried.
+	 */
+	void addPending(FieldType fieldType, Object data, Object id) {
+		PendingRefreshes pending = pendingMap.get(fieldType);
+		if (pending == null) {
+			pending = new PendingRefreshes();
+			pendingMap.put(fieldType, pending);
+		}
+		pending.datas.add(data);
+		pending.ids.add(id);
+	}
+
+	/**
+	 * The data objects and foreign ids waiting to be resolved for a field.
+	 */
+	private static class PendingRefreshes {
+		final List<Object> datas = new ArrayList<Object>();
+		final List<Object> ids = new ArrayList<Object>();
+	}
+}
@@ -0,0 +1,96 @@
+package com.j256.ormlite.field;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the eager {@link ForeignCollectionField} fields of the objects mapped from a query so that the children of
+ * all of the parents can be queried with a couple of {@code WHERE parent_id IN (...)} queries instead of a query per
+ * parent. While a batch is active on a thread, the fields are assigned empty eager collections which are filled in
+ * when the batch is resolved.
+ *
+ * @author graywatson
+ */
+public class ForeignCollectionBatch {
+
+	private static final ThreadLocal<ForeignCollectionBatch> threadBatch = new ThreadLocal<ForeignCollectionBatch>();
+
+	private final int batchSize;
+	private final Map<FieldType, PendingCollections> pendingMap = new LinkedHashMap<FieldType, PendingCollections>();
+
+	private ForeignCollectionBatch(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Start a batch on the current thread. Returns null if batchSize is not > 0 or if a batch is already active in
+	 * which case the pending collections are added to the outer batch.
+	 *
+	 * @param batchSize
+	 *            Maximum number of parent ids in each {@code IN} query.
+	 */
+	public static ForeignCollectionBatch begin(int batchSize) {
+		if (batchSize <= 0 || threadBatch.get() != null) {
+			return null;
+		}
+		ForeignCollectionBatch batch = new ForeignCollectionBatch(batchSize);
+		threadBatch.set(batch);
+		return batch;
+	}
+
+	/**
+	 * Stop collecting fields and query for the children of all of the pending collections.
+	 */
+	public void resolve() throws SQLException {
+		end();
+		for (Map.Entry<FieldType, PendingCollections> entry : pendingMap.entrySet()) {
+			PendingCollections pending = entry.getValue();
+			entry.getKey().resolveForeignCollections(pending.parents, pending.ids, pending.resultsList, batchSize);
+		}
+		pendingMap.clear();
+	}
+
+	/**
+	 * Stop collecting fields on the current thread. This should be called in a finally block in case resolve is not.
+	 */
+	public void end() {
+		if (threadBatch.get() == this) {
+			threadBatch.remove();
+		}
+	}
+
+	/**
+	 * Return the batch active on the current thread or null if none.
+	 */
+	static ForeignCollectionBatch getCurrent() {
+		return threadBatch.get();
+	}
+
+	/**
+	 * Add a collection field of the parent object whose results list needs to be filled with its children.
+	 */
+	void addPending(FieldType fieldType, Object parent, Object id, List<?> results) {
+		PendingCollections pending = pendingMap.get(fieldType);
+		if (pending == null) {
+			pending = new PendingCollections();
+			pendingMap.put(fieldType, pending);
+		}
+		pending.parents.add(parent);
+		pending.ids.add(id);
+		@SuppressWarnings("unchecked")
+		List<Object> castResults = (List<Object>) results;
+		pending.resultsList.add(castResults);
+	}
+
+	/**
+	 * The parent objects, their ids, and the results lists of their collections waiting to be resolved for a field.
+	 */
+	private static class PendingCollections {
+		final List<Object> parents = new ArrayList<Object>();
+		final List<Object> ids = new ArrayList<Object>();
+		final List<List<Object>> resultsList = new ArrayList<List<Object>>();
+	}
+}
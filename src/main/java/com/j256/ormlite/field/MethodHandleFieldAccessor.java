@@ -0,0 +1,73 @@
+package com.j256.ormlite.field;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Field accessor which uses {@link MethodHandle}s to get and set the field either directly or with its get/set methods.
+ * This is not used by default but can be returned from a {@link FieldAccessorFactory} set with
+ * {@link FieldType#setFieldAccessorFactory(FieldAccessorFactory)}.
+ * 
+ * <p>
+ * <b>NOTE:</b> This is not a faster replacement for the {@link ReflectionFieldAccessor}. The handles are held in
+ * instance fields so the JIT cannot treat them as constants and the values are boxed the same as with reflection. On
+ * newer JDKs, reflection is itself implemented with method-handles.
+ * </p>
+ * 
+ * <p>
+ * <b>NOTE:</b> This throws an exception from the constructor if the handles cannot be created, for example on a final
+ * field or a class that cannot be accessed.
+ * </p>
+ * 
+ * @author graywatson
+ */
+public class MethodHandleFieldAccessor implements FieldAccessor {
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private final MethodHandle getter;
+	private final MethodHandle setter;
+
+	public MethodHandleFieldAccessor(Field field, Method getMethod, Method setMethod) throws IllegalAccessException {
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		MethodHandle handle;
+		if (getMethod == null) {
+			handle = lookup.unreflectGetter(field);
+		} else {
+			handle = lookup.unreflect(getMethod);
+		}
+		this.getter = handle.asType(GETTER_TYPE);
+		if (setMethod == null) {
+			handle = lookup.unreflectSetter(field);
+		} else {
+			handle = lookup.unreflect(setMethod);
+		}
+		this.setter = handle.asType(SETTER_TYPE);
+	}
+
+	@Override
+	public Object getValue(Object data) throws Exception {
+		try {
+			return (Object) getter.invokeExact(data);
+		} catch (Exception | Error e) {
+			throw e;
+		} catch (Throwable th) {
+			throw new Exception("Could not get value from " + data, th);
+		}
+	}
+
+	@Override
+	public void setValue(Object data, Object value) throws Exception {
+		try {
+			setter.invokeExact(data, value);
+		} catch (Exception | Error e) {
+			throw e;
+		} catch (Throwable th) {
+			throw new Exception("Could not set value '" + value + "' on " + data, th);
+		}
+	}
+}
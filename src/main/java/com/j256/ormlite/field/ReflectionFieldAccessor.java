@@ -0,0 +1,42 @@
+package com.j256.ormlite.field;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Field accessor which uses reflection to get and set the field either directly or with its get/set methods. This is
+ * the default accessor.
+ * 
+ * @author graywatson
+ */
+public class ReflectionFieldAccessor implements FieldAccessor {
+
+	private final Field field;
+	private final Method getMethod;
+	private final Method setMethod;
+
+	public ReflectionFieldAccessor(Field field, Method getMethod, Method setMethod) {
+		this.field = field;
+		this.getMethod = getMethod;
+		this.setMethod = setMethod;
+	}
+
+	@Override
+	public Object getValue(Object data) throws IllegalAccessException, InvocationTargetException {
+		if (getMethod == null) {
+			return field.get(data);
+		} else {
+			return getMethod.invoke(data);
+		}
+	}
+
+	@Override
+	public void setValue(Object data, Object value) throws IllegalAccessException, InvocationTargetException {
+		if (setMethod == null) {
+			field.set(data, value);
+		} else {
+			setMethod.invoke(data, value);
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package com.j256.ormlite.misc;
+
+import java.lang.reflect.Field;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import com.j256.ormlite.field.DatabaseField;
+
+/**
+ * Orders classes by the foreign fields between them so that their DAOs and tables can be set up in parallel with
+ * each class handled after the classes it refers to. Used by {@link com.j256.ormlite.dao.DaoManager#createDaos} and
+ * {@link com.j256.ormlite.table.TableUtils#createTables}.
+ *
+ * @author graywatson
+ */
+public class DependencyLevels {
+
+	private DependencyLevels() {
+	}
+
+	/**
+	 * Task that is run for each of the classes.
+	 */
+	public interface ClassTask<V> {
+		/**
+		 * Do the work for the class and return its result.
+		 */
+		public V call(Class<?> clazz) throws SQLException;
+	}
+
+	/**
+	 * Group the classes into levels where the classes in each level only have foreign fields of the classes in the
+	 * earlier levels. Only the foreign fields defined with {@link DatabaseField} annotations and referring to another
+	 * class in the collection count. If the foreign fields form a loop then the classes in it are put in levels of
+	 * their own so they are handled one at a time.
+	 */
+	public static List<List<Class<?>>> findLevels(Collection<? extends Class<?>> classes) {
+		Set<Class<?>> classSet = new LinkedHashSet<Class<?>>(classes);
+		// class -> the classes that it refers to which haven't been put in a level yet
+		Map<Class<?>, Set<Class<?>>> dependencyMap = new LinkedHashMap<Class<?>, Set<Class<?>>>();
+		for (Class<?> clazz : classSet) {
+			Set<Class<?>> dependencies = new LinkedHashSet<Class<?>>();
+			for (Class<?> classWalk = clazz; classWalk != null; classWalk = classWalk.getSuperclass()) {
+				for (Field field : classWalk.getDeclaredFields()) {
+					Class<?> foreignClass = foreignClass(field);
+					if (foreignClass != null && foreignClass != clazz && classSet.contains(foreignClass)) {
+						dependencies.add(foreignClass);
+					}
+				}
+			}
+			dependencyMap.put(clazz, dependencies);
+		}
+
+		List<List<Class<?>>> levels = new ArrayList<List<Class<?>>>();
+		while (!dependencyMap.isEmpty()) {
+			List<Class<?>> level = new ArrayList<Class<?>>();
+			for (Map.Entry<Class<?>, Set<Class<?>>> entry : dependencyMap.entrySet()) {
+				if (entry.getValue().isEmpty()) {
+					level.add(entry.getKey());
+				}
+			}
+			if (level.isEmpty()) {
+				// a loop so we take the first class by itself
+				level.add(dependencyMap.keySet().iterator().next());
+			}
+			for (Class<?> clazz : level) {
+				dependencyMap.remove(clazz);
+			}
+			for (Set<Class<?>> dependencies : dependencyMap.values()) {
+				dependencies.removeAll(level);
+			}
+			levels.add(level);
+		}
+		return levels;
+	}
+
+	/**
+	 * Run the task for each of the classes, a level at a time, using the executor to run the classes of each level in
+	 * parallel. If the executor is null then the tasks are run in the calling thread.
+	 *
+	 * @return The results of the tasks in the order that the levels were run.
+	 * @throws SQLException
+	 *             The first failure of a task in which case the later levels are not run.
+	 */
+	public static <V> Map<Class<?>, V> runLevels(List<List<Class<?>>> levels, Executor executor,
+			final ClassTask<V> task) throws SQLException {
+		Map<Class<?>, V> results = new LinkedHashMap<Class<?>, V>();
+		for (List<Class<?>> level : levels) {
+			if (executor == null || level.size() == 1) {
+				for (Class<?> clazz : level) {
+					results.put(clazz, task.call(clazz));
+				}
+				continue;
+			}
+			Map<Class<?>, FutureTask<V>> futures = new LinkedHashMap<Class<?>, FutureTask<V>>();
+			for (final Class<?> clazz : level) {
+				FutureTask<V> future = new FutureTask<V>(new Callable<V>() {
+					@Override
+					public V call() throws SQLException {
+						return task.call(clazz);
+					}
+				});
+				executor.execute(future);
+				futures.put(clazz, future);
+			}
+			// wait for the whole level even if one fails so nothing is still running when we return
+			Throwable failure = null;
+			Class<?> failureClass = null;
+			for (Map.Entry<Class<?>, FutureTask<V>> entry : futures.entrySet()) {
+				try {
+					results.put(entry.getKey(), entry.getValue().get());
+				} catch (ExecutionException e) {
+					if (failure == null) {
+						failure = e.getCause();
+						failureClass = entry.getKey();
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					cancelAll(futures.values());
+					throw new SQLException("Interrupted waiting for " + entry.getKey(), e);
+				}
+			}
+			if (failure != null) {
+				throwFailure(failureClass, failure);
+			}
+		}
+		return results;
+	}
+
+	private static Class<?> foreignClass(Field field) {
+		DatabaseField databaseField = field.getAnnotation(DatabaseField.class);
+		if (databaseField == null || !databaseField.persisted()) {
+			return null;
+		}
+		if (databaseField.foreign() || databaseField.foreignAutoRefresh()
+				|| databaseField.foreignColumnName().length() > 0) {
+			return field.getType();
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Throw the failure of a task the same way as it would have been thrown if it had been run in the calling thread.
+	 */
+	private static void throwFailure(Class<?> clazz, Throwable cause) throws SQLException {
+		if (cause instanceof SQLException) {
+			throw (SQLException) cause;
+		} else if (cause instanceof RuntimeException) {
+			throw (RuntimeException) cause;
+		} else if (cause instanceof Error) {
+			throw (Error) cause;
+		} else {
+			throw new SQLException("Problems running task for " + clazz, cause);
+		}
+	}
+
+	private static <V> void cancelAll(Collection<FutureTask<V>> futures) {
+		for (FutureTask<V> future : futures) {
+			future.cancel(true);
+		}
+	}
+}
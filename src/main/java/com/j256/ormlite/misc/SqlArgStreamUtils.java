@@ -0,0 +1,219 @@
+package com.j256.ormlite.misc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Utility methods which write and read the SQL argument values of fields to and from data streams in a compact binary
+ * format. This is used to export tables and to encode the keyset pagination cursors.
+ *
+ * @author graywatson
+ */
+public class SqlArgStreamUtils {
+
+	private static final byte TYPE_NULL = 0;
+	private static final byte TYPE_STRING = 1;
+	private static final byte TYPE_BOOLEAN = 2;
+	private static final byte TYPE_CHAR = 3;
+	private static final byte TYPE_BYTE = 4;
+	private static final byte TYPE_SHORT = 5;
+	private static final byte TYPE_INT = 6;
+	private static final byte TYPE_LONG = 7;
+	private static final byte TYPE_FLOAT = 8;
+	private static final byte TYPE_DOUBLE = 9;
+	private static final byte TYPE_BYTE_ARRAY = 10;
+	private static final byte TYPE_BIG_DECIMAL = 11;
+	private static final byte TYPE_BIG_INTEGER = 12;
+	private static final byte TYPE_UUID = 13;
+	private static final byte TYPE_TIMESTAMP = 14;
+	private static final byte TYPE_SQL_DATE = 15;
+	private static final byte TYPE_SQL_TIME = 16;
+	private static final byte TYPE_DATE = 17;
+	private static final byte TYPE_SERIALIZABLE = 18;
+
+	/** default maximum length of the strings, byte arrays, and other variable length values that will be read */
+	public static final int DEFAULT_MAX_BYTES_LENGTH = 256 * 1024 * 1024;
+
+	/**
+	 * For static methods only.
+	 */
+	private SqlArgStreamUtils() {
+	}
+
+	/**
+	 * Write a SQL argument value, as returned by {@link com.j256.ormlite.field.FieldType#extractJavaFieldToSqlArgValue},
+	 * to the output stream prefixed by a type byte.
+	 */
+	public static void writeValue(DataOutputStream out, Object value) throws IOException {
+		if (value == null) {
+			out.writeByte(TYPE_NULL);
+		} else if (value instanceof String) {
+			out.writeByte(TYPE_STRING);
+			writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+		} else if (value instanceof Boolean) {
+			out.writeByte(TYPE_BOOLEAN);
+			out.writeBoolean((Boolean) value);
+		} else if (value instanceof Character) {
+			out.writeByte(TYPE_CHAR);
+			out.writeChar((Character) value);
+		} else if (value instanceof Byte) {
+			out.writeByte(TYPE_BYTE);
+			out.writeByte((Byte) value);
+		} else if (value instanceof Short) {
+			out.writeByte(TYPE_SHORT);
+			out.writeShort((Short) value);
+		} else if (value instanceof Integer) {
+			out.writeByte(TYPE_INT);
+			out.writeInt((Integer) value);
+		} else if (value instanceof Long) {
+			out.writeByte(TYPE_LONG);
+			out.writeLong((Long) value);
+		} else if (value instanceof Float) {
+			out.writeByte(TYPE_FLOAT);
+			out.writeFloat((Float) value);
+		} else if (value instanceof Double) {
+			out.writeByte(TYPE_DOUBLE);
+			out.writeDouble((Double) value);
+		} else if (value instanceof byte[]) {
+			out.writeByte(TYPE_BYTE_ARRAY);
+			writeBytes(out, (byte[]) value);
+		} else if (value instanceof BigDecimal) {
+			out.writeByte(TYPE_BIG_DECIMAL);
+			writeBytes(out, value.toString().getBytes(StandardCharsets.UTF_8));
+		} else if (value instanceof BigInteger) {
+			out.writeByte(TYPE_BIG_INTEGER);
+			writeBytes(out, ((BigInteger) value).toByteArray());
+		} else if (value instanceof UUID) {
+			UUID uuid = (UUID) value;
+			out.writeByte(TYPE_UUID);
+			out.writeLong(uuid.getMostSignificantBits());
+			out.writeLong(uuid.getLeastSignificantBits());
+		} else if (value instanceof Timestamp) {
+			Timestamp timestamp = (Timestamp) value;
+			out.writeByte(TYPE_TIMESTAMP);
+			out.writeLong(timestamp.getTime());
+			out.writeInt(timestamp.getNanos());
+		} else if (value instanceof java.sql.Date) {
+			out.writeByte(TYPE_SQL_DATE);
+			out.writeLong(((java.sql.Date) value).getTime());
+		} else if (value instanceof java.sql.Time) {
+			out.writeByte(TYPE_SQL_TIME);
+			out.writeLong(((java.sql.Time) value).getTime());
+		} else if (value instanceof java.util.Date) {
+			out.writeByte(TYPE_DATE);
+			out.writeLong(((java.util.Date) value).getTime());
+		} else if (value instanceof Serializable) {
+			ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+			ObjectOutputStream objectOut = new ObjectOutputStream(byteOut);
+			objectOut.writeObject(value);
+			objectOut.close();
+			out.writeByte(TYPE_SERIALIZABLE);
+			writeBytes(out, byteOut.toByteArray());
+		} else {
+			throw new IOException("Cannot write value of type " + value.getClass().getName());
+		}
+	}
+
+	/**
+	 * Read a value written by {@link #writeValue(DataOutputStream, Object)} from the input stream. Variable length
+	 * values can be at most {@link #DEFAULT_MAX_BYTES_LENGTH} bytes long.
+	 * 
+	 * @param allowSerializable
+	 *            Set to true to allow values which were written with Java serialization. This should be false if the
+	 *            data comes from an untrusted source since deserialization can instantiate arbitrary classes.
+	 */
+	public static Object readValue(DataInputStream in, boolean allowSerializable) throws IOException {
+		return readValue(in, allowSerializable, DEFAULT_MAX_BYTES_LENGTH);
+	}
+
+	/**
+	 * Same as {@link #readValue(DataInputStream, boolean)} but with the maximum length of the strings, byte arrays, and
+	 * other variable length values. A value whose length is larger, which can happen if the data has been corrupted or
+	 * forged, causes an exception to be thrown before anything is allocated.
+	 */
+	public static Object readValue(DataInputStream in, boolean allowSerializable, int maxBytesLength)
+			throws IOException {
+		byte type = in.readByte();
+		switch (type) {
+			case TYPE_NULL:
+				return null;
+			case TYPE_STRING:
+				return new String(readBytes(in, maxBytesLength), StandardCharsets.UTF_8);
+			case TYPE_BOOLEAN:
+				return in.readBoolean();
+			case TYPE_CHAR:
+				return in.readChar();
+			case TYPE_BYTE:
+				return in.readByte();
+			case TYPE_SHORT:
+				return in.readShort();
+			case TYPE_INT:
+				return in.readInt();
+			case TYPE_LONG:
+				return in.readLong();
+			case TYPE_FLOAT:
+				return in.readFloat();
+			case TYPE_DOUBLE:
+				return in.readDouble();
+			case TYPE_BYTE_ARRAY:
+				return readBytes(in, maxBytesLength);
+			case TYPE_BIG_DECIMAL:
+				return new BigDecimal(new String(readBytes(in, maxBytesLength), StandardCharsets.UTF_8));
+			case TYPE_BIG_INTEGER:
+				return new BigInteger(readBytes(in, maxBytesLength));
+			case TYPE_UUID:
+				return new UUID(in.readLong(), in.readLong());
+			case TYPE_TIMESTAMP:
+				Timestamp timestamp = new Timestamp(in.readLong());
+				timestamp.setNanos(in.readInt());
+				return timestamp;
+			case TYPE_SQL_DATE:
+				return new java.sql.Date(in.readLong());
+			case TYPE_SQL_TIME:
+				return new java.sql.Time(in.readLong());
+			case TYPE_DATE:
+				return new java.util.Date(in.readLong());
+			case TYPE_SERIALIZABLE:
+				if (!allowSerializable) {
+					throw new IOException("Serialized values are not allowed in this data");
+				}
+				byte[] bytes = readBytes(in, maxBytesLength);
+				ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(bytes));
+				try {
+					return objectIn.readObject();
+				} catch (ClassNotFoundException e) {
+					throw new IOException("Could not deserialize value", e);
+				} finally {
+					objectIn.close();
+				}
+			default:
+				throw new IOException("Unknown value type in data: " + type);
+		}
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static byte[] readBytes(DataInputStream in, int maxLength) throws IOException {
+		int length = in.readInt();
+		if (length < 0 || length > maxLength) {
+			throw new IOException("Invalid length of value in data: " + length);
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return bytes;
+	}
+}
@@ -45,7 +45,8 @@ public class WrappedDatabaseConnection implements InvocationHandler {
 		logger.trace("{}: running method on connection: {}", this, method.getName());
 		try {
 			Object result = method.invoke(connection, args);
-			if (method.getName().equals("compileStatement") && result instanceof CompiledStatement) {
+			if ((method.getName().equals("compileStatement") || method.getName().equals("compileInsertStatement"))
+					&& result instanceof CompiledStatement) {
 				WrappedStatement wrappedStatement = new WrappedStatement((CompiledStatement) result);
 				wrappedStatements.add(wrappedStatement);
 				logger.trace("{}: connection is wrapping statement: {}", this, result);
@@ -0,0 +1,564 @@
+package com.j256.ormlite.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.MirroredTypeException;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic.Kind;
+
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.field.DatabaseFieldConfig;
+import com.j256.ormlite.field.FieldAccessor;
+import com.j256.ormlite.field.ForeignCollectionField;
+import com.j256.ormlite.field.types.VoidType;
+import com.j256.ormlite.table.DatabaseTableConfig;
+import com.j256.ormlite.table.GeneratedTableConfig;
+
+/**
+ * Annotation processor which generates a {@link GeneratedTableConfig} class for each class that has persisted fields,
+ * either its own or inherited, so that {@link DatabaseTableConfig#fromClass} does not have to scan the class hierarchy
+ * and the field annotations with reflection when the DAOs are created. The generated configurations also include a
+ * {@link FieldAccessor} which reads and writes each non-private, non-final field directly.
+ *
+ * <p>
+ * The processor is not registered as a service so it has to be enabled in the build. For example with maven:
+ * </p>
+ *
+ * <pre>
+ * &lt;annotationProcessors&gt;
+ *   &lt;annotationProcessor&gt;com.j256.ormlite.processor.DatabaseTableProcessor&lt;/annotationProcessor&gt;
+ * &lt;/annotationProcessors&gt;
+ * </pre>
+ *
+ * <p>
+ * Classes that use javax.persistence annotations or whose configuration cannot be expressed in generated code, such as
+ * a field shadowing a super-class field, are skipped with a note and are configured with reflection at runtime.
+ * </p>
+ *
+ * <p>
+ * <b>NOTE:</b> The generated configuration includes the fields of the super-classes at compile time. If a super-class
+ * comes from another library then the class should be recompiled when that library changes.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class DatabaseTableProcessor extends AbstractProcessor {
+
+	private static final String JAVAX_PERSISTENCE_PACKAGE = "javax.persistence.";
+
+	private Elements elements;
+	private Types types;
+	private Messager messager;
+	/** classes that could not be generated yet because they refer to types that might be generated in a later round */
+	private final Set<String> deferredClassNames = new LinkedHashSet<String>();
+
+	@Override
+	public synchronized void init(ProcessingEnvironment processingEnv) {
+		super.init(processingEnv);
+		this.elements = processingEnv.getElementUtils();
+		this.types = processingEnv.getTypeUtils();
+		this.messager = processingEnv.getMessager();
+	}
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		// we need to see the sub-classes that inherit all of their persisted fields
+		return Collections.singleton("*");
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		List<TypeElement> typeElements = new ArrayList<TypeElement>();
+		for (String className : deferredClassNames) {
+			TypeElement typeElement = elements.getTypeElement(className);
+			if (typeElement != null) {
+				typeElements.add(typeElement);
+			}
+		}
+		deferredClassNames.clear();
+		for (Element element : roundEnv.getRootElements()) {
+			addTypeElements(element, typeElements);
+		}
+		for (TypeElement typeElement : typeElements) {
+			try {
+				generateConfig(typeElement, roundEnv.processingOver());
+			} catch (SkipClassException e) {
+				messager.printMessage(Kind.NOTE, "Not generating a table config for " + typeElement.getQualifiedName()
+						+ ", it will be configured with reflection: " + e.getMessage(), typeElement);
+			}
+		}
+		// we don't claim any annotations
+		return false;
+	}
+
+	private void addTypeElements(Element element, List<TypeElement> typeElements) {
+		if (element.getKind() != ElementKind.CLASS) {
+			return;
+		}
+		TypeElement typeElement = (TypeElement) element;
+		NestingKind nesting = typeElement.getNestingKind();
+		if (nesting != NestingKind.TOP_LEVEL && nesting != NestingKind.MEMBER) {
+			return;
+		}
+		typeElements.add(typeElement);
+		for (Element enclosed : typeElement.getEnclosedElements()) {
+			addTypeElements(enclosed, typeElements);
+		}
+	}
+
+	private void generateConfig(TypeElement typeElement, boolean lastRound) throws SkipClassException {
+		List<VariableElement> fields = findPersistedFields(typeElement);
+		if (fields.isEmpty()) {
+			return;
+		}
+		PackageElement packageElement = elements.getPackageOf(typeElement);
+		if (!isAccessible(typeElement, packageElement)) {
+			throw new SkipClassException("class is not accessible from its package");
+		}
+		for (VariableElement field : fields) {
+			if (field.asType().getKind() == TypeKind.ERROR) {
+				if (lastRound) {
+					throw new SkipClassException("type of field " + field.getSimpleName() + " could not be resolved");
+				}
+				deferredClassNames.add(typeElement.getQualifiedName().toString());
+				return;
+			}
+		}
+
+		String className = DatabaseTableConfig.generatedConfigClassName(
+				elements.getBinaryName(typeElement).toString());
+		String packageName = packageElement.getQualifiedName().toString();
+		String simpleClassName = className.substring(packageName.isEmpty() ? 0 : packageName.length() + 1);
+		String dataClassName = typeName(typeElement.asType(), packageElement);
+
+		StringBuilder sb = new StringBuilder(1024);
+		if (!packageName.isEmpty()) {
+			sb.append("package ").append(packageName).append(";\n\n");
+		}
+		sb.append("/**\n");
+		sb.append(" * Table configuration of {@link ").append(dataClassName).append("} generated by ");
+		sb.append(getClass().getSimpleName()).append(". Do not edit.\n");
+		sb.append(" */\n");
+		sb.append("@SuppressWarnings({ \"unchecked\", \"rawtypes\", \"deprecation\" })\n");
+		sb.append("public final class ").append(simpleClassName);
+		sb.append(" implements ").append(GeneratedTableConfig.class.getName()).append(" {\n\n");
+		String configName = DatabaseFieldConfig.class.getName();
+		sb.append("\t@Override\n");
+		sb.append("\tpublic java.util.List<").append(configName).append("> createFieldConfigs() {\n");
+		sb.append("\t\tjava.util.List<").append(configName).append("> configs = new java.util.ArrayList<");
+		sb.append(configName).append(">(").append(fields.size()).append(");\n");
+		sb.append("\t\t").append(configName).append(" config;\n");
+		for (VariableElement field : fields) {
+			sb.append('\n');
+			appendFieldConfig(sb, field, packageElement);
+		}
+		sb.append("\t\treturn configs;\n");
+		sb.append("\t}\n");
+		sb.append("}\n");
+
+		try (Writer writer = processingEnv.getFiler().createSourceFile(className, typeElement).openWriter();) {
+			writer.write(sb.toString());
+		} catch (IOException e) {
+			messager.printMessage(Kind.ERROR, "Could not write table config " + className + ": " + e, typeElement);
+		}
+	}
+
+	/**
+	 * Return the persisted fields of the class and its super-classes in the order that reflection would find them.
+	 */
+	private List<VariableElement> findPersistedFields(TypeElement typeElement) throws SkipClassException {
+		List<VariableElement> fields = new ArrayList<VariableElement>();
+		Set<String> fieldNames = new HashSet<String>();
+		boolean shadowed = false;
+		for (TypeElement classWalk = typeElement; classWalk != null; classWalk = superClass(classWalk)) {
+			for (Element enclosed : classWalk.getEnclosedElements()) {
+				if (enclosed.getKind() != ElementKind.FIELD) {
+					continue;
+				}
+				VariableElement field = (VariableElement) enclosed;
+				// the generated configs look up fields by name so a shadowed field would be found in the wrong class
+				if (!fieldNames.add(field.getSimpleName().toString())) {
+					shadowed = true;
+				}
+				DatabaseField databaseField = field.getAnnotation(DatabaseField.class);
+				if (databaseField != null) {
+					if (databaseField.persisted()) {
+						fields.add(field);
+					}
+				} else if (field.getAnnotation(ForeignCollectionField.class) != null) {
+					fields.add(field);
+				} else if (hasJavaxPersistenceAnnotation(field)) {
+					throw new SkipClassException("field " + field.getSimpleName() + " uses javax.persistence");
+				}
+			}
+		}
+		if (shadowed && !fields.isEmpty()) {
+			throw new SkipClassException("a field shadows a field with the same name in a super-class");
+		}
+		return fields;
+	}
+
+	private void appendFieldConfig(StringBuilder sb, VariableElement field, PackageElement packageElement)
+			throws SkipClassException {
+		String fieldName = field.getSimpleName().toString();
+		sb.append("\t\tconfig = new ").append(DatabaseFieldConfig.class.getName()).append("(");
+		appendQuoted(sb, fieldName);
+		sb.append(");\n");
+		boolean useGetSet = false;
+		DatabaseField databaseField = field.getAnnotation(DatabaseField.class);
+		if (databaseField == null) {
+			appendForeignCollection(sb, field.getAnnotation(ForeignCollectionField.class));
+		} else {
+			appendDatabaseField(sb, field, databaseField, packageElement);
+			useGetSet = databaseField.useGetSet();
+		}
+		if (!useGetSet) {
+			appendFieldAccessor(sb, field, packageElement);
+		}
+		sb.append("\t\tconfigs.add(config);\n");
+	}
+
+	/**
+	 * Mirrors {@link DatabaseFieldConfig#fromDatabaseField} but only sets the non-default values.
+	 */
+	private void appendDatabaseField(StringBuilder sb, VariableElement field, DatabaseField databaseField,
+			PackageElement packageElement) throws SkipClassException {
+		appendString(sb, "setColumnName", databaseField.columnName());
+		if (databaseField.dataType() != DatabaseFieldConfig.DEFAULT_DATA_TYPE) {
+			appendSetter(sb, "setDataType", DataType.class.getName() + "." + databaseField.dataType().name());
+		}
+		// NOTE: == did not work with the NO_DEFAULT string
+		if (!databaseField.defaultValue().equals(DatabaseField.DEFAULT_STRING)) {
+			sb.append("\t\tconfig.setDefaultValue(");
+			appendQuoted(sb, databaseField.defaultValue());
+			sb.append(");\n");
+		}
+		appendInt(sb, "setWidth", databaseField.width(), 0);
+		appendBoolean(sb, "setCanBeNull", databaseField.canBeNull(), DatabaseFieldConfig.DEFAULT_CAN_BE_NULL);
+		appendBoolean(sb, "setId", databaseField.id(), false);
+		appendBoolean(sb, "setGeneratedId", databaseField.generatedId(), false);
+		appendString(sb, "setGeneratedIdSequence", databaseField.generatedIdSequence());
+		appendBoolean(sb, "setForeign", databaseField.foreign(), false);
+		appendBoolean(sb, "setUseGetSet", databaseField.useGetSet(), false);
+		if (databaseField.unknownEnumName().length() > 0) {
+			appendSetter(sb, "setUnknownEnumValue",
+					enumConstant(field, databaseField.unknownEnumName(), packageElement));
+		}
+		appendBoolean(sb, "setThrowIfNull", databaseField.throwIfNull(), false);
+		appendString(sb, "setFormat", databaseField.format());
+		appendBoolean(sb, "setUnique", databaseField.unique(), false);
+		appendBoolean(sb, "setUniqueCombo", databaseField.uniqueCombo(), false);
+		appendBoolean(sb, "setIndex", databaseField.index(), false);
+		appendString(sb, "setIndexName", databaseField.indexName());
+		appendBoolean(sb, "setUniqueIndex", databaseField.uniqueIndex(), false);
+		appendString(sb, "setUniqueIndexName", databaseField.uniqueIndexName());
+		appendBoolean(sb, "setForeignAutoRefresh", databaseField.foreignAutoRefresh(), false);
+		if (databaseField.foreignAutoRefresh()
+				|| databaseField.maxForeignAutoRefreshLevel() != DatabaseField.DEFAULT_MAX_FOREIGN_AUTO_REFRESH_LEVEL) {
+			appendSetter(sb, "setMaxForeignAutoRefreshLevel",
+					Integer.toString(databaseField.maxForeignAutoRefreshLevel()));
+		}
+		String persisterClass = persisterClassName(databaseField, packageElement);
+		if (persisterClass != null) {
+			appendSetter(sb, "setPersisterClass", persisterClass + ".class");
+		}
+		appendBoolean(sb, "setAllowGeneratedIdInsert", databaseField.allowGeneratedIdInsert(), false);
+		appendString(sb, "setColumnDefinition", databaseField.columnDefinition());
+		appendBoolean(sb, "setForeignAutoCreate", databaseField.foreignAutoCreate(), false);
+		appendBoolean(sb, "setVersion", databaseField.version(), false);
+		appendString(sb, "setForeignColumnName", databaseField.foreignColumnName());
+		appendBoolean(sb, "setReadOnly", databaseField.readOnly(), false);
+		appendString(sb, "setFullColumnDefinition", databaseField.fullColumnDefinition());
+		appendString(sb, "setAfterField", databaseField.afterField());
+	}
+
+	/**
+	 * Mirrors {@link DatabaseFieldConfig#fromField} for a {@link ForeignCollectionField}.
+	 */
+	private void appendForeignCollection(StringBuilder sb, ForeignCollectionField foreignCollection) {
+		appendString(sb, "setColumnName", foreignCollection.columnName());
+		appendSetter(sb, "setForeignCollection", "true");
+		appendBoolean(sb, "setForeignCollectionEager", foreignCollection.eager(), false);
+		appendInt(sb, "setForeignCollectionMaxEagerLevel", foreignCollection.maxEagerLevel(),
+				DatabaseFieldConfig.DEFAULT_MAX_EAGER_FOREIGN_COLLECTION_LEVEL);
+		appendString(sb, "setForeignCollectionOrderColumnName", foreignCollection.orderColumnName());
+		appendBoolean(sb, "setForeignCollectionOrderAscending", foreignCollection.orderAscending(),
+				DatabaseFieldConfig.DEFAULT_FOREIGN_COLLECTION_ORDER_ASCENDING);
+		appendString(sb, "setForeignCollectionColumnName", foreignCollection.columnName());
+		appendString(sb, "setForeignCollectionForeignFieldName", foreignCollection.foreignFieldName());
+	}
+
+	/**
+	 * Append an accessor which gets and sets the field directly if the generated class can see it. Otherwise the field
+	 * is left to the runtime which uses method-handles or reflection.
+	 */
+	private void appendFieldAccessor(StringBuilder sb, VariableElement field, PackageElement packageElement) {
+		Set<Modifier> modifiers = field.getModifiers();
+		if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)
+				|| modifiers.contains(Modifier.STATIC)) {
+			return;
+		}
+		TypeElement declaringClass = (TypeElement) field.getEnclosingElement();
+		if (!isAccessible(declaringClass, packageElement)) {
+			return;
+		}
+		if (!modifiers.contains(Modifier.PUBLIC) && !elements.getPackageOf(declaringClass).equals(packageElement)) {
+			return;
+		}
+		String declaringName = typeName(declaringClass.asType(), packageElement);
+		TypeMirror fieldType = types.erasure(field.asType());
+		String castName;
+		if (fieldType.getKind().isPrimitive()) {
+			castName = types.boxedClass((PrimitiveType) fieldType).getQualifiedName().toString();
+		} else {
+			castName = typeName(fieldType, packageElement);
+		}
+		if (declaringName == null || castName == null) {
+			return;
+		}
+		String fieldName = field.getSimpleName().toString();
+		sb.append("\t\tconfig.setFieldAccessor(new ").append(FieldAccessor.class.getName()).append("() {\n");
+		sb.append("\t\t\t@Override\n");
+		sb.append("\t\t\tpublic Object getValue(Object data) {\n");
+		sb.append("\t\t\t\treturn ((").append(declaringName).append(") data).").append(fieldName).append(";\n");
+		sb.append("\t\t\t}\n\n");
+		sb.append("\t\t\t@Override\n");
+		sb.append("\t\t\tpublic void setValue(Object data, Object value) {\n");
+		sb.append("\t\t\t\t((").append(declaringName).append(") data).").append(fieldName);
+		sb.append(" = (").append(castName).append(") value;\n");
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t});\n");
+	}
+
+	private String enumConstant(VariableElement field, String enumName, PackageElement packageElement)
+			throws SkipClassException {
+		TypeMirror fieldType = field.asType();
+		if (fieldType.getKind() != TypeKind.DECLARED
+				|| ((DeclaredType) fieldType).asElement().getKind() != ElementKind.ENUM) {
+			messager.printMessage(Kind.ERROR, "unknownEnumName is set on a field that is not an enum", field);
+			throw new SkipClassException("field " + field.getSimpleName() + " is not an enum");
+		}
+		TypeElement enumElement = (TypeElement) ((DeclaredType) fieldType).asElement();
+		boolean found = false;
+		for (Element enclosed : enumElement.getEnclosedElements()) {
+			if (enclosed.getKind() == ElementKind.ENUM_CONSTANT && enclosed.getSimpleName().contentEquals(enumName)) {
+				found = true;
+				break;
+			}
+		}
+		if (!found) {
+			messager.printMessage(Kind.ERROR,
+					"Unknown enum name " + enumName + " for field " + field.getSimpleName() + " of type " + fieldType,
+					field);
+			throw new SkipClassException("unknown enum name " + enumName);
+		}
+		String enumTypeName = typeName(fieldType, packageElement);
+		if (enumTypeName == null) {
+			throw new SkipClassException("enum type of field " + field.getSimpleName() + " is not accessible");
+		}
+		return enumTypeName + "." + enumName;
+	}
+
+	private String persisterClassName(DatabaseField databaseField, PackageElement packageElement)
+			throws SkipClassException {
+		TypeMirror persisterType;
+		try {
+			// this will throw when running in the compiler since the class is not loaded
+			Class<?> persisterClass = databaseField.persisterClass();
+			if (persisterClass == VoidType.class) {
+				return null;
+			} else {
+				return persisterClass.getCanonicalName();
+			}
+		} catch (MirroredTypeException mte) {
+			persisterType = mte.getTypeMirror();
+		}
+		TypeElement persisterElement = (TypeElement) types.asElement(persisterType);
+		if (persisterElement.getQualifiedName().contentEquals(VoidType.class.getName())) {
+			return null;
+		}
+		String name = typeName(persisterType, packageElement);
+		if (name == null) {
+			throw new SkipClassException("persister class " + persisterType + " is not accessible");
+		}
+		return name;
+	}
+
+	/**
+	 * Return the name to use in the generated code for the erasure of the type or null if the type is not accessible
+	 * from the package.
+	 */
+	private String typeName(TypeMirror type, PackageElement packageElement) {
+		switch (type.getKind()) {
+			case ARRAY:
+				String componentName = typeName(((ArrayType) type).getComponentType(), packageElement);
+				if (componentName == null) {
+					return null;
+				} else {
+					return componentName + "[]";
+				}
+			case DECLARED:
+				TypeElement typeElement = (TypeElement) ((DeclaredType) type).asElement();
+				if (isAccessible(typeElement, packageElement)) {
+					return typeElement.getQualifiedName().toString();
+				} else {
+					return null;
+				}
+			case TYPEVAR:
+				return typeName(types.erasure(((TypeVariable) type).getUpperBound()), packageElement);
+			default:
+				if (type.getKind().isPrimitive()) {
+					return type.getKind().name().toLowerCase();
+				} else {
+					return null;
+				}
+		}
+	}
+
+	/**
+	 * Return true if the type and its enclosing types can be referenced from the package.
+	 */
+	private boolean isAccessible(TypeElement typeElement, PackageElement packageElement) {
+		boolean samePackage = elements.getPackageOf(typeElement).equals(packageElement);
+		for (Element walk = typeElement; walk instanceof TypeElement; walk = walk.getEnclosingElement()) {
+			Set<Modifier> modifiers = walk.getModifiers();
+			if (modifiers.contains(Modifier.PRIVATE)) {
+				return false;
+			}
+			if (!samePackage && !modifiers.contains(Modifier.PUBLIC)) {
+				return false;
+			}
+			if (((TypeElement) walk).getNestingKind() != NestingKind.TOP_LEVEL
+					&& ((TypeElement) walk).getNestingKind() != NestingKind.MEMBER) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private TypeElement superClass(TypeElement typeElement) {
+		TypeMirror superType = typeElement.getSuperclass();
+		if (superType.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+		TypeElement superElement = (TypeElement) ((DeclaredType) superType).asElement();
+		if (superElement.getQualifiedName().contentEquals(Object.class.getName())) {
+			return null;
+		} else {
+			return superElement;
+		}
+	}
+
+	private boolean hasJavaxPersistenceAnnotation(VariableElement field) {
+		for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+			TypeElement annotationElement = (TypeElement) mirror.getAnnotationType().asElement();
+			if (annotationElement.getQualifiedName().toString().startsWith(JAVAX_PERSISTENCE_PACKAGE)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void appendSetter(StringBuilder sb, String setter, String value) {
+		sb.append("\t\tconfig.").append(setter).append('(').append(value).append(");\n");
+	}
+
+	private void appendBoolean(StringBuilder sb, String setter, boolean value, boolean defaultValue) {
+		if (value != defaultValue) {
+			appendSetter(sb, setter, Boolean.toString(value));
+		}
+	}
+
+	private void appendInt(StringBuilder sb, String setter, int value, int defaultValue) {
+		if (value != defaultValue) {
+			appendSetter(sb, setter, Integer.toString(value));
+		}
+	}
+
+	/**
+	 * Append the setter if the value is not blank to match the valueIfNotBlank() handling of the annotations.
+	 */
+	private void appendString(StringBuilder sb, String setter, String value) {
+		if (value != null && value.length() > 0) {
+			sb.append("\t\tconfig.").append(setter).append('(');
+			appendQuoted(sb, value);
+			sb.append(");\n");
+		}
+	}
+
+	private void appendQuoted(StringBuilder sb, String value) {
+		sb.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char ch = value.charAt(i);
+			switch (ch) {
+				case '"':
+					sb.append("\\\"");
+					break;
+				case '\\':
+					sb.append("\\\\");
+					break;
+				case '\n':
+					sb.append("\\n");
+					break;
+				case '\r':
+					sb.append("\\r");
+					break;
+				case '\t':
+					sb.append("\\t");
+					break;
+				default:
+					if (ch < ' ' || ch > '~') {
+						sb.append(String.format("\\u%04x", (int) ch));
+					} else {
+						sb.append(ch);
+					}
+					break;
+			}
+		}
+		sb.append('"');
+	}
+
+	/**
+	 * Thrown when a class cannot be generated and should be left to the reflection configuration.
+	 */
+	private static class SkipClassException extends Exception {
+		private static final long serialVersionUID = 1L;
+
+		public SkipClassException(String message) {
+			super(message);
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package com.j256.ormlite.stmt;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import com.j256.ormlite.dao.CloseableSpliterator;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.stmt.mapped.MappedPreparedStmt;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+
+/**
+ * Spliterator which covers an inclusive range of numeric ids of a query. {@link #trySplit()} splits off the bottom half
+ * of the range until the ranges are no larger than the minimum split size. Each range is queried with its own
+ * {@link SelectIterator}, and so its own connection from the {@link ConnectionSource}, once the first object of the
+ * range is requested. This is used by the {@link Dao#parallelStream(PreparedQuery, int)} method.
+ *
+ * <p>
+ * <b>NOTE:</b> You must call {@link #close()} when you are done with the spliterator and all of its splits otherwise the
+ * iterators of any ranges that were not fully read will not be closed.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class IdRangeSpliterator<T, ID> implements CloseableSpliterator<T> {
+
+	private final StatementExecutor<T, ID> statementExecutor;
+	private final ConnectionSource connectionSource;
+	private final DatabaseType databaseType;
+	private final MappedPreparedStmt<T, ID> preparedStmt;
+	private final ObjectCache objectCache;
+	private final long minSplitSize;
+	/** iterators of all of the ranges split from the same spliterator, shared so they can all be closed */
+	private final List<SelectIterator<T, ID>> openIterators;
+	private long low;
+	private final long high;
+	private SelectIterator<T, ID> iterator;
+	private boolean done;
+
+	public IdRangeSpliterator(StatementExecutor<T, ID> statementExecutor, ConnectionSource connectionSource,
+			MappedPreparedStmt<T, ID> preparedStmt, ObjectCache objectCache, long low, long high, long minSplitSize) {
+		this(statementExecutor, connectionSource, preparedStmt, objectCache, low, high, minSplitSize,
+				new ArrayList<SelectIterator<T, ID>>());
+	}
+
+	private IdRangeSpliterator(StatementExecutor<T, ID> statementExecutor, ConnectionSource connectionSource,
+			MappedPreparedStmt<T, ID> preparedStmt, ObjectCache objectCache, long low, long high, long minSplitSize,
+			List<SelectIterator<T, ID>> openIterators) {
+		this.statementExecutor = statementExecutor;
+		this.connectionSource = connectionSource;
+		this.databaseType = connectionSource.getDatabaseType();
+		this.preparedStmt = preparedStmt;
+		this.objectCache = objectCache;
+		this.low = low;
+		this.high = high;
+		this.minSplitSize = minSplitSize;
+		this.openIterators = openIterators;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		if (done) {
+			return false;
+		}
+		try {
+			if (iterator == null) {
+				iterator = openIterator();
+			}
+			if (iterator.hasNextThrow()) {
+				action.accept(iterator.nextThrow());
+				return true;
+			}
+		} catch (SQLException e) {
+			closeIterator();
+			throw new IllegalStateException("Could not get next result for ids " + low + " to " + high, e);
+		}
+		// the iterator has closed itself
+		closeIterator();
+		return false;
+	}
+
+	@Override
+	public Spliterator<T> trySplit() {
+		// once we have started the query, we can't change our range
+		if (iterator != null || done || high - low < minSplitSize) {
+			return null;
+		}
+		long mid = low + (high - low) / 2;
+		IdRangeSpliterator<T, ID> split = new IdRangeSpliterator<T, ID>(statementExecutor, connectionSource,
+				preparedStmt, objectCache, low, mid, minSplitSize, openIterators);
+		low = mid + 1;
+		return split;
+	}
+
+	@Override
+	public long estimateSize() {
+		if (done) {
+			return 0;
+		}
+		// this is the maximum number of rows in the range, there may be gaps in the ids
+		long size = high - low + 1;
+		if (size <= 0) {
+			return Long.MAX_VALUE;
+		} else {
+			return size;
+		}
+	}
+
+	@Override
+	public int characteristics() {
+		return NONNULL;
+	}
+
+	/**
+	 * Close the iterators of this spliterator and all of the spliterators split from it.
+	 */
+	@Override
+	public void close() throws Exception {
+		List<SelectIterator<T, ID>> iterators;
+		synchronized (openIterators) {
+			iterators = new ArrayList<SelectIterator<T, ID>>(openIterators);
+			openIterators.clear();
+		}
+		for (SelectIterator<T, ID> openIterator : iterators) {
+			IOUtils.closeThrowSqlException(openIterator, "iterator");
+		}
+		done = true;
+	}
+
+	@Override
+	public void closeQuietly() {
+		IOUtils.closeQuietly(this);
+	}
+
+	private SelectIterator<T, ID> openIterator() throws SQLException {
+		MappedPreparedStmt<T, ID> rangeStmt = preparedStmt.buildIdRangeQuery(databaseType, low, high);
+		SelectIterator<T, ID> selectIterator = statementExecutor.buildIterator(null, connectionSource, rangeStmt,
+				objectCache, DatabaseConnection.DEFAULT_RESULT_FLAGS);
+		synchronized (openIterators) {
+			openIterators.add(selectIterator);
+		}
+		return selectIterator;
+	}
+
+	private void closeIterator() {
+		if (iterator != null) {
+			synchronized (openIterators) {
+				openIterators.remove(iterator);
+			}
+			iterator.closeQuietly();
+			iterator = null;
+		}
+		done = true;
+	}
+}
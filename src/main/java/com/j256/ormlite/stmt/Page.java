@@ -0,0 +1,115 @@
+package com.j256.ormlite.stmt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Base64;
+import java.util.List;
+
+import com.j256.ormlite.misc.SqlArgStreamUtils;
+
+/**
+ * A page of results returned by {@link QueryBuilder#queryPage(String, long)}. The next page is requested by passing the
+ * {@link #getNextCursor()} token back into the same query. The token holds the ORDER BY column values of the last row
+ * of the page so the next query can seek directly past it instead of counting through all of the earlier rows with an
+ * OFFSET.
+ *
+ * @author graywatson
+ */
+public class Page<T> {
+
+	private static final byte CURSOR_VERSION = 1;
+
+	private final List<T> results;
+	private final String nextCursor;
+
+	public Page(List<T> results, String nextCursor) {
+		this.results = results;
+		this.nextCursor = nextCursor;
+	}
+
+	/**
+	 * Return the results in this page.
+	 */
+	public List<T> getResults() {
+		return results;
+	}
+
+	/**
+	 * Return the cursor token to pass to {@link QueryBuilder#queryPage(String, long)} to get the next page or null if
+	 * this is the last page.
+	 */
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	/**
+	 * Return true if there is another page of results after this one.
+	 */
+	public boolean hasNext() {
+		return (nextCursor != null);
+	}
+
+	/**
+	 * Encode the SQL argument values of the order-by columns of the last row into a URL-safe cursor token.
+	 */
+	static String encodeCursor(Object[] values) throws SQLException {
+		ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(byteOut);
+		try {
+			out.writeByte(CURSOR_VERSION);
+			out.writeByte(values.length);
+			for (Object value : values) {
+				SqlArgStreamUtils.writeValue(out, value);
+			}
+			out.close();
+		} catch (IOException e) {
+			throw new SQLException("Unable to encode page cursor", e);
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(byteOut.toByteArray());
+	}
+
+	/**
+	 * Decode a cursor token created by {@link #encodeCursor(Object[])} into the values of the order-by columns.
+	 *
+	 * @throws SQLException
+	 *             If the cursor is not valid or was not created for a query with the same number of order-by columns.
+	 */
+	static Object[] decodeCursor(String cursor, int numKeys) throws SQLException {
+		byte[] bytes;
+		try {
+			bytes = Base64.getUrlDecoder().decode(cursor);
+		} catch (IllegalArgumentException e) {
+			throw new SQLException("Invalid page cursor: " + cursor, e);
+		}
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+		try {
+			byte version = in.readByte();
+			if (version != CURSOR_VERSION) {
+				throw new SQLException("Unknown page cursor version " + version + ": " + cursor);
+			}
+			int num = in.readByte();
+			if (num != numKeys) {
+				throw new SQLException(
+						"Page cursor has " + num + " values but the query has " + numKeys + " order-by columns");
+			}
+			Object[] values = new Object[num];
+			for (int i = 0; i < num; i++) {
+				// never allow java serialization and trust no lengths since the cursor may come from a client
+				values[i] = SqlArgStreamUtils.readValue(in, false, in.available());
+			}
+			if (in.available() > 0) {
+				throw new SQLException("Invalid page cursor, extra bytes at the end: " + cursor);
+			}
+			return values;
+		} catch (IOException e) {
+			throw new SQLException("Invalid page cursor: " + cursor, e);
+		} catch (RuntimeException e) {
+			// a forged number value can fail to parse
+			throw new SQLException("Invalid page cursor: " + cursor, e);
+		}
+	}
+}
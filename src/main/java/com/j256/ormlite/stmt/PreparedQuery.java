@@ -1,5 +1,7 @@
 package com.j256.ormlite.stmt;
 
+import java.sql.SQLException;
+
 import com.j256.ormlite.dao.Dao;
 
 /**
@@ -11,4 +13,26 @@ import com.j256.ormlite.dao.Dao;
  * @author graywatson
  */
 public interface PreparedQuery<T> extends PreparedStmt<T> {
+
+	/**
+	 * Return a copy of this query with its arguments set to the values. The SQL and the field types are shared with this
+	 * query and none of the argument holders of this query are changed so a query can be prepared once and then run
+	 * with different values from multiple threads at the same time. See {@link Dao#query(PreparedQuery, Object...)}.
+	 * 
+	 * <p>
+	 * The values are assigned in order to the argument holders of the query. An argument holder that appears in the
+	 * statement more than once, such as a {@link SelectArg} used twice, takes only one value. Like with
+	 * {@link #setArgumentHolderValue(int, Object)}, certain field types (such as a Date) allocate an argument internally
+	 * which must be included in the values.
+	 * </p>
+	 * 
+	 * @throws SQLException
+	 *             If the number of values is not {@link #getNumArgumentValues()}.
+	 */
+	public PreparedQuery<T> withArguments(Object... values) throws SQLException;
+
+	/**
+	 * Return the number of values that need to be passed to {@link #withArguments(Object...)}.
+	 */
+	public int getNumArgumentValues();
 }
@@ -2,6 +2,7 @@ package com.j256.ormlite.stmt;
 
 import java.sql.SQLException;
 
+import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.stmt.StatementBuilder.StatementType;
 import com.j256.ormlite.support.CompiledStatement;
 import com.j256.ormlite.support.DatabaseConnection;
@@ -74,4 +75,21 @@ public interface PreparedStmt<T> extends GenericRowMapper<T> {
 	 * Return the number of associated arguments with the statement.
 	 */
 	public int getNumArgs();
+
+	/**
+	 * Set the number of rows that the database driver should fetch at a time when this query is run. Set to 0 to use
+	 * the {@link DatabaseType#getDefaultFetchSize()}. This is ignored for statements that are not queries.
+	 */
+	public void setFetchSize(int fetchSize);
+
+	/**
+	 * Set the number of rows that the iterators of this query map ahead of the row being returned. Set to 0 (the
+	 * default) to map each row as it is returned. See {@link SelectIterator#setReadAheadSize(int)}.
+	 */
+	public void setReadAheadSize(int readAheadSize);
+
+	/**
+	 * Return the number of rows that the iterators of this query map ahead of the row being returned.
+	 */
+	public int getReadAheadSize();
 }
@@ -0,0 +1,251 @@
+package com.j256.ormlite.stmt;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.j256.ormlite.dao.DatabaseResultsMapper;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.support.DatabaseResults;
+import com.j256.ormlite.table.TableInfo;
+
+/**
+ * Maps the selected columns of a query straight into a projection class without creating the entity. Used by
+ * {@link QueryBuilder#selectInto(Class)}. The projection class either has a constructor whose parameters match the
+ * types of the selected columns in order, like a record, or it has a no-arg constructor and fields with the same names
+ * and types as the entity fields of the selected columns.
+ *
+ * <p>
+ * The constructor and fields are looked up with reflection the first time a projection class is used with a set of
+ * columns and then cached in the {@link TableInfo} of the DAO so later queries only have to convert the column values.
+ * The cache goes away with the DAO so it doesn't hold onto projection classes after the DAO is no longer used.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class ProjectionMapper<R> {
+
+	private final Constructor<R> constructor;
+	/** fields to set after construction, or null if the columns are passed to the constructor */
+	private final Field[] fields;
+	/** default values of primitive parameters or fields used if the column value is null */
+	private final Object[] primitiveDefaults;
+
+	private ProjectionMapper(Constructor<R> constructor, Field[] fields, Object[] primitiveDefaults) {
+		this.constructor = constructor;
+		this.fields = fields;
+		this.primitiveDefaults = primitiveDefaults;
+	}
+
+	/**
+	 * Return the mapper for the projection class and the selected column field types of the table, building it if
+	 * needed.
+	 *
+	 * @throws SQLException
+	 *             If the projection class has no constructor or fields that match the columns.
+	 */
+	public static <R> ProjectionMapper<R> getMapper(TableInfo<?, ?> tableInfo, Class<R> projectionClass,
+			FieldType[] fieldTypes) throws SQLException {
+		Map<Object, ProjectionMapper<?>> mapperCache = tableInfo.getProjectionMapperCache();
+		MapperKey key = new MapperKey(projectionClass, fieldTypes);
+		@SuppressWarnings("unchecked")
+		ProjectionMapper<R> mapper = (ProjectionMapper<R>) mapperCache.get(key);
+		if (mapper == null) {
+			mapper = buildMapper(projectionClass, fieldTypes);
+			mapperCache.put(key, mapper);
+		}
+		return mapper;
+	}
+
+	/**
+	 * Return a results mapper which uses this projection to map the rows of a query that selected the columns.
+	 */
+	public DatabaseResultsMapper<R> resultsMapper(FieldType[] fieldTypes) {
+		return new ProjectionResultsMapper(fieldTypes);
+	}
+
+	private R mapRow(DatabaseResults results, FieldType[] fieldTypes, int[] columnPositions) throws SQLException {
+		Object[] values = new Object[fieldTypes.length];
+		for (int i = 0; i < fieldTypes.length; i++) {
+			Object value = fieldTypes[i].resultToJava(results, columnPositions[i]);
+			if (value == null) {
+				value = primitiveDefaults[i];
+			}
+			values[i] = value;
+		}
+		try {
+			if (fields == null) {
+				return constructor.newInstance(values);
+			}
+			R instance = constructor.newInstance();
+			for (int i = 0; i < fields.length; i++) {
+				if (values[i] != null) {
+					fields[i].set(instance, values[i]);
+				}
+			}
+			return instance;
+		} catch (Exception e) {
+			throw new SQLException("Could not create projection " + constructor.getDeclaringClass(), e);
+		}
+	}
+
+	private static <R> ProjectionMapper<R> buildMapper(Class<R> projectionClass, FieldType[] fieldTypes)
+			throws SQLException {
+		Class<?>[] valueTypes = new Class<?>[fieldTypes.length];
+		for (int i = 0; i < fieldTypes.length; i++) {
+			if (fieldTypes[i].isForeign()) {
+				// foreign fields are returned as the id of the foreign object
+				valueTypes[i] = fieldTypes[i].getForeignIdField().getType();
+			} else {
+				valueTypes[i] = fieldTypes[i].getType();
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		Constructor<R>[] constructors = (Constructor<R>[]) projectionClass.getDeclaredConstructors();
+		Constructor<R> noArgConstructor = null;
+		for (Constructor<R> con : constructors) {
+			Class<?>[] paramTypes = con.getParameterTypes();
+			if (paramTypes.length == 0) {
+				noArgConstructor = con;
+			} else if (paramTypes.length == valueTypes.length && typesMatch(paramTypes, valueTypes)) {
+				makeAccessible(con);
+				return new ProjectionMapper<R>(con, null, buildPrimitiveDefaults(paramTypes));
+			}
+		}
+
+		if (noArgConstructor != null) {
+			Field[] fields = new Field[fieldTypes.length];
+			Class<?>[] fieldClasses = new Class<?>[fieldTypes.length];
+			boolean found = true;
+			for (int i = 0; i < fieldTypes.length; i++) {
+				fields[i] = findField(projectionClass, fieldTypes[i].getFieldName());
+				if (fields[i] == null) {
+					found = false;
+					break;
+				}
+				fieldClasses[i] = fields[i].getType();
+			}
+			if (found && typesMatch(fieldClasses, valueTypes)) {
+				makeAccessible(noArgConstructor);
+				for (Field field : fields) {
+					if (!field.isAccessible()) {
+						try {
+							field.setAccessible(true);
+						} catch (SecurityException e) {
+							throw new SQLException("Could not open access to field " + field.getName(), e);
+						}
+					}
+				}
+				return new ProjectionMapper<R>(noArgConstructor, fields, buildPrimitiveDefaults(fieldClasses));
+			}
+		}
+
+		throw new SQLException("Could not find a constructor in " + projectionClass + " with parameter types "
+				+ Arrays.toString(valueTypes) + " or a no-arg constructor and fields with the same names and types");
+	}
+
+	private static boolean typesMatch(Class<?>[] targetTypes, Class<?>[] valueTypes) {
+		for (int i = 0; i < targetTypes.length; i++) {
+			if (!boxedType(targetTypes[i]).isAssignableFrom(boxedType(valueTypes[i]))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Class<?> boxedType(Class<?> type) {
+		if (!type.isPrimitive()) {
+			return type;
+		}
+		// the array trick gets us the boxed default value of the primitive
+		return Array.get(Array.newInstance(type, 1), 0).getClass();
+	}
+
+	private static Object[] buildPrimitiveDefaults(Class<?>[] types) {
+		Object[] defaults = new Object[types.length];
+		for (int i = 0; i < types.length; i++) {
+			if (types[i].isPrimitive()) {
+				defaults[i] = Array.get(Array.newInstance(types[i], 1), 0);
+			}
+		}
+		return defaults;
+	}
+
+	private static Field findField(Class<?> clazz, String fieldName) {
+		for (Class<?> classWalk = clazz; classWalk != null; classWalk = classWalk.getSuperclass()) {
+			try {
+				return classWalk.getDeclaredField(fieldName);
+			} catch (NoSuchFieldException e) {
+				// try the super-class
+			}
+		}
+		return null;
+	}
+
+	private static void makeAccessible(Constructor<?> con) throws SQLException {
+		if (!con.isAccessible()) {
+			try {
+				con.setAccessible(true);
+			} catch (SecurityException e) {
+				throw new SQLException("Could not open access to constructor for " + con.getDeclaringClass(), e);
+			}
+		}
+	}
+
+	/**
+	 * Maps the rows of one query, looking up the column positions from the first row.
+	 */
+	private class ProjectionResultsMapper implements DatabaseResultsMapper<R> {
+
+		private final FieldType[] fieldTypes;
+		private int[] columnPositions;
+
+		public ProjectionResultsMapper(FieldType[] fieldTypes) {
+			this.fieldTypes = fieldTypes;
+		}
+
+		@Override
+		public R mapRow(DatabaseResults results) throws SQLException {
+			if (columnPositions == null) {
+				int[] positions = new int[fieldTypes.length];
+				for (int i = 0; i < fieldTypes.length; i++) {
+					positions[i] = results.findColumn(fieldTypes[i].getColumnName());
+				}
+				columnPositions = positions;
+			}
+			return ProjectionMapper.this.mapRow(results, fieldTypes, columnPositions);
+		}
+	}
+
+	/**
+	 * Key for the mapper cache. The field types are compared by their entity fields.
+	 */
+	private static class MapperKey {
+		private final Class<?> projectionClass;
+		private final List<FieldType> fieldTypes;
+
+		public MapperKey(Class<?> projectionClass, FieldType[] fieldTypes) {
+			this.projectionClass = projectionClass;
+			this.fieldTypes = Arrays.asList(fieldTypes);
+		}
+
+		@Override
+		public int hashCode() {
+			return projectionClass.hashCode() * 31 + fieldTypes.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			MapperKey other = (MapperKey) obj;
+			return projectionClass == other.projectionClass && fieldTypes.equals(other.fieldTypes);
+		}
+	}
+}
@@ -11,6 +11,8 @@ import com.j256.ormlite.dao.GenericRawResults;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.ForeignCollectionField;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.stmt.mapped.MappedPreparedStmt;
 import com.j256.ormlite.stmt.query.ColumnNameOrRawSql;
 import com.j256.ormlite.stmt.query.OrderBy;
 import com.j256.ormlite.table.TableInfo;
@@ -45,7 +47,10 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 	private String having;
 	private Long limit;
 	private Long offset;
+	private Integer fetchSize;
+	private int readAheadSize;
 	private List<JoinInfo> joinList;
+	private PageSeek pageSeek;
 
 	// NOTE: anything added here should be added to the clear() method below
 
@@ -99,7 +104,14 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 	public PreparedQuery<T> prepare() throws SQLException {
 		// we only store things in the cache if there was not selects specified
 		boolean cacheStore = (selectList == null);
-		return super.prepareStatement(limit, cacheStore);
+		MappedPreparedStmt<T, ID> preparedStmt = super.prepareStatement(limit, cacheStore);
+		if (fetchSize == null) {
+			preparedStmt.setFetchSize(databaseType.getDefaultFetchSize());
+		} else {
+			preparedStmt.setFetchSize(fetchSize);
+		}
+		preparedStmt.setReadAheadSize(readAheadSize);
+		return preparedStmt;
 	}
 
 	/**
@@ -246,6 +258,26 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		return this;
 	}
 
+	/**
+	 * Set the number of rows that the database driver should fetch at a time when it needs more rows from the results.
+	 * Larger sizes mean fewer round trips to the database but more memory. Set to null to use the
+	 * {@link DatabaseType#getDefaultFetchSize()} (the default).
+	 */
+	public QueryBuilder<T, ID> fetchSize(Integer fetchSize) {
+		this.fetchSize = fetchSize;
+		return this;
+	}
+
+	/**
+	 * Set the number of rows that the {@link Dao#iterator(PreparedQuery)} iterators map ahead of the row being
+	 * returned. Set to 0 to map each row as it is returned (the default). See
+	 * {@link SelectIterator#setReadAheadSize(int)}.
+	 */
+	public QueryBuilder<T, ID> readAheadSize(int readAheadSize) {
+		this.readAheadSize = readAheadSize;
+		return this;
+	}
+
 	/**
 	 * Start the output at this row number. Set to null for no offset (the default). If you are paging through a table,
 	 * you should consider using the {@link Dao#iterator()} method instead which handles paging with a database cursor.
@@ -412,6 +444,174 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		return dao.iterator(prepare());
 	}
 
+	/**
+	 * Query for the selected columns and map them straight into instances of the projection class without creating
+	 * the entity objects. If no columns were selected with {@link #selectColumns(String...)} then all of the columns
+	 * are mapped. The id column is not added to the selected columns. See {@link ProjectionMapper} for how the
+	 * projection class is matched up with the columns.
+	 * 
+	 * <pre>
+	 * List&lt;NameAndAge&gt; results = qb.selectColumns("name", "age").selectInto(NameAndAge.class);
+	 * </pre>
+	 * 
+	 * @param projectionClass
+	 *            Class with a constructor that takes the selected column values in order or a no-arg constructor and
+	 *            fields with the same names as the entity fields.
+	 */
+	public <R> List<R> selectInto(Class<R> projectionClass) throws SQLException {
+		List<FieldType> fieldTypeList = new ArrayList<FieldType>();
+		if (selectList == null) {
+			for (FieldType fieldType : tableInfo.getFieldTypes()) {
+				if (!fieldType.isForeignCollection()) {
+					fieldTypeList.add(fieldType);
+				}
+			}
+		} else {
+			for (ColumnNameOrRawSql select : selectList) {
+				if (select.getRawSql() != null) {
+					throw new SQLException("Cannot use raw select with a projection: " + select.getRawSql());
+				}
+				FieldType fieldType = tableInfo.getFieldTypeByColumnName(select.getColumnName());
+				if (fieldType.isForeignCollection()) {
+					throw new SQLException("Cannot select foreign collection into a projection: " + fieldType);
+				}
+				fieldTypeList.add(fieldType);
+			}
+		}
+		FieldType[] fieldTypes = fieldTypeList.toArray(new FieldType[fieldTypeList.size()]);
+		ProjectionMapper<R> mapper = ProjectionMapper.getMapper(tableInfo, projectionClass, fieldTypes);
+
+		boolean selectIdColumnSave = selectIdColumn;
+		StatementInfo statementInfo;
+		try {
+			selectIdColumn = false;
+			statementInfo = prepareStatementInfo();
+		} finally {
+			selectIdColumn = selectIdColumnSave;
+		}
+		List<ArgumentHolder> argList = statementInfo.getArgList();
+		ArgumentHolder[] args = new ArgumentHolder[argList.size()];
+		for (int i = 0; i < args.length; i++) {
+			ArgumentHolder arg = argList.get(i);
+			if (arg.getSqlType() == null && arg.getFieldType() != null) {
+				// raw queries need the sql-type on the argument
+				arg = new SelectArg(arg.getFieldType().getSqlType(), arg.getSqlArgValue());
+			}
+			args[i] = arg;
+		}
+
+		GenericRawResults<R> rawResults =
+				dao.queryRaw(statementInfo.getStatement(), mapper.resultsMapper(fieldTypes), args);
+		try {
+			List<R> results = new ArrayList<R>();
+			for (R result : rawResults) {
+				// the limit is only in the SQL if the database supports it
+				if (limit != null && results.size() >= limit) {
+					break;
+				}
+				results.add(result);
+			}
+			return results;
+		} finally {
+			IOUtils.closeThrowSqlException(rawResults, "raw results");
+		}
+	}
+
+	/**
+	 * Query for a page of results using keyset (or seek) pagination. Instead of skipping the earlier rows with an
+	 * OFFSET, which the database has to count through on every page, this adds a WHERE clause that seeks past the
+	 * ORDER BY column values of the last row of the previous page which are stored in the cursor. The id column is
+	 * added to the end of the ORDER BY columns, if it is not already there, so the order is unique. Mixed ascending and
+	 * descending columns and null values are supported. Nullable columns which are not ordered with
+	 * {@link #orderByNullsFirst(String, boolean)} or {@link #orderByNullsLast(String, boolean)} get an explicit NULLS
+	 * FIRST or NULLS LAST, picked with {@link DatabaseType#isNullsSortedFirst()}, so the seek matches the order of the
+	 * rows whatever the database's default null ordering is.
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> The columns in the ORDER BY must be selected and must not be changed between pages otherwise the
+	 * cursor values will not match up. Raw order-bys and offsets are not supported.
+	 * </p>
+	 * 
+	 * @param cursor
+	 *            Cursor returned by {@link Page#getNextCursor()} of the previous page or null for the first page.
+	 * @param pageSize
+	 *            Maximum number of results to return in the page.
+	 */
+	public Page<T> queryPage(String cursor, long pageSize) throws SQLException {
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException("Page size must be > 0: " + pageSize);
+		}
+		if (idField == null) {
+			throw new SQLException("Cannot page through " + tableInfo.getDataClass() + " because it has no id field");
+		}
+		if (offset != null) {
+			throw new SQLException("Cannot use an offset with keyset pagination");
+		}
+		List<OrderBy> orderBySave = orderByList;
+		List<OrderBy> pageOrderBys = new ArrayList<OrderBy>();
+		List<FieldType> keyFieldTypes = new ArrayList<FieldType>();
+		if (orderByList != null) {
+			for (OrderBy orderBy : orderByList) {
+				if (orderBy.getRawSql() != null) {
+					throw new SQLException("Cannot use raw order-by with keyset pagination: " + orderBy.getRawSql());
+				}
+				FieldType fieldType = verifyColumnName(orderBy.getColumnName());
+				if (!orderBy.isNullsFirst() && !orderBy.isNullsLast() && isNullable(fieldType)) {
+					// don't guess where the database puts the nulls, tell it
+					orderBy = new OrderBy(orderBy.getColumnName(), orderBy.isAscending(),
+							databaseType.isNullsSortedFirst() == orderBy.isAscending());
+				}
+				pageOrderBys.add(orderBy);
+				keyFieldTypes.add(fieldType);
+				if (fieldType == idField) {
+					// the id is unique so any further columns won't change the order
+					break;
+				}
+			}
+		}
+		if (!keyFieldTypes.contains(idField)) {
+			pageOrderBys.add(new OrderBy(idField.getColumnName(), true));
+			keyFieldTypes.add(idField);
+		}
+		OrderBy[] keys = pageOrderBys.toArray(new OrderBy[pageOrderBys.size()]);
+		FieldType[] fieldTypes = keyFieldTypes.toArray(new FieldType[keyFieldTypes.size()]);
+
+		Long limitSave = limit;
+		List<T> results;
+		try {
+			if (cursor != null) {
+				Object[] values = Page.decodeCursor(cursor, keys.length);
+				if (values[values.length - 1] == null) {
+					throw new SQLException("Invalid page cursor, id value is null: " + cursor);
+				}
+				pageSeek = new PageSeek(keys, fieldTypes, values);
+			}
+			orderByList = pageOrderBys;
+			// get an extra row so we know if there is another page
+			limit = pageSize + 1;
+			results = dao.query(prepare());
+		} finally {
+			orderByList = orderBySave;
+			limit = limitSave;
+			pageSeek = null;
+		}
+
+		if (results.size() <= pageSize) {
+			return new Page<T>(results, null);
+		}
+		results = new ArrayList<T>(results.subList(0, (int) pageSize));
+		T last = results.get(results.size() - 1);
+		Object[] lastValues = new Object[fieldTypes.length];
+		for (int i = 0; i < fieldTypes.length; i++) {
+			lastValues[i] = fieldTypes[i].extractJavaFieldToSqlArgValue(last);
+		}
+		return new Page<T>(results, Page.encodeCursor(lastValues));
+	}
+
+	private boolean isNullable(FieldType fieldType) {
+		return (fieldType != idField && fieldType.isCanBeNull() && !fieldType.getType().isPrimitive());
+	}
+
 	/**
 	 * Returns the count of the number of rows in the table. This uses {@link #setCountOf(boolean)} to true and then
 	 * calls {@link Dao#countOf(PreparedQuery)}. It restores the previous count-of value before returning.
@@ -472,6 +672,9 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		having = null;
 		limit = null;
 		offset = null;
+		fetchSize = null;
+		readAheadSize = 0;
+		pageSeek = null;
 		if (joinList != null) {
 			// help gc
 			joinList.clear();
@@ -539,6 +742,13 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 				first = joinInfo.queryBuilder.appendWhereStatement(sb, argList, operation);
 			}
 		}
+		if (pageSeek != null) {
+			operation = (first ? WhereOperation.FIRST : WhereOperation.AND);
+			operation.appendBefore(sb);
+			appendPageSeek(sb, argList);
+			operation.appendAfter(sb);
+			first = false;
+		}
 		return first;
 	}
 
@@ -883,6 +1093,62 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		databaseType.appendEscapedEntityName(sb, columnName);
 	}
 
+	/**
+	 * Append the keyset pagination clause which matches the rows after the cursor values. For order-by columns a, b, and
+	 * id this is: {@code (a > ?) OR (a = ? AND b > ?) OR (a = ? AND b = ? AND id > ?)} with the comparisons reversed
+	 * for descending columns and adjusted for null values. We don't use row-value comparisons such as
+	 * {@code (a, b, id) > (?, ?, ?)} since they don't handle mixed directions or nulls and aren't supported everywhere.
+	 */
+	private void appendPageSeek(StringBuilder sb, List<ArgumentHolder> argList) {
+		sb.append('(');
+		boolean firstOr = true;
+		for (int i = 0; i < pageSeek.keys.length; i++) {
+			OrderBy orderBy = pageSeek.keys[i];
+			Object value = pageSeek.values[i];
+			boolean nullsFirst = pageSeek.isNullsFirst(orderBy);
+			if (value == null && !nullsFirst) {
+				// nulls are sorted last so nothing comes after a null in this column
+				continue;
+			}
+			if (firstOr) {
+				firstOr = false;
+			} else {
+				sb.append(" OR ");
+			}
+			sb.append('(');
+			// all of the earlier columns equal to the cursor values
+			for (int j = 0; j < i; j++) {
+				appendColumnName(sb, pageSeek.keys[j].getColumnName());
+				if (pageSeek.values[j] == null) {
+					sb.append(" IS NULL");
+				} else {
+					sb.append(" = ?");
+					argList.add(new SelectArg(pageSeek.fieldTypes[j].getSqlType(), pageSeek.values[j]));
+				}
+				sb.append(" AND ");
+			}
+			// and this column after the cursor value
+			if (value == null) {
+				appendColumnName(sb, orderBy.getColumnName());
+				sb.append(" IS NOT NULL");
+			} else {
+				if (!nullsFirst) {
+					sb.append('(');
+				}
+				appendColumnName(sb, orderBy.getColumnName());
+				sb.append(orderBy.isAscending() ? " > ?" : " < ?");
+				argList.add(new SelectArg(pageSeek.fieldTypes[i].getSqlType(), value));
+				if (!nullsFirst) {
+					sb.append(" OR ");
+					appendColumnName(sb, orderBy.getColumnName());
+					sb.append(" IS NULL)");
+				}
+			}
+			sb.append(')');
+		}
+		sb.append(") ");
+	}
+
 	private void maybeAppendHaving(StringBuilder sb) {
 		if (having != null) {
 			sb.append("HAVING ").append(having).append(' ');
@@ -894,6 +1160,30 @@ public class QueryBuilder<T, ID> extends StatementBuilder<T, ID> {
 		databaseType.appendEscapedEntityName(sb, alias);
 	}
 
+	/**
+	 * Order-by columns and the cursor values used by {@link QueryBuilder#queryPage(String, long)} to seek to the next
+	 * page.
+	 */
+	private class PageSeek {
+		final OrderBy[] keys;
+		final FieldType[] fieldTypes;
+		final Object[] values;
+
+		public PageSeek(OrderBy[] keys, FieldType[] fieldTypes, Object[] values) {
+			this.keys = keys;
+			this.fieldTypes = fieldTypes;
+			this.values = values;
+		}
+
+		/**
+		 * Return true if null values of the column are sorted before the non-null values in the query results.
+		 */
+		boolean isNullsFirst(OrderBy orderBy) {
+			// queryPage gives the nullable columns an explicit ordering so the others have no nulls to seek past
+			return !orderBy.isNullsLast();
+		}
+	}
+
 	/**
 	 * Encapsulates our join information.
 	 */
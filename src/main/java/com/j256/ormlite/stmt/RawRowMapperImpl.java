@@ -16,6 +16,8 @@ public class RawRowMapperImpl<T, ID> implements RawRowMapper<T> {
 
 	private final Dao<T, ID> dao;
 	private final TableInfo<T, ID> tableInfo;
+	// field-types of the last column-names which are the same array for all of the rows of the results
+	private volatile ColumnFieldTypes lastColumnFieldTypes;
 
 	public RawRowMapperImpl(Dao<T, ID> dao) {
 		this.dao = dao;
@@ -26,17 +28,44 @@ public class RawRowMapperImpl<T, ID> implements RawRowMapper<T> {
 	public T mapRow(String[] columnNames, String[] resultColumns) throws SQLException {
 		// create our object
 		T rowObj = dao.createObjectInstance();
+		FieldType[] fieldTypes = findFieldTypes(columnNames);
 		for (int i = 0; i < columnNames.length; i++) {
 			// sanity check, prolly will never happen but let's be careful out there
 			if (i >= resultColumns.length) {
 				continue;
 			}
 			// run through and convert each field
-			FieldType fieldType = tableInfo.getFieldTypeByColumnName(columnNames[i]);
+			FieldType fieldType = fieldTypes[i];
 			Object fieldObj = fieldType.convertStringToJavaField(resultColumns[i], i);
 			// assign it to the row object
 			fieldType.assignField(dao.getConnectionSource(), rowObj, fieldObj, false, null);
 		}
 		return rowObj;
 	}
+
+	private FieldType[] findFieldTypes(String[] columnNames) {
+		ColumnFieldTypes columnFieldTypes = lastColumnFieldTypes;
+		if (columnFieldTypes != null && columnFieldTypes.columnNames == columnNames) {
+			return columnFieldTypes.fieldTypes;
+		}
+		FieldType[] fieldTypes = new FieldType[columnNames.length];
+		for (int i = 0; i < columnNames.length; i++) {
+			fieldTypes[i] = tableInfo.getFieldTypeByColumnName(columnNames[i]);
+		}
+		lastColumnFieldTypes = new ColumnFieldTypes(columnNames, fieldTypes);
+		return fieldTypes;
+	}
+
+	/**
+	 * Column names and their associated field-types.
+	 */
+	private static class ColumnFieldTypes {
+		final String[] columnNames;
+		final FieldType[] fieldTypes;
+
+		public ColumnFieldTypes(String[] columnNames, FieldType[] fieldTypes) {
+			this.columnNames = columnNames;
+			this.fieldTypes = fieldTypes;
+		}
+	}
 }
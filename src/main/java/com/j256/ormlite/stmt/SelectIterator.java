@@ -39,6 +39,9 @@ public class SelectIterator<T, ID> implements CloseableIterator<T> {
 	private boolean alreadyMoved;
 	private T last;
 	private int rowC;
+	private Object[] readAheadBuffer;
+	private int readAheadStart;
+	private int readAheadCount;
 
 	/**
 	 * If the statement parameter is null then this won't log information
@@ -56,6 +59,28 @@ public class SelectIterator<T, ID> implements CloseableIterator<T> {
 		logger.debug("starting iterator @{} for '{}'", hashCode(), compiledStmt);
 	}
 
+	/**
+	 * Set the number of rows that are mapped ahead of the row being returned. When the buffer of mapped rows is empty,
+	 * the next block of rows is read from the results and mapped into the buffer which then feeds the following
+	 * {@link #nextThrow()} calls. Set to 0 (the default) to map each row as it is returned.
+	 * 
+	 * <p>
+	 * <b>NOTE:</b> The read-ahead only applies to moving forward through the results. The {@link #first()},
+	 * {@link #previous()}, {@link #moveRelative(int)}, and {@link #moveAbsolute(int)} methods discard the buffered rows
+	 * and move the underlying results which may be ahead of the last row returned. The same is true of the
+	 * {@link #getRawResults()}.
+	 * </p>
+	 */
+	public void setReadAheadSize(int readAheadSize) {
+		if (readAheadSize > 0) {
+			readAheadBuffer = new Object[readAheadSize];
+		} else {
+			readAheadBuffer = null;
+		}
+		readAheadStart = 0;
+		readAheadCount = 0;
+	}
+
 	/**
 	 * Returns whether or not there are any remaining objects in the table. Can be called before next().
 	 * 
@@ -70,6 +95,13 @@ public class SelectIterator<T, ID> implements CloseableIterator<T> {
 			// we do this so multiple hasNext() calls can be made, result would be true or closed is true
 			return true;
 		}
+		if (readAheadBuffer != null) {
+			if (readAheadCount > 0 || readAhead()) {
+				return true;
+			}
+			IOUtils.closeThrowSqlException(this, "iterator");
+			return false;
+		}
 		boolean result;
 		if (first) {
 			first = false;
@@ -108,6 +140,7 @@ public class SelectIterator<T, ID> implements CloseableIterator<T> {
 			return null;
 		}
 		first = false;
+		clearReadAhead();
 		if (results.first()) {
 			return getCurrent();
 		} else {
@@ -121,6 +154,7 @@ public class SelectIterator<T, ID> implements CloseableIterator<T> {
 			return null;
 		}
 		first = false;
+		clearReadAhead();
 		if (results.previous()) {
 			return getCurrent();
 		} else {
@@ -135,6 +169,9 @@ public class SelectIterator<T, ID> implements CloseableIterator<T> {
 		}
 		if (first) {
 			return first();
+		} else if (readAheadBuffer != null) {
+			// the results have been moved past the last row returned
+			return last;
 		} else {
 			return getCurrent();
 		}
@@ -145,6 +182,9 @@ public class SelectIterator<T, ID> implements CloseableIterator<T> {
 		if (closed) {
 			return null;
 		}
+		if (readAheadBuffer != null) {
+			return nextReadAhead();
+		}
 		if (!alreadyMoved) {
 			boolean hasResult;
 			if (first) {
@@ -192,6 +232,7 @@ public class SelectIterator<T, ID> implements CloseableIterator<T> {
 			return null;
 		}
 		first = false;
+		clearReadAhead();
 		if (results.moveRelative(offset)) {
 			return getCurrent();
 		} else {
@@ -205,6 +246,7 @@ public class SelectIterator<T, ID> implements CloseableIterator<T> {
 			return null;
 		}
 		first = false;
+		clearReadAhead();
 		if (results.moveAbsolute(position)) {
 			return getCurrent();
 		} else {
@@ -260,6 +302,7 @@ public class SelectIterator<T, ID> implements CloseableIterator<T> {
 			compiledStmt.close();
 			closed = true;
 			last = null;
+			clearReadAhead();
 			logger.debug("closed iterator @{} after {} rows", hashCode(), rowC);
 			try {
 				connectionSource.releaseConnection(connection);
@@ -286,6 +329,52 @@ public class SelectIterator<T, ID> implements CloseableIterator<T> {
 		alreadyMoved = false;
 	}
 
+	/**
+	 * Read and map the next block of rows into the empty read-ahead buffer. Returns false if there were no more rows.
+	 */
+	private boolean readAhead() throws SQLException {
+		readAheadStart = 0;
+		while (readAheadCount < readAheadBuffer.length) {
+			boolean result;
+			if (first) {
+				first = false;
+				result = results.first();
+			} else {
+				result = results.next();
+			}
+			if (!result) {
+				break;
+			}
+			readAheadBuffer[readAheadCount++] = rowMapper.mapRow(results);
+		}
+		return (readAheadCount > 0);
+	}
+
+	private T nextReadAhead() throws SQLException {
+		if (readAheadCount == 0 && !readAhead()) {
+			return null;
+		}
+		@SuppressWarnings("unchecked")
+		T result = (T) readAheadBuffer[readAheadStart];
+		// help gc
+		readAheadBuffer[readAheadStart] = null;
+		readAheadStart++;
+		readAheadCount--;
+		last = result;
+		rowC++;
+		return result;
+	}
+
+	private void clearReadAhead() {
+		if (readAheadBuffer != null) {
+			for (int i = 0; i < readAheadCount; i++) {
+				readAheadBuffer[readAheadStart + i] = null;
+			}
+			readAheadStart = 0;
+			readAheadCount = 0;
+		}
+	}
+
 	private T getCurrent() throws SQLException {
 		last = rowMapper.mapRow(results);
 		alreadyMoved = false;
@@ -3,12 +3,22 @@ package com.j256.ormlite.stmt;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.Spliterators;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.j256.ormlite.dao.BaseDaoImpl;
+import com.j256.ormlite.dao.ColumnChunk;
+import com.j256.ormlite.dao.ColumnChunk.ColumnType;
+import com.j256.ormlite.dao.ColumnChunkHandler;
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DatabaseResultsMapper;
+import com.j256.ormlite.dao.DirtyFieldTracker;
 import com.j256.ormlite.dao.GenericRawResults;
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.dao.RawRowMapper;
@@ -16,6 +26,8 @@ import com.j256.ormlite.dao.RawRowObjectMapper;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.ForeignAutoRefreshBatch;
+import com.j256.ormlite.field.ForeignCollectionBatch;
 import com.j256.ormlite.field.SqlType;
 import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.logger.LoggerFactory;
@@ -25,10 +37,13 @@ import com.j256.ormlite.stmt.StatementBuilder.StatementType;
 import com.j256.ormlite.stmt.mapped.MappedCreate;
 import com.j256.ormlite.stmt.mapped.MappedDelete;
 import com.j256.ormlite.stmt.mapped.MappedDeleteCollection;
+import com.j256.ormlite.stmt.mapped.MappedPreparedStmt;
+import com.j256.ormlite.stmt.mapped.MappedQueryExistingIds;
 import com.j256.ormlite.stmt.mapped.MappedQueryForFieldEq;
 import com.j256.ormlite.stmt.mapped.MappedRefresh;
 import com.j256.ormlite.stmt.mapped.MappedUpdate;
 import com.j256.ormlite.stmt.mapped.MappedUpdateId;
+import com.j256.ormlite.stmt.mapped.MappedUpsert;
 import com.j256.ormlite.support.CompiledStatement;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
@@ -59,12 +74,18 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	private MappedCreate<T, ID> mappedInsert;
 	private MappedUpdate<T, ID> mappedUpdate;
 	private MappedUpdateId<T, ID> mappedUpdateId;
+	private MappedUpsert<T, ID> mappedUpsert;
 	private MappedDelete<T, ID> mappedDelete;
 	private MappedRefresh<T, ID> mappedRefresh;
+	/** delete-collection statements keyed by their bucketed number of ids */
+	private final ConcurrentHashMap<Integer, MappedDeleteCollection<T, ID>> deleteCollectionCache =
+			new ConcurrentHashMap<Integer, MappedDeleteCollection<T, ID>>();
 	private String countStarQuery;
 	private String ifExistsQuery;
 	private FieldType[] ifExistsFieldTypes;
 	private RawRowMapper<T> rawRowMapper;
+	private int foreignAutoRefreshBatchSize;
+	private int foreignCollectionBatchSize;
 
 	private final ThreadLocal<Boolean> localIsInBatchMode = new ThreadLocal<Boolean>() {
 		@Override
@@ -199,18 +220,35 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	 */
 	public List<T> query(ConnectionSource connectionSource, PreparedStmt<T> preparedStmt, ObjectCache objectCache)
 			throws SQLException {
-		SelectIterator<T, ID> iterator = buildIterator(/* no dao specified because no removes */null, connectionSource,
-				preparedStmt, objectCache, DatabaseConnection.DEFAULT_RESULT_FLAGS);
+		ForeignAutoRefreshBatch refreshBatch = ForeignAutoRefreshBatch.begin(foreignAutoRefreshBatchSize);
+		ForeignCollectionBatch collectionBatch = ForeignCollectionBatch.begin(foreignCollectionBatchSize);
 		try {
 			List<T> results = new ArrayList<T>();
-			while (iterator.hasNextThrow()) {
-				results.add(iterator.nextThrow());
+			SelectIterator<T, ID> iterator = buildIterator(/* no dao specified because no removes */null,
+					connectionSource, preparedStmt, objectCache, DatabaseConnection.DEFAULT_RESULT_FLAGS);
+			try {
+				while (iterator.hasNextThrow()) {
+					results.add(iterator.nextThrow());
+				}
+			} finally {
+				IOUtils.closeThrowSqlException(iterator, "iterator");
 			}
 			logger.debug("query of '{}' with {} args returned {} results", preparedStmt, preparedStmt.getNumArgs(),
 					results.size());
+			if (refreshBatch != null) {
+				refreshBatch.resolve();
+			}
+			if (collectionBatch != null) {
+				collectionBatch.resolve();
+			}
 			return results;
 		} finally {
-			IOUtils.closeThrowSqlException(iterator, "iterator");
+			if (refreshBatch != null) {
+				refreshBatch.end();
+			}
+			if (collectionBatch != null) {
+				collectionBatch.end();
+			}
 		}
 	}
 
@@ -252,6 +290,7 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 			compiledStatement = preparedStmt.compile(connection, StatementType.SELECT, resultFlags);
 			SelectIterator<T, ID> iterator = new SelectIterator<T, ID>(tableInfo.getDataClass(), classDao, preparedStmt,
 					connectionSource, connection, compiledStatement, objectCache);
+			iterator.setReadAheadSize(preparedStmt.getReadAheadSize());
 			connection = null;
 			compiledStatement = null;
 			return iterator;
@@ -263,6 +302,55 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		}
 	}
 
+	/**
+	 * Return a parallel stream of the results of the query which is split into up to about partitions ranges of ids
+	 * found from the minimum and maximum ids returned by the query. Each range is queried with its own connection from
+	 * the connection source. The stream must be closed to close the iterators of any ranges that were not fully read. If
+	 * the connection source only has a single connection then the results are streamed sequentially from one range.
+	 */
+	public Stream<T> parallelStream(ConnectionSource connectionSource, PreparedStmt<T> preparedStmt, int partitions,
+			ObjectCache objectCache) throws SQLException {
+		if (partitions <= 0) {
+			throw new IllegalArgumentException("Number of partitions must be > 0: " + partitions);
+		}
+		if (!(preparedStmt instanceof MappedPreparedStmt)) {
+			throw new SQLException("Query must be built with the QueryBuilder to be split into id ranges");
+		}
+		@SuppressWarnings("unchecked")
+		MappedPreparedStmt<T, ID> mappedStmt = (MappedPreparedStmt<T, ID>) preparedStmt;
+		long[] idRange;
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
+		try {
+			idRange = mappedStmt.queryIdRange(databaseType, connection);
+		} finally {
+			connectionSource.releaseConnection(connection);
+		}
+		// the ranges can't be queried at the same time with the one connection
+		boolean parallel = !connectionSource.isSingleConnection(tableInfo.getTableName());
+		if (idRange == null) {
+			return StreamSupport.stream(Spliterators.<T> emptySpliterator(), parallel);
+		}
+		long minSplitSize;
+		if (parallel) {
+			minSplitSize = (idRange[1] - idRange[0]) / partitions + 1;
+			logger.debug("splitting '{}' into ranges of {} ids between {} and {}", preparedStmt, minSplitSize,
+					idRange[0], idRange[1]);
+		} else {
+			// never split
+			minSplitSize = Long.MAX_VALUE;
+			logger.debug("streaming '{}' sequentially because connection source has a single connection",
+					preparedStmt);
+		}
+		final IdRangeSpliterator<T, ID> spliterator = new IdRangeSpliterator<T, ID>(this, connectionSource,
+				mappedStmt, objectCache, idRange[0], idRange[1], minSplitSize);
+		return StreamSupport.stream(spliterator, parallel).onClose(new Runnable() {
+			@Override
+			public void run() {
+				spliterator.closeQuietly();
+			}
+		});
+	}
+
 	/**
 	 * Return a results object associated with an internal iterator that returns String[] results.
 	 */
@@ -408,6 +496,53 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		}
 	}
 
+	/**
+	 * Run a raw query and fill the columns of the results into primitive arrays, calling the handler with each full
+	 * chunk and then the last partial chunk. Returns the number of rows.
+	 */
+	public long queryRawColumnar(ConnectionSource connectionSource, String query, ColumnType[] columnTypes,
+			int chunkSize, ColumnChunkHandler handler, Object[] arguments) throws SQLException {
+		logger.debug("executing raw columnar query for: {}", query);
+		if (arguments != null && arguments.length > 0) {
+			// need to do the (Object) cast to force args to be a single object
+			logger.trace("query arguments: {}", (Object) arguments);
+		}
+		ColumnChunk chunk = new ColumnChunk(columnTypes, chunkSize);
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection(tableInfo.getTableName());
+		CompiledStatement compiledStatement = null;
+		DatabaseResults results = null;
+		try {
+			compiledStatement = connection.compileStatement(query, StatementType.SELECT, noFieldTypes,
+					DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
+			// have the driver fetch a chunk at a time
+			compiledStatement.setFetchSize(chunkSize);
+			assignStatementArguments(compiledStatement, arguments);
+			results = compiledStatement.runQuery(null);
+			if (results.getColumnCount() < columnTypes.length) {
+				throw new SQLException("Query returned " + results.getColumnCount() + " columns but "
+						+ columnTypes.length + " column types were specified: " + query);
+			}
+			long rowCount = 0;
+			for (boolean more = results.first(); more; more = results.next()) {
+				chunk.addRow(results);
+				rowCount++;
+				if (chunk.isFull()) {
+					handler.handleChunk(chunk);
+					chunk.clear();
+				}
+			}
+			if (chunk.getSize() > 0) {
+				handler.handleChunk(chunk);
+			}
+			logger.debug("columnar query returned {} rows", rowCount);
+			return rowCount;
+		} finally {
+			IOUtils.closeThrowSqlException(results, "results");
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
 	/**
 	 * Return the number of rows affected.
 	 */
@@ -454,6 +589,24 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		}
 	}
 
+	/**
+	 * Set the maximum number of ids in each of the {@code IN} queries that resolve the foreign auto-refresh fields of
+	 * the objects returned by {@link #query(ConnectionSource, PreparedStmt, ObjectCache)}. Set to 0 to refresh the
+	 * foreign objects with a query per row.
+	 */
+	public void setForeignAutoRefreshBatchSize(int foreignAutoRefreshBatchSize) {
+		this.foreignAutoRefreshBatchSize = foreignAutoRefreshBatchSize;
+	}
+
+	/**
+	 * Set the maximum number of parent ids in each of the {@code IN} queries that fill in the eager foreign collections
+	 * of the objects returned by {@link #query(ConnectionSource, PreparedStmt, ObjectCache)}. Set to 0 to query each
+	 * collection separately.
+	 */
+	public void setForeignCollectionBatchSize(int foreignCollectionBatchSize) {
+		this.foreignCollectionBatchSize = foreignCollectionBatchSize;
+	}
+
 	/**
 	 * Create a new entry in the database from an object.
 	 */
@@ -462,12 +615,111 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 			mappedInsert = MappedCreate.build(dao, tableInfo);
 		}
 		int result = mappedInsert.insert(databaseType, databaseConnection, data, objectCache);
+		forgetDirtyFields(data);
 		if (dao != null && !localIsInBatchMode.get()) {
 			dao.notifyChanges();
 		}
 		return result;
 	}
 
+	/**
+	 * Create new entries in the database from a collection of objects which are inserted in batches of batchSize.
+	 */
+	public int create(DatabaseConnection databaseConnection, Collection<T> datas, ObjectCache objectCache,
+			int batchSize) throws SQLException {
+		if (mappedInsert == null) {
+			mappedInsert = MappedCreate.build(dao, tableInfo);
+		}
+		int result = mappedInsert.insertBatch(databaseType, databaseConnection, datas, objectCache, batchSize);
+		forgetDirtyFields(datas);
+		if (dao != null && !localIsInBatchMode.get()) {
+			dao.notifyChanges();
+		}
+		return result;
+	}
+
+	/**
+	 * Create or update a collection of objects. Objects with ids are written with the database's upsert statement if
+	 * supported. Otherwise the ids that already exist are found with a single {@code IN} query per batchSize objects
+	 * and the existing objects are updated in batches. The rest of the objects are inserted in batches. Objects with
+	 * the same id as an earlier object in the collection are updated afterwards in order, as if createOrUpdate had been
+	 * called on each object.
+	 */
+	public int createOrUpdateAll(DatabaseConnection databaseConnection, Collection<T> datas, ObjectCache objectCache,
+			int batchSize) throws SQLException {
+		FieldType idField = tableInfo.getIdField();
+		if (idField == null) {
+			throw new SQLException("Cannot create-or-update " + tableInfo.getDataClass()
+					+ " because it doesn't have an id field defined");
+		}
+		if (mappedInsert == null) {
+			mappedInsert = MappedCreate.build(dao, tableInfo);
+		}
+		List<T> createDatas = new ArrayList<T>();
+		List<T> idDatas = new ArrayList<T>();
+		List<T> duplicateDatas = new ArrayList<T>();
+		Set<Object> seenIds = new HashSet<Object>();
+		for (T data : datas) {
+			Object id = idField.extractJavaFieldValue(data);
+			// assume we need to create it if there is no id or the generated-id has not been set
+			if (id == null || (idField.isGeneratedId() && idField.isObjectsFieldValueDefault(data))) {
+				createDatas.add(data);
+			} else if (seenIds.add(id)) {
+				idDatas.add(data);
+			} else {
+				// the row will have been written by the earlier object so this one is an update
+				duplicateDatas.add(data);
+			}
+		}
+		int rowC = 0;
+		if (MappedUpsert.isUpsertSupported(databaseType, tableInfo)) {
+			if (mappedUpsert == null) {
+				mappedUpsert = MappedUpsert.build(dao, tableInfo);
+			}
+			rowC += mappedUpsert.upsertBatch(databaseConnection, idDatas, objectCache, batchSize);
+		} else if (!idDatas.isEmpty()) {
+			if (mappedUpdate == null) {
+				mappedUpdate = MappedUpdate.build(dao, tableInfo);
+			}
+			int probeSize = batchSize;
+			int maxArgs = databaseType.getMaxStatementArguments();
+			if (maxArgs > 0 && probeSize > maxArgs) {
+				probeSize = maxArgs;
+			}
+			List<T> updateDatas = new ArrayList<T>();
+			for (int start = 0; start < idDatas.size(); start += probeSize) {
+				List<T> chunk = idDatas.subList(start, Math.min(start + probeSize, idDatas.size()));
+				List<Object> ids = new ArrayList<Object>(chunk.size());
+				for (T data : chunk) {
+					ids.add(idField.extractJavaFieldValue(data));
+				}
+				Set<Object> existingIds =
+						MappedQueryExistingIds.queryExistingIds(dao, tableInfo, databaseConnection, ids);
+				for (int i = 0; i < chunk.size(); i++) {
+					if (existingIds.contains(ids.get(i))) {
+						updateDatas.add(chunk.get(i));
+					} else {
+						createDatas.add(chunk.get(i));
+					}
+				}
+				rowC += mappedUpdate.updateBatch(databaseConnection, updateDatas, objectCache, batchSize);
+				updateDatas.clear();
+			}
+		}
+		rowC += mappedInsert.insertBatch(databaseType, databaseConnection, createDatas, objectCache, batchSize);
+		if (!duplicateDatas.isEmpty()) {
+			if (mappedUpdate == null) {
+				mappedUpdate = MappedUpdate.build(dao, tableInfo);
+			}
+			rowC += mappedUpdate.updateBatch(databaseConnection, duplicateDatas, objectCache, batchSize);
+		}
+		forgetDirtyFields(datas);
+		if (dao != null && !localIsInBatchMode.get()) {
+			dao.notifyChanges();
+		}
+		return rowC;
+	}
+
 	/**
 	 * Update an object in the database.
 	 */
@@ -475,7 +727,7 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		if (mappedUpdate == null) {
 			mappedUpdate = MappedUpdate.build(dao, tableInfo);
 		}
-		int result = mappedUpdate.update(databaseConnection, data, objectCache);
+		int result = mappedUpdate.update(databaseConnection, data, objectCache, tableInfo.getDirtyFieldTracker());
 		if (dao != null && !localIsInBatchMode.get()) {
 			dao.notifyChanges();
 		}
@@ -490,6 +742,8 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		if (mappedUpdateId == null) {
 			mappedUpdateId = MappedUpdateId.build(dao, tableInfo);
 		}
+		// the snapshot is held by the old id
+		forgetDirtyFields(data);
 		int result = mappedUpdateId.execute(databaseConnection, data, newId, objectCache);
 		if (dao != null && !localIsInBatchMode.get()) {
 			dao.notifyChanges();
@@ -532,6 +786,7 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 			mappedDelete = MappedDelete.build(dao, tableInfo);
 		}
 		int result = mappedDelete.delete(databaseConnection, data, objectCache);
+		forgetDirtyFields(data);
 		if (dao != null && !localIsInBatchMode.get()) {
 			dao.notifyChanges();
 		}
@@ -546,6 +801,10 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 			mappedDelete = MappedDelete.build(dao, tableInfo);
 		}
 		int result = mappedDelete.deleteById(databaseConnection, id, objectCache);
+		DirtyFieldTracker<T, ID> dirtyFieldTracker = tableInfo.getDirtyFieldTracker();
+		if (dirtyFieldTracker != null) {
+			dirtyFieldTracker.removeId(id);
+		}
 		if (dao != null && !localIsInBatchMode.get()) {
 			dao.notifyChanges();
 		}
@@ -557,8 +816,10 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	 */
 	public int deleteObjects(DatabaseConnection databaseConnection, Collection<T> datas, ObjectCache objectCache)
 			throws SQLException {
-		// have to build this on the fly because the collection has variable number of args
-		int result = MappedDeleteCollection.deleteObjects(dao, tableInfo, databaseConnection, datas, objectCache);
+		// the number of args is bucketed so we can cache the statements
+		int result = MappedDeleteCollection.deleteObjects(dao, tableInfo, databaseConnection, datas, objectCache,
+				deleteCollectionCache);
+		forgetDirtyFields(datas);
 		if (dao != null && !localIsInBatchMode.get()) {
 			dao.notifyChanges();
 		}
@@ -570,8 +831,15 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 	 */
 	public int deleteIds(DatabaseConnection databaseConnection, Collection<ID> ids, ObjectCache objectCache)
 			throws SQLException {
-		// have to build this on the fly because the collection has variable number of args
-		int result = MappedDeleteCollection.deleteIds(dao, tableInfo, databaseConnection, ids, objectCache);
+		// the number of args is bucketed so we can cache the statements
+		int result = MappedDeleteCollection.deleteIds(dao, tableInfo, databaseConnection, ids, objectCache,
+				deleteCollectionCache);
+		DirtyFieldTracker<T, ID> dirtyFieldTracker = tableInfo.getDirtyFieldTracker();
+		if (dirtyFieldTracker != null) {
+			for (ID id : ids) {
+				dirtyFieldTracker.removeId(id);
+			}
+		}
 		if (dao != null && !localIsInBatchMode.get()) {
 			dao.notifyChanges();
 		}
@@ -594,6 +862,25 @@ public class StatementExecutor<T, ID> implements GenericRowMapper<String[]> {
 		}
 	}
 
+	/**
+	 * Forget the snapshot of the object if we are tracking dirty fields because its row was written without it.
+	 */
+	private void forgetDirtyFields(T data) throws SQLException {
+		DirtyFieldTracker<T, ID> dirtyFieldTracker = tableInfo.getDirtyFieldTracker();
+		if (dirtyFieldTracker != null) {
+			dirtyFieldTracker.remove(data);
+		}
+	}
+
+	private void forgetDirtyFields(Collection<T> datas) throws SQLException {
+		DirtyFieldTracker<T, ID> dirtyFieldTracker = tableInfo.getDirtyFieldTracker();
+		if (dirtyFieldTracker != null) {
+			for (T data : datas) {
+				dirtyFieldTracker.remove(data);
+			}
+		}
+	}
+
 	/**
 	 * Call batch tasks inside of a connection which may, or may not, have been "saved".
 	 */
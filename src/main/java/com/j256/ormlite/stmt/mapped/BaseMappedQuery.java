@@ -1,11 +1,11 @@
 package com.j256.ormlite.stmt.mapped;
 
 import java.sql.SQLException;
-import java.util.HashMap;
 import java.util.Map;
 
 import com.j256.ormlite.dao.BaseForeignCollection;
 import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DirtyFieldTracker;
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.stmt.GenericRowMapper;
@@ -20,10 +20,14 @@ import com.j256.ormlite.table.TableInfo;
 public abstract class BaseMappedQuery<T, ID> extends BaseMappedStatement<T, ID> implements GenericRowMapper<T> {
 
 	protected final FieldType[] resultsFieldTypes;
-	// cache of column names to results position
-	private Map<String, Integer> columnPositions = null;
+	/*
+	 * Results positions of the resultsFieldTypes with the id position at the end, looked up from the first results
+	 * since the columns are the same for every run of our statement.
+	 */
+	private volatile int[] columnPositions = null;
 	private Object parent = null;
 	private Object parentId = null;
+	private Map<Object, Object> parentMap = null;
 
 	protected BaseMappedQuery(Dao<T, ID> dao, TableInfo<T, ID> tableInfo, String statement, FieldType[] argFieldTypes,
 			FieldType[] resultsFieldTypes) {
@@ -33,16 +37,20 @@ public abstract class BaseMappedQuery<T, ID> extends BaseMappedStatement<T, ID>
 
 	@Override
 	public T mapRow(DatabaseResults results) throws SQLException {
-		Map<String, Integer> colPosMap;
-		if (columnPositions == null) {
-			colPosMap = new HashMap<String, Integer>();
-		} else {
-			colPosMap = columnPositions;
+		int[] colPositions = columnPositions;
+		if (colPositions == null) {
+			colPositions = findColumnPositions(results);
+			columnPositions = colPositions;
 		}
 
 		ObjectCache objectCache = results.getObjectCacheForRetrieve();
 		if (objectCache != null) {
-			Object id = idField.resultToJava(results, colPosMap);
+			int idPos = colPositions[resultsFieldTypes.length];
+			if (idPos < 0) {
+				// id field is not in our results fields
+				idPos = results.findColumn(idField.getColumnName());
+			}
+			Object id = idField.resultToJava(results, idPos);
 			T cachedInstance = objectCache.get(clazz, id);
 			if (cachedInstance != null) {
 				// if we have a cached instance for this id then return it
@@ -55,20 +63,21 @@ public abstract class BaseMappedQuery<T, ID> extends BaseMappedStatement<T, ID>
 		// populate its fields
 		Object id = null;
 		boolean foreignCollections = false;
-		for (FieldType fieldType : resultsFieldTypes) {
+		for (int i = 0; i < resultsFieldTypes.length; i++) {
+			FieldType fieldType = resultsFieldTypes[i];
 			if (fieldType.isForeignCollection()) {
 				foreignCollections = true;
 			} else {
-				Object val = fieldType.resultToJava(results, colPosMap);
+				Object val = fieldType.resultToJava(results, colPositions[i]);
 				/*
 				 * This is pretty subtle. We introduced multiple foreign fields to the same type which use the {@link
 				 * ForeignCollectionField} foreignColumnName field. The bug that was created was that all the fields
 				 * were then set with the parent class. Only the fields that have a matching id value should be set to
 				 * the parent. We had to add the val.equals logic.
 				 */
-				if (val != null && parent != null && fieldType.getField().getType() == parent.getClass()
-						&& val.equals(parentId)) {
-					fieldType.assignField(connectionSource, instance, parent, true, objectCache);
+				Object valParent = findParent(fieldType, val);
+				if (valParent != null) {
+					fieldType.assignField(connectionSource, instance, valParent, true, objectCache);
 				} else {
 					fieldType.assignField(connectionSource, instance, val, false, objectCache);
 				}
@@ -88,17 +97,37 @@ public abstract class BaseMappedQuery<T, ID> extends BaseMappedStatement<T, ID>
 				}
 			}
 		}
+		DirtyFieldTracker<T, ID> dirtyFieldTracker = tableInfo.getDirtyFieldTracker();
+		if (dirtyFieldTracker != null && !isInTransaction(null)) {
+			// remember the values that we read so we can tell later which fields have been changed
+			dirtyFieldTracker.snapshot(instance, resultsFieldTypes);
+		}
 		// if we have a cache and we have an id then add it to the cache
 		objectCache = results.getObjectCacheForStore();
 		if (objectCache != null && id != null) {
 			objectCache.put(clazz, id, instance);
 		}
-		if (columnPositions == null) {
-			columnPositions = colPosMap;
-		}
 		return instance;
 	}
 
+	private int[] findColumnPositions(DatabaseResults results) throws SQLException {
+		int[] positions = new int[resultsFieldTypes.length + 1];
+		int idPos = -1;
+		for (int i = 0; i < resultsFieldTypes.length; i++) {
+			FieldType fieldType = resultsFieldTypes[i];
+			if (fieldType.isForeignCollection()) {
+				positions[i] = -1;
+			} else {
+				positions[i] = results.findColumn(fieldType.getColumnName());
+				if (fieldType.equals(idField)) {
+					idPos = positions[i];
+				}
+			}
+		}
+		positions[resultsFieldTypes.length] = idPos;
+		return positions;
+	}
+
 	/**
 	 * If we have a foreign collection object then this sets the value on the foreign object in the class.
 	 */
@@ -106,4 +135,34 @@ public abstract class BaseMappedQuery<T, ID> extends BaseMappedStatement<T, ID>
 		this.parent = parent;
 		this.parentId = parentId;
 	}
+
+	/**
+	 * If we are querying for the foreign collections of a number of parents at once then this sets the map of parent
+	 * ids to parent objects so the parent can be set on each of the foreign objects.
+	 */
+	public void setParentInformation(Map<Object, Object> parentMap) {
+		this.parentMap = parentMap;
+	}
+
+	/**
+	 * Return the parent object that matches the field value or null if none.
+	 */
+	private Object findParent(FieldType fieldType, Object val) {
+		if (val == null) {
+			return null;
+		}
+		Object valParent;
+		if (parentMap != null) {
+			valParent = parentMap.get(val);
+		} else if (val.equals(parentId)) {
+			valParent = parent;
+		} else {
+			valParent = null;
+		}
+		if (valParent != null && fieldType.getField().getType() == valParent.getClass()) {
+			return valParent;
+		} else {
+			return null;
+		}
+	}
 }
@@ -10,6 +10,7 @@ import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.logger.LoggerFactory;
 import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.table.TableInfo;
 
 /**
@@ -40,6 +41,18 @@ public abstract class BaseMappedStatement<T, ID> {
 		this.argFieldTypes = argFieldTypes;
 	}
 
+	/**
+	 * Return true if we are in a transaction, which could still be rolled back, on this thread or on the connection if
+	 * not null. The dirty-field tracker must not remember the values written or read in a transaction.
+	 */
+	protected boolean isInTransaction(DatabaseConnection databaseConnection) throws SQLException {
+		if (connectionSource.getSpecialConnection(tableInfo.getTableName()) != null) {
+			return true;
+		}
+		return (databaseConnection != null && databaseConnection.isAutoCommitSupported()
+				&& !databaseConnection.isAutoCommit());
+	}
+
 	/**
 	 * Return the array of field objects pulled from the data object.
 	 */
@@ -122,6 +135,26 @@ public abstract class BaseMappedStatement<T, ID> {
 		sb.append(' ');
 	}
 
+	static void appendWhereIds(DatabaseType databaseType, FieldType idField, StringBuilder sb, int numDatas,
+			FieldType[] fieldTypes) {
+		sb.append("WHERE ");
+		databaseType.appendEscapedEntityName(sb, idField.getColumnName());
+		sb.append(" IN (");
+		boolean first = true;
+		for (int i = 0; i < numDatas; i++) {
+			if (first) {
+				first = false;
+			} else {
+				sb.append(',');
+			}
+			sb.append('?');
+			if (fieldTypes != null) {
+				fieldTypes[i] = idField;
+			}
+		}
+		sb.append(") ");
+	}
+
 	@Override
 	public String toString() {
 		return statement;
@@ -1,12 +1,21 @@
 package com.j256.ormlite.stmt.mapped;
 
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.logger.Level;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.support.CompiledStatement;
 import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.support.GeneratedKeyHolder;
 import com.j256.ormlite.table.TableInfo;
@@ -20,14 +29,24 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 
 	private final String queryNextSequenceStmt;
 	private final String generatedIdNullStmt;
+	private final String multiRowPrefix;
+	private final String multiRowValues;
+	private final ConcurrentMap<Integer, String> multiRowStatementMap = new ConcurrentHashMap<Integer, String>();
 	private String dataClassName;
 	private int versionFieldTypeIndex;
 
 	private MappedCreate(Dao<T, ID> dao, TableInfo<T, ID> tableInfo, String statement, String generatedIdNullStmt,
-			FieldType[] argFieldTypes, String queryNextSequenceStmt, int versionFieldTypeIndex) {
+			FieldType[] argFieldTypes, String queryNextSequenceStmt, int versionFieldTypeIndex, int valuesIndex) {
 		super(dao, tableInfo, statement, argFieldTypes);
 		this.queryNextSequenceStmt = queryNextSequenceStmt;
 		this.generatedIdNullStmt = generatedIdNullStmt;
+		if (valuesIndex < 0) {
+			this.multiRowPrefix = null;
+			this.multiRowValues = null;
+		} else {
+			this.multiRowPrefix = statement.substring(0, valuesIndex);
+			this.multiRowValues = statement.substring(valuesIndex);
+		}
 		this.dataClassName = tableInfo.getDataClass().getSimpleName();
 		this.versionFieldTypeIndex = versionFieldTypeIndex;
 	}
@@ -38,55 +57,17 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 	public int insert(DatabaseType databaseType, DatabaseConnection databaseConnection, T data, ObjectCache objectCache)
 			throws SQLException {
 		KeyHolder keyHolder = null;
-		if (idField != null) {
-			boolean assignId;
-			if (idField.isAllowGeneratedIdInsert() && !idField.isObjectsFieldValueDefault(data)) {
-				assignId = false;
-			} else {
-				assignId = true;
-			}
-			if (idField.isSelfGeneratedId() && idField.isGeneratedId()) {
-				if (assignId) {
-					idField.assignField(connectionSource, data, idField.generateId(), false, objectCache);
-				}
-			} else if (idField.isGeneratedIdSequence() && databaseType.isSelectSequenceBeforeInsert()) {
-				if (assignId) {
-					assignSequenceId(databaseConnection, data, objectCache);
-				}
-			} else if (idField.isGeneratedId()) {
-				if (assignId) {
-					// get the id back from the database
-					keyHolder = new KeyHolder(idField.getColumnName());
-				}
-			} else {
-				// the id should have been set by the caller already
-			}
+		if (assignIdBeforeInsert(databaseType, databaseConnection, data, objectCache)) {
+			// get the id back from the database
+			keyHolder = new KeyHolder(idField.getColumnName());
 		}
 
 		try {
 			// implement {@link DatabaseField#foreignAutoCreate()}, need to do this _before_ getFieldObjects() below
-			if (tableInfo.isForeignAutoCreate()) {
-				for (FieldType fieldType : tableInfo.getFieldTypes()) {
-					if (!fieldType.isForeignAutoCreate()) {
-						continue;
-					}
-					// get the field value
-					Object foreignObj = fieldType.extractRawJavaFieldValue(data);
-					if (foreignObj != null && fieldType.getForeignIdField().isObjectsFieldValueDefault(foreignObj)) {
-						fieldType.createWithForeignDao(foreignObj);
-					}
-				}
-			}
+			foreignAutoCreate(data);
 
 			Object[] args = getFieldObjects(data, true);
-			Object versionDefaultValue = null;
-			// implement {@link DatabaseField#version()}
-			if (versionFieldTypeIndex >= 0 && args[versionFieldTypeIndex] == null) {
-				// if the version is null then we need to initialize it before create
-				FieldType versionFieldType = argFieldTypes[versionFieldTypeIndex];
-				versionDefaultValue = versionFieldType.moveToNextValue(null);
-				args[versionFieldTypeIndex] = versionFieldType.convertJavaFieldToSqlArgValue(versionDefaultValue);
-			}
+			Object versionDefaultValue = assignVersionDefault(args);
 
 			int rowC;
 			try {
@@ -116,38 +97,134 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 				logger.trace("insert arguments: {}", (Object) args);
 			}
 			if (rowC > 0) {
-				if (versionDefaultValue != null) {
-					argFieldTypes[versionFieldTypeIndex].assignField(connectionSource, data, versionDefaultValue, false,
-							null);
+				afterInsert(data, versionDefaultValue, keyHolder != null, (keyHolder == null ? null : keyHolder.getKey()),
+						objectCache);
+			}
+
+			return rowC;
+		} catch (SQLException e) {
+			throw new SQLException("Unable to run insert stmt on object " + data + ": " + statement, e);
+		}
+	}
+
+	/**
+	 * Create a collection of objects in the database. If the database supports multi-row inserts then the objects are
+	 * inserted with {@code INSERT ... VALUES (...),(...)} statements of up to batchSize rows. Otherwise a single
+	 * compiled insert statement is reused for all of the objects and the rows are sent to the database in batches of
+	 * batchSize. If the objects can't be batched, because the database can't return all of the generated-ids of a
+	 * batch for example, then they are inserted one at a time with
+	 * {@link #insert(DatabaseType, DatabaseConnection, Object, ObjectCache)}.
+	 */
+	public int insertBatch(DatabaseType databaseType, DatabaseConnection databaseConnection, Collection<T> datas,
+			ObjectCache objectCache, int batchSize) throws SQLException {
+		// each object may need a different statement if allow-generated-id-insert depending on whether its id is set
+		if (batchSize > 1 && datas.size() > 1 && (idField == null || !idField.isAllowGeneratedIdInsert())) {
+			boolean generatedKeys = isDatabaseGeneratedId(databaseType);
+			int rowsPerInsert = rowsPerMultiRowInsert(databaseType, batchSize, generatedKeys);
+			if (rowsPerInsert > 1) {
+				return insertMultiRow(databaseType, databaseConnection, datas, objectCache, rowsPerInsert,
+						generatedKeys);
+			} else if (!generatedKeys || databaseType.isBatchGeneratedKeysSupported()) {
+				return insertJdbcBatch(databaseType, databaseConnection, datas, objectCache, batchSize, generatedKeys);
+			}
+		}
+		int rowC = 0;
+		for (T data : datas) {
+			rowC += insert(databaseType, databaseConnection, data, objectCache);
+		}
+		return rowC;
+	}
+
+	/**
+	 * Return the statement to insert numRows rows with a single {@code INSERT ... VALUES (...),(...)} statement.
+	 */
+	public String getMultiRowStatement(int numRows) {
+		if (numRows == 1) {
+			return statement;
+		}
+		String multiRowStatement = multiRowStatementMap.get(numRows);
+		if (multiRowStatement == null) {
+			StringBuilder sb = new StringBuilder(multiRowPrefix.length() + numRows * (multiRowValues.length() + 1));
+			sb.append(multiRowPrefix);
+			for (int rowC = 0; rowC < numRows; rowC++) {
+				if (rowC > 0) {
+					sb.append(',');
 				}
-				if (keyHolder != null) {
-					// assign the key returned by the database to the object's id field after it was inserted
-					Number key = keyHolder.getKey();
-					if (key == null) {
-						// may never happen but let's be careful out there
-						throw new SQLException(
-								"generated-id key was not set by the update call, maybe a schema mismatch between entity and database table?");
-					}
-					if (key.longValue() == 0L) {
-						// sanity check because the generated-key returned is 0 by default, may never happen
-						throw new SQLException(
-								"generated-id key must not be 0 value, maybe a schema mismatch between entity and database table?");
-					}
-					assignIdValue(data, key, "keyholder", objectCache);
+				sb.append(multiRowValues);
+			}
+			multiRowStatement = sb.toString();
+			multiRowStatementMap.put(numRows, multiRowStatement);
+		}
+		return multiRowStatement;
+	}
+
+	private int insertJdbcBatch(DatabaseType databaseType, DatabaseConnection databaseConnection, Collection<T> datas,
+			ObjectCache objectCache, int batchSize, boolean generatedKeys) throws SQLException {
+		CompiledStatement compiledStatement = databaseConnection.compileInsertStatement(statement, argFieldTypes,
+				(generatedKeys ? idField.getColumnName() : null));
+		List<T> batchDatas = new ArrayList<T>(Math.min(batchSize, datas.size()));
+		List<Object> batchVersionValues = new ArrayList<Object>(batchDatas.size());
+		try {
+			int rowC = 0;
+			for (T data : datas) {
+				assignIdBeforeInsert(databaseType, databaseConnection, data, objectCache);
+				foreignAutoCreate(data);
+				Object[] args = getFieldObjects(data, true);
+				batchVersionValues.add(assignVersionDefault(args));
+				for (int i = 0; i < args.length; i++) {
+					compiledStatement.setObject(i, args[i], argFieldTypes[i].getSqlType());
 				}
-				/*
-				 * If we have a cache and if all of the foreign-collection fields have been assigned then add to cache.
-				 * However, if one of the foreign collections has not be assigned then don't add it to the cache.
-				 */
-				if (objectCache != null && foreignCollectionsAreAssigned(tableInfo.getForeignCollections(), data)) {
-					Object id = idField.extractJavaFieldValue(data);
-					objectCache.put(clazz, id, data);
+				compiledStatement.addBatch();
+				batchDatas.add(data);
+				if (batchDatas.size() >= batchSize) {
+					rowC += runBatch(compiledStatement, batchDatas, batchVersionValues, generatedKeys, objectCache);
+					batchDatas.clear();
+					batchVersionValues.clear();
 				}
 			}
+			if (!batchDatas.isEmpty()) {
+				rowC += runBatch(compiledStatement, batchDatas, batchVersionValues, generatedKeys, objectCache);
+			}
+			return rowC;
+		} catch (SQLException e) {
+			throw new SQLException(
+					"Unable to run batch insert stmt on " + datas.size() + " " + dataClassName + " objects: " + statement,
+					e);
+		} finally {
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+		}
+	}
 
+	private int insertMultiRow(DatabaseType databaseType, DatabaseConnection databaseConnection, Collection<T> datas,
+			ObjectCache objectCache, int rowsPerInsert, boolean generatedKeys) throws SQLException {
+		List<T> rowDatas = new ArrayList<T>(Math.min(rowsPerInsert, datas.size()));
+		List<Object[]> rowArgs = new ArrayList<Object[]>(rowDatas.size());
+		List<Object> rowVersionValues = new ArrayList<Object>(rowDatas.size());
+		try {
+			int rowC = 0;
+			for (T data : datas) {
+				assignIdBeforeInsert(databaseType, databaseConnection, data, objectCache);
+				foreignAutoCreate(data);
+				Object[] args = getFieldObjects(data, true);
+				rowVersionValues.add(assignVersionDefault(args));
+				rowArgs.add(args);
+				rowDatas.add(data);
+				if (rowDatas.size() >= rowsPerInsert) {
+					rowC += runMultiRowInsert(databaseConnection, rowDatas, rowArgs, rowVersionValues, generatedKeys,
+							objectCache);
+					rowDatas.clear();
+					rowArgs.clear();
+					rowVersionValues.clear();
+				}
+			}
+			if (!rowDatas.isEmpty()) {
+				rowC += runMultiRowInsert(databaseConnection, rowDatas, rowArgs, rowVersionValues, generatedKeys,
+						objectCache);
+			}
 			return rowC;
 		} catch (SQLException e) {
-			throw new SQLException("Unable to run insert stmt on object " + data + ": " + statement, e);
+			throw new SQLException("Unable to run multi-row insert stmt on " + datas.size() + " " + dataClassName
+					+ " objects: " + statement, e);
 		}
 	}
 
@@ -169,6 +246,8 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 			}
 		}
 		FieldType[] argFieldTypes = new FieldType[argFieldC];
+		// index of the "(?,?,...)" values in the insert statement which are repeated by multi-row inserts
+		int valuesIndex = -1;
 		if (argFieldC == 0) {
 			databaseType.appendInsertNoColumns(insertSb);
 			databaseType.appendInsertNoColumns(insertNoIdSb);
@@ -198,7 +277,9 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 				}
 				argFieldTypes[argFieldC++] = fieldType;
 			}
-			insertSb.append(") VALUES (");
+			insertSb.append(") VALUES ");
+			valuesIndex = insertSb.length();
+			insertSb.append('(');
 			insertNoIdSb.append(") VALUES (");
 			insertFirst = true;
 			insertNoIdFirst = true;
@@ -228,7 +309,39 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 		FieldType idField = tableInfo.getIdField();
 		String queryNext = buildQueryNextSequence(databaseType, idField);
 		return new MappedCreate<T, ID>(dao, tableInfo, insertSb.toString(), insertNoIdSb.toString(), argFieldTypes,
-				queryNext, versionFieldTypeIndex);
+				queryNext, versionFieldTypeIndex, valuesIndex);
+	}
+
+	private int runMultiRowInsert(DatabaseConnection databaseConnection, List<T> rowDatas, List<Object[]> rowArgs,
+			List<Object> rowVersionValues, boolean generatedKeys, ObjectCache objectCache) throws SQLException {
+		int numRows = rowDatas.size();
+		String multiRowStatement = getMultiRowStatement(numRows);
+		Object[] args = new Object[numRows * argFieldTypes.length];
+		FieldType[] multiRowArgFieldTypes = new FieldType[args.length];
+		for (int rowC = 0; rowC < numRows; rowC++) {
+			System.arraycopy(rowArgs.get(rowC), 0, args, rowC * argFieldTypes.length, argFieldTypes.length);
+			System.arraycopy(argFieldTypes, 0, multiRowArgFieldTypes, rowC * argFieldTypes.length,
+					argFieldTypes.length);
+		}
+		BatchKeyHolder keyHolder = null;
+		if (generatedKeys) {
+			keyHolder = new BatchKeyHolder(idField.getColumnName(), numRows);
+		}
+		int rowC = databaseConnection.insert(multiRowStatement, args, multiRowArgFieldTypes, keyHolder);
+		logger.debug("multi-row insert of {} rows with statement '{}' and {} args, changed {} rows", numRows,
+				multiRowStatement, args.length, rowC);
+		if (rowC <= 0) {
+			return rowC;
+		}
+		if (keyHolder != null && keyHolder.keys.size() != numRows) {
+			throw new SQLException("multi-row insert of " + numRows + " rows returned " + keyHolder.keys.size()
+					+ " generated-id keys, maybe the database does not support multi-row generated keys?");
+		}
+		for (int i = 0; i < numRows; i++) {
+			afterInsert(rowDatas.get(i), rowVersionValues.get(i), generatedKeys,
+					(keyHolder == null ? null : keyHolder.keys.get(i)), objectCache);
+		}
+		return rowC;
 	}
 
 	private boolean foreignCollectionsAreAssigned(FieldType[] foreignCollections, Object data) throws SQLException {
@@ -274,6 +387,160 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 		}
 	}
 
+	/**
+	 * Assign the id of the object before it is inserted if it is generated by us or by a sequence.
+	 * 
+	 * @return True if the id is generated by the database and so needs to be assigned from the returned keys.
+	 */
+	private boolean assignIdBeforeInsert(DatabaseType databaseType, DatabaseConnection databaseConnection, T data,
+			ObjectCache objectCache) throws SQLException {
+		if (idField == null) {
+			return false;
+		}
+		boolean assignId;
+		if (idField.isAllowGeneratedIdInsert() && !idField.isObjectsFieldValueDefault(data)) {
+			assignId = false;
+		} else {
+			assignId = true;
+		}
+		if (idField.isSelfGeneratedId() && idField.isGeneratedId()) {
+			if (assignId) {
+				idField.assignField(connectionSource, data, idField.generateId(), false, objectCache);
+			}
+			return false;
+		} else if (idField.isGeneratedIdSequence() && databaseType.isSelectSequenceBeforeInsert()) {
+			if (assignId) {
+				assignSequenceId(databaseConnection, data, objectCache);
+			}
+			return false;
+		} else if (idField.isGeneratedId()) {
+			return assignId;
+		} else {
+			// the id should have been set by the caller already
+			return false;
+		}
+	}
+
+	/**
+	 * Implement {@link DatabaseField#foreignAutoCreate()} by creating any foreign objects that have not been created.
+	 */
+	private void foreignAutoCreate(T data) throws SQLException {
+		if (!tableInfo.isForeignAutoCreate()) {
+			return;
+		}
+		for (FieldType fieldType : tableInfo.getFieldTypes()) {
+			if (!fieldType.isForeignAutoCreate()) {
+				continue;
+			}
+			// get the field value
+			Object foreignObj = fieldType.extractRawJavaFieldValue(data);
+			if (foreignObj != null && fieldType.getForeignIdField().isObjectsFieldValueDefault(foreignObj)) {
+				fieldType.createWithForeignDao(foreignObj);
+			}
+		}
+	}
+
+	/**
+	 * Implement {@link DatabaseField#version()} by initializing a null version before create.
+	 * 
+	 * @return The initial version value that needs to be assigned to the object after the insert or null if none.
+	 */
+	private Object assignVersionDefault(Object[] args) throws SQLException {
+		if (versionFieldTypeIndex < 0 || args[versionFieldTypeIndex] != null) {
+			return null;
+		}
+		// if the version is null then we need to initialize it before create
+		FieldType versionFieldType = argFieldTypes[versionFieldTypeIndex];
+		Object versionDefaultValue = versionFieldType.moveToNextValue(null);
+		args[versionFieldTypeIndex] = versionFieldType.convertJavaFieldToSqlArgValue(versionDefaultValue);
+		return versionDefaultValue;
+	}
+
+	/**
+	 * Update the object after it has been inserted with its version, generated-id, and add it to the cache.
+	 */
+	private void afterInsert(T data, Object versionDefaultValue, boolean generatedKey, Number key,
+			ObjectCache objectCache) throws SQLException {
+		if (versionDefaultValue != null) {
+			argFieldTypes[versionFieldTypeIndex].assignField(connectionSource, data, versionDefaultValue, false, null);
+		}
+		if (generatedKey) {
+			// assign the key returned by the database to the object's id field after it was inserted
+			if (key == null) {
+				// may never happen but let's be careful out there
+				throw new SQLException(
+						"generated-id key was not set by the update call, maybe a schema mismatch between entity and database table?");
+			}
+			if (key.longValue() == 0L) {
+				// sanity check because the generated-key returned is 0 by default, may never happen
+				throw new SQLException(
+						"generated-id key must not be 0 value, maybe a schema mismatch between entity and database table?");
+			}
+			assignIdValue(data, key, "keyholder", objectCache);
+		}
+		/*
+		 * If we have a cache and if all of the foreign-collection fields have been assigned then add to cache. However,
+		 * if one of the foreign collections has not be assigned then don't add it to the cache.
+		 */
+		if (objectCache != null && foreignCollectionsAreAssigned(tableInfo.getForeignCollections(), data)) {
+			Object id = idField.extractJavaFieldValue(data);
+			objectCache.put(clazz, id, data);
+		}
+	}
+
+	/**
+	 * Return the number of rows that we can insert with each multi-row insert statement or 0 if multi-row inserts are
+	 * not supported.
+	 */
+	private int rowsPerMultiRowInsert(DatabaseType databaseType, int batchSize, boolean generatedKeys) {
+		if (multiRowPrefix == null || !databaseType.isMultiRowInsertSupported()
+				|| (generatedKeys && !databaseType.isMultiRowInsertGeneratedKeysSupported())) {
+			return 0;
+		}
+		int maxArgs = databaseType.getMaxStatementArguments();
+		if (maxArgs > 0) {
+			return Math.min(batchSize, maxArgs / argFieldTypes.length);
+		} else {
+			return batchSize;
+		}
+	}
+
+	private boolean isDatabaseGeneratedId(DatabaseType databaseType) {
+		return (idField != null && idField.isGeneratedId() && !idField.isSelfGeneratedId()
+				&& !(idField.isGeneratedIdSequence() && databaseType.isSelectSequenceBeforeInsert()));
+	}
+
+	private int runBatch(CompiledStatement compiledStatement, List<T> batchDatas, List<Object> batchVersionValues,
+			boolean generatedKeys, ObjectCache objectCache) throws SQLException {
+		int[] rowCounts = compiledStatement.runBatch();
+		List<Number> keys = null;
+		if (generatedKeys) {
+			BatchKeyHolder keyHolder = new BatchKeyHolder(idField.getColumnName(), batchDatas.size());
+			compiledStatement.getGeneratedKeys(keyHolder);
+			keys = keyHolder.keys;
+			if (keys.size() != batchDatas.size()) {
+				throw new SQLException("batch insert of " + batchDatas.size() + " rows returned " + keys.size()
+						+ " generated-id keys, maybe the database does not support batch generated keys?");
+			}
+		}
+		int rowC = 0;
+		for (int i = 0; i < batchDatas.size(); i++) {
+			int dataRowC = (i < rowCounts.length ? rowCounts[i] : 0);
+			if (dataRowC == Statement.SUCCESS_NO_INFO) {
+				// the row was inserted but the database doesn't tell us how many rows were changed
+				dataRowC = 1;
+			}
+			if (dataRowC > 0) {
+				afterInsert(batchDatas.get(i), batchVersionValues.get(i), generatedKeys,
+						(keys == null ? null : keys.get(i)), objectCache);
+				rowC += dataRowC;
+			}
+		}
+		logger.debug("insert batch of {} rows with statement '{}', changed {} rows", batchDatas.size(), statement,
+				rowC);
+		return rowC;
+	}
+
 	private void assignSequenceId(DatabaseConnection databaseConnection, T data, ObjectCache objectCache)
 			throws SQLException {
 		// call the query-next-sequence stmt to increment the sequence
@@ -323,4 +590,28 @@ public class MappedCreate<T, ID> extends BaseMappedStatement<T, ID> {
 			}
 		}
 	}
+
+	/**
+	 * Key holder which collects all of the keys generated by a batch insert in order.
+	 */
+	private static class BatchKeyHolder implements GeneratedKeyHolder {
+
+		final String columnName;
+		final List<Number> keys;
+
+		public BatchKeyHolder(String columnName, int numRows) {
+			this.columnName = columnName;
+			this.keys = new ArrayList<Number>(numRows);
+		}
+
+		@Override
+		public String getColumnName() {
+			return columnName;
+		}
+
+		@Override
+		public void addKey(Number key) {
+			keys.add(key);
+		}
+	}
 }
@@ -1,7 +1,9 @@
 package com.j256.ormlite.stmt.mapped;
 
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Map;
 
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.ObjectCache;
@@ -28,15 +30,24 @@ public class MappedDeleteCollection<T, ID> extends BaseMappedStatement<T, ID> {
 	 */
 	public static <T, ID> int deleteObjects(Dao<T, ID> dao, TableInfo<T, ID> tableInfo,
 			DatabaseConnection databaseConnection, Collection<T> datas, ObjectCache objectCache) throws SQLException {
-		MappedDeleteCollection<T, ID> deleteCollection = MappedDeleteCollection.build(dao, tableInfo, datas.size());
+		return deleteObjects(dao, tableInfo, databaseConnection, datas, objectCache, null);
+	}
+
+	/**
+	 * Delete all of the objects in the collection using the statements in the cache which is keyed by the number of
+	 * ids. The cache may be null.
+	 */
+	public static <T, ID> int deleteObjects(Dao<T, ID> dao, TableInfo<T, ID> tableInfo,
+			DatabaseConnection databaseConnection, Collection<T> datas, ObjectCache objectCache,
+			Map<Integer, MappedDeleteCollection<T, ID>> statementCache) throws SQLException {
 		Object[] fieldObjects = new Object[datas.size()];
-		FieldType idField = tableInfo.getIdField();
+		FieldType idField = getIdField(tableInfo);
 		int objC = 0;
 		for (T data : datas) {
 			fieldObjects[objC] = idField.extractJavaFieldToSqlArgValue(data);
 			objC++;
 		}
-		return updateRows(databaseConnection, tableInfo.getDataClass(), deleteCollection, fieldObjects, objectCache);
+		return deleteArgs(dao, tableInfo, databaseConnection, fieldObjects, objectCache, statementCache);
 	}
 
 	/**
@@ -45,15 +56,72 @@ public class MappedDeleteCollection<T, ID> extends BaseMappedStatement<T, ID> {
 	 */
 	public static <T, ID> int deleteIds(Dao<T, ID> dao, TableInfo<T, ID> tableInfo,
 			DatabaseConnection databaseConnection, Collection<ID> ids, ObjectCache objectCache) throws SQLException {
-		MappedDeleteCollection<T, ID> deleteCollection = MappedDeleteCollection.build(dao, tableInfo, ids.size());
+		return deleteIds(dao, tableInfo, databaseConnection, ids, objectCache, null);
+	}
+
+	/**
+	 * Delete all of the ids in the collection using the statements in the cache which is keyed by the number of ids. The
+	 * cache may be null.
+	 */
+	public static <T, ID> int deleteIds(Dao<T, ID> dao, TableInfo<T, ID> tableInfo,
+			DatabaseConnection databaseConnection, Collection<ID> ids, ObjectCache objectCache,
+			Map<Integer, MappedDeleteCollection<T, ID>> statementCache) throws SQLException {
 		Object[] fieldObjects = new Object[ids.size()];
-		FieldType idField = tableInfo.getIdField();
+		FieldType idField = getIdField(tableInfo);
 		int objC = 0;
 		for (ID id : ids) {
 			fieldObjects[objC] = idField.convertJavaFieldToSqlArgValue(id);
 			objC++;
 		}
-		return updateRows(databaseConnection, tableInfo.getDataClass(), deleteCollection, fieldObjects, objectCache);
+		return deleteArgs(dao, tableInfo, databaseConnection, fieldObjects, objectCache, statementCache);
+	}
+
+	/**
+	 * Delete the ids in chunks of at most {@link DatabaseType#getMaxStatementArguments()}. Each chunk is padded by
+	 * repeating its last id up to the bucket size from {@link #bucketSize(int, int)} so that only a handful of
+	 * different statements are ever built and sent to the database instead of one for every number of ids.
+	 */
+	private static <T, ID> int deleteArgs(Dao<T, ID> dao, TableInfo<T, ID> tableInfo,
+			DatabaseConnection databaseConnection, Object[] args, ObjectCache objectCache,
+			Map<Integer, MappedDeleteCollection<T, ID>> statementCache) throws SQLException {
+		int maxArgs = dao.getConnectionSource().getDatabaseType().getMaxStatementArguments();
+		int chunkSize = (maxArgs > 0 ? maxArgs : args.length);
+		int rowC = 0;
+		for (int start = 0; start < args.length; start += chunkSize) {
+			int num = Math.min(chunkSize, args.length - start);
+			int bucketSize = bucketSize(num, maxArgs);
+			Object[] chunkArgs = new Object[bucketSize];
+			System.arraycopy(args, start, chunkArgs, 0, num);
+			Arrays.fill(chunkArgs, num, bucketSize, args[start + num - 1]);
+			MappedDeleteCollection<T, ID> deleteCollection = null;
+			if (statementCache != null) {
+				deleteCollection = statementCache.get(bucketSize);
+			}
+			if (deleteCollection == null) {
+				deleteCollection = build(dao, tableInfo, bucketSize);
+				if (statementCache != null) {
+					statementCache.put(bucketSize, deleteCollection);
+				}
+			}
+			rowC += updateRows(databaseConnection, tableInfo.getDataClass(), deleteCollection, chunkArgs, objectCache);
+		}
+		return rowC;
+	}
+
+	/**
+	 * Return the number of ids to pad a chunk of numValues ids to. This is the next power of two or maxValues if that is
+	 * smaller. If numValues is already larger than maxValues, or maxValues is 0, then there is no maximum.
+	 */
+	public static int bucketSize(int numValues, int maxValues) {
+		if (numValues <= 1) {
+			return numValues;
+		}
+		int bucketSize = Integer.highestOneBit(numValues - 1) << 1;
+		if (maxValues > 0 && bucketSize > maxValues) {
+			return Math.max(numValues, maxValues);
+		} else {
+			return bucketSize;
+		}
 	}
 
 	/**
@@ -61,11 +129,7 @@ public class MappedDeleteCollection<T, ID> extends BaseMappedStatement<T, ID> {
 	 */
 	private static <T, ID> MappedDeleteCollection<T, ID> build(Dao<T, ID> dao, TableInfo<T, ID> tableInfo, int dataSize)
 			throws SQLException {
-		FieldType idField = tableInfo.getIdField();
-		if (idField == null) {
-			throw new SQLException(
-					"Cannot delete " + tableInfo.getDataClass() + " because it doesn't have an id field defined");
-		}
+		FieldType idField = getIdField(tableInfo);
 		StringBuilder sb = new StringBuilder(128);
 		DatabaseType databaseType = dao.getConnectionSource().getDatabaseType();
 		appendTableName(databaseType, sb, "DELETE FROM ", tableInfo);
@@ -74,6 +138,15 @@ public class MappedDeleteCollection<T, ID> extends BaseMappedStatement<T, ID> {
 		return new MappedDeleteCollection<T, ID>(dao, tableInfo, sb.toString(), argFieldTypes);
 	}
 
+	private static <T, ID> FieldType getIdField(TableInfo<T, ID> tableInfo) throws SQLException {
+		FieldType idField = tableInfo.getIdField();
+		if (idField == null) {
+			throw new SQLException(
+					"Cannot delete " + tableInfo.getDataClass() + " because it doesn't have an id field defined");
+		}
+		return idField;
+	}
+
 	private static <T, ID> int updateRows(DatabaseConnection databaseConnection, Class<T> clazz,
 			MappedDeleteCollection<T, ID> deleteCollection, Object[] args, ObjectCache objectCache)
 			throws SQLException {
@@ -95,24 +168,4 @@ public class MappedDeleteCollection<T, ID> extends BaseMappedStatement<T, ID> {
 			throw new SQLException("Unable to run delete collection stmt: " + deleteCollection.statement, e);
 		}
 	}
-
-	private static void appendWhereIds(DatabaseType databaseType, FieldType idField, StringBuilder sb, int numDatas,
-			FieldType[] fieldTypes) {
-		sb.append("WHERE ");
-		databaseType.appendEscapedEntityName(sb, idField.getColumnName());
-		sb.append(" IN (");
-		boolean first = true;
-		for (int i = 0; i < numDatas; i++) {
-			if (first) {
-				first = false;
-			} else {
-				sb.append(',');
-			}
-			sb.append('?');
-			if (fieldTypes != null) {
-				fieldTypes[i] = idField;
-			}
-		}
-		sb.append(") ");
-	}
 }
@@ -1,8 +1,11 @@
 package com.j256.ormlite.stmt.mapped;
 
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 
 import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.SqlType;
 import com.j256.ormlite.logger.Level;
@@ -11,10 +14,12 @@ import com.j256.ormlite.stmt.ArgumentHolder;
 import com.j256.ormlite.stmt.PreparedDelete;
 import com.j256.ormlite.stmt.PreparedQuery;
 import com.j256.ormlite.stmt.PreparedUpdate;
+import com.j256.ormlite.stmt.SelectArg;
 import com.j256.ormlite.stmt.StatementBuilder;
 import com.j256.ormlite.stmt.StatementBuilder.StatementType;
 import com.j256.ormlite.support.CompiledStatement;
 import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.support.DatabaseResults;
 import com.j256.ormlite.table.TableInfo;
 
 /**
@@ -25,16 +30,37 @@ import com.j256.ormlite.table.TableInfo;
 public class MappedPreparedStmt<T, ID> extends BaseMappedQuery<T, ID>
 		implements PreparedQuery<T>, PreparedDelete<T>, PreparedUpdate<T> {
 
+	private static final String ID_RANGE_ALIAS = "id_range";
+
 	private final ArgumentHolder[] argHolders;
+	/** index of each argument holder in the list of distinct holders since an IN list may repeat a holder */
+	private final int[] distinctArgIndexes;
+	private final int numDistinctArgs;
 	private final Long limit;
 	private final StatementType type;
 	private final boolean cacheStore;
+	private int fetchSize;
+	private int readAheadSize;
 
 	public MappedPreparedStmt(Dao<T, ID> dao, TableInfo<T, ID> tableInfo, String statement, FieldType[] argFieldTypes,
 			FieldType[] resultFieldTypes, ArgumentHolder[] argHolders, Long limit, StatementType type,
 			boolean cacheStore) {
+		this(dao, tableInfo, statement, argFieldTypes, resultFieldTypes, argHolders, buildDistinctArgIndexes(argHolders),
+				limit, type, cacheStore);
+	}
+
+	private MappedPreparedStmt(Dao<T, ID> dao, TableInfo<T, ID> tableInfo, String statement,
+			FieldType[] argFieldTypes, FieldType[] resultFieldTypes, ArgumentHolder[] argHolders,
+			int[] distinctArgIndexes, Long limit, StatementType type, boolean cacheStore) {
 		super(dao, tableInfo, statement, argFieldTypes, resultFieldTypes);
 		this.argHolders = argHolders;
+		this.distinctArgIndexes = distinctArgIndexes;
+		int numDistinct = 0;
+		for (int index : distinctArgIndexes) {
+			// the indexes are assigned in order so the largest one is the last distinct holder
+			numDistinct = Math.max(numDistinct, index + 1);
+		}
+		this.numDistinctArgs = numDistinct;
 		// this is an Integer because it may be null
 		this.limit = limit;
 		this.type = type;
@@ -108,6 +134,56 @@ public class MappedPreparedStmt<T, ID> extends BaseMappedQuery<T, ID>
 		}
 	}
 
+	@Override
+	public void setFetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+	}
+
+	@Override
+	public void setReadAheadSize(int readAheadSize) {
+		this.readAheadSize = readAheadSize;
+	}
+
+	@Override
+	public int getReadAheadSize() {
+		return readAheadSize;
+	}
+
+	@Override
+	public int getNumArgumentValues() {
+		return numDistinctArgs;
+	}
+
+	@Override
+	public MappedPreparedStmt<T, ID> withArguments(Object... values) throws SQLException {
+		if (values.length != numDistinctArgs) {
+			throw new SQLException("Statement has " + numDistinctArgs + " arguments but " + values.length
+					+ " values were passed: " + statement);
+		}
+		ArgumentHolder[] distinctHolders = new ArgumentHolder[numDistinctArgs];
+		ArgumentHolder[] valueHolders = new ArgumentHolder[argHolders.length];
+		for (int i = 0; i < argHolders.length; i++) {
+			int index = distinctArgIndexes[i];
+			if (distinctHolders[index] == null) {
+				ArgumentHolder argHolder = argHolders[i];
+				SelectArg valueHolder = new SelectArg(argHolder.getSqlType(), values[index]);
+				if (argHolder.getColumnName() != null) {
+					valueHolder.setMetaInfo(argHolder.getColumnName());
+				}
+				if (argHolder.getFieldType() != null) {
+					valueHolder.setMetaInfo(argHolder.getFieldType());
+				}
+				distinctHolders[index] = valueHolder;
+			}
+			valueHolders[i] = distinctHolders[index];
+		}
+		MappedPreparedStmt<T, ID> valueStmt = new MappedPreparedStmt<T, ID>(dao, tableInfo, statement, argFieldTypes,
+				resultsFieldTypes, valueHolders, distinctArgIndexes, limit, type, cacheStore);
+		valueStmt.fetchSize = fetchSize;
+		valueStmt.readAheadSize = readAheadSize;
+		return valueStmt;
+	}
+
 	@Override
 	public int getColumnNameIndex(String columnName) {
 		for (int i = 0; i < argHolders.length; i++) {
@@ -118,6 +194,95 @@ public class MappedPreparedStmt<T, ID> extends BaseMappedQuery<T, ID>
 		return -1;
 	}
 
+	/**
+	 * Return the minimum and maximum ids of the rows returned by this query or null if it returns no rows. This wraps
+	 * the query in an outer {@code SELECT MIN(id), MAX(id) FROM (...)} query.
+	 */
+	public long[] queryIdRange(DatabaseType databaseType, DatabaseConnection databaseConnection) throws SQLException {
+		checkIdRangeSupported();
+		StringBuilder sb = new StringBuilder(statement.length() + 64);
+		sb.append("SELECT MIN(");
+		databaseType.appendEscapedEntityName(sb, idField.getColumnName());
+		sb.append("), MAX(");
+		databaseType.appendEscapedEntityName(sb, idField.getColumnName());
+		sb.append(") FROM (").append(statement).append(") ").append(ID_RANGE_ALIAS);
+		MappedPreparedStmt<T, ID> rangeStmt = new MappedPreparedStmt<T, ID>(dao, tableInfo, sb.toString(),
+				argFieldTypes, resultsFieldTypes, argHolders, null, StatementType.SELECT_RAW, false);
+		CompiledStatement compiledStatement = rangeStmt.compile(databaseConnection, StatementType.SELECT_RAW);
+		try {
+			DatabaseResults results = compiledStatement.runQuery(null);
+			try {
+				if (results.first()) {
+					long min = results.getLong(0);
+					if (!results.wasNull(0)) {
+						return new long[] { min, results.getLong(1) };
+					}
+				}
+				return null;
+			} finally {
+				IOUtils.closeThrowSqlException(results, "results");
+			}
+		} finally {
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+		}
+	}
+
+	/**
+	 * Return a query that returns the rows of this query whose ids are between low and high inclusive. This wraps the
+	 * query in an outer {@code SELECT * FROM (...) WHERE id >= low AND id <= high} query so the id ranges can be
+	 * queried in parallel.
+	 */
+	public MappedPreparedStmt<T, ID> buildIdRangeQuery(DatabaseType databaseType, long low, long high)
+			throws SQLException {
+		checkIdRangeSupported();
+		StringBuilder sb = new StringBuilder(statement.length() + 64);
+		sb.append("SELECT * FROM (").append(statement).append(") ").append(ID_RANGE_ALIAS).append(" WHERE ");
+		databaseType.appendEscapedEntityName(sb, idField.getColumnName());
+		sb.append(" >= ? AND ");
+		databaseType.appendEscapedEntityName(sb, idField.getColumnName());
+		sb.append(" <= ?");
+		ArgumentHolder[] rangeArgHolders = Arrays.copyOf(argHolders, argHolders.length + 2);
+		rangeArgHolders[argHolders.length] = buildIdArg(low);
+		rangeArgHolders[argHolders.length + 1] = buildIdArg(high);
+		FieldType[] rangeFieldTypes = Arrays.copyOf(argFieldTypes, argFieldTypes.length + 2);
+		rangeFieldTypes[argFieldTypes.length] = idField;
+		rangeFieldTypes[argFieldTypes.length + 1] = idField;
+		MappedPreparedStmt<T, ID> rangeStmt = new MappedPreparedStmt<T, ID>(dao, tableInfo, sb.toString(),
+				rangeFieldTypes, resultsFieldTypes, rangeArgHolders, null, type, cacheStore);
+		rangeStmt.fetchSize = fetchSize;
+		rangeStmt.readAheadSize = readAheadSize;
+		return rangeStmt;
+	}
+
+	private void checkIdRangeSupported() throws SQLException {
+		if (type != StatementType.SELECT) {
+			throw new SQLException("Cannot split a " + type + " statement into id ranges");
+		}
+		if (idField == null || !idField.getDataPersister().isValidGeneratedType()) {
+			throw new SQLException("Cannot split a query of " + clazz + " into id ranges without a numeric id field");
+		}
+	}
+
+	private ArgumentHolder buildIdArg(long value) {
+		SelectArg arg = new SelectArg(idField.getDataPersister().convertIdNumber(value));
+		arg.setMetaInfo(idField);
+		return arg;
+	}
+
+	private static int[] buildDistinctArgIndexes(ArgumentHolder[] argHolders) {
+		int[] distinctArgIndexes = new int[argHolders.length];
+		IdentityHashMap<ArgumentHolder, Integer> distinctMap = new IdentityHashMap<ArgumentHolder, Integer>();
+		for (int i = 0; i < argHolders.length; i++) {
+			Integer index = distinctMap.get(argHolders[i]);
+			if (index == null) {
+				index = distinctMap.size();
+				distinctMap.put(argHolders[i], index);
+			}
+			distinctArgIndexes[i] = index;
+		}
+		return distinctArgIndexes;
+	}
+
 	/**
 	 * Assign arguments to the statement.
 	 * 
@@ -130,6 +295,9 @@ public class MappedPreparedStmt<T, ID> extends BaseMappedQuery<T, ID>
 				// we use this if SQL statement LIMITs are not supported by this database type
 				stmt.setMaxRows(limit.intValue());
 			}
+			if (fetchSize > 0 && type.isOkForQuery()) {
+				stmt.setFetchSize(fetchSize);
+			}
 			// set any arguments if we are logging our object
 			Object[] argValues = null;
 			if (logger.isLevelEnabled(Level.TRACE) && argHolders.length > 0) {
@@ -0,0 +1,84 @@
+package com.j256.ormlite.stmt.mapped;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+import com.j256.ormlite.support.CompiledStatement;
+import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.support.DatabaseResults;
+import com.j256.ormlite.table.TableInfo;
+
+/**
+ * A mapped statement which finds which of a collection of IDs already exist in the table with a single
+ * {@code SELECT id FROM ... WHERE id IN (...)} query.
+ *
+ * @author graywatson
+ */
+public class MappedQueryExistingIds<T, ID> extends BaseMappedStatement<T, ID> {
+
+	private MappedQueryExistingIds(Dao<T, ID> dao, TableInfo<T, ID> tableInfo, String statement,
+			FieldType[] argFieldTypes) {
+		super(dao, tableInfo, statement, argFieldTypes);
+	}
+
+	/**
+	 * Return the set of the ids from the collection that exist in the table. This builds a
+	 * {@link MappedQueryExistingIds} on the fly because the ids could be variable sized.
+	 */
+	public static <T, ID> Set<Object> queryExistingIds(Dao<T, ID> dao, TableInfo<T, ID> tableInfo,
+			DatabaseConnection databaseConnection, Collection<?> ids) throws SQLException {
+		Set<Object> existingIds = new HashSet<Object>();
+		if (ids.isEmpty()) {
+			return existingIds;
+		}
+		MappedQueryExistingIds<T, ID> existingQuery = MappedQueryExistingIds.build(dao, tableInfo, ids.size());
+		FieldType idField = tableInfo.getIdField();
+		CompiledStatement compiledStatement = databaseConnection.compileStatement(existingQuery.statement,
+				StatementType.SELECT, existingQuery.argFieldTypes, DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
+		try {
+			int argC = 0;
+			for (Object id : ids) {
+				compiledStatement.setObject(argC++, idField.convertJavaFieldToSqlArgValue(id), idField.getSqlType());
+			}
+			DatabaseResults results = compiledStatement.runQuery(null);
+			try {
+				while (results.next()) {
+					existingIds.add(idField.resultToJava(results, 0));
+				}
+			} finally {
+				IOUtils.closeThrowSqlException(results, "results");
+			}
+			logger.debug("query-existing-ids with statement '{}' and {} args, found {} ids", existingQuery.statement,
+					ids.size(), existingIds.size());
+			return existingIds;
+		} catch (SQLException e) {
+			throw new SQLException("Unable to run query existing ids stmt: " + existingQuery.statement, e);
+		} finally {
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+		}
+	}
+
+	private static <T, ID> MappedQueryExistingIds<T, ID> build(Dao<T, ID> dao, TableInfo<T, ID> tableInfo,
+			int dataSize) throws SQLException {
+		FieldType idField = tableInfo.getIdField();
+		if (idField == null) {
+			throw new SQLException(
+					"Cannot query ids of " + tableInfo.getDataClass() + " because it doesn't have an id field defined");
+		}
+		StringBuilder sb = new StringBuilder(128);
+		DatabaseType databaseType = dao.getConnectionSource().getDatabaseType();
+		sb.append("SELECT ");
+		appendFieldColumnName(databaseType, sb, idField, null);
+		appendTableName(databaseType, sb, "FROM ", tableInfo);
+		FieldType[] argFieldTypes = new FieldType[dataSize];
+		appendWhereIds(databaseType, idField, sb, dataSize, argFieldTypes);
+		return new MappedQueryExistingIds<T, ID>(dao, tableInfo, sb.toString(), argFieldTypes);
+	}
+}
@@ -3,6 +3,7 @@ package com.j256.ormlite.stmt.mapped;
 import java.sql.SQLException;
 
 import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DirtyFieldTracker;
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.FieldType;
@@ -42,6 +43,16 @@ public class MappedRefresh<T, ID> extends MappedQueryForFieldEq<T, ID> {
 						objectCache);
 			}
 		}
+		DirtyFieldTracker<T, ID> dirtyFieldTracker = tableInfo.getDirtyFieldTracker();
+		if (dirtyFieldTracker != null) {
+			if (isInTransaction(databaseConnection)) {
+				// the values we read may be rolled back
+				dirtyFieldTracker.remove(data);
+			} else {
+				// the snapshot made when the result was mapped is of the result and not of our object
+				dirtyFieldTracker.snapshot(data);
+			}
+		}
 		return 1;
 	}
 
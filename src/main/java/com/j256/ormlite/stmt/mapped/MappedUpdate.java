@@ -1,11 +1,22 @@
 package com.j256.ormlite.stmt.mapped;
 
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DirtyFieldTracker;
 import com.j256.ormlite.dao.ObjectCache;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+import com.j256.ormlite.support.CompiledStatement;
 import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.table.TableInfo;
 
@@ -16,17 +27,34 @@ import com.j256.ormlite.table.TableInfo;
  */
 public class MappedUpdate<T, ID> extends BaseMappedStatement<T, ID> {
 
+	/** maximum number of partial update statements that we cache for dirty-field tracking */
+	private static final int MAX_PARTIAL_UPDATES = 256;
+
 	private final FieldType versionFieldType;
 	private final int versionFieldTypeIndex;
+	/** indexes of the non-version fields that we write */
+	private final BitSet updatableFields;
+	private final Map<BitSet, MappedUpdate<T, ID>> partialUpdateMap =
+			new ConcurrentHashMap<BitSet, MappedUpdate<T, ID>>();
 
 	private MappedUpdate(Dao<T, ID> dao, TableInfo<T, ID> tableInfo, String statement, FieldType[] argFieldTypes,
-			FieldType versionFieldType, int versionFieldTypeIndex) {
+			FieldType versionFieldType, int versionFieldTypeIndex, BitSet updatableFields) {
 		super(dao, tableInfo, statement, argFieldTypes);
 		this.versionFieldType = versionFieldType;
 		this.versionFieldTypeIndex = versionFieldTypeIndex;
+		this.updatableFields = updatableFields;
 	}
 
 	public static <T, ID> MappedUpdate<T, ID> build(Dao<T, ID> dao, TableInfo<T, ID> tableInfo) throws SQLException {
+		return build(dao, tableInfo, null);
+	}
+
+	/**
+	 * Build an update of the fields with the indexes, into {@link TableInfo#getFieldTypes()}, in the fieldIndexes
+	 * bit-set or all of the updatable fields if null. The version field, if any, is always updated.
+	 */
+	private static <T, ID> MappedUpdate<T, ID> build(Dao<T, ID> dao, TableInfo<T, ID> tableInfo, BitSet fieldIndexes)
+			throws SQLException {
 		FieldType idField = tableInfo.getIdField();
 		if (idField == null) {
 			throw new SQLException(
@@ -35,19 +63,27 @@ public class MappedUpdate<T, ID> extends BaseMappedStatement<T, ID> {
 		StringBuilder sb = new StringBuilder(64);
 		DatabaseType databaseType = dao.getConnectionSource().getDatabaseType();
 		appendTableName(databaseType, sb, "UPDATE ", tableInfo);
+		FieldType[] fieldTypes = tableInfo.getFieldTypes();
 		boolean first = true;
 		int argFieldC = 0;
 		FieldType versionFieldType = null;
 		int versionFieldTypeIndex = -1;
+		BitSet updatableFields = new BitSet(fieldTypes.length);
 		// first we count up how many arguments we are going to have
-		for (FieldType fieldType : tableInfo.getFieldTypes()) {
-			if (isFieldUpdatable(fieldType, idField)) {
-				if (fieldType.isVersion()) {
-					versionFieldType = fieldType;
-					versionFieldTypeIndex = argFieldC;
-				}
-				argFieldC++;
+		for (int i = 0; i < fieldTypes.length; i++) {
+			FieldType fieldType = fieldTypes[i];
+			if (!isFieldUpdatable(fieldType, idField)) {
+				continue;
 			}
+			if (fieldType.isVersion()) {
+				versionFieldType = fieldType;
+				versionFieldTypeIndex = argFieldC;
+			} else if (fieldIndexes != null && !fieldIndexes.get(i)) {
+				continue;
+			} else {
+				updatableFields.set(i);
+			}
+			argFieldC++;
 		}
 		// one more for where id = ?
 		argFieldC++;
@@ -57,8 +93,9 @@ public class MappedUpdate<T, ID> extends BaseMappedStatement<T, ID> {
 		}
 		FieldType[] argFieldTypes = new FieldType[argFieldC];
 		argFieldC = 0;
-		for (FieldType fieldType : tableInfo.getFieldTypes()) {
-			if (!isFieldUpdatable(fieldType, idField)) {
+		for (int i = 0; i < fieldTypes.length; i++) {
+			FieldType fieldType = fieldTypes[i];
+			if (fieldType != versionFieldType && !updatableFields.get(i)) {
 				continue;
 			}
 			if (first) {
@@ -81,7 +118,7 @@ public class MappedUpdate<T, ID> extends BaseMappedStatement<T, ID> {
 			argFieldTypes[argFieldC++] = versionFieldType;
 		}
 		return new MappedUpdate<T, ID>(dao, tableInfo, sb.toString(), argFieldTypes, versionFieldType,
-				versionFieldTypeIndex);
+				versionFieldTypeIndex, updatableFields);
 	}
 
 	/**
@@ -107,18 +144,7 @@ public class MappedUpdate<T, ID> extends BaseMappedStatement<T, ID> {
 					versionFieldType.assignField(connectionSource, data, newVersion, false, null);
 				}
 				if (objectCache != null) {
-					// if we've changed something then see if we need to update our cache
-					Object id = idField.extractJavaFieldValue(data);
-					T cachedData = objectCache.get(clazz, id);
-					if (cachedData != null && cachedData != data) {
-						// copy each field from the updated data into the cached object
-						for (FieldType fieldType : tableInfo.getFieldTypes()) {
-							if (fieldType != idField) {
-								fieldType.assignField(connectionSource, cachedData,
-										fieldType.extractJavaFieldValue(data), false, objectCache);
-							}
-						}
-					}
+					updateCache(data, objectCache);
 				}
 			}
 			logger.debug("update data with statement '{}' and {} args, changed {} rows", statement, args.length, rowC);
@@ -132,6 +158,144 @@ public class MappedUpdate<T, ID> extends BaseMappedStatement<T, ID> {
 		}
 	}
 
+	/**
+	 * Update the object in the database writing only the fields that the tracker says have changed since the object
+	 * was last read or written. If nothing has changed then the update is skipped and 1 is returned without checking
+	 * the row or its version. If the tracker has no snapshot of the object then all of the fields are written. An
+	 * update in a transaction forgets the snapshot since the transaction may be rolled back.
+	 */
+	public int update(DatabaseConnection databaseConnection, T data, ObjectCache objectCache,
+			DirtyFieldTracker<T, ID> dirtyFieldTracker) throws SQLException {
+		// there is always and id field as an argument so just return 0 lines updated
+		if (dirtyFieldTracker == null || argFieldTypes.length <= 1) {
+			return update(databaseConnection, data, objectCache);
+		}
+		MappedUpdate<T, ID> mappedUpdate = this;
+		BitSet dirtyFields = dirtyFieldTracker.findDirtyFields(data);
+		if (dirtyFields != null) {
+			dirtyFields.and(updatableFields);
+			if (dirtyFields.isEmpty()) {
+				logger.debug("skipping update of unchanged {} with id {}", clazz.getSimpleName(),
+						idField.extractJavaFieldValue(data));
+				return 1;
+			}
+			if (!dirtyFields.equals(updatableFields)) {
+				mappedUpdate = findPartialUpdate(dirtyFields);
+			}
+		}
+		int rowC = mappedUpdate.update(databaseConnection, data, objectCache);
+		if (isInTransaction(databaseConnection)) {
+			// the row may be rolled back so the next update has to write all of the fields
+			dirtyFieldTracker.remove(data);
+		} else if (rowC > 0) {
+			dirtyFieldTracker.snapshot(data);
+		}
+		return rowC;
+	}
+
+	/**
+	 * Return the number of partial update statements that have been cached.
+	 */
+	public int getPartialUpdateCount() {
+		return partialUpdateMap.size();
+	}
+
+	/**
+	 * Update the objects in the database using JDBC batches of batchSize. If there is a version field then the objects
+	 * are updated one at a time because each update has to check its version.
+	 */
+	public int updateBatch(DatabaseConnection databaseConnection, Collection<T> datas, ObjectCache objectCache,
+			int batchSize) throws SQLException {
+		// there is always and id field as an argument so just return 0 lines updated
+		if (argFieldTypes.length <= 1 || datas.isEmpty()) {
+			return 0;
+		}
+		if (versionFieldType != null || batchSize <= 1 || datas.size() == 1) {
+			int rowC = 0;
+			for (T data : datas) {
+				rowC += update(databaseConnection, data, objectCache);
+			}
+			return rowC;
+		}
+		CompiledStatement compiledStatement = databaseConnection.compileStatement(statement, StatementType.UPDATE,
+				argFieldTypes, DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
+		List<T> batchDatas = new ArrayList<T>(Math.min(batchSize, datas.size()));
+		try {
+			int rowC = 0;
+			for (T data : datas) {
+				Object[] args = getFieldObjects(data);
+				for (int i = 0; i < args.length; i++) {
+					compiledStatement.setObject(i, args[i], argFieldTypes[i].getSqlType());
+				}
+				compiledStatement.addBatch();
+				batchDatas.add(data);
+				if (batchDatas.size() >= batchSize) {
+					rowC += runBatch(compiledStatement, batchDatas, objectCache);
+					batchDatas.clear();
+				}
+			}
+			if (!batchDatas.isEmpty()) {
+				rowC += runBatch(compiledStatement, batchDatas, objectCache);
+			}
+			return rowC;
+		} catch (SQLException e) {
+			throw new SQLException("Unable to run batch update stmt on " + datas.size() + " objects: " + statement, e);
+		} finally {
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+		}
+	}
+
+	private int runBatch(CompiledStatement compiledStatement, List<T> batchDatas, ObjectCache objectCache)
+			throws SQLException {
+		int[] rowCounts = compiledStatement.runBatch();
+		int rowC = 0;
+		for (int i = 0; i < batchDatas.size(); i++) {
+			int dataRowC = (i < rowCounts.length ? rowCounts[i] : 0);
+			if (dataRowC == Statement.SUCCESS_NO_INFO) {
+				// the row was updated but the database doesn't tell us how many rows were changed
+				dataRowC = 1;
+			}
+			if (dataRowC > 0) {
+				if (objectCache != null) {
+					updateCache(batchDatas.get(i), objectCache);
+				}
+				rowC += dataRowC;
+			}
+		}
+		logger.debug("update batch of {} rows with statement '{}', changed {} rows", batchDatas.size(), statement,
+				rowC);
+		return rowC;
+	}
+
+	private MappedUpdate<T, ID> findPartialUpdate(BitSet fieldIndexes) throws SQLException {
+		MappedUpdate<T, ID> mappedUpdate = partialUpdateMap.get(fieldIndexes);
+		if (mappedUpdate == null) {
+			mappedUpdate = build(dao, tableInfo, fieldIndexes);
+			// limit the statements that we hold onto if the fields change in a lot of different combinations
+			if (partialUpdateMap.size() < MAX_PARTIAL_UPDATES) {
+				partialUpdateMap.put(fieldIndexes, mappedUpdate);
+			}
+		}
+		return mappedUpdate;
+	}
+
+	/**
+	 * If we've changed something then see if we need to update our cache.
+	 */
+	private void updateCache(T data, ObjectCache objectCache) throws SQLException {
+		Object id = idField.extractJavaFieldValue(data);
+		T cachedData = objectCache.get(clazz, id);
+		if (cachedData != null && cachedData != data) {
+			// copy each field from the updated data into the cached object
+			for (FieldType fieldType : tableInfo.getFieldTypes()) {
+				if (fieldType != idField) {
+					fieldType.assignField(connectionSource, cachedData, fieldType.extractJavaFieldValue(data), false,
+							objectCache);
+				}
+			}
+		}
+	}
+
 	private static boolean isFieldUpdatable(FieldType fieldType, FieldType idField) {
 		if (fieldType == idField || fieldType.isForeignCollection() || fieldType.isReadOnly()) {
 			return false;
@@ -0,0 +1,140 @@
+package com.j256.ormlite.stmt.mapped;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+import com.j256.ormlite.support.CompiledStatement;
+import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.table.TableInfo;
+
+/**
+ * Mapped statement which inserts objects or updates them if their ids already exist using the database's native upsert
+ * statement. See {@link DatabaseType#appendUpsertStatement(StringBuilder, String, FieldType[], FieldType)}.
+ *
+ * @author graywatson
+ */
+public class MappedUpsert<T, ID> extends BaseMappedStatement<T, ID> {
+
+	private MappedUpsert(Dao<T, ID> dao, TableInfo<T, ID> tableInfo, String statement, FieldType[] argFieldTypes) {
+		super(dao, tableInfo, statement, argFieldTypes);
+	}
+
+	/**
+	 * Returns true if the objects in the table can be written with an upsert statement. Tables with version fields or
+	 * foreign auto-create fields need the per-row logic of the create and update statements.
+	 */
+	public static boolean isUpsertSupported(DatabaseType databaseType, TableInfo<?, ?> tableInfo) {
+		if (!databaseType.isUpsertSupported() || tableInfo.getIdField() == null) {
+			return false;
+		}
+		for (FieldType fieldType : tableInfo.getFieldTypes()) {
+			if (fieldType.isVersion() || fieldType.isForeignAutoCreate()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public static <T, ID> MappedUpsert<T, ID> build(Dao<T, ID> dao, TableInfo<T, ID> tableInfo) throws SQLException {
+		FieldType idField = tableInfo.getIdField();
+		if (idField == null) {
+			throw new SQLException(
+					"Cannot upsert " + tableInfo.getDataClass() + " because it doesn't have an id field");
+		}
+		DatabaseType databaseType = dao.getConnectionSource().getDatabaseType();
+		List<FieldType> fieldTypeList = new ArrayList<FieldType>();
+		for (FieldType fieldType : tableInfo.getFieldTypes()) {
+			if (!fieldType.isForeignCollection() && !fieldType.isReadOnly()) {
+				fieldTypeList.add(fieldType);
+			}
+		}
+		FieldType[] argFieldTypes = fieldTypeList.toArray(new FieldType[fieldTypeList.size()]);
+		StringBuilder tableSb = new StringBuilder(64);
+		appendTableName(databaseType, tableSb, null, tableInfo);
+		StringBuilder sb = new StringBuilder(128);
+		databaseType.appendUpsertStatement(sb, tableSb.toString().trim(), argFieldTypes, idField);
+		return new MappedUpsert<T, ID>(dao, tableInfo, sb.toString(), argFieldTypes);
+	}
+
+	/**
+	 * Insert or update the objects, which must all have ids, in JDBC batches of batchSize.
+	 */
+	public int upsertBatch(DatabaseConnection databaseConnection, Collection<T> datas, ObjectCache objectCache,
+			int batchSize) throws SQLException {
+		if (datas.isEmpty()) {
+			return 0;
+		}
+		CompiledStatement compiledStatement = databaseConnection.compileStatement(statement, StatementType.UPDATE,
+				argFieldTypes, DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
+		List<T> batchDatas = new ArrayList<T>(Math.min(batchSize, datas.size()));
+		try {
+			int rowC = 0;
+			for (T data : datas) {
+				Object[] args = getFieldObjects(data);
+				for (int i = 0; i < args.length; i++) {
+					compiledStatement.setObject(i, args[i], argFieldTypes[i].getSqlType());
+				}
+				compiledStatement.addBatch();
+				batchDatas.add(data);
+				if (batchDatas.size() >= batchSize) {
+					rowC += runBatch(compiledStatement, batchDatas, objectCache);
+					batchDatas.clear();
+				}
+			}
+			if (!batchDatas.isEmpty()) {
+				rowC += runBatch(compiledStatement, batchDatas, objectCache);
+			}
+			return rowC;
+		} catch (SQLException e) {
+			throw new SQLException("Unable to run batch upsert stmt on " + datas.size() + " objects: " + statement, e);
+		} finally {
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+		}
+	}
+
+	private int runBatch(CompiledStatement compiledStatement, List<T> batchDatas, ObjectCache objectCache)
+			throws SQLException {
+		int[] rowCounts = compiledStatement.runBatch();
+		int rowC = 0;
+		for (int i = 0; i < batchDatas.size(); i++) {
+			int dataRowC = (i < rowCounts.length ? rowCounts[i] : 0);
+			if (dataRowC == Statement.SUCCESS_NO_INFO) {
+				dataRowC = 1;
+			}
+			if (dataRowC > 0) {
+				if (objectCache != null) {
+					updateCache(batchDatas.get(i), objectCache);
+				}
+				rowC += dataRowC;
+			}
+		}
+		logger.debug("upsert batch of {} rows with statement '{}', changed {} rows", batchDatas.size(), statement,
+				rowC);
+		return rowC;
+	}
+
+	private void updateCache(T data, ObjectCache objectCache) throws SQLException {
+		Object id = idField.extractJavaFieldValue(data);
+		T cachedData = objectCache.get(clazz, id);
+		if (cachedData == null) {
+			objectCache.put(clazz, id, data);
+		} else if (cachedData != data) {
+			// copy each field from the upserted data into the cached object
+			for (FieldType fieldType : tableInfo.getFieldTypes()) {
+				if (fieldType != idField) {
+					fieldType.assignField(connectionSource, cachedData, fieldType.extractJavaFieldValue(data), false,
+							objectCache);
+				}
+			}
+		}
+	}
+}
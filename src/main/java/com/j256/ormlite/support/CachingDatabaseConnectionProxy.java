@@ -0,0 +1,435 @@
+package com.j256.ormlite.support;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.stmt.GenericRowMapper;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+
+/**
+ * Database connection proxy which keeps a bounded, least-recently-used cache of the {@link CompiledStatement}s that it
+ * compiles so repeated queries and updates with the same SQL do not have to be prepared again. The
+ * {@link #update(String, Object[], FieldType[])}, {@link #delete(String, Object[], FieldType[])},
+ * {@link #queryForOne(String, Object[], FieldType[], GenericRowMapper, ObjectCache)}, and queryForLong methods are
+ * also run through the cached statements which covers the query-for-id, update, and delete paths of the DAO.
+ *
+ * <p>
+ * When a statement from the cache is closed, it is returned to the cache instead of being closed. Statements are
+ * removed from the cache while they are in use so they are never shared. Statements that are evicted from the cache
+ * are closed as are all cached statements when the connection is closed. Connection pools which release connections
+ * should call {@link #clearStatementCache()} if the statements should not outlive the release.
+ * </p>
+ *
+ * <p>
+ * See the {@link CachingDatabaseConnectionProxyFactory} to enable it on a connection-source.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class CachingDatabaseConnectionProxy extends DatabaseConnectionProxy {
+
+	private static final Logger logger = LoggerFactory.getLogger(CachingDatabaseConnectionProxy.class);
+
+	private final int maxStatements;
+	private final Map<StatementKey, CompiledStatement> statementCache;
+	private long hitCount;
+	private long missCount;
+	private long evictionCount;
+	private boolean closed;
+
+	public CachingDatabaseConnectionProxy(DatabaseConnection proxy, int maxStatements) {
+		super(proxy);
+		if (maxStatements <= 0) {
+			throw new IllegalArgumentException("maxStatements must be > 0: " + maxStatements);
+		}
+		this.maxStatements = maxStatements;
+		this.statementCache = new LinkedHashMap<StatementKey, CompiledStatement>(16, 0.75F, true);
+	}
+
+	@Override
+	public CompiledStatement compileStatement(String statement, StatementType type, FieldType[] argFieldTypes,
+			int resultFlags, boolean cacheStore) throws SQLException {
+		StatementKey key = new StatementKey(statement, type, resultFlags, cacheStore);
+		synchronized (statementCache) {
+			// remove it while it is being used so it won't be handed out twice
+			CompiledStatement cached = statementCache.remove(key);
+			if (cached != null) {
+				hitCount++;
+				return new CachedCompiledStatement(key, cached);
+			}
+			missCount++;
+		}
+		CompiledStatement compiledStatement =
+				super.compileStatement(statement, type, argFieldTypes, resultFlags, cacheStore);
+		if (compiledStatement == null) {
+			return null;
+		}
+		return new CachedCompiledStatement(key, compiledStatement);
+	}
+
+	@Override
+	public int update(String statement, Object[] args, FieldType[] argFieldTypes) throws SQLException {
+		return runUpdate(statement, StatementType.UPDATE, args, argFieldTypes);
+	}
+
+	@Override
+	public int delete(String statement, Object[] args, FieldType[] argFieldTypes) throws SQLException {
+		return runUpdate(statement, StatementType.DELETE, args, argFieldTypes);
+	}
+
+	@Override
+	public <T> Object queryForOne(String statement, Object[] args, FieldType[] argFieldTypes,
+			GenericRowMapper<T> rowMapper, ObjectCache objectCache) throws SQLException {
+		CompiledStatement compiledStatement =
+				compileStatement(statement, StatementType.SELECT, argFieldTypes, DEFAULT_RESULT_FLAGS, false);
+		if (compiledStatement == null) {
+			return null;
+		}
+		DatabaseResults results = null;
+		try {
+			assignArgs(compiledStatement, args, argFieldTypes);
+			results = compiledStatement.runQuery(objectCache);
+			if (!results.first()) {
+				return null;
+			}
+			T first = rowMapper.mapRow(results);
+			if (results.next()) {
+				return MORE_THAN_ONE;
+			} else {
+				return first;
+			}
+		} finally {
+			IOUtils.closeThrowSqlException(results, "results");
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+		}
+	}
+
+	@Override
+	public long queryForLong(String statement) throws SQLException {
+		return queryForLong(statement, new Object[0], new FieldType[0]);
+	}
+
+	@Override
+	public long queryForLong(String statement, Object[] args, FieldType[] argFieldTypes) throws SQLException {
+		CompiledStatement compiledStatement =
+				compileStatement(statement, StatementType.SELECT_LONG, argFieldTypes, DEFAULT_RESULT_FLAGS, false);
+		if (compiledStatement == null) {
+			return 0;
+		}
+		DatabaseResults results = null;
+		try {
+			assignArgs(compiledStatement, args, argFieldTypes);
+			results = compiledStatement.runQuery(null);
+			if (!results.first()) {
+				throw new SQLException("No results returned in query-for-long: " + statement);
+			}
+			long result = results.getLong(0);
+			if (results.next()) {
+				throw new SQLException("More than 1 result returned in query-for-long: " + statement);
+			}
+			return result;
+		} finally {
+			IOUtils.closeThrowSqlException(results, "results");
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+		}
+	}
+
+	@Override
+	public void close() throws Exception {
+		closeCachedStatements();
+		super.close();
+	}
+
+	@Override
+	public void closeQuietly() {
+		closeCachedStatements();
+		super.closeQuietly();
+	}
+
+	/**
+	 * Close all of the statements in the cache. Statements that are currently in use will be returned to the cache
+	 * when they are closed.
+	 */
+	public void clearStatementCache() {
+		List<CompiledStatement> statements;
+		synchronized (statementCache) {
+			statements = new ArrayList<CompiledStatement>(statementCache.values());
+			statementCache.clear();
+		}
+		for (CompiledStatement statement : statements) {
+			statement.closeQuietly();
+		}
+	}
+
+	/**
+	 * Return the number of statements that are currently in the cache.
+	 */
+	public int getCacheSize() {
+		synchronized (statementCache) {
+			return statementCache.size();
+		}
+	}
+
+	/**
+	 * Return the number of times that a compiled statement was found in the cache.
+	 */
+	public long getHitCount() {
+		synchronized (statementCache) {
+			return hitCount;
+		}
+	}
+
+	/**
+	 * Return the number of times that a statement had to be compiled because it was not found in the cache.
+	 */
+	public long getMissCount() {
+		synchronized (statementCache) {
+			return missCount;
+		}
+	}
+
+	/**
+	 * Return the number of statements that were closed because the cache was full.
+	 */
+	public long getEvictionCount() {
+		synchronized (statementCache) {
+			return evictionCount;
+		}
+	}
+
+	private void closeCachedStatements() {
+		synchronized (statementCache) {
+			closed = true;
+		}
+		clearStatementCache();
+	}
+
+	private int runUpdate(String statement, StatementType type, Object[] args, FieldType[] argFieldTypes)
+			throws SQLException {
+		CompiledStatement compiledStatement =
+				compileStatement(statement, type, argFieldTypes, DEFAULT_RESULT_FLAGS, false);
+		if (compiledStatement == null) {
+			return 0;
+		}
+		try {
+			assignArgs(compiledStatement, args, argFieldTypes);
+			return compiledStatement.runUpdate();
+		} finally {
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+		}
+	}
+
+	private void assignArgs(CompiledStatement compiledStatement, Object[] args, FieldType[] argFieldTypes)
+			throws SQLException {
+		for (int i = 0; i < args.length; i++) {
+			compiledStatement.setObject(i, args[i], argFieldTypes[i].getSqlType());
+		}
+	}
+
+	/**
+	 * Return the statement to the cache, evicting the least-recently-used statement if the cache is full.
+	 */
+	private void returnStatement(StatementKey key, CompiledStatement statement) {
+		Map.Entry<StatementKey, CompiledStatement> evicted = null;
+		boolean keep = false;
+		synchronized (statementCache) {
+			if (!closed && !statementCache.containsKey(key)) {
+				statementCache.put(key, statement);
+				keep = true;
+				if (statementCache.size() > maxStatements) {
+					evicted = statementCache.entrySet().iterator().next();
+					statementCache.remove(evicted.getKey());
+					evictionCount++;
+				}
+			}
+		}
+		if (!keep) {
+			// another copy is already in the cache or we are closed
+			statement.closeQuietly();
+		}
+		if (evicted != null) {
+			logger.trace("evicting statement from cache: {}", evicted.getKey().statement);
+			evicted.getValue().closeQuietly();
+		}
+	}
+
+	/**
+	 * Key for our statement cache.
+	 */
+	private static class StatementKey {
+		final String statement;
+		final StatementType type;
+		final int resultFlags;
+		final boolean cacheStore;
+
+		public StatementKey(String statement, StatementType type, int resultFlags, boolean cacheStore) {
+			this.statement = statement;
+			this.type = type;
+			this.resultFlags = resultFlags;
+			this.cacheStore = cacheStore;
+		}
+
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = 1;
+			result = prime * result + statement.hashCode();
+			result = prime * result + type.hashCode();
+			result = prime * result + resultFlags;
+			result = prime * result + (cacheStore ? 1231 : 1237);
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			StatementKey other = (StatementKey) obj;
+			return statement.equals(other.statement) && type == other.type && resultFlags == other.resultFlags
+					&& cacheStore == other.cacheStore;
+		}
+	}
+
+	/**
+	 * Compiled statement, handed out for each use of a statement, which returns the statement to the cache when it is
+	 * closed. Closing it more than once does nothing so a statement can't be returned while someone else is using it.
+	 */
+	private class CachedCompiledStatement implements CompiledStatement {
+
+		private final StatementKey key;
+		private final CompiledStatement compiledStatement;
+		private boolean returned;
+		private boolean maxRowsSet;
+		private boolean queryTimeoutSet;
+		private boolean fetchSizeSet;
+
+		public CachedCompiledStatement(StatementKey key, CompiledStatement compiledStatement) {
+			this.key = key;
+			this.compiledStatement = compiledStatement;
+		}
+
+		@Override
+		public int getColumnCount() throws SQLException {
+			return compiledStatement.getColumnCount();
+		}
+
+		@Override
+		public String getColumnName(int columnIndex) throws SQLException {
+			return compiledStatement.getColumnName(columnIndex);
+		}
+
+		@Override
+		public int runUpdate() throws SQLException {
+			return compiledStatement.runUpdate();
+		}
+
+		@Override
+		public DatabaseResults runQuery(ObjectCache objectCache) throws SQLException {
+			return compiledStatement.runQuery(objectCache);
+		}
+
+		@Override
+		public int runExecute() throws SQLException {
+			return compiledStatement.runExecute();
+		}
+
+		@Override
+		public void addBatch() throws SQLException {
+			compiledStatement.addBatch();
+		}
+
+		@Override
+		public int[] runBatch() throws SQLException {
+			return compiledStatement.runBatch();
+		}
+
+		@Override
+		public void getGeneratedKeys(GeneratedKeyHolder keyHolder) throws SQLException {
+			compiledStatement.getGeneratedKeys(keyHolder);
+		}
+
+		@Override
+		public void close() throws SQLException {
+			if (returned) {
+				return;
+			}
+			returned = true;
+			try {
+				// reset the settings that would otherwise leak into the next use of the statement
+				if (maxRowsSet) {
+					compiledStatement.setMaxRows(0);
+					maxRowsSet = false;
+				}
+				if (queryTimeoutSet) {
+					compiledStatement.setQueryTimeout(0);
+					queryTimeoutSet = false;
+				}
+				if (fetchSizeSet) {
+					compiledStatement.setFetchSize(0);
+					fetchSizeSet = false;
+				}
+			} catch (SQLException e) {
+				compiledStatement.closeQuietly();
+				throw e;
+			}
+			returnStatement(key, compiledStatement);
+		}
+
+		@Override
+		public void closeQuietly() {
+			try {
+				close();
+			} catch (SQLException e) {
+				// ignored
+			}
+		}
+
+		@Override
+		public void cancel() throws SQLException {
+			compiledStatement.cancel();
+		}
+
+		@Override
+		public void setObject(int parameterIndex, Object obj, SqlType sqlType) throws SQLException {
+			compiledStatement.setObject(parameterIndex, obj, sqlType);
+		}
+
+		@Override
+		public void setMaxRows(int max) throws SQLException {
+			compiledStatement.setMaxRows(max);
+			maxRowsSet = true;
+		}
+
+		@Override
+		public void setFetchSize(int fetchSize) throws SQLException {
+			compiledStatement.setFetchSize(fetchSize);
+			fetchSizeSet = true;
+		}
+
+		@Override
+		public void setQueryTimeout(long millis) throws SQLException {
+			compiledStatement.setQueryTimeout(millis);
+			queryTimeoutSet = true;
+		}
+
+		@Override
+		public String getStatement() {
+			return compiledStatement.getStatement();
+		}
+
+		@Override
+		public String toString() {
+			return compiledStatement.toString();
+		}
+	}
+}
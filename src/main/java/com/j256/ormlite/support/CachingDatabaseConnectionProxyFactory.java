@@ -0,0 +1,34 @@
+package com.j256.ormlite.support;
+
+import java.sql.SQLException;
+
+/**
+ * Connection proxy factory which wraps each connection in a {@link CachingDatabaseConnectionProxy} so compiled
+ * statements are cached per connection. Something like:
+ *
+ * <pre>
+ * JdbcConnectionSource.setDatabaseConnectionProxyFactory(new CachingDatabaseConnectionProxyFactory(100));
+ * </pre>
+ *
+ * @author graywatson
+ */
+public class CachingDatabaseConnectionProxyFactory implements DatabaseConnectionProxyFactory {
+
+	private final int maxStatements;
+
+	/**
+	 * @param maxStatements
+	 *            Maximum number of compiled statements cached for each connection.
+	 */
+	public CachingDatabaseConnectionProxyFactory(int maxStatements) {
+		if (maxStatements <= 0) {
+			throw new IllegalArgumentException("maxStatements must be > 0: " + maxStatements);
+		}
+		this.maxStatements = maxStatements;
+	}
+
+	@Override
+	public DatabaseConnection createProxy(DatabaseConnection realConnection) throws SQLException {
+		return new CachingDatabaseConnectionProxy(realConnection, maxStatements);
+	}
+}
@@ -3,6 +3,7 @@ package com.j256.ormlite.support;
 import java.sql.SQLException;
 
 import com.j256.ormlite.dao.ObjectCache;
+import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.SqlType;
 
 /**
@@ -37,6 +38,24 @@ public interface CompiledStatement extends AutoCloseable {
 	 */
 	public int runExecute() throws SQLException;
 
+	/**
+	 * Add the current set of parameters to the statement's batch of commands which will be run by {@link #runBatch()}.
+	 */
+	public void addBatch() throws SQLException;
+
+	/**
+	 * Run the batch of commands added by {@link #addBatch()} returning the number of rows affected by each command.
+	 * With some database types, these values may be invalid.
+	 */
+	public int[] runBatch() throws SQLException;
+
+	/**
+	 * Add the keys generated by the last run of the statement to the key-holder in the order that the rows were
+	 * inserted. The statement must have been compiled by
+	 * {@link DatabaseConnection#compileInsertStatement(String, FieldType[], String)} with a generated-id column name.
+	 */
+	public void getGeneratedKeys(GeneratedKeyHolder keyHolder) throws SQLException;
+
 	/**
 	 * Close the statement but swallows any SQLExceptions.
 	 */
@@ -65,6 +84,12 @@ public interface CompiledStatement extends AutoCloseable {
 	 */
 	public void setMaxRows(int max) throws SQLException;
 
+	/**
+	 * Set the number of rows that the database driver should fetch from the database at a time when more rows are
+	 * needed from the results. This is a hint and may be ignored by the driver. Set to 0 for the driver default.
+	 */
+	public void setFetchSize(int fetchSize) throws SQLException;
+
 	/**
 	 * Set the query timeout in milliseconds. This may or may not be supported by all database types. Although this is
 	 * in milliseconds, the underlying timeout resolution may be in seconds.
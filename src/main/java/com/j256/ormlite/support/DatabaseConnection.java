@@ -92,6 +92,21 @@ public interface DatabaseConnection extends AutoCloseable {
 	public CompiledStatement compileStatement(String statement, StatementType type, FieldType[] argFieldTypes,
 			int resultFlags, boolean cacheStore) throws SQLException;
 
+	/**
+	 * Compile an insert statement that can be run a number of times, typically in a batch using
+	 * {@link CompiledStatement#addBatch()} and {@link CompiledStatement#runBatch()}.
+	 * 
+	 * @param statement
+	 *            SQL statement to use for inserting.
+	 * @param argFieldTypes
+	 *            Field types of the arguments.
+	 * @param generatedIdColumnName
+	 *            Name of the generated-id column whose values should be returned by
+	 *            {@link CompiledStatement#getGeneratedKeys(GeneratedKeyHolder)} or null if none.
+	 */
+	public CompiledStatement compileInsertStatement(String statement, FieldType[] argFieldTypes,
+			String generatedIdColumnName) throws SQLException;
+
 	/**
 	 * Perform a SQL update while with the associated SQL statement, arguments, and types. This will possibly return
 	 * generated keys if kyeHolder is not null.
@@ -102,6 +102,16 @@ public class DatabaseConnectionProxy implements DatabaseConnection {
 		}
 	}
 
+	@Override
+	public CompiledStatement compileInsertStatement(String statement, FieldType[] argFieldTypes,
+			String generatedIdColumnName) throws SQLException {
+		if (proxy == null) {
+			return null;
+		} else {
+			return proxy.compileInsertStatement(statement, argFieldTypes, generatedIdColumnName);
+		}
+	}
+
 	@Override
 	public int insert(String statement, Object[] args, FieldType[] argfieldTypes, GeneratedKeyHolder keyHolder)
 			throws SQLException {
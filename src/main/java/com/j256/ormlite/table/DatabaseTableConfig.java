@@ -23,6 +23,24 @@ import com.j256.ormlite.misc.JavaxPersistenceConfigurer;
 public class DatabaseTableConfig<T> {
 
 	private static JavaxPersistenceConfigurer javaxPersistenceConfigurer;
+	private static final GeneratedTableConfig NO_GENERATED_CONFIG = new GeneratedTableConfig() {
+		@Override
+		public List<DatabaseFieldConfig> createFieldConfigs() {
+			return null;
+		}
+	};
+	/** stored with each class so we don't hold onto the classes and their class-loaders */
+	private static final ClassValue<GeneratedTableConfig> generatedConfigs = new ClassValue<GeneratedTableConfig>() {
+		@Override
+		protected GeneratedTableConfig computeValue(Class<?> clazz) {
+			try {
+				return loadGeneratedConfig(clazz);
+			} catch (SQLException e) {
+				// not stored so the next lookup tries again, unwrapped by findGeneratedConfig
+				throw new IllegalStateException(e);
+			}
+		}
+	};
 
 	// optional database type, may be null
 	private DatabaseType databaseType;
@@ -169,7 +187,8 @@ public class DatabaseTableConfig<T> {
 
 	/**
 	 * Extract the DatabaseTableConfig for a particular class by looking for class and field annotations. This is used
-	 * by internal classes to configure a class.
+	 * by internal classes to configure a class. If the class has a {@link GeneratedTableConfig} then its field
+	 * configurations are used instead of scanning the fields with reflection.
 	 */
 	public static <T> DatabaseTableConfig<T> fromClass(DatabaseType databaseType, Class<T> clazz) throws SQLException {
 		String tableName = extractTableName(databaseType, clazz);
@@ -180,8 +199,41 @@ public class DatabaseTableConfig<T> {
 				schemaName = databaseType.upCaseEntityName(schemaName);
 			}
 		}
-		return new DatabaseTableConfig<T>(databaseType, clazz, schemaName, tableName,
-				extractFieldTypes(databaseType, clazz, tableName));
+		GeneratedTableConfig generatedConfig = findGeneratedConfig(clazz);
+		FieldType[] fieldTypes;
+		if (generatedConfig == null) {
+			fieldTypes = extractFieldTypes(databaseType, clazz, tableName);
+		} else {
+			fieldTypes = convertGeneratedConfig(databaseType, clazz, tableName, generatedConfig);
+		}
+		return new DatabaseTableConfig<T>(databaseType, clazz, schemaName, tableName, fieldTypes);
+	}
+
+	/**
+	 * Return the name of the {@link GeneratedTableConfig} class for a class with the binary-name argument.
+	 */
+	public static String generatedConfigClassName(String binaryName) {
+		return binaryName.replace('$', '_') + GeneratedTableConfig.CLASS_NAME_SUFFIX;
+	}
+
+	/**
+	 * Find and return the generated configuration of the class or null if it has none.
+	 */
+	static GeneratedTableConfig findGeneratedConfig(Class<?> clazz) throws SQLException {
+		GeneratedTableConfig generatedConfig;
+		try {
+			generatedConfig = generatedConfigs.get(clazz);
+		} catch (IllegalStateException e) {
+			if (e.getCause() instanceof SQLException) {
+				throw (SQLException) e.getCause();
+			}
+			throw e;
+		}
+		if (generatedConfig == NO_GENERATED_CONFIG) {
+			return null;
+		} else {
+			return generatedConfig;
+		}
 	}
 
 	/**
@@ -236,6 +288,61 @@ public class DatabaseTableConfig<T> {
 		return fieldTypes.toArray(new FieldType[fieldTypes.size()]);
 	}
 
+	private static GeneratedTableConfig loadGeneratedConfig(Class<?> clazz) throws SQLException {
+		String className = generatedConfigClassName(clazz.getName());
+		Class<?> configClass;
+		try {
+			configClass = Class.forName(className, true, clazz.getClassLoader());
+		} catch (ClassNotFoundException e) {
+			return NO_GENERATED_CONFIG;
+		}
+		if (!GeneratedTableConfig.class.isAssignableFrom(configClass)) {
+			return NO_GENERATED_CONFIG;
+		}
+		try {
+			return (GeneratedTableConfig) configClass.getConstructor().newInstance();
+		} catch (Exception e) {
+			throw new SQLException("Could not construct generated table config " + className, e);
+		}
+	}
+
+	private static <T> FieldType[] convertGeneratedConfig(DatabaseType databaseType, Class<T> clazz, String tableName,
+			GeneratedTableConfig generatedConfig) throws SQLException {
+		List<FieldType> fieldTypes = new ArrayList<FieldType>();
+		for (DatabaseFieldConfig fieldConfig : generatedConfig.createFieldConfigs()) {
+			Field field = findDeclaredField(clazz, fieldConfig.getFieldName());
+			if (field == null) {
+				throw new SQLException("Could not find declared field with name '" + fieldConfig.getFieldName()
+						+ "' for " + clazz + ", the generated table config may need to be rebuilt");
+			}
+			if (databaseType.isEntityNamesMustBeUpCase()) {
+				// to match DatabaseFieldConfig.fromDatabaseField()
+				fieldConfig.setFieldName(databaseType.upCaseEntityName(fieldConfig.getFieldName()));
+			}
+			fieldTypes.add(new FieldType(databaseType, tableName, field, fieldConfig, clazz));
+		}
+		if (fieldTypes.isEmpty()) {
+			throw new IllegalArgumentException(
+					"No fields have a " + DatabaseField.class.getSimpleName() + " annotation in " + clazz);
+		}
+		orderFieldTypes(tableName, fieldTypes);
+		return fieldTypes.toArray(new FieldType[fieldTypes.size()]);
+	}
+
+	/**
+	 * Walk up the classes and return the first declared field with the name or null if none.
+	 */
+	private static Field findDeclaredField(Class<?> clazz, String fieldName) {
+		for (Class<?> classWalk = clazz; classWalk != null; classWalk = classWalk.getSuperclass()) {
+			try {
+				return classWalk.getDeclaredField(fieldName);
+			} catch (NoSuchFieldException e) {
+				// we ignore this and just loop hopefully finding it in a upper class
+			}
+		}
+		return null;
+	}
+
 	private FieldType[] convertFieldConfigs(DatabaseType databaseType, String tableName,
 			List<DatabaseFieldConfig> fieldConfigs) throws SQLException {
 		List<FieldType> fieldTypes = new ArrayList<FieldType>();
@@ -0,0 +1,27 @@
+package com.j256.ormlite.table;
+
+import java.util.List;
+
+import com.j256.ormlite.field.DatabaseFieldConfig;
+
+/**
+ * Field configurations of a class generated at compile time by the
+ * {@link com.j256.ormlite.processor.DatabaseTableProcessor}. If a class named the class' binary name, with the '$'
+ * characters changed to '_', plus {@link #CLASS_NAME_SUFFIX} is found then {@link DatabaseTableConfig#fromClass} uses
+ * it instead of scanning the fields and annotations of the class and its super-classes with reflection.
+ *
+ * @author graywatson
+ */
+public interface GeneratedTableConfig {
+
+	/**
+	 * Suffix of the generated class names.
+	 */
+	public static final String CLASS_NAME_SUFFIX = "_OrmLiteTableConfig";
+
+	/**
+	 * Create and return new configurations of the persisted fields of the class in the same order that they would be
+	 * found with reflection: the fields of the class in declaration order followed by the fields of its super-classes.
+	 */
+	public List<DatabaseFieldConfig> createFieldConfigs();
+}
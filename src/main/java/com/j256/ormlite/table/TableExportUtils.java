@@ -0,0 +1,350 @@
+package com.j256.ormlite.table;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.j256.ormlite.dao.CloseableIterator;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.misc.SqlArgStreamUtils;
+import com.j256.ormlite.support.CompiledStatement;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+
+/**
+ * Utility methods which stream the rows of a table to and from a compact binary format. Export iterates across the
+ * table without loading it into memory and import inserts the rows in batches so large tables can be snapshotted and
+ * restored quickly.
+ *
+ * <p>
+ * The values written are the SQL arguments produced by each field's persister so the import converts them back the same
+ * way that queries do. The exported generated-id values are always inserted on import so foreign keys which point at
+ * the rows still match. If the id column is backed by a sequence then the sequence may need to be advanced past the
+ * imported ids afterwards.
+ * </p>
+ *
+ * @author graywatson
+ */
+public class TableExportUtils {
+
+	/** default number of rows inserted at a time by the import methods */
+	public static final int DEFAULT_IMPORT_BATCH_SIZE = 1000;
+
+	private static final int MAGIC = 0x4F524D4C;
+	private static final byte VERSION = 1;
+	private static final byte FLAG_COMPRESSED = 1;
+	private static final byte END_MARKER = 0;
+	private static final byte ROW_MARKER = 1;
+
+	private static Logger logger = LoggerFactory.getLogger(TableExportUtils.class);
+
+	/**
+	 * For static methods only.
+	 */
+	private TableExportUtils() {
+	}
+
+	/**
+	 * Write all of the rows from the table associated with the dao to the output stream. The stream is flushed but not
+	 * closed.
+	 *
+	 * @param dao
+	 *            Dao associated with the table that we are exporting.
+	 * @param outputStream
+	 *            Where the rows are written.
+	 * @param compress
+	 *            Set to true to compress the rows with gzip.
+	 * @return The number of rows written.
+	 */
+	public static <T, ID> long exportTable(Dao<T, ID> dao, OutputStream outputStream, boolean compress)
+			throws SQLException {
+		long startMillis = System.currentTimeMillis();
+		FieldType[] fieldTypes = exportedFieldTypes(dao.getTableInfo());
+		long rowCount = 0;
+		CloseableIterator<T> iterator = null;
+		try {
+			DataOutputStream headerOut = new DataOutputStream(outputStream);
+			headerOut.writeInt(MAGIC);
+			headerOut.writeByte(VERSION);
+			headerOut.writeByte(compress ? FLAG_COMPRESSED : 0);
+			headerOut.flush();
+			GZIPOutputStream gzipOut = null;
+			OutputStream rowStream = outputStream;
+			if (compress) {
+				gzipOut = new GZIPOutputStream(rowStream);
+				rowStream = gzipOut;
+			}
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(rowStream));
+			out.writeUTF(dao.getTableInfo().getTableName());
+			out.writeInt(fieldTypes.length);
+			for (FieldType fieldType : fieldTypes) {
+				out.writeUTF(fieldType.getColumnName());
+			}
+			iterator = dao.closeableIterator();
+			while (iterator.hasNext()) {
+				T data = iterator.next();
+				out.writeByte(ROW_MARKER);
+				for (FieldType fieldType : fieldTypes) {
+					SqlArgStreamUtils.writeValue(out, fieldType.extractJavaFieldToSqlArgValue(data));
+				}
+				rowCount++;
+			}
+			out.writeByte(END_MARKER);
+			out.flush();
+			if (gzipOut != null) {
+				gzipOut.finish();
+			}
+			outputStream.flush();
+		} catch (IOException e) {
+			throw new SQLException("Could not write rows of table " + dao.getTableInfo().getTableName() + " to stream",
+					e);
+		} finally {
+			IOUtils.closeThrowSqlException(iterator, "iterator");
+		}
+		logRate("exported", rowCount, dao, startMillis);
+		return rowCount;
+	}
+
+	/**
+	 * Same as {@link #exportTable(Dao, OutputStream, boolean)} but writes to a NIO channel.
+	 */
+	public static <T, ID> long exportTable(Dao<T, ID> dao, WritableByteChannel channel, boolean compress)
+			throws SQLException {
+		return exportTable(dao, Channels.newOutputStream(channel), compress);
+	}
+
+	/**
+	 * Read rows written by {@link #exportTable(Dao, OutputStream, boolean)} and insert them into the table associated
+	 * with the dao. The rows are inserted {@link #DEFAULT_IMPORT_BATCH_SIZE} at a time.
+	 *
+	 * @return The number of rows inserted.
+	 */
+	public static <T, ID> long importTable(Dao<T, ID> dao, InputStream inputStream) throws SQLException {
+		return importTable(dao, inputStream, DEFAULT_IMPORT_BATCH_SIZE);
+	}
+
+	/**
+	 * Read rows written by {@link #exportTable(Dao, OutputStream, boolean)} and insert them into the table associated
+	 * with the dao. The stream is not closed.
+	 *
+	 * <p>
+	 * <b>WARNING:</b> The data should only come from a trusted source. Values of the {@link SqlType#SERIALIZABLE}
+	 * columns are read with Java serialization which can instantiate any class on the classpath.
+	 * </p>
+	 *
+	 * @param dao
+	 *            Dao associated with the table that we are importing into.
+	 * @param inputStream
+	 *            Where the rows are read from.
+	 * @param batchSize
+	 *            Number of rows that are collected before they are inserted with
+	 *            {@link Dao#create(java.util.Collection)} or with a single batch statement if the table has a
+	 *            generated-id.
+	 * @return The number of rows inserted.
+	 */
+	public static <T, ID> long importTable(Dao<T, ID> dao, InputStream inputStream, int batchSize)
+			throws SQLException {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("batchSize must be > 0: " + batchSize);
+		}
+		long startMillis = System.currentTimeMillis();
+		TableInfo<T, ID> tableInfo = dao.getTableInfo();
+		long rowCount = 0;
+		try {
+			DataInputStream headerIn = new DataInputStream(inputStream);
+			if (headerIn.readInt() != MAGIC) {
+				throw new SQLException("Stream does not contain exported table data");
+			}
+			byte version = headerIn.readByte();
+			if (version != VERSION) {
+				throw new SQLException("Unknown exported table data version: " + version);
+			}
+			boolean compressed = ((headerIn.readByte() & FLAG_COMPRESSED) != 0);
+			InputStream rowStream = inputStream;
+			if (compressed) {
+				rowStream = new GZIPInputStream(rowStream);
+			}
+			DataInputStream in = new DataInputStream(new BufferedInputStream(rowStream));
+			String tableName = in.readUTF();
+			int numColumns = in.readInt();
+			if (numColumns < 0 || numColumns > tableInfo.getFieldTypes().length) {
+				throw new SQLException("Invalid number of columns in exported table " + tableName + ": " + numColumns);
+			}
+			FieldType[] fieldTypes = new FieldType[numColumns];
+			for (int i = 0; i < fieldTypes.length; i++) {
+				String columnName = in.readUTF();
+				try {
+					fieldTypes[i] = tableInfo.getFieldTypeByColumnName(columnName);
+				} catch (IllegalArgumentException e) {
+					throw new SQLException("Exported table " + tableName + " column " + columnName
+							+ " does not exist in table " + tableInfo.getTableName(), e);
+				}
+			}
+			/*
+			 * dao.create() would skip a generated-id column and the database would renumber the rows so in that case we
+			 * insert the exported values directly with the id column included.
+			 */
+			String explicitIdStatement = null;
+			if (isGeneratedIdExported(tableInfo.getIdField(), fieldTypes)) {
+				explicitIdStatement = buildInsertStatement(dao.getConnectionSource().getDatabaseType(), tableInfo,
+						fieldTypes);
+			}
+			List<T> batch = new ArrayList<T>(batchSize);
+			List<Object[]> argsBatch = new ArrayList<Object[]>(batchSize);
+			while (true) {
+				byte marker = in.readByte();
+				if (marker == END_MARKER) {
+					break;
+				} else if (marker != ROW_MARKER) {
+					throw new SQLException("Invalid row marker in exported table data: " + marker);
+				}
+				T data = (explicitIdStatement == null ? dao.createObjectInstance() : null);
+				Object[] args = new Object[fieldTypes.length];
+				for (int i = 0; i < fieldTypes.length; i++) {
+					// only serializable columns may hold serialized values so the data can't create other classes
+					boolean allowSerializable = (fieldTypes[i].getSqlType() == SqlType.SERIALIZABLE);
+					args[i] = SqlArgStreamUtils.readValue(in, allowSerializable);
+					if (explicitIdStatement != null) {
+						continue;
+					}
+					Object val = fieldTypes[i].convertSqlArgToJavaField(args[i], i);
+					if (val != null) {
+						fieldTypes[i].assignField(dao.getConnectionSource(), data, val, false, null);
+					}
+				}
+				if (explicitIdStatement == null) {
+					batch.add(data);
+				} else {
+					argsBatch.add(args);
+				}
+				if (batch.size() >= batchSize) {
+					rowCount += dao.create(batch);
+					batch.clear();
+				} else if (argsBatch.size() >= batchSize) {
+					rowCount += insertRows(dao, explicitIdStatement, fieldTypes, argsBatch);
+					argsBatch.clear();
+				}
+			}
+			if (!batch.isEmpty()) {
+				rowCount += dao.create(batch);
+			} else if (!argsBatch.isEmpty()) {
+				rowCount += insertRows(dao, explicitIdStatement, fieldTypes, argsBatch);
+			}
+		} catch (IOException e) {
+			throw new SQLException("Could not read rows of table " + tableInfo.getTableName() + " from stream", e);
+		}
+		logRate("imported", rowCount, dao, startMillis);
+		return rowCount;
+	}
+
+	/**
+	 * Same as {@link #importTable(Dao, InputStream, int)} but reads from a NIO channel.
+	 */
+	public static <T, ID> long importTable(Dao<T, ID> dao, ReadableByteChannel channel, int batchSize)
+			throws SQLException {
+		return importTable(dao, Channels.newInputStream(channel), batchSize);
+	}
+
+	private static FieldType[] exportedFieldTypes(TableInfo<?, ?> tableInfo) {
+		List<FieldType> fieldTypes = new ArrayList<FieldType>();
+		for (FieldType fieldType : tableInfo.getFieldTypes()) {
+			if (!fieldType.isForeignCollection()) {
+				fieldTypes.add(fieldType);
+			}
+		}
+		return fieldTypes.toArray(new FieldType[fieldTypes.size()]);
+	}
+
+	private static boolean isGeneratedIdExported(FieldType idField, FieldType[] fieldTypes) {
+		if (idField == null || !idField.isGeneratedId() || idField.isAllowGeneratedIdInsert()) {
+			return false;
+		}
+		for (FieldType fieldType : fieldTypes) {
+			if (fieldType == idField) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String buildInsertStatement(DatabaseType databaseType, TableInfo<?, ?> tableInfo,
+			FieldType[] fieldTypes) {
+		StringBuilder sb = new StringBuilder(128);
+		sb.append("INSERT INTO ");
+		if (tableInfo.getSchemaName() != null && tableInfo.getSchemaName().length() > 0) {
+			databaseType.appendEscapedEntityName(sb, tableInfo.getSchemaName());
+			sb.append('.');
+		}
+		databaseType.appendEscapedEntityName(sb, tableInfo.getTableName());
+		sb.append(" (");
+		for (int i = 0; i < fieldTypes.length; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			databaseType.appendEscapedEntityName(sb, fieldTypes[i].getColumnName());
+		}
+		sb.append(") VALUES (");
+		for (int i = 0; i < fieldTypes.length; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append('?');
+		}
+		sb.append(')');
+		return sb.toString();
+	}
+
+	private static int insertRows(Dao<?, ?> dao, String statement, FieldType[] fieldTypes, List<Object[]> argsBatch)
+			throws SQLException {
+		ConnectionSource connectionSource = dao.getConnectionSource();
+		DatabaseConnection connection = connectionSource.getReadWriteConnection(dao.getTableInfo().getTableName());
+		CompiledStatement compiledStatement = null;
+		try {
+			compiledStatement = connection.compileInsertStatement(statement, fieldTypes, null);
+			for (Object[] args : argsBatch) {
+				for (int i = 0; i < args.length; i++) {
+					compiledStatement.setObject(i, args[i], fieldTypes[i].getSqlType());
+				}
+				compiledStatement.addBatch();
+			}
+			int rowC = 0;
+			for (int rowCount : compiledStatement.runBatch()) {
+				// the row was inserted but the database may not tell us how many rows were changed
+				rowC += (rowCount == Statement.SUCCESS_NO_INFO ? 1 : rowCount);
+			}
+			return rowC;
+		} catch (SQLException e) {
+			throw new SQLException(
+					"Unable to insert " + argsBatch.size() + " exported rows with their ids: " + statement, e);
+		} finally {
+			IOUtils.closeThrowSqlException(compiledStatement, "compiled statement");
+			connectionSource.releaseConnection(connection);
+		}
+	}
+
+	private static void logRate(String label, long rowCount, Dao<?, ?> dao, long startMillis) {
+		long elapsedMillis = System.currentTimeMillis() - startMillis;
+		long rowsPerSec = (elapsedMillis == 0 ? rowCount * 1000 : rowCount * 1000 / elapsedMillis);
+		logger.info("{} {} rows of table {} in {}ms ({} rows/sec)",
+				new Object[] { label, rowCount, dao.getTableInfo().getTableName(), elapsedMillis, rowsPerSec });
+	}
+}
@@ -4,11 +4,14 @@ import java.sql.SQLException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import com.j256.ormlite.dao.DirtyFieldTracker;
 import com.j256.ormlite.dao.ForeignCollection;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.stmt.ProjectionMapper;
 
 /**
  * Information about a database table including the associated tableName, class, constructor, and the included fields.
@@ -33,6 +36,9 @@ public class TableInfo<T, ID> {
 	private final FieldType idField;
 	private final boolean foreignAutoCreate;
 	private final Map<String, FieldType> fieldNameMap;
+	private volatile DirtyFieldTracker<T, ID> dirtyFieldTracker;
+	private final Map<Object, ProjectionMapper<?>> projectionMapperCache =
+			new ConcurrentHashMap<Object, ProjectionMapper<?>>();
 
 	/**
 	 * Creates a holder of information about a table/class.
@@ -210,4 +216,25 @@ public class TableInfo<T, ID> {
 		}
 		return false;
 	}
+
+	/**
+	 * Return the cache of the {@link ProjectionMapper}s used to map query results of the table into projection classes.
+	 */
+	public Map<Object, ProjectionMapper<?>> getProjectionMapperCache() {
+		return projectionMapperCache;
+	}
+
+	/**
+	 * Return the tracker of the changed fields of the objects or null if dirty-field tracking is not enabled.
+	 */
+	public DirtyFieldTracker<T, ID> getDirtyFieldTracker() {
+		return dirtyFieldTracker;
+	}
+
+	/**
+	 * Set the tracker of the changed fields of the objects or null to disable dirty-field tracking.
+	 */
+	public void setDirtyFieldTracker(DirtyFieldTracker<T, ID> dirtyFieldTracker) {
+		this.dirtyFieldTracker = dirtyFieldTracker;
+	}
 }
@@ -8,6 +8,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import com.j256.ormlite.dao.BaseDaoImpl;
 import com.j256.ormlite.dao.Dao;
@@ -17,6 +18,7 @@ import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.misc.DependencyLevels;
 import com.j256.ormlite.misc.IOUtils;
 import com.j256.ormlite.stmt.StatementBuilder.StatementType;
 import com.j256.ormlite.support.CompiledStatement;
@@ -74,6 +76,31 @@ public class TableUtils {
 		return doCreateTable(dao, true);
 	}
 
+	/**
+	 * Issue the database statements to create the tables associated with a number of classes. The DAOs are created
+	 * with {@link DaoManager#createDaos(ConnectionSource, Collection, Executor)} and then the tables are created in
+	 * levels ordered by the foreign fields of the classes so a table is created after the tables it refers to.
+	 * 
+	 * @param executor
+	 *            Used to create the DAOs and the tables of each level in parallel. If null, or if the connection source
+	 *            only has a single connection, then the tables are created in the calling thread.
+	 * @return The number of statements executed to do so.
+	 */
+	public static int createTables(ConnectionSource connectionSource, Collection<Class<?>> dataClasses,
+			Executor executor) throws SQLException {
+		return doCreateTables(connectionSource, dataClasses, executor, false);
+	}
+
+	/**
+	 * Create the tables of a number of classes if they do not already exist. This is not supported by all databases.
+	 * 
+	 * @see #createTables(ConnectionSource, Collection, Executor)
+	 */
+	public static int createTablesIfNotExists(ConnectionSource connectionSource, Collection<Class<?>> dataClasses,
+			Executor executor) throws SQLException {
+		return doCreateTables(connectionSource, dataClasses, executor, true);
+	}
+
 	/**
 	 * Issue the database statements to create the table associated with a table configuration.
 	 * 
@@ -349,6 +376,31 @@ public class TableUtils {
 		statements.addAll(statementsAfter);
 	}
 
+	private static int doCreateTables(ConnectionSource connectionSource, Collection<Class<?>> dataClasses,
+			Executor executor, final boolean createIfNotExists) throws SQLException {
+		final Map<Class<?>, Dao<?, ?>> daoMap = DaoManager.createDaos(connectionSource, dataClasses, executor);
+		Executor createExecutor = executor;
+		for (Dao<?, ?> dao : daoMap.values()) {
+			if (connectionSource.isSingleConnection(dao.getTableName())) {
+				// no point in running the statements in parallel if they are going to share the one connection
+				createExecutor = null;
+				break;
+			}
+		}
+		Map<Class<?>, Integer> counts = DependencyLevels.runLevels(DependencyLevels.findLevels(dataClasses),
+				createExecutor, new DependencyLevels.ClassTask<Integer>() {
+					@Override
+					public Integer call(Class<?> clazz) throws SQLException {
+						return doCreateTable(daoMap.get(clazz), createIfNotExists);
+					}
+				});
+		int stmtC = 0;
+		for (Integer count : counts.values()) {
+			stmtC += count;
+		}
+		return stmtC;
+	}
+
 	private static <T, ID> int doCreateTable(Dao<T, ID> dao, boolean createIfNotExists) throws SQLException {
 		ConnectionSource connectionSource = dao.getConnectionSource();
 		DatabaseType databaseType = connectionSource.getDatabaseType();
@@ -0,0 +1,139 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.AsyncDao.OperationStats;
+import com.j256.ormlite.h2.H2ConnectionSource;
+import com.j256.ormlite.support.ConnectionSource;
+
+public class AsyncDaoTest extends BaseCoreTest {
+
+	@Test
+	public void testOperations() throws Exception {
+		// the wrapped connection source used by the other tests is not thread-safe
+		ConnectionSource h2ConnectionSource = new H2ConnectionSource();
+		Dao<Foo, Integer> dao = createDao(h2ConnectionSource, Foo.class, true);
+		try (AsyncDao<Foo, Integer> asyncDao = new AsyncDao<Foo, Integer>(dao);) {
+			List<CompletableFuture<Integer>> creates = new ArrayList<CompletableFuture<Integer>>();
+			List<Foo> foos = new ArrayList<Foo>();
+			for (int i = 0; i < 20; i++) {
+				Foo foo = new Foo();
+				foo.val = i;
+				foos.add(foo);
+				creates.add(asyncDao.create(foo));
+			}
+			for (CompletableFuture<Integer> create : creates) {
+				assertEquals(1, (int) create.get());
+			}
+
+			// fan out some reads
+			CompletableFuture<Long> count = asyncDao.countOf();
+			CompletableFuture<Foo> byId = asyncDao.queryForId(foos.get(5).id);
+			CompletableFuture<List<Foo>> byVal = asyncDao.queryForEq(Foo.VAL_COLUMN_NAME, 7);
+			CompletableFuture<Boolean> exists = asyncDao.idExists(foos.get(9).id);
+			assertEquals(20L, (long) count.get());
+			assertEquals(5, byId.get().val);
+			assertEquals(1, byVal.get().size());
+			assertEquals(foos.get(7).id, byVal.get().get(0).id);
+			assertTrue(exists.get());
+
+			Foo foo = foos.get(3);
+			foo.val = 1000;
+			assertEquals(1, (int) asyncDao.update(foo).get());
+			assertEquals(1000, asyncDao.queryForId(foo.id).get().val);
+			assertEquals(1, (int) asyncDao.deleteById(foo.id).get());
+			assertFalse(asyncDao.idExists(foo.id).get());
+			assertEquals(19L, (long) asyncDao.query(asyncDao.getDao().queryBuilder().prepare())
+					.thenApply(results -> (long) results.size())
+					.get());
+
+			OperationStats stats = asyncDao.getOperationStats().get("create");
+			assertNotNull(stats);
+			assertEquals(20, stats.getCount());
+			assertEquals(0, stats.getFailureCount());
+			assertTrue(stats.getMaxNanos() >= stats.getAverageNanos());
+			assertEquals(2, asyncDao.getOperationStats().get("idExists").getCount());
+		} finally {
+			h2ConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testFailure() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, false);
+		try (AsyncDao<Foo, Integer> asyncDao = new AsyncDao<Foo, Integer>(dao, 1);) {
+			// the table doesn't exist
+			CompletableFuture<Long> count = asyncDao.countOf();
+			ExecutionException e = assertThrowsExactly(ExecutionException.class, () -> count.get());
+			assertTrue(e.getCause() instanceof SQLException);
+			assertEquals(1, asyncDao.getOperationStats().get("countOf").getFailureCount());
+			assertEquals(0, asyncDao.getActiveCount());
+		}
+	}
+
+	@Test
+	public void testMaxConcurrent() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		ExecutorService executor = Executors.newCachedThreadPool();
+		try (AsyncDao<Foo, Integer> asyncDao = new AsyncDao<Foo, Integer>(dao, executor, 2);) {
+			assertEquals(2, asyncDao.getMaxConcurrent());
+			CountDownLatch latch = new CountDownLatch(1);
+			AtomicInteger running = new AtomicInteger();
+			AtomicInteger maxRunning = new AtomicInteger();
+			List<CompletableFuture<Integer>> futures = new ArrayList<CompletableFuture<Integer>>();
+			for (int i = 0; i < 2; i++) {
+				futures.add(asyncDao.submit("block", () -> {
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					latch.await();
+					running.decrementAndGet();
+					return 1;
+				}));
+			}
+			assertEquals(2, asyncDao.getActiveCount());
+
+			// the pool is exhausted so we time out waiting to submit
+			asyncDao.setAcquireTimeoutMillis(50);
+			CompletableFuture<Long> count = asyncDao.countOf();
+			ExecutionException e = assertThrowsExactly(ExecutionException.class, () -> count.get());
+			assertTrue(e.getCause() instanceof SQLException);
+
+			latch.countDown();
+			for (CompletableFuture<Integer> future : futures) {
+				assertEquals(1, (int) future.get());
+			}
+			assertEquals(2, maxRunning.get());
+			assertEquals(0L, (long) asyncDao.countOf().get());
+		} finally {
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	public void testDefaultMaxConcurrent() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		try (AsyncDao<Foo, Integer> asyncDao = new AsyncDao<Foo, Integer>(dao);) {
+			int expected = (connectionSource.isSingleConnection(FOO_TABLE_NAME) ? 1 : AsyncDao.DEFAULT_MAX_CONCURRENT);
+			assertEquals(expected, asyncDao.getMaxConcurrent());
+		}
+		assertThrowsExactly(IllegalArgumentException.class, () -> new AsyncDao<Foo, Integer>(dao, 0));
+	}
+}
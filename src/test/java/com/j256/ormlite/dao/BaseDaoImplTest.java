@@ -22,6 +22,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -29,12 +30,19 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.h2.api.Trigger;
+import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
 import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.ColumnChunk.ColumnType;
 import com.j256.ormlite.dao.Dao.CreateOrUpdateStatus;
 import com.j256.ormlite.dao.Dao.DaoObserver;
 import com.j256.ormlite.field.DataType;
@@ -42,6 +50,8 @@ import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.field.ForeignCollectionField;
 import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.h2.H2ConnectionSource;
+import com.j256.ormlite.h2.H2PooledConnectionSource;
 import com.j256.ormlite.misc.Supplier;
 import com.j256.ormlite.stmt.DeleteBuilder;
 import com.j256.ormlite.stmt.PreparedQuery;
@@ -1086,6 +1096,74 @@ public class BaseDaoImplTest extends BaseCoreTest {
 		assertEquals(foo1.equal, row[1]);
 	}
 
+	@Test
+	public void testQueryRawColumnar() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		int numFoos = 25;
+		long valSum = 0;
+		long equalSum = 0;
+		for (int i = 0; i < numFoos; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			foo.equal = i * 3;
+			assertEquals(1, dao.create(foo));
+			valSum += i;
+			equalSum += i * 3;
+		}
+
+		String query = "SELECT " + Foo.VAL_COLUMN_NAME + ", CAST(" + Foo.VAL_COLUMN_NAME + " AS DOUBLE) / 2, NULLIF("
+				+ Foo.EQUAL_COLUMN_NAME + ", 0) FROM FOO WHERE " + Foo.VAL_COLUMN_NAME + " >= ? ORDER BY "
+				+ Foo.VAL_COLUMN_NAME;
+		ColumnType[] columnTypes = new ColumnType[] { ColumnType.INT, ColumnType.DOUBLE, ColumnType.LONG };
+		List<Integer> chunkSizes = new ArrayList<Integer>();
+		long[] sums = new long[1];
+		double[] doubleSum = new double[1];
+		int[] nullCount = new int[1];
+		ColumnChunkHandler handler = new ColumnChunkHandler() {
+			@Override
+			public void handleChunk(ColumnChunk chunk) {
+				chunkSizes.add(chunk.getSize());
+				assertEquals(3, chunk.getColumnCount());
+				assertEquals(10, chunk.getCapacity());
+				int[] vals = chunk.getInts(0);
+				double[] halves = chunk.getDoubles(1);
+				long[] equals = chunk.getLongs(2);
+				for (int i = 0; i < chunk.getSize(); i++) {
+					assertEquals(vals[i] / 2.0, halves[i], 0.0);
+					sums[0] += equals[i];
+					doubleSum[0] += halves[i];
+					if (chunk.isNull(2, i)) {
+						assertEquals(0, vals[i]);
+						assertEquals(0, equals[i]);
+						nullCount[0]++;
+					}
+				}
+			}
+		};
+		assertEquals(numFoos, dao.queryRawColumnar(query, columnTypes, 10, handler, "0"));
+		assertEquals(Arrays.asList(10, 10, 5), chunkSizes);
+		assertEquals(equalSum, sums[0]);
+		assertEquals(valSum / 2.0, doubleSum[0], 0.0);
+		assertEquals(1, nullCount[0]);
+
+		chunkSizes.clear();
+		assertEquals(5, dao.queryRawColumnar(query, columnTypes, 10, handler,
+				new SelectArg(SqlType.INTEGER, numFoos - 5)));
+		assertEquals(Arrays.asList(5), chunkSizes);
+
+		chunkSizes.clear();
+		assertEquals(numFoos, dao.queryRawColumnar("SELECT " + Foo.VAL_COLUMN_NAME + " FROM FOO",
+				new ColumnType[] { ColumnType.LONG }, 5, chunk -> chunkSizes.add(chunk.getSize())));
+		assertEquals(Arrays.asList(5, 5, 5, 5, 5), chunkSizes);
+
+		assertThrowsExactly(SQLException.class,
+				() -> dao.queryRawColumnar("SELECT " + Foo.VAL_COLUMN_NAME + " FROM FOO",
+						new ColumnType[] { ColumnType.LONG, ColumnType.INT }, 5, handler));
+		assertThrowsExactly(IllegalArgumentException.class,
+				() -> dao.queryRawColumnar("SELECT " + Foo.VAL_COLUMN_NAME + " FROM FOO",
+						new ColumnType[] { ColumnType.LONG }, 0, handler));
+	}
+
 	@Test
 	public void testQueryRawObjectsThrow() throws Exception {
 		Dao<Foo, Integer> dao = createDao(Foo.class, true);
@@ -2295,6 +2373,71 @@ public class BaseDaoImplTest extends BaseCoreTest {
 		assertEquals(equal2, fooResult.equal);
 	}
 
+	@Test
+	public void testCreateOrUpdateCollection() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setObjectCache(true);
+		List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < 5; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			assertEquals(1, dao.create(foo));
+			foo.val = i + 100;
+			foos.add(foo);
+		}
+		for (int i = 0; i < 3; i++) {
+			Foo foo = new Foo();
+			foo.val = i + 200;
+			foos.add(foo);
+		}
+		assertEquals(foos.size(), dao.createOrUpdateAll(foos));
+		assertEquals(foos.size(), dao.countOf());
+		dao.clearObjectCache();
+		for (Foo foo : foos) {
+			assertTrue(foo.id != 0);
+			assertEquals(foo.val, dao.queryForId(foo.id).val);
+		}
+		assertEquals(0, dao.createOrUpdateAll(new ArrayList<Foo>()));
+	}
+
+	@Test
+	public void testCreateOrUpdateCollectionDuplicateIds() throws Exception {
+		Dao<CreateOrUpdateVersion, Integer> dao = createDao(CreateOrUpdateVersion.class, true);
+		CreateOrUpdateVersion first = new CreateOrUpdateVersion();
+		first.id = 1;
+		first.stuff = "first";
+		CreateOrUpdateVersion second = new CreateOrUpdateVersion();
+		second.id = 1;
+		second.stuff = "second";
+		CreateOrUpdateVersion other = new CreateOrUpdateVersion();
+		other.id = 2;
+		other.stuff = "other";
+		assertEquals(3, dao.createOrUpdateAll(Arrays.asList(first, second, other)));
+		assertEquals(2, dao.countOf());
+		// same as calling createOrUpdate on each of them
+		assertEquals("second", dao.queryForId(1).stuff);
+		assertEquals("other", dao.queryForId(2).stuff);
+	}
+
+	@Test
+	public void testCreateOrUpdateCollectionVersion() throws Exception {
+		Dao<CreateOrUpdateVersion, Integer> dao = createDao(CreateOrUpdateVersion.class, true);
+		CreateOrUpdateVersion existing = new CreateOrUpdateVersion();
+		existing.id = 1;
+		existing.stuff = "first";
+		assertEquals(1, dao.create(existing));
+		existing.stuff = "second";
+		int version = existing.version;
+		CreateOrUpdateVersion created = new CreateOrUpdateVersion();
+		created.id = 2;
+		created.stuff = "third";
+		assertEquals(2, dao.createOrUpdateAll(Arrays.asList(existing, created)));
+		CreateOrUpdateVersion result = dao.queryForId(1);
+		assertEquals("second", result.stuff);
+		assertEquals(version + 1, result.version);
+		assertEquals("third", dao.queryForId(2).stuff);
+	}
+
 	@Test
 	public void testCreateOrUpdateNull() throws Exception {
 		Dao<Foo, Integer> dao = createDao(Foo.class, true);
@@ -2840,6 +2983,26 @@ public class BaseDaoImplTest extends BaseCoreTest {
 		}
 	}
 
+	@Test
+	public void testCreateCollectionBatchSize() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		for (int batchSize : new int[] { 1, 7, 1000 }) {
+			dao.setCreateBatchSize(batchSize);
+			int numToCreate = 50;
+			List<Foo> fooList = new ArrayList<Foo>(numToCreate);
+			for (int i = 0; i < numToCreate; i++) {
+				Foo foo = new Foo();
+				foo.val = i;
+				fooList.add(foo);
+			}
+			assertEquals(numToCreate, dao.create(fooList));
+			for (int i = 0; i < numToCreate; i++) {
+				Foo result = dao.queryForId(fooList.get(i).id);
+				assertEquals(i, result.val);
+			}
+		}
+	}
+
 	@Test
 	public void testDaoObserver() throws Exception {
 		Dao<Foo, Integer> dao = createDao(Foo.class, true);
@@ -3044,14 +3207,284 @@ public class BaseDaoImplTest extends BaseCoreTest {
 		dao.delete(result);
 	}
 
+	@Test
+	public void testCreateIfNotExistsLostRace() throws Exception {
+		ConnectionSource pooledConnectionSource = new H2PooledConnectionSource();
+		try {
+			Dao<IntId, Integer> dao = createDao(pooledConnectionSource, IntId.class, true);
+			IntId existing = new IntId(1, 10);
+			assertEquals(1, dao.create(existing));
+			// simulate another thread creating the row after our query
+			MissFirstQueryDao raceDao = new MissFirstQueryDao(pooledConnectionSource);
+			configDao(pooledConnectionSource, raceDao, false);
+
+			IntId result = raceDao.createIfNotExists(new IntId(1, 20));
+			assertNotNull(result);
+			assertEquals(10, result.val);
+
+			raceDao.first = true;
+			IntId result2 = raceDao.createIfNotExists(1, () -> new IntId(1, 30));
+			assertNotNull(result2);
+			assertEquals(10, result2.val);
+
+			// a create that fails for another reason still throws
+			assertThrowsExactly(SQLException.class, () -> raceDao.createIfNotExists(new IntId(2, 40, true)));
+			assertEquals(1, dao.countOf());
+		} finally {
+			pooledConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testCreateOrUpdateLostRace() throws Exception {
+		ConnectionSource pooledConnectionSource = new H2PooledConnectionSource();
+		try {
+			Dao<IntId, Integer> dao = createDao(pooledConnectionSource, IntId.class, true);
+			assertEquals(1, dao.create(new IntId(1, 10)));
+			// simulate another thread creating the row after our exists check
+			BaseDaoImpl<IntId, Integer> raceDao = new MissFirstQueryDao(pooledConnectionSource);
+			configDao(pooledConnectionSource, raceDao, false);
+
+			CreateOrUpdateStatus status = raceDao.createOrUpdate(new IntId(1, 20));
+			assertFalse(status.isCreated());
+			assertTrue(status.isUpdated());
+			assertEquals(1, status.getNumLinesChanged());
+			assertEquals(20, dao.queryForId(1).val);
+			assertEquals(1, dao.countOf());
+		} finally {
+			pooledConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testCreateOrUpdateConcurrent() throws Exception {
+		ConnectionSource pooledConnectionSource = new H2PooledConnectionSource();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Dao<IntId, Integer> dao = createDao(pooledConnectionSource, IntId.class, true);
+			List<Future<IntId>> futures = new ArrayList<Future<IntId>>();
+			for (int i = 0; i < 200; i++) {
+				final int val = i;
+				futures.add(executor.submit(() -> {
+					// all of the threads fight over a handful of ids
+					IntId intId = new IntId(val % 5, val);
+					if (val % 2 == 0) {
+						dao.createOrUpdate(intId);
+						return intId;
+					} else {
+						return dao.createIfNotExists(intId);
+					}
+				}));
+			}
+			for (Future<IntId> future : futures) {
+				assertNotNull(future.get());
+			}
+			assertEquals(5, dao.countOf());
+		} finally {
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+			pooledConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testQueryWithArguments() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < 10; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			foo.stringField = (i % 2 == 0 ? "even" : "odd");
+			assertEquals(1, dao.create(foo));
+			foos.add(foo);
+		}
+		PreparedQuery<Foo> preparedQuery = dao.queryBuilder()
+				.where()
+				.ge(Foo.VAL_COLUMN_NAME, new SelectArg())
+				.and()
+				.eq(Foo.STRING_COLUMN_NAME, new SelectArg())
+				.prepare();
+		assertEquals(2, preparedQuery.getNumArgumentValues());
+		List<Foo> results = dao.query(preparedQuery, 5, "odd");
+		assertEquals(3, results.size());
+		assertEquals(foos.get(5).id, results.get(0).id);
+		assertEquals(2, dao.query(preparedQuery, 6, "even").size());
+		assertEquals(foos.get(8).id, dao.queryForFirst(preparedQuery, 7, "even").id);
+		assertNull(dao.queryForFirst(preparedQuery, 100, "even"));
+		// the arguments of the prepared query itself were never set
+		assertThrowsExactly(SQLException.class, () -> dao.query(preparedQuery));
+		assertThrowsExactly(SQLException.class, () -> dao.query(preparedQuery, 1));
+
+		// an argument used twice only takes one value
+		SelectArg valArg = new SelectArg();
+		PreparedQuery<Foo> sharedQuery = dao.queryBuilder()
+				.where()
+				.ge(Foo.VAL_COLUMN_NAME, valArg)
+				.and()
+				.le(Foo.VAL_COLUMN_NAME, valArg)
+				.prepare();
+		assertEquals(1, sharedQuery.getNumArgumentValues());
+		assertEquals(2, sharedQuery.getNumArgs());
+		assertEquals(1, dao.query(sharedQuery, 4).size());
+
+		PreparedQuery<Foo> inQuery = dao.queryBuilder()
+				.where()
+				.in(Foo.ID_COLUMN_NAME, new SelectArg(), new SelectArg(), new SelectArg())
+				.prepare();
+		assertEquals(3, inQuery.getNumArgumentValues());
+		assertEquals(3, inQuery.getNumArgs());
+		assertEquals(3, dao.query(inQuery, foos.get(1).id, foos.get(2).id, foos.get(3).id).size());
+		assertEquals(1, dao.query(inQuery, foos.get(1).id, foos.get(1).id, foos.get(1).id).size());
+	}
+
+	@Test
+	public void testQueryWithArgumentsConcurrent() throws Exception {
+		// the wrapped connection source used by the other tests is not thread-safe
+		ConnectionSource h2ConnectionSource = new H2ConnectionSource();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Dao<Foo, Integer> dao = createDao(h2ConnectionSource, Foo.class, true);
+			List<Foo> foos = new ArrayList<Foo>();
+			for (int i = 0; i < 20; i++) {
+				Foo foo = new Foo();
+				foo.val = i;
+				assertEquals(1, dao.create(foo));
+				foos.add(foo);
+			}
+			// one query shared by all of the threads
+			PreparedQuery<Foo> preparedQuery =
+					dao.queryBuilder().where().eq(Foo.VAL_COLUMN_NAME, new SelectArg()).prepare();
+			List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+			for (int i = 0; i < 400; i++) {
+				final Foo foo = foos.get(i % foos.size());
+				futures.add(executor.submit(() -> {
+					List<Foo> results = dao.query(preparedQuery, foo.val);
+					return (results.size() == 1 && results.get(0).id == foo.id);
+				}));
+			}
+			for (Future<Boolean> future : futures) {
+				assertTrue(future.get());
+			}
+		} finally {
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+			h2ConnectionSource.close();
+		}
+	}
+
+	@Test
+	@Disabled("Only to be run once and a while")
+	public void testCreateOrUpdateContention() throws Exception {
+		int numThreads = 8;
+		int numPerThread = 2000;
+		ConnectionSource singleConnectionSource = new H2ConnectionSource();
+		try {
+			long millis = runContention(singleConnectionSource, numThreads, numPerThread);
+			System.out.println("single connection: " + numThreads + " threads took " + millis + "ms");
+		} finally {
+			singleConnectionSource.close();
+		}
+		ConnectionSource pooledConnectionSource = new H2PooledConnectionSource();
+		try {
+			long millis = runContention(pooledConnectionSource, numThreads, numPerThread);
+			System.out.println("pooled connections: " + numThreads + " threads took " + millis + "ms");
+		} finally {
+			pooledConnectionSource.close();
+		}
+	}
+
 	/* ============================================================================================== */
 
+	private long runContention(ConnectionSource cs, int numThreads, int numPerThread) throws Exception {
+		Dao<IntId, Integer> dao = createDao(cs, IntId.class, true);
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		try {
+			CountDownLatch startLatch = new CountDownLatch(1);
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			for (int i = 0; i < numThreads; i++) {
+				futures.add(executor.submit(() -> {
+					startLatch.await();
+					for (int j = 0; j < numPerThread; j++) {
+						// mostly distinct ids with some overlap between the threads
+						dao.createOrUpdate(new IntId(j * numThreads / 2 + (int) (Thread.currentThread().getId() % 4),
+								j));
+						dao.createIfNotExists(new IntId(j, j));
+					}
+					return null;
+				}));
+			}
+			long start = System.currentTimeMillis();
+			startLatch.countDown();
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+			return System.currentTimeMillis() - start;
+		} finally {
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+			TableUtils.dropTable(cs, IntId.class, true);
+		}
+	}
+
 	private <T> T getFirstResult(Dao<T, ?> dao) throws SQLException {
 		List<T> results = dao.queryForAll();
 		assertEquals(1, results.size());
 		return results.get(0);
 	}
 
+	protected static class IntId {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField
+		int val;
+		@DatabaseField(canBeNull = false)
+		String notNull = "";
+
+		public IntId() {
+		}
+
+		public IntId(int id, int val) {
+			this.id = id;
+			this.val = val;
+		}
+
+		public IntId(int id, int val, boolean nullField) {
+			this(id, val);
+			if (nullField) {
+				this.notNull = null;
+			}
+		}
+	}
+
+	/**
+	 * Dao which doesn't find the first object that it queries for as if another thread created it right afterwards.
+	 */
+	private static class MissFirstQueryDao extends BaseDaoImpl<IntId, Integer> {
+		boolean first = true;
+
+		public MissFirstQueryDao(ConnectionSource connectionSource) throws SQLException {
+			super(connectionSource, IntId.class);
+		}
+
+		@Override
+		public IntId queryForId(Integer id) throws SQLException {
+			if (first) {
+				first = false;
+				return null;
+			}
+			return super.queryForId(id);
+		}
+
+		@Override
+		public boolean idExists(Integer id) throws SQLException {
+			if (first) {
+				first = false;
+				return false;
+			}
+			return super.idExists(id);
+		}
+	}
+
 	private static class ResultsMapper implements DatabaseResultsMapper<Foo> {
 		@Override
 		public Foo mapRow(DatabaseResults databaseResults) throws SQLException {
@@ -3195,6 +3628,18 @@ public class BaseDaoImplTest extends BaseCoreTest {
 		String stuff;
 	}
 
+	protected static class CreateOrUpdateVersion {
+		@DatabaseField(id = true)
+		public int id;
+		@DatabaseField
+		public String stuff;
+		@DatabaseField(version = true)
+		public int version;
+
+		public CreateOrUpdateVersion() {
+		}
+	}
+
 	protected static class CreateOrUpdateObjectId {
 		@DatabaseField(generatedId = true)
 		public Integer id;
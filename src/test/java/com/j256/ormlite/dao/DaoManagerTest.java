@@ -3,18 +3,25 @@ package com.j256.ormlite.dao;
 import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.replay;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
 import com.j256.ormlite.BaseCoreTest;
@@ -247,6 +254,80 @@ public class DaoManagerTest extends BaseCoreTest {
 		assertNotNull(DaoManager.createDao(connectionSource, MoreComplexLoopFour.class));
 	}
 
+	@Test
+	public void testCreateDaos() throws Exception {
+		List<Class<?>> classes = Arrays.asList(MoreComplexLoopOne.class, MoreComplexLoopTwo.class,
+				MoreComplexLoopThree.class, MoreComplexLoopFour.class, LoopOne.class, LoopTwo.class,
+				SelfReference.class, Foo.class, Bar.class, Baz.class);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Map<Class<?>, Dao<?, ?>> daoMap = DaoManager.createDaos(connectionSource, classes, executor);
+			assertEquals(classes.size(), daoMap.size());
+			for (Class<?> clazz : classes) {
+				Dao<?, ?> dao = daoMap.get(clazz);
+				assertNotNull(dao);
+				assertSame(clazz, dao.getDataClass());
+				assertSame(dao, DaoManager.lookupDao(connectionSource, clazz));
+			}
+			// custom dao class
+			assertTrue(daoMap.get(Baz.class) instanceof BazDao);
+
+			// second time they all come from the cache
+			Map<Class<?>, Dao<?, ?>> cachedMap = DaoManager.createDaos(connectionSource, classes, null);
+			for (Class<?> clazz : classes) {
+				assertSame(daoMap.get(clazz), cachedMap.get(clazz));
+			}
+		} finally {
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		}
+		assertThrowsExactly(IllegalArgumentException.class, () -> DaoManager.createDaos(null, classes, null));
+	}
+
+	@Test
+	public void testCreateDaosFailure() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			assertThrowsExactly(SQLException.class, () -> DaoManager.createDaos(connectionSource,
+					Arrays.asList(Foo.class, PrivateConstructor.class), executor));
+		} finally {
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	@Disabled("Only to be run once and a while")
+	public void testCreateDaosStartup() throws Exception {
+		List<Class<?>> classes = Arrays.asList(MoreComplexLoopOne.class, MoreComplexLoopTwo.class,
+				MoreComplexLoopThree.class, MoreComplexLoopFour.class, LoopOne.class, LoopTwo.class,
+				SelfReference.class, Foo.class, Bar.class, Baz.class, RegisterClass.class, Foreign.class);
+		int numIterations = 2000;
+		ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		try {
+			for (int pass = 0; pass < 2; pass++) {
+				long start = System.currentTimeMillis();
+				for (int i = 0; i < numIterations; i++) {
+					DaoManager.clearCache();
+					for (Class<?> clazz : classes) {
+						DaoManager.createDao(connectionSource, clazz);
+					}
+				}
+				System.out.println("one at a time: " + numIterations + " startups took "
+						+ (System.currentTimeMillis() - start) + "ms");
+				start = System.currentTimeMillis();
+				for (int i = 0; i < numIterations; i++) {
+					DaoManager.clearCache();
+					DaoManager.createDaos(connectionSource, classes, executor);
+				}
+				System.out.println("createDaos: " + numIterations + " startups took "
+						+ (System.currentTimeMillis() - start) + "ms");
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 	/* ================================================================== */
 
 	private <T> void testClass(Class<T> clazz) throws Exception {
@@ -0,0 +1,320 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.misc.TransactionManager;
+import com.j256.ormlite.stmt.UpdateBuilder;
+import com.j256.ormlite.stmt.mapped.MappedUpdate;
+import com.j256.ormlite.support.DatabaseConnection;
+import com.j256.ormlite.table.TableInfo;
+
+public class DirtyFieldTrackerTest extends BaseCoreTest {
+
+	@Test
+	public void testPartialUpdate() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		assertFalse(dao.isDirtyFieldTracking());
+		dao.setDirtyFieldTracking(true);
+		assertTrue(dao.isDirtyFieldTracking());
+
+		Foo foo = new Foo();
+		foo.val = 1;
+		foo.equal = 2;
+		assertEquals(1, dao.create(foo));
+		Foo result = dao.queryForId(foo.id);
+		assertNotNull(result);
+
+		// change a different column behind the dao's back
+		changeEqual(dao, foo.id, 100);
+		result.val = 3;
+		assertEquals(1, dao.update(result));
+		Foo check = dao.queryForId(foo.id);
+		assertEquals(3, check.val);
+		// only the val column was written
+		assertEquals(100, check.equal);
+
+		// without tracking all of the columns are written again
+		dao.setDirtyFieldTracking(false);
+		changeEqual(dao, foo.id, 200);
+		check.val = 4;
+		assertEquals(1, dao.update(check));
+		assertEquals(100, dao.queryForId(foo.id).equal);
+	}
+
+	@Test
+	public void testUnchangedSkipped() throws Exception {
+		Dao<VersionFoo, Integer> dao = createDao(VersionFoo.class, true);
+		dao.setDirtyFieldTracking(true);
+		VersionFoo foo = new VersionFoo();
+		foo.stuff = "hello";
+		assertEquals(1, dao.create(foo));
+		// no snapshot after the create so everything is written
+		assertEquals(1, dao.update(foo));
+		assertEquals(1, foo.version);
+
+		VersionFoo result = dao.queryForId(foo.id);
+		assertEquals(1, dao.update(result));
+		// nothing changed so the version is not moved
+		assertEquals(1, result.version);
+		assertEquals(1, dao.queryForId(foo.id).version);
+
+		result.stuff = "there";
+		assertEquals(1, dao.update(result));
+		assertEquals(2, result.version);
+		VersionFoo check = dao.queryForId(foo.id);
+		assertEquals("there", check.stuff);
+		assertEquals(2, check.version);
+
+		// the version still protects the partial updates
+		result.stuff = "stale";
+		assertEquals(1, dao.update(check));
+		check.stuff = "newer";
+		assertEquals(1, dao.update(check));
+		assertEquals(0, dao.update(result));
+		assertEquals("newer", dao.queryForId(foo.id).stuff);
+	}
+
+	@Test
+	public void testRollbackThenRetry() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setDirtyFieldTracking(true);
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+		Foo result = dao.queryForId(foo.id);
+		result.val = 5;
+		assertThrowsExactly(SQLException.class, () -> {
+			TransactionManager.callInTransaction(connectionSource, () -> {
+				assertEquals(1, dao.update(result));
+				throw new SQLException("rollback");
+			});
+		});
+		// counting doesn't snapshot the rows
+		assertEquals(0, countVal(dao, 5));
+
+		// the retry is not skipped because the rolled back values were not remembered
+		assertEquals(1, dao.update(result));
+		assertEquals(1, countVal(dao, 5));
+	}
+
+	@Test
+	public void testRefreshInTransaction() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setDirtyFieldTracking(true);
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+		Foo result = dao.queryForId(foo.id);
+		assertThrowsExactly(SQLException.class, () -> {
+			TransactionManager.callInTransaction(connectionSource, () -> {
+				changeEqual(dao, foo.id, 100);
+				assertEquals(1, dao.refresh(result));
+				assertEquals(100, result.equal);
+				throw new SQLException("rollback");
+			});
+		});
+		// the refreshed value was rolled back so it must be written
+		assertEquals(1, dao.update(result));
+		assertEquals(100, dao.queryForId(foo.id).equal);
+	}
+
+	@Test
+	public void testByteArray() throws Exception {
+		Dao<VersionFoo, Integer> dao = createDao(VersionFoo.class, true);
+		dao.setDirtyFieldTracking(true);
+		VersionFoo foo = new VersionFoo();
+		foo.bytes = new byte[] { 1, 2, 3 };
+		assertEquals(1, dao.create(foo));
+		VersionFoo result = dao.queryForId(foo.id);
+		// changing the array in place is seen
+		result.bytes[1] = 10;
+		assertEquals(1, dao.update(result));
+		assertEquals(1, result.version);
+		// an equal array is not a change
+		result.bytes = new byte[] { 1, 10, 3 };
+		assertEquals(1, dao.update(result));
+		assertEquals(1, result.version);
+
+		VersionFoo check = dao.queryForId(foo.id);
+		assertArrayEquals(new byte[] { 1, 10, 3 }, check.bytes);
+		assertEquals(1, check.version);
+		// the snapshot is now of the latest query so the older object writes all of its fields
+		assertEquals(1, dao.update(result));
+		assertEquals(2, result.version);
+	}
+
+	@Test
+	public void testRefresh() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setDirtyFieldTracking(true);
+		Foo foo = new Foo();
+		foo.val = 1;
+		assertEquals(1, dao.create(foo));
+		changeEqual(dao, foo.id, 100);
+		assertEquals(1, dao.refresh(foo));
+		assertEquals(100, foo.equal);
+
+		changeEqual(dao, foo.id, 200);
+		foo.val = 2;
+		assertEquals(1, dao.update(foo));
+		Foo check = dao.queryForId(foo.id);
+		assertEquals(2, check.val);
+		assertEquals(200, check.equal);
+	}
+
+	@Test
+	public void testPartialSelect() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setDirtyFieldTracking(true);
+		Foo foo = new Foo();
+		foo.val = 1;
+		foo.equal = 2;
+		assertEquals(1, dao.create(foo));
+		Foo result = dao.queryBuilder().selectColumns(Foo.VAL_COLUMN_NAME).where().idEq(foo.id).queryForFirst();
+		assertEquals(0, result.equal);
+		// the equal column wasn't read so it is written
+		assertEquals(1, dao.update(result));
+		assertEquals(0, dao.queryForId(foo.id).equal);
+	}
+
+	@Test
+	public void testDifferentInstance() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setDirtyFieldTracking(true);
+		Foo foo = new Foo();
+		foo.val = 1;
+		assertEquals(1, dao.create(foo));
+		Foo result = dao.queryForId(foo.id);
+		changeEqual(dao, foo.id, 100);
+		// the snapshot is of the result so the other instance writes all of its fields
+		Foo other = new Foo();
+		other.id = foo.id;
+		other.val = result.val;
+		assertEquals(1, dao.update(other));
+		assertEquals(0, dao.queryForId(foo.id).equal);
+	}
+
+	@Test
+	public void testDeleted() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		dao.setDirtyFieldTracking(true);
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+		Foo result = dao.queryForId(foo.id);
+		assertEquals(1, dao.deleteById(foo.id));
+		// not skipped because we forgot about it when it was deleted
+		assertEquals(0, dao.update(result));
+
+		assertEquals(1, dao.create(foo));
+		result = dao.queryForId(foo.id);
+		assertEquals(1, dao.delete(result));
+		assertEquals(0, dao.update(result));
+	}
+
+	@Test
+	public void testStatementsCached() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		TableInfo<Foo, Integer> tableInfo = ((BaseDaoImpl<Foo, Integer>) dao).getTableInfo();
+		DirtyFieldTracker<Foo, Integer> tracker = new DirtyFieldTracker<Foo, Integer>(tableInfo);
+		MappedUpdate<Foo, Integer> mappedUpdate = MappedUpdate.build(dao, tableInfo);
+
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+		tracker.snapshot(foo);
+		assertEquals(1, tracker.size());
+		DatabaseConnection conn = connectionSource.getReadWriteConnection(FOO_TABLE_NAME);
+		try {
+			assertEquals(1, mappedUpdate.update(conn, foo, null, tracker));
+			assertEquals(0, mappedUpdate.getPartialUpdateCount());
+			foo.val = 1;
+			assertEquals(1, mappedUpdate.update(conn, foo, null, tracker));
+			foo.val = 2;
+			assertEquals(1, mappedUpdate.update(conn, foo, null, tracker));
+			assertEquals(1, mappedUpdate.getPartialUpdateCount());
+			foo.equal = 3;
+			assertEquals(1, mappedUpdate.update(conn, foo, null, tracker));
+			assertEquals(2, mappedUpdate.getPartialUpdateCount());
+			// all of the fields uses the full statement
+			foo.val = 4;
+			foo.equal = 5;
+			foo.stringField = "stuff";
+			assertEquals(1, mappedUpdate.update(conn, foo, null, tracker));
+			assertEquals(2, mappedUpdate.getPartialUpdateCount());
+		} finally {
+			connectionSource.releaseConnection(conn);
+		}
+		Foo check = dao.queryForId(foo.id);
+		assertEquals(4, check.val);
+		assertEquals(5, check.equal);
+		assertEquals("stuff", check.stringField);
+	}
+
+	@Test
+	public void testFindDirtyFields() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, false);
+		TableInfo<Foo, Integer> tableInfo = ((BaseDaoImpl<Foo, Integer>) dao).getTableInfo();
+		DirtyFieldTracker<Foo, Integer> tracker = new DirtyFieldTracker<Foo, Integer>(tableInfo);
+		Foo foo = new Foo();
+		foo.id = 1;
+		assertNull(tracker.findDirtyFields(foo));
+		tracker.snapshot(foo);
+		assertTrue(tracker.findDirtyFields(foo).isEmpty());
+		foo.stringField = "changed";
+		BitSet expected = new BitSet();
+		expected.set(Arrays.asList(tableInfo.getFieldTypes()).indexOf(tableInfo.getFieldTypeByColumnName(
+				Foo.STRING_COLUMN_NAME)));
+		assertEquals(expected, tracker.findDirtyFields(foo));
+		tracker.remove(foo);
+		assertNull(tracker.findDirtyFields(foo));
+		assertEquals(0, tracker.size());
+
+		// an equal string is not a change
+		tracker.snapshot(foo);
+		foo.stringField = new String("changed");
+		assertTrue(tracker.findDirtyFields(foo).isEmpty());
+		tracker.clear();
+		assertEquals(0, tracker.size());
+	}
+
+	@Test
+	public void testNoId() throws Exception {
+		Dao<NoId, Void> dao = createDao(NoId.class, false);
+		assertThrowsExactly(SQLException.class, () -> dao.setDirtyFieldTracking(true));
+		assertFalse(dao.isDirtyFieldTracking());
+		dao.setDirtyFieldTracking(false);
+	}
+
+	private long countVal(Dao<Foo, Integer> dao, int val) throws SQLException {
+		return dao.queryBuilder().where().eq(Foo.VAL_COLUMN_NAME, val).countOf();
+	}
+
+	private void changeEqual(Dao<Foo, Integer> dao, int id, int equal) throws SQLException {
+		UpdateBuilder<Foo, Integer> updateBuilder = dao.updateBuilder();
+		updateBuilder.updateColumnValue(Foo.EQUAL_COLUMN_NAME, equal).where().idEq(id);
+		assertEquals(1, updateBuilder.update());
+	}
+
+	protected static class VersionFoo {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField
+		String stuff;
+		@DatabaseField(dataType = DataType.BYTE_ARRAY)
+		byte[] bytes;
+		@DatabaseField(version = true)
+		int version;
+	}
+}
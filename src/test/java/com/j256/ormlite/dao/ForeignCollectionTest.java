@@ -30,6 +30,7 @@ import com.j256.ormlite.BaseCoreTest;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.DatabaseFieldConfig;
 import com.j256.ormlite.field.ForeignCollectionField;
+import com.j256.ormlite.stmt.Page;
 import com.j256.ormlite.table.DatabaseTableConfig;
 
 public class ForeignCollectionTest extends BaseCoreTest {
@@ -191,6 +192,118 @@ public class ForeignCollectionTest extends BaseCoreTest {
 		}
 	}
 
+	@Test
+	public void testLazyCollectionQueryPage() throws Exception {
+		Dao<LazyNode, Integer> nodeDao = createDao(LazyNode.class, true);
+		Dao<LazyConnection, Integer> connDao = createDao(LazyConnection.class, true);
+
+		LazyNode node1 = new LazyNode();
+		assertEquals(1, nodeDao.create(node1));
+		LazyNode node2 = new LazyNode();
+		assertEquals(1, nodeDao.create(node2));
+		List<LazyConnection> conns = new ArrayList<LazyConnection>();
+		for (int i = 0; i < 7; i++) {
+			LazyConnection conn = new LazyConnection();
+			conn.from = node1;
+			conn.to = node2;
+			assertEquals(1, connDao.create(conn));
+			conns.add(conn);
+		}
+		// one that shouldn't be in the collection
+		LazyConnection other = new LazyConnection();
+		other.from = node2;
+		assertEquals(1, connDao.create(other));
+
+		LazyNode result = nodeDao.queryForId(node1.id);
+		assertFalse(result.froms.isEager());
+		List<LazyConnection> paged = new ArrayList<LazyConnection>();
+		String cursor = null;
+		int pageCount = 0;
+		do {
+			Page<LazyConnection> page = result.froms.queryPage(cursor, 3);
+			assertTrue(page.getResults().size() <= 3);
+			paged.addAll(page.getResults());
+			cursor = page.getNextCursor();
+			pageCount++;
+		} while (cursor != null);
+		assertEquals(3, pageCount);
+		assertEquals(conns, paged);
+	}
+
+	@Test
+	public void testEagerCollectionBatch() throws Exception {
+		Dao<AccountOrdered, Integer> accountDao = createDao(AccountOrdered.class, true);
+		Dao<OrderOrdered, Integer> orderDao = createDao(OrderOrdered.class, true);
+		accountDao.setForeignCollectionBatchSize(2);
+
+		int numAccounts = 5;
+		int val = 100;
+		List<AccountOrdered> accounts = new ArrayList<AccountOrdered>();
+		for (int i = 0; i < numAccounts; i++) {
+			AccountOrdered account = new AccountOrdered();
+			account.name = "account" + i;
+			assertEquals(1, accountDao.create(account));
+			accounts.add(account);
+			// the last account has no orders
+			for (int j = 0; j < numAccounts - 1 - i; j++) {
+				OrderOrdered order = new OrderOrdered();
+				// create them with descending vals so we can test the ordering
+				order.val = val--;
+				order.account = account;
+				assertEquals(1, orderDao.create(order));
+			}
+		}
+
+		List<AccountOrdered> results = accountDao.queryBuilder().orderBy("id", true).query();
+		assertEquals(numAccounts, results.size());
+		for (int i = 0; i < numAccounts; i++) {
+			AccountOrdered result = results.get(i);
+			assertEquals(accounts.get(i).id, result.id);
+			assertTrue(result.orders.isEager());
+			assertEquals(numAccounts - 1 - i, result.orders.size());
+			int lastVal = 0;
+			for (OrderOrdered order : result.orders) {
+				assertTrue(order.val > lastVal);
+				lastVal = order.val;
+				// the parent should be set on the children
+				assertSame(result, order.account);
+			}
+		}
+
+		// the collection should still be connected to the dao
+		AccountOrdered result = results.get(numAccounts - 1);
+		OrderOrdered order = new OrderOrdered();
+		order.val = 1000;
+		assertTrue(result.orders.add(order));
+		assertEquals(result.id, orderDao.queryForId(order.id).account.id);
+	}
+
+	@Test
+	public void testEagerCollectionBatchLevel() throws Exception {
+		Dao<RecursiveReferenceEagerLevelTwo, Object> dao = createDao(RecursiveReferenceEagerLevelTwo.class, true);
+		dao.setForeignCollectionBatchSize(10);
+		RecursiveReferenceEagerLevelTwo rr1 = new RecursiveReferenceEagerLevelTwo();
+		rr1.stuff = "fpeewifwfwehwhgwofjwe";
+		assertEquals(1, dao.create(rr1));
+		rr1.parent = rr1;
+		assertEquals(1, dao.update(rr1));
+
+		List<RecursiveReferenceEagerLevelTwo> results = dao.queryForAll();
+		assertEquals(1, results.size());
+		RecursiveReferenceEagerLevelTwo result = results.get(0);
+		// 0th level is batched and eager
+		assertTrue(result.related.isEager());
+		assertEquals(1, result.related.size());
+		RecursiveReferenceEagerLevelTwo rrResult = result.related.iterator().next();
+		assertSame(result, rrResult.parent);
+		// 1st level is eager
+		assertTrue(rrResult.related.isEager());
+		assertEquals(1, rrResult.related.size());
+		rrResult = rrResult.related.iterator().next();
+		// but the 2nd level is lazy
+		assertFalse(rrResult.related.isEager());
+	}
+
 	@Test
 	public void testNotProperCollection() {
 		assertThrowsExactly(SQLException.class, () -> {
@@ -3,6 +3,7 @@ package com.j256.ormlite.dao;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
@@ -262,6 +263,82 @@ public class ForeignObjectTest extends BaseCoreTest {
 		assertEquals(parents.size(), parentDao.countOf());
 	}
 
+	@Test
+	public void testForeignAutoRefreshBatch() throws Exception {
+		Dao<Question, Object> questionDao = createDao(Question.class, true);
+		Dao<Answer, Object> answerDao = createDao(Answer.class, true);
+		List<Question> questions = new ArrayList<Question>();
+		for (int i = 0; i < 3; i++) {
+			Question question = new Question();
+			question.name = "question " + i;
+			assertEquals(1, questionDao.create(question));
+			questions.add(question);
+		}
+		for (int i = 0; i < 7; i++) {
+			Answer answer = new Answer();
+			answer.val = i;
+			answer.question = questions.get(i % questions.size());
+			assertEquals(1, answerDao.create(answer));
+		}
+		Answer noQuestion = new Answer();
+		noQuestion.val = 100;
+		assertEquals(1, answerDao.create(noQuestion));
+		Answer missingQuestion = new Answer();
+		missingQuestion.val = 101;
+		missingQuestion.question = new Question();
+		missingQuestion.question.id = 1000;
+		assertEquals(1, answerDao.create(missingQuestion));
+
+		List<Answer> expected = answerDao.queryBuilder().orderBy("val", true).query();
+		answerDao.setForeignAutoRefreshBatchSize(2);
+		List<Answer> results = answerDao.queryBuilder().orderBy("val", true).query();
+		assertEquals(expected.size(), results.size());
+		for (int i = 0; i < 7; i++) {
+			Question exp = expected.get(i).question;
+			Question result = results.get(i).question;
+			assertEquals(exp.id, result.id);
+			assertEquals(exp.name, result.name);
+			assertEquals(exp.answers.size(), result.answers.size());
+			// each question is only queried once for all of the rows
+			assertSame(result, results.get(i % questions.size()).question);
+		}
+		assertNull(results.get(7).question);
+		// like the query-for-id, the field is null if the foreign object doesn't exist
+		assertNull(expected.get(8).question);
+		assertNull(results.get(8).question);
+
+		// the auto-refresh level is honored so the third level down is just a shell with the id
+		Question question = questions.get(0);
+		question.bestAnswer = expected.get(1);
+		assertEquals(1, questionDao.update(question));
+		results = answerDao.queryBuilder().orderBy("val", true).query();
+		Answer bestAnswer = results.get(0).question.bestAnswer;
+		assertNotNull(bestAnswer);
+		assertEquals(expected.get(1).id, bestAnswer.id);
+		assertEquals(expected.get(1).val, bestAnswer.val);
+		assertEquals(questions.get(1).id, bestAnswer.question.id);
+		assertNull(bestAnswer.question.name);
+	}
+
+	@Test
+	public void testForeignAutoRefreshBatchColumnName() throws Exception {
+		Dao<Parent, Integer> parentDao = createDao(Parent.class, true);
+		createTable(Child.class, true);
+		parentDao.setForeignAutoRefreshBatchSize(100);
+		for (int i = 0; i < 5; i++) {
+			Parent parent = new Parent();
+			parent.child = new Child();
+			parent.child.api_id = 1000 + i;
+			assertEquals(1, parentDao.create(parent));
+		}
+		List<Parent> results = parentDao.queryForAll();
+		assertEquals(5, results.size());
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(1000 + i, results.get(i).child.api_id);
+			assertTrue(results.get(i).child.id != 0);
+		}
+	}
+
 	/* ====================================================== */
 
 	protected static class Question {
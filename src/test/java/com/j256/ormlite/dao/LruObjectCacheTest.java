@@ -2,6 +2,7 @@ package com.j256.ormlite.dao;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.junit.jupiter.api.Test;
@@ -99,6 +100,34 @@ public class LruObjectCacheTest extends BaseObjectCacheTest {
 		assertSame(foo2, foo3);
 	}
 
+	@Test
+	public void testStats() throws Exception {
+		LruObjectCache cache = new LruObjectCache(2);
+		assertNull(cache.getStats(Foo.class));
+		cache.registerClass(Foo.class);
+		assertNull(cache.get(Foo.class, 1));
+		Foo foo = new Foo();
+		cache.put(Foo.class, 1, foo);
+		assertSame(foo, cache.get(Foo.class, 1));
+		cache.put(Foo.class, 2, new Foo());
+		cache.put(Foo.class, 3, new Foo());
+
+		ObjectCacheStats stats = cache.getStats(Foo.class);
+		assertEquals(1, stats.getHitCount());
+		assertEquals(1, stats.getMissCount());
+		assertEquals(3, stats.getPutCount());
+		assertEquals(1, stats.getEvictionCount());
+		assertEquals(0, stats.getReferenceClearedCount());
+		assertEquals(2, stats.getSize());
+		assertEquals(0.5, stats.getHitRatio(), 0.0);
+
+		cache.registerClass(WithId.class);
+		cache.put(WithId.class, 1, new WithId());
+		stats = cache.getStatsAll();
+		assertEquals(4, stats.getPutCount());
+		assertEquals(3, stats.getSize());
+	}
+
 	@Override
 	protected ObjectCache enableCache(Dao<?, ?> dao) throws Exception {
 		LruObjectCache cache = new LruObjectCache(10);
@@ -2,6 +2,7 @@ package com.j256.ormlite.dao;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.junit.jupiter.api.Test;
@@ -64,6 +65,67 @@ public class ReferenceObjectCacheTest extends BaseObjectCacheTest {
 		assertEquals(0, cache.size(Foo.class));
 	}
 
+	@Test
+	public void testStats() throws Exception {
+		ReferenceObjectCache cache = ReferenceObjectCache.makeWeakCache();
+		assertNull(cache.getStats(Foo.class));
+		cache.registerClass(Foo.class);
+		assertNull(cache.get(Foo.class, 1));
+		Foo foo = new Foo();
+		cache.put(Foo.class, 1, foo);
+		assertSame(foo, cache.get(Foo.class, 1));
+		cache.put(Foo.class, 2, new Foo());
+
+		System.gc();
+		cache.cleanNullReferences(Foo.class);
+		ObjectCacheStats stats = cache.getStats(Foo.class);
+		assertEquals(1, stats.getHitCount());
+		assertEquals(1, stats.getMissCount());
+		assertEquals(2, stats.getPutCount());
+		assertEquals(0, stats.getEvictionCount());
+		assertEquals(1, stats.getReferenceClearedCount());
+		assertEquals(1, stats.getSize());
+		assertEquals(stats.getPutCount(), cache.getStatsAll().getPutCount());
+		System.out.println("Foo = " + foo);
+	}
+
+	@Test
+	public void testReferenceQueue() throws Exception {
+		ReferenceObjectCache cache = ReferenceObjectCache.makeWeakCache();
+		cache.registerClass(Foo.class);
+		cache.put(Foo.class, 1, new Foo());
+		// update-id moves the entry which needs to be cleaned up with the new id
+		cache.updateId(Foo.class, 1, 2);
+		assertEquals(1, cache.size(Foo.class));
+		for (int i = 0; i < 100 && cache.size(Foo.class) > 0; i++) {
+			System.gc();
+			Thread.sleep(10);
+			cache.drainReferenceQueue();
+		}
+		assertEquals(0, cache.size(Foo.class));
+		assertEquals(1, cache.getStats(Foo.class).getReferenceClearedCount());
+	}
+
+	@Test
+	public void testCleanupThread() throws Exception {
+		ReferenceObjectCache cache = ReferenceObjectCache.makeWeakCache();
+		cache.registerClass(Foo.class);
+		cache.startCleanupThread();
+		// second call does nothing
+		cache.startCleanupThread();
+		try {
+			cache.put(Foo.class, 1, new Foo());
+			for (int i = 0; i < 100 && cache.size(Foo.class) > 0; i++) {
+				System.gc();
+				Thread.sleep(10);
+			}
+			assertEquals(0, cache.size(Foo.class));
+		} finally {
+			cache.stopCleanupThread();
+			cache.stopCleanupThread();
+		}
+	}
+
 	@Test
 	public void testWeakGc() throws Exception {
 		Dao<Foo, Integer> dao = createDao(Foo.class, true);
@@ -0,0 +1,221 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class SegmentedLruObjectCacheTest extends BaseObjectCacheTest {
+
+	@Test
+	public void testStuff() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		SegmentedLruObjectCache cache = new SegmentedLruObjectCache(2);
+		dao.setObjectCache(cache);
+
+		Foo foo1 = new Foo();
+		assertEquals(1, dao.create(foo1));
+		assertEquals(1, cache.size(Foo.class));
+		assertSame(foo1, dao.queryForId(foo1.id));
+
+		Foo foo2 = new Foo();
+		assertEquals(1, dao.create(foo2));
+		assertEquals(2, cache.size(Foo.class));
+		assertSame(foo2, dao.queryForId(foo2.id));
+
+		Foo foo3 = new Foo();
+		assertEquals(1, dao.create(foo3));
+		assertEquals(2, cache.size(Foo.class));
+		assertEquals(1, cache.getStatsAll().getEvictionCount());
+		assertSame(foo3, dao.queryForId(foo3.id));
+
+		// one of the first two was ejected
+		Foo result1 = dao.queryForId(foo1.id);
+		Foo result2 = dao.queryForId(foo2.id);
+		assertTrue(result1 != foo1 || result2 != foo2);
+	}
+
+	@Test
+	public void testNotRecentlyUsedEjected() {
+		SegmentedLruObjectCache cache = new SegmentedLruObjectCache(2);
+		cache.registerClass(Foo.class);
+		Foo foo1 = new Foo();
+		Foo foo2 = new Foo();
+		Foo foo3 = new Foo();
+		cache.put(Foo.class, 1, foo1);
+		cache.put(Foo.class, 2, foo2);
+		// this clears the referenced bits and ejects foo1
+		cache.put(Foo.class, 3, foo3);
+		assertNull(cache.get(Foo.class, 1));
+		// now foo3 is used but foo2 is not
+		assertSame(foo3, cache.get(Foo.class, 3));
+		cache.put(Foo.class, 4, new Foo());
+		assertNull(cache.get(Foo.class, 2));
+		assertSame(foo3, cache.get(Foo.class, 3));
+		assertEquals(2, cache.size(Foo.class));
+		assertEquals(2, cache.getStatsAll().getEvictionCount());
+	}
+
+	@Test
+	public void testPerClassCapacity() {
+		SegmentedLruObjectCache cache = new SegmentedLruObjectCache(10);
+		cache.registerClass(Foo.class);
+		cache.registerClass(WithId.class);
+		for (int i = 0; i < 20; i++) {
+			cache.put(Foo.class, i, new Foo());
+			cache.put(WithId.class, i, new WithId());
+		}
+		assertEquals(10, cache.size(Foo.class));
+		assertEquals(10, cache.size(WithId.class));
+		assertEquals(20, cache.sizeAll());
+	}
+
+	@Test
+	public void testSharedCapacity() {
+		SegmentedLruObjectCache cache = SegmentedLruObjectCache.makeSharedCapacityCache(10);
+		cache.registerClass(Foo.class);
+		cache.registerClass(WithId.class);
+		for (int i = 0; i < 20; i++) {
+			cache.put(Foo.class, i, new Foo());
+			cache.put(WithId.class, i, new WithId());
+		}
+		assertEquals(10, cache.sizeAll());
+		assertEquals(10, cache.size(Foo.class) + cache.size(WithId.class));
+		assertEquals(30, cache.getStatsAll().getEvictionCount());
+
+		// same id in different classes is not the same entry
+		Foo foo = new Foo();
+		WithId withId = new WithId();
+		cache.put(Foo.class, 100, foo);
+		cache.put(WithId.class, 100, withId);
+		assertSame(foo, cache.get(Foo.class, 100));
+		assertSame(withId, cache.get(WithId.class, 100));
+
+		cache.clear(Foo.class);
+		assertEquals(0, cache.size(Foo.class));
+		assertSame(withId, cache.get(WithId.class, 100));
+		cache.clearAll();
+		assertEquals(0, cache.sizeAll());
+		assertNull(cache.get(WithId.class, 100));
+	}
+
+	@Test
+	public void testStats() {
+		SegmentedLruObjectCache cache = new SegmentedLruObjectCache(10);
+		// not registered
+		assertNull(cache.get(Foo.class, 1));
+		assertEquals(0, cache.getStatsAll().getMissCount());
+		cache.registerClass(Foo.class);
+		assertNull(cache.get(Foo.class, 1));
+		Foo foo = new Foo();
+		cache.put(Foo.class, 1, foo);
+		assertSame(foo, cache.get(Foo.class, 1));
+		assertSame(foo, cache.get(Foo.class, 1));
+		assertEquals(2, cache.getStatsAll().getHitCount());
+		assertEquals(1, cache.getStatsAll().getMissCount());
+		assertEquals(0, cache.getStatsAll().getEvictionCount());
+	}
+
+	@Test
+	public void testReplaceAndUpdateId() {
+		SegmentedLruObjectCache cache = new SegmentedLruObjectCache(10);
+		cache.registerClass(Foo.class);
+		Foo foo1 = new Foo();
+		Foo foo2 = new Foo();
+		cache.put(Foo.class, 1, foo1);
+		cache.put(Foo.class, 1, foo2);
+		assertEquals(1, cache.size(Foo.class));
+		assertSame(foo2, cache.get(Foo.class, 1));
+		assertSame(foo2, cache.updateId(Foo.class, 1, 2));
+		assertNull(cache.get(Foo.class, 1));
+		assertSame(foo2, cache.get(Foo.class, 2));
+		assertEquals(1, cache.size(Foo.class));
+		assertNull(cache.updateId(Foo.class, 1, 3));
+		assertNull(cache.updateId(WithId.class, 1, 3));
+		cache.remove(Foo.class, 2);
+		assertEquals(0, cache.size(Foo.class));
+	}
+
+	@Test
+	public void testPutRemoveDoesNotLeak() {
+		SegmentedLruObjectCache cache = new SegmentedLruObjectCache(10);
+		cache.registerClass(Foo.class);
+		Foo foo = new Foo();
+		// removed entries are compacted out of the eviction queue even if the cache never fills
+		for (int i = 0; i < 10000; i++) {
+			cache.put(Foo.class, i, foo);
+			cache.remove(Foo.class, i);
+		}
+		assertEquals(0, cache.size(Foo.class));
+		assertEquals(0, cache.getStatsAll().getEvictionCount());
+	}
+
+	@Test
+	public void testConcurrent() throws Exception {
+		final SegmentedLruObjectCache cache = new SegmentedLruObjectCache(100);
+		cache.registerClass(Foo.class);
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int t = 0; t < 8; t++) {
+			final int offset = t * 1000;
+			Thread thread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int i = 0; i < 1000; i++) {
+							Foo foo = new Foo();
+							cache.put(Foo.class, offset + i, foo);
+							Foo result = cache.get(Foo.class, offset + i);
+							if (result != null && result != foo) {
+								throw new IllegalStateException("got wrong object from the cache");
+							}
+							cache.get(Foo.class, i);
+						}
+					} catch (Throwable th) {
+						failure.set(th);
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertNull(failure.get());
+		// eviction may briefly lag behind but the cache will be close to its capacity
+		assertTrue(cache.size(Foo.class) < 100 * 2);
+	}
+
+	@Test
+	public void testBadCapacity() {
+		assertThrowsExactly(IllegalArgumentException.class, () -> new SegmentedLruObjectCache(0));
+		assertThrowsExactly(IllegalArgumentException.class, () -> SegmentedLruObjectCache.makeSharedCapacityCache(-1));
+	}
+
+	@Test
+	public void testQueryForIdNotSame() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		SegmentedLruObjectCache cache = new SegmentedLruObjectCache(10);
+		dao.setObjectCache(cache);
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+		dao.clearObjectCache();
+		assertNotSame(foo, dao.queryForId(foo.id));
+	}
+
+	@Override
+	protected ObjectCache enableCache(Dao<?, ?> dao) throws Exception {
+		SegmentedLruObjectCache cache = new SegmentedLruObjectCache(100);
+		dao.setObjectCache(cache);
+		return cache;
+	}
+}
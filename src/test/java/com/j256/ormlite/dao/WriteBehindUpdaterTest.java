@@ -0,0 +1,320 @@
+package com.j256.ormlite.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.h2.H2ConnectionSource;
+import com.j256.ormlite.misc.TransactionManager;
+import com.j256.ormlite.support.ConnectionSource;
+
+public class WriteBehindUpdaterTest extends BaseCoreTest {
+
+	private static final long NEVER_MILLIS = 3600 * 1000;
+
+	@Test
+	public void testCoalesce() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+		try (WriteBehindUpdater<Foo, Integer> updater =
+				new WriteBehindUpdater<Foo, Integer>(dao, NEVER_MILLIS, 100);) {
+			for (int i = 1; i <= 100; i++) {
+				Foo update = new Foo();
+				update.id = foo.id;
+				update.val = i;
+				updater.update(update);
+			}
+			assertEquals(1, updater.getPendingCount());
+			assertEquals(100, updater.getUpdateCount());
+			assertEquals(99, updater.getCoalescedCount());
+			// not written yet
+			assertEquals(0, dao.queryForId(foo.id).val);
+
+			assertEquals(1, updater.flush());
+			assertEquals(100, dao.queryForId(foo.id).val);
+			assertEquals(0, updater.getPendingCount());
+			assertEquals(1, updater.getFlushCount());
+			assertEquals(1, updater.getFlushedRowCount());
+			// nothing to do
+			assertEquals(0, updater.flush());
+			assertEquals(1, updater.getFlushCount());
+		}
+	}
+
+	@Test
+	public void testMaxPending() throws Exception {
+		// the flushes happen in another thread and the wrapped connection source is not thread-safe
+		ConnectionSource h2ConnectionSource = new H2ConnectionSource();
+		try {
+			Dao<Foo, Integer> dao = createDao(h2ConnectionSource, Foo.class, true);
+			List<Foo> foos = new ArrayList<Foo>();
+			for (int i = 0; i < 10; i++) {
+				Foo foo = new Foo();
+				assertEquals(1, dao.create(foo));
+				foos.add(foo);
+			}
+			try (WriteBehindUpdater<Foo, Integer> updater =
+					new WriteBehindUpdater<Foo, Integer>(dao, NEVER_MILLIS, foos.size());) {
+				for (Foo foo : foos) {
+					foo.val = foo.id * 10;
+					updater.update(foo);
+				}
+				// reaching max-pending kicks off a flush in the background
+				long end = System.currentTimeMillis() + 10000;
+				while (updater.getFlushedRowCount() < foos.size() && System.currentTimeMillis() < end) {
+					Thread.sleep(10);
+				}
+				assertEquals(foos.size(), updater.getFlushedRowCount());
+				for (Foo foo : foos) {
+					assertEquals(foo.id * 10, dao.queryForId(foo.id).val);
+				}
+			}
+		} finally {
+			h2ConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testFlushInterval() throws Exception {
+		ConnectionSource h2ConnectionSource = new H2ConnectionSource();
+		try {
+			Dao<Foo, Integer> dao = createDao(h2ConnectionSource, Foo.class, true);
+			Foo foo = new Foo();
+			assertEquals(1, dao.create(foo));
+			try (WriteBehindUpdater<Foo, Integer> updater = new WriteBehindUpdater<Foo, Integer>(dao, 10, 100);) {
+				foo.val = 123;
+				updater.update(foo);
+				long end = System.currentTimeMillis() + 10000;
+				while (updater.getFlushCount() == 0 && System.currentTimeMillis() < end) {
+					Thread.sleep(10);
+				}
+				assertEquals(1, updater.getFlushCount());
+				assertEquals(123, dao.queryForId(foo.id).val);
+			}
+		} finally {
+			h2ConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testClose() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+		WriteBehindUpdater<Foo, Integer> updater = new WriteBehindUpdater<Foo, Integer>(dao, NEVER_MILLIS, 100);
+		foo.val = 12;
+		updater.update(foo);
+		updater.close();
+		assertEquals(12, dao.queryForId(foo.id).val);
+		assertThrowsExactly(IllegalStateException.class, () -> updater.update(foo));
+	}
+
+	@Test
+	public void testFlushInTransaction() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+		try (WriteBehindUpdater<Foo, Integer> updater =
+				new WriteBehindUpdater<Foo, Integer>(dao, NEVER_MILLIS, 100);) {
+			foo.val = 34;
+			updater.update(foo);
+			assertThrowsExactly(SQLException.class, () -> {
+				TransactionManager.callInTransaction(connectionSource, () -> {
+					assertEquals(1, updater.flush());
+					assertEquals(34, dao.queryForId(foo.id).val);
+					throw new SQLException("rollback");
+				});
+			});
+			// the flush was rolled back along with the transaction
+			assertEquals(0, dao.queryForId(foo.id).val);
+
+			TransactionManager.callInTransaction(connectionSource, () -> {
+				updater.update(foo);
+				return updater.flush();
+			});
+			assertEquals(34, dao.queryForId(foo.id).val);
+		}
+	}
+
+	@Test
+	public void testFlushFailure() throws Exception {
+		// no table so the updates fail
+		Dao<Foo, Integer> dao = createDao(Foo.class, false);
+		try (WriteBehindUpdater<Foo, Integer> updater =
+				new WriteBehindUpdater<Foo, Integer>(dao, NEVER_MILLIS, 100);) {
+			Foo foo = new Foo();
+			foo.id = 1;
+			updater.update(foo);
+			assertThrowsExactly(SQLException.class, () -> updater.flush());
+			assertEquals(1, updater.getFlushFailureCount());
+			// put back to be retried
+			assertEquals(1, updater.getPendingCount());
+
+			Foo newer = new Foo();
+			newer.id = 1;
+			newer.val = 2;
+			updater.update(newer);
+			assertEquals(1, updater.getPendingCount());
+			assertEquals(1, updater.getCoalescedCount());
+
+			createTable(Foo.class, true);
+			assertEquals(1, dao.create(foo));
+			assertEquals(1, updater.flush());
+			assertEquals(2, dao.queryForId(1).val);
+		}
+	}
+
+	@Test
+	public void testPoisonedRow() throws Exception {
+		Dao<Narrow, Integer> dao = createDao(Narrow.class, true);
+		Narrow good1 = createNarrow(dao);
+		Narrow poisoned = createNarrow(dao);
+		Narrow good2 = createNarrow(dao);
+		try (WriteBehindUpdater<Narrow, Integer> updater =
+				new WriteBehindUpdater<Narrow, Integer>(dao, NEVER_MILLIS, 100);) {
+			for (int i = 1; i <= WriteBehindUpdater.MAX_ROW_FAILURES; i++) {
+				good1.stuff = "good1-" + i;
+				updater.update(good1);
+				// too wide for the column
+				poisoned.stuff = "this value is too long";
+				updater.update(poisoned);
+				good2.stuff = "good2-" + i;
+				updater.update(good2);
+				assertThrowsExactly(SQLException.class, () -> updater.flush());
+				// the poisoned row does not hold back the others
+				assertEquals("good1-" + i, dao.queryForId(good1.id).stuff);
+				assertEquals("good2-" + i, dao.queryForId(good2.id).stuff);
+				assertEquals(i * 2, updater.getFlushedRowCount());
+				if (i < WriteBehindUpdater.MAX_ROW_FAILURES) {
+					assertEquals(1, updater.getPendingCount());
+					assertEquals(0, updater.getDroppedRowCount());
+				}
+			}
+			// failed too many times so it is dropped
+			assertEquals(0, updater.getPendingCount());
+			assertEquals(1, updater.getDroppedRowCount());
+			assertEquals(WriteBehindUpdater.MAX_ROW_FAILURES, updater.getFlushFailureCount());
+			assertNull(dao.queryForId(poisoned.id).stuff);
+		}
+	}
+
+	@Test
+	public void testLonePoisonedRow() throws Exception {
+		Dao<Narrow, Integer> dao = createDao(Narrow.class, true);
+		Narrow poisoned = createNarrow(dao);
+		try (WriteBehindUpdater<Narrow, Integer> updater =
+				new WriteBehindUpdater<Narrow, Integer>(dao, NEVER_MILLIS, 100);) {
+			poisoned.stuff = "this value is too long";
+			updater.update(poisoned);
+			for (int i = 1; i <= WriteBehindUpdater.MAX_ROW_FAILURES; i++) {
+				assertThrowsExactly(SQLException.class, () -> updater.flush());
+			}
+			// the only row in the flush still counts its failures and is dropped
+			assertEquals(0, updater.getPendingCount());
+			assertEquals(1, updater.getDroppedRowCount());
+		}
+	}
+
+	@Test
+	public void testUpdateCopied() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo = new Foo();
+		assertEquals(1, dao.create(foo));
+		try (WriteBehindUpdater<Foo, Integer> updater =
+				new WriteBehindUpdater<Foo, Integer>(dao, NEVER_MILLIS, 100);) {
+			foo.val = 1;
+			foo.stringField = "queued";
+			updater.update(foo);
+			// changes after the update is queued are not written
+			foo.val = 2;
+			foo.stringField = "changed";
+			assertEquals(1, updater.flush());
+			Foo result = dao.queryForId(foo.id);
+			assertEquals(1, result.val);
+			assertEquals("queued", result.stringField);
+
+			updater.update(foo);
+			assertEquals(1, updater.flush());
+			assertEquals(2, dao.queryForId(foo.id).val);
+		}
+	}
+
+	@Test
+	public void testVersionField() throws Exception {
+		Dao<VersionFoo, Integer> dao = createDao(VersionFoo.class, true);
+		assertThrowsExactly(IllegalArgumentException.class,
+				() -> new WriteBehindUpdater<VersionFoo, Integer>(dao, NEVER_MILLIS, 100));
+	}
+
+	@Test
+	public void testCloseWithPoisonedRow() throws Exception {
+		Dao<Narrow, Integer> dao = createDao(Narrow.class, true);
+		Narrow good = createNarrow(dao);
+		Narrow poisoned = createNarrow(dao);
+		WriteBehindUpdater<Narrow, Integer> updater = new WriteBehindUpdater<Narrow, Integer>(dao, NEVER_MILLIS, 100);
+		poisoned.stuff = "this value is too long";
+		updater.update(poisoned);
+		good.stuff = "good";
+		updater.update(good);
+		assertThrowsExactly(SQLException.class, () -> updater.close());
+		// the other rows are still written
+		assertEquals("good", dao.queryForId(good.id).stuff);
+		assertNull(dao.queryForId(poisoned.id).stuff);
+	}
+
+	private Narrow createNarrow(Dao<Narrow, Integer> dao) throws SQLException {
+		Narrow narrow = new Narrow();
+		assertEquals(1, dao.create(narrow));
+		return narrow;
+	}
+
+	@Test
+	public void testBadArgs() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		assertThrowsExactly(IllegalArgumentException.class, () -> new WriteBehindUpdater<Foo, Integer>(dao, 0, 1));
+		assertThrowsExactly(IllegalArgumentException.class, () -> new WriteBehindUpdater<Foo, Integer>(dao, 1, 0));
+		Dao<StringId, String> stringDao = createDao(StringId.class, true);
+		try (WriteBehindUpdater<StringId, String> updater =
+				new WriteBehindUpdater<StringId, String>(stringDao, NEVER_MILLIS, 1);) {
+			// no id
+			assertThrowsExactly(SQLException.class, () -> updater.update(new StringId()));
+		}
+	}
+
+	protected static class Narrow {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(width = 10)
+		String stuff;
+
+		public Narrow() {
+		}
+	}
+
+	protected static class VersionFoo {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(version = true)
+		int version;
+
+		public VersionFoo() {
+		}
+	}
+
+	protected static class StringId {
+		@DatabaseField(id = true)
+		String id;
+
+		public StringId() {
+		}
+	}
+}
@@ -14,6 +14,8 @@ import org.junit.jupiter.api.Test;
 
 import com.j256.ormlite.BaseCoreTest;
 import com.j256.ormlite.field.DataPersisterManager;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.table.TableInfo;
 
 public class BaseDatabaseTypeTest extends BaseCoreTest {
 
@@ -49,6 +51,23 @@ public class BaseDatabaseTypeTest extends BaseCoreTest {
 		assertEquals(databaseType.isCreateIfNotExistsSupported(), databaseType.isCreateSchemaIfNotExistsSupported());
 	}
 
+	@Test
+	public void testAppendUpsertStatement() throws Exception {
+		TestDatabaseType databaseType = new TestDatabaseType();
+		assertFalse(databaseType.isUpsertSupported());
+		TableInfo<Foo, Integer> tableInfo = new TableInfo<Foo, Integer>(databaseType, Foo.class);
+		StringBuilder sb = new StringBuilder();
+		databaseType.appendUpsertStatement(sb, "`foo`", tableInfo.getFieldTypes(), tableInfo.getIdField());
+		assertEquals("INSERT INTO `foo` (`id`,`val`,`equal`,`string`) VALUES (?,?,?,?) ON CONFLICT (`id`) "
+				+ "DO UPDATE SET `val` = excluded.`val`, `equal` = excluded.`equal`, `string` = excluded.`string`",
+				sb.toString());
+
+		sb.setLength(0);
+		databaseType.appendUpsertStatement(sb, "`foo`", new FieldType[] { tableInfo.getIdField() },
+				tableInfo.getIdField());
+		assertEquals("INSERT INTO `foo` (`id`) VALUES (?) ON CONFLICT (`id`) DO NOTHING", sb.toString());
+	}
+
 	@Test
 	public void testAppendEscapedEntityName() {
 		StringBuilder sb = new StringBuilder();
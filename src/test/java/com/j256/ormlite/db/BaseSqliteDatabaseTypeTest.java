@@ -67,6 +67,14 @@ public class BaseSqliteDatabaseTypeTest extends BaseCoreTest {
 				dbType.getFieldConverter(DataType.BOOLEAN.getDataPersister(), null).parseDefaultString(null, "true"));
 	}
 
+	@Test
+	public void testMultiRowInsert() {
+		OurSqliteDatabaseType dbType = new OurSqliteDatabaseType();
+		assertTrue(dbType.isMultiRowInsertSupported());
+		assertFalse(dbType.isMultiRowInsertGeneratedKeysSupported());
+		assertEquals(999, dbType.getMaxStatementArguments());
+	}
+
 	@Test
 	public void testDefaultFieldConverter() {
 		OurSqliteDatabaseType dbType = new OurSqliteDatabaseType();
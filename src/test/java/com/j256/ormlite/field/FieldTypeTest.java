@@ -17,6 +17,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Date;
@@ -874,8 +875,104 @@ public class FieldTypeTest extends BaseCoreTest {
 		assertNull(parentResult.foreign.stuff);
 	}
 
+	@Test
+	public void testFieldAccessorFactory() throws Exception {
+		final AtomicBoolean created = new AtomicBoolean();
+		FieldType.setFieldAccessorFactory(new FieldAccessorFactory() {
+			@Override
+			public FieldAccessor createAccessor(Field field, Method getMethod, Method setMethod) {
+				created.set(true);
+				return new ReflectionFieldAccessor(field, getMethod, setMethod);
+			}
+		});
+		try {
+			Field field = LocalFoo.class.getDeclaredField("name");
+			FieldType fieldType = FieldType.createFieldType(databaseType, "foo", field, LocalFoo.class);
+			assertTrue(created.get());
+			LocalFoo foo = new LocalFoo();
+			fieldType.assignField(connectionSource, foo, "bar", false, null);
+			assertEquals("bar", foo.name);
+			assertEquals("bar", fieldType.extractRawJavaFieldValue(foo));
+		} finally {
+			FieldType.setFieldAccessorFactory(null);
+		}
+	}
+
+	@Test
+	public void testFieldAccessorFactoryThrows() throws Exception {
+		FieldType.setFieldAccessorFactory(new FieldAccessorFactory() {
+			@Override
+			public FieldAccessor createAccessor(Field field, Method getMethod, Method setMethod) throws Exception {
+				throw new Exception("no accessor for you");
+			}
+		});
+		try {
+			Field field = LocalFoo.class.getDeclaredField("name");
+			assertThrowsExactly(SQLException.class, () -> {
+				FieldType.createFieldType(databaseType, "foo", field, LocalFoo.class);
+			});
+		} finally {
+			FieldType.setFieldAccessorFactory(null);
+		}
+	}
+
+	@Test
+	public void testFieldAccessorPrimitives() throws Exception {
+		Field field = LocalFoo.class.getDeclaredField("intLong");
+		FieldType fieldType = FieldType.createFieldType(databaseType, "foo", field, LocalFoo.class);
+		LocalFoo foo = new LocalFoo();
+		fieldType.assignField(connectionSource, foo, 123L, false, null);
+		assertEquals(123L, foo.intLong);
+		assertEquals((Long) 123L, fieldType.extractRawJavaFieldValue(foo));
+		// can't assign null or the wrong type to a primitive
+		assertThrowsExactly(SQLException.class, () -> fieldType.assignField(connectionSource, foo, null, false, null));
+		assertThrowsExactly(SQLException.class,
+				() -> fieldType.assignField(connectionSource, foo, "wrong", false, null));
+	}
+
+	@Test
+	public void testFieldAccessorGetSet() throws Exception {
+		Field field = GetSet.class.getDeclaredField("id");
+		FieldType fieldType = FieldType.createFieldType(databaseType, "foo", field, GetSet.class);
+		GetSet getSet = new GetSet();
+		fieldType.assignField(connectionSource, getSet, 10, false, null);
+		assertEquals(10, getSet.id);
+		assertEquals((Integer) 10, fieldType.extractRawJavaFieldValue(getSet));
+	}
+
+	@Test
+	public void testMethodHandleFieldAccessorNotAccessible() throws Exception {
+		Field field = PrivateField.class.getDeclaredField("name");
+		assertThrowsExactly(IllegalAccessException.class, () -> new MethodHandleFieldAccessor(field, null, null));
+		// once access is opened up, it works fine
+		field.setAccessible(true);
+		FieldAccessor accessor = new MethodHandleFieldAccessor(field, null, null);
+		PrivateField privateField = new PrivateField();
+		accessor.setValue(privateField, "bar");
+		assertEquals("bar", accessor.getValue(privateField));
+	}
+
+	@Test
+	public void testMethodHandleFieldAccessor() throws Exception {
+		Field field = LocalFoo.class.getDeclaredField("serial");
+		field.setAccessible(true);
+		FieldAccessor accessor = new MethodHandleFieldAccessor(field, null, null);
+		LocalFoo foo = new LocalFoo();
+		accessor.setValue(foo, 12);
+		assertEquals((Integer) 12, foo.serial);
+		assertEquals(12, accessor.getValue(foo));
+		accessor.setValue(foo, null);
+		assertNull(accessor.getValue(foo));
+		assertThrowsExactly(ClassCastException.class, () -> accessor.setValue(foo, "wrong"));
+	}
+
 	/* ========================================================================================================= */
 
+	protected static class PrivateField {
+		@DatabaseField
+		private String name;
+	}
+
 	protected static class LocalFoo {
 		@DatabaseField
 		String name;
@@ -2,6 +2,8 @@ package com.j256.ormlite.h2;
 
 import java.io.IOException;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Types;
 
@@ -10,6 +12,7 @@ import com.j256.ormlite.field.SqlType;
 import com.j256.ormlite.misc.IOUtils;
 import com.j256.ormlite.support.CompiledStatement;
 import com.j256.ormlite.support.DatabaseResults;
+import com.j256.ormlite.support.GeneratedKeyHolder;
 
 /**
  * H2 compiled statement.
@@ -54,6 +57,32 @@ public class H2CompiledStatement implements CompiledStatement {
 		return preparedStatement.getUpdateCount();
 	}
 
+	@Override
+	public void addBatch() throws SQLException {
+		preparedStatement.addBatch();
+	}
+
+	@Override
+	public int[] runBatch() throws SQLException {
+		return preparedStatement.executeBatch();
+	}
+
+	@Override
+	public void getGeneratedKeys(GeneratedKeyHolder keyHolder) throws SQLException {
+		ResultSet resultSet = preparedStatement.getGeneratedKeys();
+		try {
+			ResultSetMetaData metaData = resultSet.getMetaData();
+			int colN = metaData.getColumnCount();
+			while (resultSet.next()) {
+				for (int colC = 1; colC <= colN; colC++) {
+					keyHolder.addKey(H2DatabaseConnection.getIdColumnData(resultSet, metaData, colC));
+				}
+			}
+		} finally {
+			resultSet.close();
+		}
+	}
+
 	@Override
 	public void close() throws IOException {
 		try {
@@ -87,6 +116,11 @@ public class H2CompiledStatement implements CompiledStatement {
 		preparedStatement.setMaxRows(max);
 	}
 
+	@Override
+	public void setFetchSize(int fetchSize) throws SQLException {
+		preparedStatement.setFetchSize(fetchSize);
+	}
+
 	@Override
 	public void setQueryTimeout(long millis) throws SQLException {
 		preparedStatement.setQueryTimeout(Long.valueOf(millis).intValue() / 1000);
@@ -98,6 +98,18 @@ public class H2DatabaseConnection implements DatabaseConnection {
 		return new H2CompiledStatement(stmt, statement, cacheStore);
 	}
 
+	@Override
+	public CompiledStatement compileInsertStatement(String statement, FieldType[] argFieldTypes,
+			String generatedIdColumnName) throws SQLException {
+		PreparedStatement stmt;
+		if (generatedIdColumnName == null) {
+			stmt = connection.prepareStatement(statement);
+		} else {
+			stmt = connection.prepareStatement(statement, new String[] { generatedIdColumnName });
+		}
+		return new H2CompiledStatement(stmt, statement, false);
+	}
+
 	@Override
 	public int insert(String statement, Object[] args, FieldType[] argFieldTypes, GeneratedKeyHolder keyHolder)
 			throws SQLException {
@@ -233,7 +245,7 @@ public class H2DatabaseConnection implements DatabaseConnection {
 	/**
 	 * Return the id associated with the column.
 	 */
-	private Number getIdColumnData(ResultSet resultSet, ResultSetMetaData metaData, int columnIndex)
+	static Number getIdColumnData(ResultSet resultSet, ResultSetMetaData metaData, int columnIndex)
 			throws SQLException {
 		int typeVal = metaData.getColumnType(columnIndex);
 		switch (typeVal) {
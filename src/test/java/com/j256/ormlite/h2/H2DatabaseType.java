@@ -68,6 +68,38 @@ public class H2DatabaseType extends BaseDatabaseType {
 		throw new IllegalStateException("Offset is part of the LIMIT in database type " + getClass());
 	}
 
+	@Override
+	public boolean isBatchGeneratedKeysSupported() {
+		return true;
+	}
+
+	@Override
+	public boolean isMultiRowInsertSupported() {
+		return true;
+	}
+
+	@Override
+	public boolean isMultiRowInsertGeneratedKeysSupported() {
+		return true;
+	}
+
+	@Override
+	public boolean isUpsertSupported() {
+		return true;
+	}
+
+	@Override
+	public void appendUpsertStatement(StringBuilder sb, String escapedTableName, FieldType[] fieldTypes,
+			FieldType idFieldType) {
+		sb.append("MERGE INTO ").append(escapedTableName).append(" (");
+		appendColumnNames(sb, fieldTypes);
+		sb.append(") KEY (");
+		appendEscapedEntityName(sb, idFieldType.getColumnName());
+		sb.append(") VALUES (");
+		appendArgs(sb, fieldTypes.length);
+		sb.append(')');
+	}
+
 	@Override
 	public boolean isTruncateSupported() {
 		return true;
@@ -0,0 +1,109 @@
+package com.j256.ormlite.h2;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.logger.Logger;
+import com.j256.ormlite.logger.LoggerFactory;
+import com.j256.ormlite.misc.IOUtils;
+import com.j256.ormlite.support.BaseConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+
+/**
+ * H2 connection source which hands out a connection per thread from a simple pool so we can test the multiple
+ * connection code paths.
+ *
+ * @author graywatson
+ */
+public class H2PooledConnectionSource extends BaseConnectionSource {
+
+	private static final Logger logger = LoggerFactory.getLogger(H2PooledConnectionSource.class);
+
+	private final DatabaseType databaseType;
+	private final ConcurrentLinkedQueue<DatabaseConnection> freeConnections =
+			new ConcurrentLinkedQueue<DatabaseConnection>();
+	private final List<DatabaseConnection> allConnections = new ArrayList<DatabaseConnection>();
+	private volatile boolean open = true;
+
+	public H2PooledConnectionSource() throws SQLException {
+		this.databaseType = new H2DatabaseType();
+		databaseType.loadDriver();
+	}
+
+	@Override
+	public DatabaseConnection getReadOnlyConnection(String tableName) throws SQLException {
+		return getReadWriteConnection(tableName);
+	}
+
+	@Override
+	public DatabaseConnection getReadWriteConnection(String tableName) throws SQLException {
+		if (!open) {
+			throw new SQLException("connection source has been closed");
+		}
+		DatabaseConnection saved = getSavedConnection();
+		if (saved != null) {
+			return saved;
+		}
+		DatabaseConnection connection = freeConnections.poll();
+		if (connection == null) {
+			connection = new H2DatabaseConnection(DriverManager.getConnection(H2DatabaseType.DATABASE_URL));
+			synchronized (allConnections) {
+				allConnections.add(connection);
+			}
+		}
+		return connection;
+	}
+
+	@Override
+	public void releaseConnection(DatabaseConnection connection) {
+		if (!isSavedConnection(connection)) {
+			freeConnections.add(connection);
+		}
+	}
+
+	@Override
+	public boolean saveSpecialConnection(DatabaseConnection connection) throws SQLException {
+		return saveSpecial(connection);
+	}
+
+	@Override
+	public void clearSpecialConnection(DatabaseConnection connection) {
+		clearSpecial(connection, logger);
+	}
+
+	@Override
+	public void close() {
+		open = false;
+		freeConnections.clear();
+		synchronized (allConnections) {
+			for (DatabaseConnection connection : allConnections) {
+				IOUtils.closeQuietly(connection);
+			}
+			allConnections.clear();
+		}
+	}
+
+	@Override
+	public void closeQuietly() {
+		close();
+	}
+
+	@Override
+	public DatabaseType getDatabaseType() {
+		return databaseType;
+	}
+
+	@Override
+	public boolean isOpen(String tableName) {
+		return open;
+	}
+
+	@Override
+	public boolean isSingleConnection(String tableName) {
+		return false;
+	}
+}
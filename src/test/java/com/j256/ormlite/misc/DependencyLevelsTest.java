@@ -0,0 +1,163 @@
+package com.j256.ormlite.misc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.j256.ormlite.dao.ForeignCollection;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.field.ForeignCollectionField;
+
+public class DependencyLevelsTest {
+
+	@Test
+	public void testFindLevels() {
+		List<Class<?>> classes = Arrays.asList(Order.class, Item.class, Account.class, Unrelated.class);
+		List<List<Class<?>>> levels = DependencyLevels.findLevels(classes);
+		assertEquals(3, levels.size());
+		assertEquals(Arrays.asList(Account.class, Unrelated.class), levels.get(0));
+		assertEquals(Arrays.asList(Order.class), levels.get(1));
+		assertEquals(Arrays.asList(Item.class), levels.get(2));
+	}
+
+	@Test
+	public void testFindLevelsMissingForeign() {
+		// account isn't in the collection so order doesn't have to wait for it
+		List<List<Class<?>>> levels = DependencyLevels.findLevels(Arrays.asList(Item.class, Order.class));
+		assertEquals(Arrays.asList(Arrays.asList(Order.class), Arrays.asList(Item.class)), levels);
+	}
+
+	@Test
+	public void testFindLevelsLoop() {
+		List<Class<?>> classes = Arrays.asList(LoopOne.class, LoopTwo.class, Account.class, Order.class);
+		List<List<Class<?>>> levels = DependencyLevels.findLevels(classes);
+		assertEquals(4, levels.size());
+		assertEquals(Arrays.asList(Account.class), levels.get(0));
+		assertEquals(Arrays.asList(Order.class), levels.get(1));
+		// the loop is broken up one class at a time
+		assertEquals(Arrays.asList(LoopOne.class), levels.get(2));
+		assertEquals(Arrays.asList(LoopTwo.class), levels.get(3));
+	}
+
+	@Test
+	public void testRunLevels() throws Exception {
+		List<Class<?>> classes = Arrays.asList(Item.class, Order.class, Account.class, Unrelated.class);
+		List<List<Class<?>>> levels = DependencyLevels.findLevels(classes);
+		final List<Class<?>> finished = Collections.synchronizedList(new ArrayList<Class<?>>());
+		DependencyLevels.ClassTask<String> task = new DependencyLevels.ClassTask<String>() {
+			@Override
+			public String call(Class<?> clazz) {
+				finished.add(clazz);
+				return clazz.getSimpleName();
+			}
+		};
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Map<Class<?>, String> results = DependencyLevels.runLevels(levels, executor, task);
+			assertEquals(Arrays.asList(Account.class, Unrelated.class, Order.class, Item.class),
+					new ArrayList<Class<?>>(results.keySet()));
+			assertEquals("Item", results.get(Item.class));
+			// the foreign classes are done before the classes that refer to them
+			assertTrue(finished.indexOf(Account.class) < finished.indexOf(Order.class));
+			assertTrue(finished.indexOf(Order.class) < finished.indexOf(Item.class));
+
+			// no executor runs in this thread
+			finished.clear();
+			results = DependencyLevels.runLevels(levels, null, task);
+			assertEquals(4, results.size());
+			assertEquals(Arrays.asList(Account.class, Unrelated.class, Order.class, Item.class), finished);
+		} finally {
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	public void testRunLevelsFailure() throws Exception {
+		List<List<Class<?>>> levels =
+				DependencyLevels.findLevels(Arrays.asList(Account.class, Unrelated.class, Order.class));
+		final List<Class<?>> finished = Collections.synchronizedList(new ArrayList<Class<?>>());
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			assertThrowsExactly(SQLException.class, () -> DependencyLevels.runLevels(levels, executor, clazz -> {
+				if (clazz == Unrelated.class) {
+					throw new SQLException("problem");
+				}
+				finished.add(clazz);
+				return null;
+			}));
+			// the next level isn't run
+			assertEquals(Arrays.asList(Account.class), finished);
+
+			assertThrowsExactly(IllegalStateException.class,
+					() -> DependencyLevels.runLevels(levels, executor, clazz -> {
+						throw new IllegalStateException("runtime problem");
+					}));
+		} finally {
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		}
+	}
+
+	protected static class Account {
+		@DatabaseField(generatedId = true)
+		int id;
+		@ForeignCollectionField
+		ForeignCollection<Order> orders;
+	}
+
+	protected static class Order {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(foreign = true)
+		Account account;
+		// self references are ignored
+		@DatabaseField(foreign = true)
+		Order parent;
+	}
+
+	protected static class BaseItem {
+		@DatabaseField(foreign = true, foreignAutoRefresh = true)
+		Order order;
+	}
+
+	protected static class Item extends BaseItem {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(foreign = true, persisted = false)
+		Unrelated notPersisted;
+	}
+
+	protected static class Unrelated {
+		@DatabaseField(generatedId = true)
+		int id;
+	}
+
+	protected static class LoopOne {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(foreign = true)
+		LoopTwo two;
+		@DatabaseField(foreign = true)
+		Order order;
+	}
+
+	protected static class LoopTwo {
+		@DatabaseField(generatedId = true)
+		int id;
+		@DatabaseField(foreign = true)
+		LoopOne one;
+	}
+}
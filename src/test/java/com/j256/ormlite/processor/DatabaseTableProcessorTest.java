@@ -0,0 +1,276 @@
+package com.j256.ormlite.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.table.DatabaseTableConfig;
+import com.j256.ormlite.table.GeneratedTableConfig;
+import com.j256.ormlite.table.TableUtils;
+
+public class DatabaseTableProcessorTest extends BaseCoreTest {
+
+	private static final String PACKAGE = "com.j256.ormlite.processor.gen";
+
+	private File outputDir;
+
+	@AfterEach
+	public void deleteOutput() {
+		if (outputDir != null) {
+			deleteRecursively(outputDir);
+		}
+	}
+
+	@Test
+	public void testGeneratedConfig() throws Exception {
+		ClassLoader classLoader = compile(true, //
+				source("BaseEntity", //
+						"public class BaseEntity {", //
+						"  @DatabaseField(generatedId = true) public int id;", //
+						"  @DatabaseField(version = true) long version;", //
+						"}"), //
+				source("Account", //
+						"@DatabaseTable(tableName = \"accounts\")", //
+						"public class Account extends BaseEntity {", //
+						"  public enum Color { RED, BLUE }", //
+						"  @DatabaseField(columnName = \"full_name\", canBeNull = false, width = 100,"
+								+ " defaultValue = \"a \\\"b\\\"\") String name;", //
+						"  @DatabaseField(unknownEnumName = \"RED\") Color color;", //
+						"  @DatabaseField(useGetSet = true) long balance;", //
+						"  @DatabaseField private String secret;", //
+						"  @DatabaseField(persisted = false) String notPersisted;", //
+						"  String notAnnotated;", //
+						"  public long getBalance() { return balance; }", //
+						"  public void setBalance(long balance) { this.balance = balance; }", //
+						"}"));
+		Class<?> accountClass = classLoader.loadClass(PACKAGE + ".Account");
+		Class<?> configClass = classLoader.loadClass(PACKAGE + ".Account" + GeneratedTableConfig.CLASS_NAME_SUFFIX);
+		assertTrue(GeneratedTableConfig.class.isAssignableFrom(configClass));
+		// the base class also gets one
+		classLoader.loadClass(PACKAGE + ".BaseEntity" + GeneratedTableConfig.CLASS_NAME_SUFFIX);
+
+		DatabaseTableConfig<?> tableConfig = DatabaseTableConfig.fromClass(databaseType, accountClass);
+		FieldType[] fieldTypes = tableConfig.getFieldTypes();
+		List<String> fieldNames = new ArrayList<String>();
+		for (FieldType fieldType : fieldTypes) {
+			fieldNames.add(fieldType.getField().getName());
+		}
+		// same order as the reflection: class first and then super-classes
+		assertEquals(Arrays.asList("name", "color", "balance", "secret", "id", "version"), fieldNames);
+		FieldType nameType = fieldTypes[0];
+		assertEquals("full_name", nameType.getColumnName());
+		assertFalse(nameType.isCanBeNull());
+		assertEquals(100, nameType.getWidth());
+		assertEquals("a \"b\"", nameType.getDefaultValue());
+		assertNotNull(nameType.getFieldConfig().getFieldAccessor());
+		assertEquals("RED", fieldTypes[1].getFieldConfig().getUnknownEnumValue().name());
+		// get/set methods and private fields are left to the runtime
+		assertNull(fieldTypes[2].getFieldConfig().getFieldAccessor());
+		assertNull(fieldTypes[3].getFieldConfig().getFieldAccessor());
+		assertTrue(fieldTypes[4].isGeneratedId());
+		assertNotNull(fieldTypes[4].getFieldConfig().getFieldAccessor());
+		assertTrue(fieldTypes[5].isVersion());
+
+		// now run it through a dao
+		testCrud(accountClass);
+	}
+
+	@Test
+	public void testClassLoaderNotHeld() throws Exception {
+		WeakReference<ClassLoader> classLoaderRef = configureInClassLoader();
+		// the generated configs must not keep the class-loader of the classes around
+		for (int i = 0; i < 50 && classLoaderRef.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertNull(classLoaderRef.get());
+	}
+
+	@Test
+	public void testSkipped() throws Exception {
+		ClassLoader classLoader = compile(true, //
+				source("Base", //
+						"public class Base {", //
+						"  @DatabaseField(id = true) String id;", //
+						"}"), //
+				source("Shadow", //
+						"public class Shadow extends Base {", //
+						"  @DatabaseField String id;", //
+						"}"), //
+				source("NoFields", //
+						"@DatabaseTable", //
+						"public class NoFields {", //
+						"  String id;", //
+						"}"), //
+				source("Outer", //
+						"public class Outer {", //
+						"  private static class Hidden {", //
+						"    @DatabaseField(id = true) String id;", //
+						"  }", //
+						"}"));
+		assertConfig(classLoader, "Base", true);
+		assertConfig(classLoader, "Shadow", false);
+		assertConfig(classLoader, "NoFields", false);
+		assertConfig(classLoader, "Outer_Hidden", false);
+	}
+
+	@Test
+	public void testUnknownEnumName() throws Exception {
+		compile(false, //
+				source("BadEnum", //
+						"public class BadEnum {", //
+						"  public enum Color { RED, BLUE }", //
+						"  @DatabaseField(unknownEnumName = \"GREEN\") Color color;", //
+						"}"));
+	}
+
+	private WeakReference<ClassLoader> configureInClassLoader() throws Exception {
+		URLClassLoader classLoader = (URLClassLoader) compile(true, //
+				source("Entity", //
+						"public class Entity {", //
+						"  @DatabaseField(id = true) String id;", //
+						"}"));
+		Class<?> entityClass = classLoader.loadClass(PACKAGE + ".Entity");
+		assertConfig(classLoader, "Entity", true);
+		assertEquals(1, DatabaseTableConfig.fromClass(databaseType, entityClass).getFieldTypes().length);
+		classLoader.close();
+		return new WeakReference<ClassLoader>(classLoader);
+	}
+
+	private <T> void testCrud(Class<T> accountClass) throws Exception {
+		TableUtils.createTable(connectionSource, accountClass);
+		Dao<T, Integer> dao = createDao(accountClass, false);
+		T account = accountClass.getConstructor().newInstance();
+		setField(account, "name", "fred");
+		setField(account, "balance", 123L);
+		setField(account, "secret", "shh");
+		assertEquals(1, dao.create(account));
+		int id = (Integer) getField(account, "id");
+		T result = dao.queryForId(id);
+		assertNotNull(result);
+		assertEquals("fred", getField(result, "name"));
+		assertEquals(123L, getField(result, "balance"));
+		assertEquals("shh", getField(result, "secret"));
+		assertEquals(0L, getField(result, "version"));
+		setField(result, "name", "barney");
+		assertEquals(1, dao.update(result));
+		assertEquals("barney", getField(dao.queryForId(id), "name"));
+		assertEquals(1L, getField(dao.queryForId(id), "version"));
+	}
+
+	private void assertConfig(ClassLoader classLoader, String className, boolean expected) {
+		boolean found;
+		try {
+			classLoader.loadClass(PACKAGE + "." + className + GeneratedTableConfig.CLASS_NAME_SUFFIX);
+			found = true;
+		} catch (ClassNotFoundException e) {
+			found = false;
+		}
+		assertEquals(expected, found, className);
+	}
+
+	private ClassLoader compile(boolean expectSuccess, JavaFileObject... sources) throws Exception {
+		outputDir = Files.createTempDirectory("ormlite-processor").toFile();
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		assertNotNull(compiler, "tests need to be run with a JDK");
+		// the entities only need the ormlite classes
+		String classPath = new File(DatabaseField.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+				.getPath();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		CompilationTask task = compiler.getTask(null, null, diagnostics,
+				Arrays.asList("-classpath", classPath, "-d", outputDir.getPath(), "-source", "8", "-target", "8",
+						"-Xlint:-options"),
+				null, Arrays.asList(sources));
+		task.setProcessors(Collections.singletonList(new DatabaseTableProcessor()));
+		boolean success = task.call();
+		if (success != expectSuccess) {
+			StringBuilder sb = new StringBuilder();
+			for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+				sb.append(diagnostic).append('\n');
+			}
+			assertEquals(expectSuccess, success, sb.toString());
+		}
+		return new URLClassLoader(new URL[] { outputDir.toURI().toURL() }, getClass().getClassLoader());
+	}
+
+	private static JavaFileObject source(String className, String... lines) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("package ").append(PACKAGE).append(";\n");
+		sb.append("import com.j256.ormlite.field.DatabaseField;\n");
+		sb.append("import com.j256.ormlite.table.DatabaseTable;\n");
+		for (String line : lines) {
+			sb.append(line).append('\n');
+		}
+		final String code = sb.toString();
+		URI uri = URI.create("string:///" + PACKAGE.replace('.', '/') + "/" + className + ".java");
+		return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) throws IOException {
+				return code;
+			}
+		};
+	}
+
+	private static Object getField(Object obj, String name) throws Exception {
+		Field field = findField(obj.getClass(), name);
+		return field.get(obj);
+	}
+
+	private static void setField(Object obj, String name, Object value) throws Exception {
+		Field field = findField(obj.getClass(), name);
+		field.set(obj, value);
+	}
+
+	private static Field findField(Class<?> clazz, String name) throws NoSuchFieldException {
+		for (Class<?> classWalk = clazz; classWalk != null; classWalk = classWalk.getSuperclass()) {
+			try {
+				Field field = classWalk.getDeclaredField(name);
+				field.setAccessible(true);
+				return field;
+			} catch (NoSuchFieldException e) {
+				// try the super-class
+			}
+		}
+		throw new NoSuchFieldException(name);
+	}
+
+	private static void deleteRecursively(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				deleteRecursively(child);
+			}
+		}
+		file.delete();
+	}
+}
@@ -0,0 +1,154 @@
+package com.j256.ormlite.stmt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.h2.H2PooledConnectionSource;
+import com.j256.ormlite.stmt.mapped.MappedPreparedStmt;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+
+public class IdRangeSpliteratorTest extends BaseCoreStmtTest {
+
+	@Test
+	public void testSplit() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Set<Integer> ids = createFoos(dao, 100);
+		MappedPreparedStmt<Foo, Integer> preparedStmt =
+				(MappedPreparedStmt<Foo, Integer>) dao.queryBuilder().prepare();
+		DatabaseConnection connection = connectionSource.getReadOnlyConnection(FOO_TABLE_NAME);
+		long[] idRange;
+		try {
+			idRange = preparedStmt.queryIdRange(databaseType, connection);
+		} finally {
+			connectionSource.releaseConnection(connection);
+		}
+		assertNotNull(idRange);
+		assertEquals(99, idRange[1] - idRange[0]);
+
+		StatementExecutor<Foo, Integer> statementExecutor =
+				new StatementExecutor<Foo, Integer>(databaseType, baseFooTableInfo, dao);
+		IdRangeSpliterator<Foo, Integer> spliterator = new IdRangeSpliterator<Foo, Integer>(statementExecutor,
+				connectionSource, preparedStmt, null, idRange[0], idRange[1], 25);
+		try {
+			assertEquals(100, spliterator.estimateSize());
+			List<Spliterator<Foo>> splits = new ArrayList<Spliterator<Foo>>();
+			splits.add(spliterator);
+			for (int i = 0; i < splits.size(); i++) {
+				Spliterator<Foo> split;
+				while ((split = splits.get(i).trySplit()) != null) {
+					splits.add(split);
+				}
+			}
+			assertEquals(4, splits.size());
+			// start reading one of the splits which can then not be split
+			Set<Integer> resultIds = new HashSet<Integer>();
+			for (Spliterator<Foo> split : splits) {
+				assertTrue(split.estimateSize() <= 25);
+				assertTrue(split.tryAdvance(foo -> resultIds.add(foo.id)));
+				assertNull(split.trySplit());
+			}
+			for (Spliterator<Foo> split : splits) {
+				split.forEachRemaining(foo -> assertTrue(resultIds.add(foo.id)));
+				assertEquals(0, split.estimateSize());
+			}
+			assertEquals(ids, resultIds);
+		} finally {
+			spliterator.close();
+		}
+	}
+
+	@Test
+	public void testParallelStream() throws Exception {
+		// the connection source used by the other tests only has a single connection
+		ConnectionSource h2ConnectionSource = new H2PooledConnectionSource();
+		try {
+			Dao<Foo, Integer> dao = createDao(h2ConnectionSource, Foo.class, true);
+			Set<Integer> ids = createFoos(dao, 1000);
+			try (Stream<Foo> stream = dao.parallelStream(dao.queryBuilder().prepare(), 8);) {
+				assertTrue(stream.isParallel());
+				List<Integer> resultIds = stream.map(foo -> foo.id).collect(Collectors.toList());
+				assertEquals(ids.size(), resultIds.size());
+				assertEquals(ids, new HashSet<Integer>(resultIds));
+			}
+			// stop early which leaves some of the ranges open until the stream is closed
+			try (Stream<Foo> stream = dao.parallelStream(dao.queryBuilder().prepare(), 8);) {
+				assertTrue(stream.anyMatch(foo -> foo.id > 0));
+			}
+		} finally {
+			h2ConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testParallelStreamSingleConnection() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Set<Integer> ids = createFoos(dao, 100);
+		assertTrue(connectionSource.isSingleConnection(FOO_TABLE_NAME));
+		try (Stream<Foo> stream = dao.parallelStream(dao.queryBuilder().prepare(), 8);) {
+			assertFalse(stream.isParallel());
+			List<Integer> resultIds = stream.map(foo -> foo.id).collect(Collectors.toList());
+			assertEquals(ids, new HashSet<Integer>(resultIds));
+			assertEquals(ids.size(), resultIds.size());
+		}
+	}
+
+	@Test
+	public void testParallelStreamWhere() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		createFoos(dao, 100);
+		PreparedQuery<Foo> preparedQuery = dao.queryBuilder().where().ge(Foo.VAL_COLUMN_NAME, 50).prepare();
+		try (Stream<Foo> stream = dao.parallelStream(preparedQuery, 4).sequential();) {
+			assertEquals(50, stream.filter(foo -> foo.val >= 50).count());
+		}
+		preparedQuery = dao.queryBuilder().where().ge(Foo.VAL_COLUMN_NAME, 1000).prepare();
+		try (Stream<Foo> stream = dao.parallelStream(preparedQuery, 4);) {
+			assertEquals(0, stream.count());
+		}
+	}
+
+	@Test
+	public void testParallelStreamNoNumericId() throws Exception {
+		Dao<StringId, String> dao = createDao(StringId.class, true);
+		assertThrowsExactly(SQLException.class, () -> dao.parallelStream(dao.queryBuilder().prepare(), 4));
+		Dao<Foo, Integer> fooDao = createDao(Foo.class, true);
+		assertThrowsExactly(IllegalArgumentException.class,
+				() -> fooDao.parallelStream(fooDao.queryBuilder().prepare(), 0));
+	}
+
+	private Set<Integer> createFoos(Dao<Foo, Integer> dao, int num) throws SQLException {
+		Set<Integer> ids = new HashSet<Integer>();
+		for (int i = 0; i < num; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			assertEquals(1, dao.create(foo));
+			ids.add(foo.id);
+		}
+		return ids;
+	}
+
+	protected static class StringId {
+		@DatabaseField(id = true)
+		String id;
+
+		public StringId() {
+		}
+	}
+}
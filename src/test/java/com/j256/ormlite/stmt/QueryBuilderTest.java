@@ -12,8 +12,10 @@ import static org.junit.jupiter.api.Assertions.fail;
 import java.io.Serializable;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
@@ -24,6 +26,7 @@ import com.j256.ormlite.dao.DaoManager;
 import com.j256.ormlite.dao.ForeignCollection;
 import com.j256.ormlite.dao.GenericRawResults;
 import com.j256.ormlite.db.BaseDatabaseType;
+import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.DataType;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.ForeignCollectionField;
@@ -1780,6 +1783,273 @@ public class QueryBuilderTest extends BaseCoreStmtTest {
 
 	/* ======================================================================================================== */
 
+	@Test
+	public void testQueryPage() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		for (int i = 0; i < 20; i++) {
+			Foo foo = new Foo();
+			foo.val = i % 4;
+			foo.equal = i % 3;
+			assertEquals(1, dao.create(foo));
+		}
+		// mixed directions with lots of duplicates so the id is needed to make the order unique
+		assertQueryPages(dao.queryBuilder().orderBy(Foo.VAL_COLUMN_NAME, false).orderBy(Foo.EQUAL_COLUMN_NAME, true),
+				3);
+		assertQueryPages(dao.queryBuilder().orderBy(Foo.EQUAL_COLUMN_NAME, true).orderBy(Foo.ID_COLUMN_NAME, false),
+				7);
+		assertQueryPages(dao.queryBuilder(), 5);
+		assertQueryPages(dao.queryBuilder().orderBy(Foo.VAL_COLUMN_NAME, true), 100);
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.where().ge(Foo.VAL_COLUMN_NAME, 2);
+		assertEquals(10, assertQueryPages(qb.orderBy(Foo.VAL_COLUMN_NAME, false), 4));
+
+		// last page is full but there are no more results
+		Page<Foo> page = dao.queryBuilder().queryPage(null, 10);
+		assertTrue(page.hasNext());
+		page = dao.queryBuilder().queryPage(page.getNextCursor(), 10);
+		assertEquals(10, page.getResults().size());
+		assertFalse(page.hasNext());
+		assertNull(page.getNextCursor());
+	}
+
+	@Test
+	public void testQueryPageNulls() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		for (int i = 0; i < 15; i++) {
+			Foo foo = new Foo();
+			if (i % 3 != 0) {
+				foo.stringField = "str" + (i % 5);
+			}
+			foo.val = i % 2;
+			assertEquals(1, dao.create(foo));
+		}
+		assertQueryPages(dao.queryBuilder().orderBy(Foo.STRING_COLUMN_NAME, true), 2);
+		assertQueryPages(dao.queryBuilder().orderBy(Foo.STRING_COLUMN_NAME, false), 2);
+		assertQueryPages(dao.queryBuilder().orderByNullsFirst(Foo.STRING_COLUMN_NAME, true), 4);
+		assertQueryPages(dao.queryBuilder().orderByNullsFirst(Foo.STRING_COLUMN_NAME, false), 4);
+		assertQueryPages(dao.queryBuilder().orderByNullsLast(Foo.STRING_COLUMN_NAME, true), 3);
+		assertQueryPages(
+				dao.queryBuilder().orderBy(Foo.VAL_COLUMN_NAME, false).orderByNullsLast(Foo.STRING_COLUMN_NAME, false),
+				3);
+	}
+
+	@Test
+	public void testQueryPageNullsOtherDefault() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		for (int i = 0; i < 15; i++) {
+			Foo foo = new Foo();
+			if (i % 3 != 0) {
+				foo.stringField = "str" + (i % 5);
+			}
+			assertEquals(1, dao.create(foo));
+		}
+		// a database type which is wrong about where H2 puts the nulls
+		DatabaseType nullsLastType = new H2DatabaseType() {
+			@Override
+			public boolean isNullsSortedFirst() {
+				return false;
+			}
+		};
+		QueryBuilder<Foo, Integer> qb = new QueryBuilder<Foo, Integer>(nullsLastType, baseFooTableInfo, dao);
+		qb.orderBy(Foo.STRING_COLUMN_NAME, true);
+		List<Foo> paged = new ArrayList<Foo>();
+		String cursor = null;
+		do {
+			Page<Foo> page = qb.queryPage(cursor, 2);
+			paged.addAll(page.getResults());
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+		// the nulls ordering was spelled out so the pages are still in order
+		List<Foo> expected = dao.queryBuilder()
+				.orderByNullsLast(Foo.STRING_COLUMN_NAME, true)
+				.orderBy(Foo.ID_COLUMN_NAME, true)
+				.query();
+		assertEquals(expected, paged);
+		assertNull(paged.get(paged.size() - 1).stringField);
+	}
+
+	@Test
+	public void testArgumentAfterIn() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < 3; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			assertEquals(1, dao.create(foo));
+			foos.add(foo);
+		}
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.where()
+				.in(Foo.ID_COLUMN_NAME, new SelectArg(foos.get(0).id), new SelectArg(foos.get(1).id),
+						new SelectArg(foos.get(2).id))
+				.and()
+				.eq(Foo.VAL_COLUMN_NAME, new SelectArg());
+		PreparedQuery<Foo> preparedQuery = qb.prepare();
+		assertEquals(4, preparedQuery.getNumArgs());
+		// the argument after the IN list is still at index 3
+		preparedQuery.setArgumentHolderValue(3, 2);
+		List<Foo> results = dao.query(preparedQuery);
+		assertEquals(1, results.size());
+		assertEquals(foos.get(2).id, results.get(0).id);
+	}
+
+	@Test
+	public void testQueryPageErrors() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		for (int i = 0; i < 5; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			assertEquals(1, dao.create(foo));
+		}
+		Page<Foo> page = dao.queryBuilder().orderBy(Foo.VAL_COLUMN_NAME, true).queryPage(null, 2);
+		String cursor = page.getNextCursor();
+		assertNotNull(cursor);
+		// cursor from a query with a different number of order-by columns
+		assertThrowsExactly(SQLException.class, () -> dao.queryBuilder().queryPage(cursor, 2));
+		assertThrowsExactly(SQLException.class, () -> dao.queryBuilder().queryPage("not a cursor!", 2));
+		assertThrowsExactly(SQLException.class, () -> dao.queryBuilder().queryPage("AQI", 2));
+		// forged cursors with a huge, negative, or bad value
+		assertThrowsExactly(SQLException.class,
+				() -> dao.queryBuilder().queryPage(forgeCursor(1, 1, 0x7f, 0xff, 0xff, 0xff, 'a'), 2));
+		assertThrowsExactly(SQLException.class,
+				() -> dao.queryBuilder().queryPage(forgeCursor(1, 1, 0x80, 0, 0, 0, 'a'), 2));
+		assertThrowsExactly(SQLException.class,
+				() -> dao.queryBuilder().queryPage(forgeCursor(1, 1, 0, 0, 0, 2, 'a'), 2));
+		assertThrowsExactly(SQLException.class, () -> dao.queryBuilder().queryPage(forgeCursor(12, 0, 0, 0, 0), 2));
+		assertThrowsExactly(IllegalArgumentException.class, () -> dao.queryBuilder().queryPage(null, 0));
+		assertThrowsExactly(SQLException.class,
+				() -> dao.queryBuilder().orderByRaw(Foo.VAL_COLUMN_NAME).queryPage(null, 2));
+		assertThrowsExactly(SQLException.class, () -> dao.queryBuilder().offset(1L).queryPage(null, 2));
+		Dao<NoId, Void> noIdDao = createDao(NoId.class, true);
+		assertThrowsExactly(SQLException.class, () -> noIdDao.queryBuilder().queryPage(null, 2));
+
+		// the query builder is restored afterwards
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder().orderBy(Foo.VAL_COLUMN_NAME, false).limit(3L);
+		String statement = qb.prepareStatementString();
+		assertEquals(2, qb.queryPage(null, 2).getResults().size());
+		assertEquals(statement, qb.prepareStatementString());
+		assertEquals(3, qb.query().size());
+	}
+
+	@Test
+	public void testSelectInto() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		for (int i = 0; i < 5; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			foo.equal = i * 10;
+			foo.stringField = (i == 2 ? null : "str" + i);
+			assertEquals(1, dao.create(foo));
+		}
+
+		QueryBuilder<Foo, Integer> qb = dao.queryBuilder();
+		qb.selectColumns(Foo.VAL_COLUMN_NAME, Foo.STRING_COLUMN_NAME).orderBy(Foo.VAL_COLUMN_NAME, true);
+		qb.where().ge(Foo.VAL_COLUMN_NAME, new SelectArg(1));
+		List<ValString> valStrings = qb.selectInto(ValString.class);
+		assertEquals(4, valStrings.size());
+		for (int i = 0; i < valStrings.size(); i++) {
+			ValString valString = valStrings.get(i);
+			assertEquals(i + 1, valString.val);
+			assertEquals((i + 1 == 2 ? null : "str" + (i + 1)), valString.string);
+		}
+		// the query builder still returns entities with the id
+		List<Foo> foos = qb.query();
+		assertEquals(4, foos.size());
+		assertTrue(foos.get(0).id != 0);
+
+		// fields matched by name
+		List<EqualVal> equalVals = dao.queryBuilder()
+				.selectColumns(Foo.EQUAL_COLUMN_NAME, Foo.VAL_COLUMN_NAME)
+				.orderBy(Foo.VAL_COLUMN_NAME, false)
+				.limit(2L)
+				.selectInto(EqualVal.class);
+		assertEquals(2, equalVals.size());
+		assertEquals(4, equalVals.get(0).val);
+		assertEquals(40, equalVals.get(0).equal);
+		assertEquals(3, equalVals.get(1).val);
+
+		// all columns
+		List<AllFoo> allFoos = dao.queryBuilder().orderBy(Foo.ID_COLUMN_NAME, true).selectInto(AllFoo.class);
+		assertEquals(5, allFoos.size());
+		assertEquals(foos.get(0).id, allFoos.get(1).id);
+		assertEquals(10, allFoos.get(1).equal);
+
+		assertThrowsExactly(SQLException.class,
+				() -> dao.queryBuilder().selectColumns(Foo.VAL_COLUMN_NAME).selectInto(ValString.class));
+		assertThrowsExactly(SQLException.class,
+				() -> dao.queryBuilder().selectColumns(Foo.STRING_COLUMN_NAME, Foo.VAL_COLUMN_NAME).selectInto(
+						ValString.class));
+		assertThrowsExactly(SQLException.class, () -> dao.queryBuilder().selectRaw("COUNT(*)").selectInto(
+				ValString.class));
+
+		// the mappers are cached with the dao's table information
+		Map<Object, ProjectionMapper<?>> mapperCache = dao.getTableInfo().getProjectionMapperCache();
+		assertEquals(3, mapperCache.size());
+		qb.selectInto(ValString.class);
+		assertEquals(3, mapperCache.size());
+	}
+
+	/**
+	 * Create a version 1 cursor with one value of the type followed by the bytes.
+	 */
+	private String forgeCursor(int type, int... bytes) {
+		byte[] cursor = new byte[bytes.length + 3];
+		cursor[0] = 1;
+		cursor[1] = 1;
+		cursor[2] = (byte) type;
+		for (int i = 0; i < bytes.length; i++) {
+			cursor[i + 3] = (byte) bytes[i];
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor);
+	}
+
+	/**
+	 * Page through the query and make sure we get the same results as the query ordered by the id at the end. Returns
+	 * the number of results.
+	 */
+	private int assertQueryPages(QueryBuilder<Foo, Integer> qb, long pageSize) throws SQLException {
+		List<Foo> paged = new ArrayList<Foo>();
+		String cursor = null;
+		do {
+			Page<Foo> page = qb.queryPage(cursor, pageSize);
+			assertTrue(page.getResults().size() <= pageSize);
+			paged.addAll(page.getResults());
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+		List<Foo> expected = qb.orderBy(Foo.ID_COLUMN_NAME, true).query();
+		assertEquals(expected, paged);
+		return paged.size();
+	}
+
+	protected static class ValString {
+		final int val;
+		final String string;
+
+		public ValString(int val, String string) {
+			this.val = val;
+			this.string = string;
+		}
+	}
+
+	protected static class EqualVal {
+		int equal;
+		int val;
+	}
+
+	protected static class AllFoo {
+		final int id;
+		final int val;
+		final int equal;
+		final String stringField;
+
+		private AllFoo(int id, int val, int equal, String stringField) {
+			this.id = id;
+			this.val = val;
+			this.equal = equal;
+			this.stringField = stringField;
+		}
+	}
+
 	private static class TestObject {
 		@DatabaseField
 		private String testColumn;
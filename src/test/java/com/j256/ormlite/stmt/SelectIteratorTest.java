@@ -70,6 +70,48 @@ public class SelectIteratorTest extends BaseCoreStmtTest {
 		assertNull(iterator.nextThrow());
 	}
 
+	@Test
+	public void testReadAhead() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < 7; i++) {
+			Foo foo = new Foo();
+			assertEquals(1, dao.create(foo));
+			foos.add(foo);
+		}
+
+		PreparedQuery<Foo> query = dao.queryBuilder().readAheadSize(3).orderBy(Foo.ID_COLUMN_NAME, true).prepare();
+		CloseableIterator<Foo> iterator = dao.iterator(query);
+		try {
+			for (Foo foo : foos) {
+				assertTrue(iterator.hasNext());
+				assertTrue(iterator.hasNext());
+				Foo result = iterator.next();
+				assertEquals(foo.id, result.id);
+				assertEquals(foo.id, iterator.current().id);
+			}
+			assertFalse(iterator.hasNext());
+			assertNull(iterator.nextThrow());
+		} finally {
+			iterator.close();
+		}
+
+		// remove the first one and then start over at the front, the scrolled results do not see the delete
+		iterator = dao.iterator(query, ResultSet.TYPE_SCROLL_INSENSITIVE);
+		try {
+			assertEquals(foos.get(0).id, iterator.next().id);
+			iterator.remove();
+			assertEquals(foos.get(1).id, iterator.next().id);
+			// the buffered rows are dropped and the results are moved back to the front
+			assertEquals(foos.get(0).id, iterator.first().id);
+			assertEquals(foos.get(1).id, iterator.next().id);
+		} finally {
+			iterator.close();
+		}
+		assertEquals(foos.size() - 1, dao.countOf());
+		assertEquals(foos.size() - 1, dao.query(query).size());
+	}
+
 	@Test
 	public void testIteratorRemoveNoNext() throws Exception {
 		Dao<Foo, Object> dao = createDao(Foo.class, true);
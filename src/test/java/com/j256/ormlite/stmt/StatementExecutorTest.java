@@ -13,6 +13,8 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -23,6 +25,7 @@ import com.j256.ormlite.dao.DaoManager;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.h2.H2ConnectionSource;
+import com.j256.ormlite.h2.H2DatabaseType;
 import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.logger.LoggerFactory;
 import com.j256.ormlite.misc.TransactionManager;
@@ -340,11 +343,87 @@ public class StatementExecutorTest extends BaseCoreStmtTest {
 		assertNull(cs.getSpecialConnection(dao.getTableName()));
 	}
 
+	@Test
+	public void testCreateOrUpdateCollectionNoUpsert() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		DatabaseType noUpsertType = new NoUpsertDatabaseType();
+		StatementExecutor<Foo, Integer> statementExec = new StatementExecutor<Foo, Integer>(noUpsertType,
+				new TableInfo<Foo, Integer>(noUpsertType, Foo.class), dao);
+		List<Foo> foos = new ArrayList<Foo>();
+		for (int i = 0; i < 3; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			assertEquals(1, dao.create(foo));
+			foo.val = i + 100;
+			foos.add(foo);
+		}
+		Foo missing = new Foo();
+		missing.id = 1000;
+		missing.val = 200;
+		foos.add(missing);
+		Foo created = new Foo();
+		created.val = 300;
+		foos.add(created);
+
+		DatabaseConnection conn = connectionSource.getReadWriteConnection(FOO_TABLE_NAME);
+		try {
+			// the ids are probed 2 at a time
+			assertEquals(foos.size(), statementExec.createOrUpdateAll(conn, foos, null, 2));
+		} finally {
+			connectionSource.releaseConnection(conn);
+		}
+		assertEquals(foos.size(), dao.countOf());
+		for (Foo foo : foos) {
+			assertEquals(foo.val, dao.queryForId(foo.id).val);
+		}
+	}
+
+	@Test
+	public void testCreateOrUpdateCollectionDuplicateIds() throws Exception {
+		Dao<WithId, Integer> dao = createDao(WithId.class, true);
+		DatabaseType noUpsertType = new NoUpsertDatabaseType();
+		StatementExecutor<WithId, Integer> statementExec = new StatementExecutor<WithId, Integer>(noUpsertType,
+				new TableInfo<WithId, Integer>(noUpsertType, WithId.class), dao);
+		WithId first = new WithId();
+		first.id = 1000;
+		first.stuff = "first";
+		WithId second = new WithId();
+		second.id = 1000;
+		second.stuff = "second";
+		DatabaseConnection conn = connectionSource.getReadWriteConnection(dao.getTableName());
+		try {
+			// the first is created and then the second is an update
+			assertEquals(2, statementExec.createOrUpdateAll(conn, Arrays.asList(first, second), null, 10));
+		} finally {
+			connectionSource.releaseConnection(conn);
+		}
+		assertEquals(1, dao.countOf());
+		assertEquals("second", dao.queryForId(1000).stuff);
+	}
+
 	protected static class NoId {
 		@DatabaseField
 		String stuff;
 	}
 
+	protected static class WithId {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField
+		String stuff;
+	}
+
+	private static class NoUpsertDatabaseType extends H2DatabaseType {
+		public NoUpsertDatabaseType() throws SQLException {
+			super();
+		}
+
+		@Override
+		public boolean isUpsertSupported() {
+			return false;
+		}
+	}
+
 	private static class SpecialConnectionSource extends BaseConnectionSource {
 
 		private Logger logger = LoggerFactory.getLogger(getClass());
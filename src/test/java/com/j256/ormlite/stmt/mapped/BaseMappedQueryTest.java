@@ -78,6 +78,32 @@ public class BaseMappedQueryTest extends BaseCoreStmtTest {
 		verify(results, objectCache);
 	}
 
+	@Test
+	public void testMappedQueryColumnPositionsReused() throws Exception {
+		Field field = Foo.class.getDeclaredField(Foo.ID_COLUMN_NAME);
+		String tableName = "basefoo";
+		Dao<Foo, Integer> dao = createDao(Foo.class, false);
+		FieldType[] resultFieldTypes =
+				new FieldType[] { FieldType.createFieldType(databaseType, tableName, field, Foo.class) };
+		BaseMappedQuery<Foo, Integer> baseMappedQuery = new BaseMappedQuery<Foo, Integer>(dao, baseFooTableInfo,
+				"select * from " + tableName, new FieldType[0], resultFieldTypes) {
+		};
+		DatabaseResults results = createMock(DatabaseResults.class);
+		int colN = 1;
+		expect(results.getObjectCacheForRetrieve()).andReturn(null).times(2);
+		expect(results.getObjectCacheForStore()).andReturn(null).times(2);
+		// column is only looked up on the first row
+		expect(results.findColumn(Foo.ID_COLUMN_NAME)).andReturn(colN);
+		int id1 = 63365;
+		expect(results.getInt(colN)).andReturn(id1);
+		int id2 = 63366;
+		expect(results.getInt(colN)).andReturn(id2);
+		replay(results);
+		assertEquals(id1, baseMappedQuery.mapRow(results).id);
+		assertEquals(id2, baseMappedQuery.mapRow(results).id);
+		verify(results);
+	}
+
 	@Test
 	public void testInnerQueryCacheLookup() throws Exception {
 		Dao<Foo, Object> fooDao = createDao(Foo.class, true);
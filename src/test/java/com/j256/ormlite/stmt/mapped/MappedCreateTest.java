@@ -1,6 +1,7 @@
 package com.j256.ormlite.stmt.mapped;
 
 import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.expectLastCall;
 import static org.easymock.EasyMock.getCurrentArguments;
@@ -15,7 +16,10 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.easymock.IAnswer;
 import org.junit.jupiter.api.Test;
@@ -26,8 +30,11 @@ import com.j256.ormlite.db.BaseDatabaseType;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.field.SqlType;
+import com.j256.ormlite.h2.H2DatabaseType;
 import com.j256.ormlite.stmt.BaseCoreStmtTest;
 import com.j256.ormlite.stmt.StatementExecutor;
+import com.j256.ormlite.support.CompiledStatement;
 import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.support.GeneratedKeyHolder;
 import com.j256.ormlite.table.DatabaseTable;
@@ -369,6 +376,191 @@ public class MappedCreateTest extends BaseCoreStmtTest {
 		assertFalse(update.readOnly.equals(result.readOnly));
 	}
 
+	@Test
+	public void testInsertBatch() throws Exception {
+		Dao<GeneratedId, Integer> dao = createDao(GeneratedId.class, true);
+		dao.setCreateBatchSize(3);
+		List<GeneratedId> genIds = new ArrayList<GeneratedId>();
+		for (int i = 0; i < 10; i++) {
+			GeneratedId genId = new GeneratedId();
+			genId.stuff = "stuff" + i;
+			genIds.add(genId);
+		}
+		assertEquals(genIds.size(), dao.create(genIds));
+		for (GeneratedId genId : genIds) {
+			GeneratedId result = dao.queryForId(genId.genId);
+			assertNotNull(result);
+			assertEquals(genId.stuff, result.stuff);
+		}
+		assertEquals(genIds.size(), dao.countOf());
+	}
+
+	@Test
+	public void testInsertBatchForeignAutoCreate() throws Exception {
+		Dao<ForeignAutoCreate, Long> foreignAutoCreateDao = createDao(ForeignAutoCreate.class, true);
+		Dao<ForeignAutoCreateForeign, Long> foreignAutoCreateForeignDao =
+				createDao(ForeignAutoCreateForeign.class, true);
+		List<ForeignAutoCreate> foos = new ArrayList<ForeignAutoCreate>();
+		for (int i = 0; i < 5; i++) {
+			ForeignAutoCreate foo = new ForeignAutoCreate();
+			foo.foreign = new ForeignAutoCreateForeign();
+			foo.foreign.stuff = "stuff" + i;
+			foos.add(foo);
+		}
+		assertEquals(foos.size(), foreignAutoCreateDao.create(foos));
+		assertEquals(foos.size(), foreignAutoCreateForeignDao.countOf());
+		for (ForeignAutoCreate foo : foos) {
+			ForeignAutoCreate result = foreignAutoCreateDao.queryForId((long) foo.id);
+			assertNotNull(result);
+			assertEquals(foo.foreign.id, result.foreign.id);
+		}
+	}
+
+	@Test
+	public void testInsertBatchAllowGeneratedIdInsert() throws Exception {
+		Dao<AllowGeneratedIdInsert, Integer> dao = createDao(AllowGeneratedIdInsert.class, true);
+		AllowGeneratedIdInsert foo1 = new AllowGeneratedIdInsert();
+		AllowGeneratedIdInsert foo2 = new AllowGeneratedIdInsert();
+		foo2.id = 10002;
+		// these can't be batched because they need different statements
+		assertEquals(2, dao.create(Arrays.asList(foo1, foo2)));
+		assertNotNull(dao.queryForId(foo1.id));
+		assertNotNull(dao.queryForId(foo2.id));
+	}
+
+	@Test
+	public void testInsertBatchGeneratedKeysNotSupported() throws Exception {
+		DatabaseType databaseType = new NoBatchKeysDatabaseType();
+		TableInfo<GeneratedId, Integer> tableInfo =
+				new TableInfo<GeneratedId, Integer>(databaseType, GeneratedId.class);
+		Dao<GeneratedId, Integer> dao = createDao(GeneratedId.class, false);
+		MappedCreate<GeneratedId, Integer> mappedCreate = MappedCreate.build(dao, tableInfo);
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		final AtomicInteger keyCount = new AtomicInteger();
+		expect(conn.insert(isA(String.class), isA(Object[].class), isA(FieldType[].class),
+				isA(GeneratedKeyHolder.class))).andAnswer(new IAnswer<Integer>() {
+					@Override
+					public Integer answer() throws Throwable {
+						GeneratedKeyHolder holder = (GeneratedKeyHolder) getCurrentArguments()[3];
+						holder.addKey(keyCount.incrementAndGet());
+						return 1;
+					}
+				}).times(2);
+		replay(conn);
+		GeneratedId genId1 = new GeneratedId();
+		GeneratedId genId2 = new GeneratedId();
+		// falls back to inserting one at a time
+		assertEquals(2, mappedCreate.insertBatch(databaseType, conn, Arrays.asList(genId1, genId2), null, 100));
+		verify(conn);
+		assertEquals(1, genId1.genId);
+		assertEquals(2, genId2.genId);
+	}
+
+	@Test
+	public void testInsertBatchKeysMismatch() throws Exception {
+		DatabaseType databaseType = new NoMultiRowDatabaseType();
+		TableInfo<GeneratedId, Integer> tableInfo =
+				new TableInfo<GeneratedId, Integer>(databaseType, GeneratedId.class);
+		Dao<GeneratedId, Integer> dao = createDao(GeneratedId.class, false);
+		MappedCreate<GeneratedId, Integer> mappedCreate = MappedCreate.build(dao, tableInfo);
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		CompiledStatement stmt = createMock(CompiledStatement.class);
+		expect(conn.compileInsertStatement(isA(String.class), isA(FieldType[].class), isA(String.class)))
+				.andReturn(stmt);
+		stmt.setObject(0, null, SqlType.STRING);
+		expectLastCall().times(2);
+		stmt.addBatch();
+		expectLastCall().times(2);
+		expect(stmt.runBatch()).andReturn(new int[] { 1, 1 });
+		stmt.getGeneratedKeys(isA(GeneratedKeyHolder.class));
+		expectLastCall().andAnswer(new IAnswer<Object>() {
+			@Override
+			public Object answer() throws Throwable {
+				GeneratedKeyHolder holder = (GeneratedKeyHolder) getCurrentArguments()[0];
+				// only one key for two rows
+				holder.addKey(1);
+				return null;
+			}
+		});
+		stmt.close();
+		replay(conn, stmt);
+		assertThrowsExactly(SQLException.class, () -> {
+			mappedCreate.insertBatch(databaseType, conn, Arrays.asList(new GeneratedId(), new GeneratedId()), null,
+					100);
+		});
+		verify(conn, stmt);
+	}
+
+	@Test
+	public void testInsertJdbcBatch() throws Exception {
+		DatabaseType databaseType = new NoMultiRowDatabaseType();
+		Dao<GeneratedId, Integer> dao = createDao(GeneratedId.class, true);
+		MappedCreate<GeneratedId, Integer> mappedCreate =
+				MappedCreate.build(dao, new TableInfo<GeneratedId, Integer>(databaseType, GeneratedId.class));
+		List<GeneratedId> genIds = new ArrayList<GeneratedId>();
+		for (int i = 0; i < 10; i++) {
+			GeneratedId genId = new GeneratedId();
+			genId.stuff = "stuff" + i;
+			genIds.add(genId);
+		}
+		DatabaseConnection conn = connectionSource.getReadWriteConnection(FOO_TABLE_NAME);
+		try {
+			assertEquals(genIds.size(), mappedCreate.insertBatch(databaseType, conn, genIds, null, 4));
+		} finally {
+			connectionSource.releaseConnection(conn);
+		}
+		for (GeneratedId genId : genIds) {
+			GeneratedId result = dao.queryForId(genId.genId);
+			assertNotNull(result);
+			assertEquals(genId.stuff, result.stuff);
+		}
+	}
+
+	@Test
+	public void testMultiRowStatement() throws Exception {
+		Dao<GeneratedId, Integer> dao = createDao(GeneratedId.class, false);
+		MappedCreate<GeneratedId, Integer> mappedCreate =
+				MappedCreate.build(dao, new TableInfo<GeneratedId, Integer>(databaseType, GeneratedId.class));
+		assertEquals("INSERT INTO `generatedid` (`stuff` ) VALUES (?)", mappedCreate.getMultiRowStatement(1));
+		assertEquals("INSERT INTO `generatedid` (`stuff` ) VALUES (?),(?),(?)", mappedCreate.getMultiRowStatement(3));
+	}
+
+	@Test
+	public void testInsertMultiRowMaxArguments() throws Exception {
+		DatabaseType databaseType = new MaxArgumentsDatabaseType();
+		Dao<GeneratedId, Integer> dao = createDao(GeneratedId.class, true);
+		MappedCreate<GeneratedId, Integer> mappedCreate =
+				MappedCreate.build(dao, new TableInfo<GeneratedId, Integer>(databaseType, GeneratedId.class));
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		final AtomicInteger keyCount = new AtomicInteger();
+		IAnswer<Integer> answer = new IAnswer<Integer>() {
+			@Override
+			public Integer answer() throws Throwable {
+				Object[] args = (Object[]) getCurrentArguments()[1];
+				GeneratedKeyHolder holder = (GeneratedKeyHolder) getCurrentArguments()[3];
+				for (int i = 0; i < args.length; i++) {
+					holder.addKey(keyCount.incrementAndGet());
+				}
+				return args.length;
+			}
+		};
+		// 5 rows with a maximum of 2 arguments is 2 inserts of 2 rows and then 1 row
+		expect(conn.insert(eq(mappedCreate.getMultiRowStatement(2)), isA(Object[].class), isA(FieldType[].class),
+				isA(GeneratedKeyHolder.class))).andAnswer(answer).times(2);
+		expect(conn.insert(eq(mappedCreate.getMultiRowStatement(1)), isA(Object[].class), isA(FieldType[].class),
+				isA(GeneratedKeyHolder.class))).andAnswer(answer);
+		replay(conn);
+		List<GeneratedId> genIds = new ArrayList<GeneratedId>();
+		for (int i = 0; i < 5; i++) {
+			genIds.add(new GeneratedId());
+		}
+		assertEquals(genIds.size(), mappedCreate.insertBatch(databaseType, conn, genIds, null, 100));
+		verify(conn);
+		for (int i = 0; i < genIds.size(); i++) {
+			assertEquals(i + 1, genIds.get(i).genId);
+		}
+	}
+
 	/* ================================================================================================= */
 
 	private static class GeneratedId {
@@ -471,6 +663,39 @@ public class MappedCreateTest extends BaseCoreStmtTest {
 		String readOnly;
 	}
 
+	private static class NoMultiRowDatabaseType extends H2DatabaseType {
+		public NoMultiRowDatabaseType() throws SQLException {
+			super();
+		}
+
+		@Override
+		public boolean isMultiRowInsertSupported() {
+			return false;
+		}
+	}
+
+	private static class NoBatchKeysDatabaseType extends NoMultiRowDatabaseType {
+		public NoBatchKeysDatabaseType() throws SQLException {
+			super();
+		}
+
+		@Override
+		public boolean isBatchGeneratedKeysSupported() {
+			return false;
+		}
+	}
+
+	private static class MaxArgumentsDatabaseType extends H2DatabaseType {
+		public MaxArgumentsDatabaseType() throws SQLException {
+			super();
+		}
+
+		@Override
+		public int getMaxStatementArguments() {
+			return 2;
+		}
+	}
+
 	private static class NeedsSequenceDatabaseType extends BaseDatabaseType {
 		@Override
 		protected String[] getDriverClassNames() {
@@ -1,12 +1,22 @@
 package com.j256.ormlite.stmt.mapped;
 
+import static org.easymock.EasyMock.aryEq;
 import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.isA;
 import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 
@@ -14,6 +24,9 @@ import com.j256.ormlite.BaseCoreTest;
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.db.BaseDatabaseType;
 import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.h2.H2ConnectionSource;
+import com.j256.ormlite.h2.H2DatabaseType;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
 import com.j256.ormlite.table.TableInfo;
@@ -35,6 +48,88 @@ public class MappedDeleteCollectionTest extends BaseCoreTest {
 		});
 	}
 
+	@Test
+	public void testDeleteIdsBucketed() throws Exception {
+		ConnectionSource h2ConnectionSource = new H2ConnectionSource(new MaxArgumentsDatabaseType());
+		try {
+			Dao<Foo, Integer> dao = createDao(h2ConnectionSource, Foo.class, false);
+			TableInfo<Foo, Integer> tableInfo = new TableInfo<Foo, Integer>(databaseType, Foo.class);
+			DatabaseConnection databaseConnection = createMock(DatabaseConnection.class);
+			// 7 ids with a maximum of 4 arguments is a chunk of 4 and then a chunk of 3 padded to 4
+			Object[] firstArgs = new Object[] { 1, 2, 3, 4 };
+			Object[] secondArgs = new Object[] { 5, 6, 7, 7 };
+			String statement = "DELETE FROM `foo` WHERE `id` IN (?,?,?,?) ";
+			expect(databaseConnection.delete(eq(statement), aryEq(firstArgs), isA(FieldType[].class))).andReturn(4);
+			expect(databaseConnection.delete(eq(statement), aryEq(secondArgs), isA(FieldType[].class))).andReturn(3);
+			// 3 ids are padded to 4 and 2 ids need no padding
+			expect(databaseConnection.delete(eq(statement), aryEq(new Object[] { 1, 2, 3, 3 }),
+					isA(FieldType[].class))).andReturn(3);
+			expect(databaseConnection.delete(eq("DELETE FROM `foo` WHERE `id` IN (?,?) "),
+					aryEq(new Object[] { 1, 2 }), isA(FieldType[].class))).andReturn(2);
+			replay(databaseConnection);
+			Map<Integer, MappedDeleteCollection<Foo, Integer>> statementCache =
+					new HashMap<Integer, MappedDeleteCollection<Foo, Integer>>();
+			assertEquals(7, MappedDeleteCollection.deleteIds(dao, tableInfo, databaseConnection,
+					Arrays.asList(1, 2, 3, 4, 5, 6, 7), null, statementCache));
+			assertEquals(3, MappedDeleteCollection.deleteIds(dao, tableInfo, databaseConnection,
+					Arrays.asList(1, 2, 3), null, statementCache));
+			assertEquals(2, MappedDeleteCollection.deleteIds(dao, tableInfo, databaseConnection, Arrays.asList(1, 2),
+					null, statementCache));
+			verify(databaseConnection);
+			assertEquals(2, statementCache.size());
+			assertTrue(statementCache.containsKey(4));
+			assertTrue(statementCache.containsKey(2));
+		} finally {
+			h2ConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testDeleteIdsManyChunks() throws Exception {
+		ConnectionSource h2ConnectionSource = new H2ConnectionSource(new MaxArgumentsDatabaseType());
+		try {
+			Dao<Foo, Integer> dao = createDao(h2ConnectionSource, Foo.class, true);
+			List<Integer> ids = new ArrayList<Integer>();
+			for (int i = 0; i < 20; i++) {
+				Foo foo = new Foo();
+				assertEquals(1, dao.create(foo));
+				ids.add(foo.id);
+			}
+			assertEquals(11, dao.deleteIds(ids.subList(0, 11)));
+			assertEquals(9, dao.countOf());
+			assertEquals(9, dao.delete(dao.queryForAll()));
+			assertEquals(0, dao.countOf());
+		} finally {
+			h2ConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testBucketSize() {
+		assertEquals(0, MappedDeleteCollection.bucketSize(0, 0));
+		assertEquals(1, MappedDeleteCollection.bucketSize(1, 0));
+		assertEquals(2, MappedDeleteCollection.bucketSize(2, 0));
+		assertEquals(4, MappedDeleteCollection.bucketSize(3, 0));
+		assertEquals(8, MappedDeleteCollection.bucketSize(5, 0));
+		assertEquals(8, MappedDeleteCollection.bucketSize(8, 0));
+		assertEquals(1024, MappedDeleteCollection.bucketSize(1000, 0));
+		// capped at the maximum
+		assertEquals(999, MappedDeleteCollection.bucketSize(600, 999));
+		assertEquals(512, MappedDeleteCollection.bucketSize(500, 999));
+		assertEquals(1200, MappedDeleteCollection.bucketSize(1200, 999));
+	}
+
+	private static class MaxArgumentsDatabaseType extends H2DatabaseType {
+		public MaxArgumentsDatabaseType() throws SQLException {
+			super();
+		}
+
+		@Override
+		public int getMaxStatementArguments() {
+			return 4;
+		}
+	}
+
 	private static class StubDatabaseType extends BaseDatabaseType {
 		@Override
 		protected String[] getDriverClassNames() {
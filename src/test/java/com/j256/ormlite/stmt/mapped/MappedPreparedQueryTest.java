@@ -1,5 +1,13 @@
 package com.j256.ormlite.stmt.mapped;
 
+import static org.easymock.EasyMock.anyBoolean;
+import static org.easymock.EasyMock.anyInt;
+import static org.easymock.EasyMock.aryEq;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 
@@ -100,6 +108,43 @@ public class MappedPreparedQueryTest extends BaseCoreTest {
 		}
 	}
 
+	@Test
+	public void testFetchSize() throws Exception {
+		Dao<LocalFoo, Integer> fooDao = createDao(LocalFoo.class, true);
+		TableInfo<LocalFoo, Integer> tableInfo = new TableInfo<LocalFoo, Integer>(databaseType, LocalFoo.class);
+		String statement = "select * from " + TABLE_NAME;
+		MappedPreparedStmt<LocalFoo, Integer> preparedQuery =
+				new MappedPreparedStmt<LocalFoo, Integer>(fooDao, tableInfo, statement, new FieldType[0],
+						tableInfo.getFieldTypes(), new ArgumentHolder[0], null, StatementType.SELECT, false);
+		int fetchSize = 100;
+		preparedQuery.setFetchSize(fetchSize);
+
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		CompiledStatement stmt = createMock(CompiledStatement.class);
+		expect(conn.compileStatement(eq(statement), eq(StatementType.SELECT), aryEq(new FieldType[0]), anyInt(),
+				anyBoolean())).andReturn(stmt);
+		stmt.setFetchSize(fetchSize);
+		replay(conn, stmt);
+		assertEquals(stmt, preparedQuery.compile(conn, StatementType.SELECT));
+		verify(conn, stmt);
+	}
+
+	@Test
+	public void testFetchSizeQuery() throws Exception {
+		Dao<LocalFoo, Integer> fooDao = createDao(LocalFoo.class, true);
+		List<LocalFoo> foos = new ArrayList<LocalFoo>();
+		for (int i = 0; i < 10; i++) {
+			LocalFoo foo = new LocalFoo();
+			assertEquals(1, fooDao.create(foo));
+			foos.add(foo);
+		}
+		List<LocalFoo> results = fooDao.queryBuilder().fetchSize(3).orderBy("id", true).query();
+		assertEquals(foos.size(), results.size());
+		for (int i = 0; i < foos.size(); i++) {
+			assertEquals(foos.get(i).id, results.get(i).id);
+		}
+	}
+
 	@Test
 	public void testObjectNoConstructor() {
 		assertThrowsExactly(IllegalArgumentException.class, () -> {
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 
 import com.j256.ormlite.stmt.ArgumentHolder;
 import com.j256.ormlite.stmt.BaseCoreStmtTest;
+import com.j256.ormlite.stmt.SelectArg;
 
 public class InTest extends BaseCoreStmtTest {
 
@@ -42,4 +43,19 @@ public class InTest extends BaseCoreStmtTest {
 		}
 		assertEquals(" " + objList.get(numArgs - 1) + ") ", args[numArgs - 1]);
 	}
+
+	@Test
+	public void testAppendValueArgsNotPadded() throws Exception {
+		List<Object> objList = new ArrayList<Object>();
+		for (int i = 0; i < 5; i++) {
+			objList.add(new SelectArg(i));
+		}
+		In in = new In("foo", numberFieldType, objList, true);
+		StringBuilder sb = new StringBuilder();
+		List<ArgumentHolder> argList = new ArrayList<ArgumentHolder>();
+		in.appendValue(databaseType, sb, argList);
+		// one argument per value so the indexes of the later arguments are not moved
+		assertEquals("(?, ?, ?, ?, ?) ", sb.toString());
+		assertEquals(objList, argList);
+	}
 }
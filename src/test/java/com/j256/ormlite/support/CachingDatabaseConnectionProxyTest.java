@@ -0,0 +1,205 @@
+package com.j256.ormlite.support;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.FieldType;
+import com.j256.ormlite.h2.H2ConnectionSource;
+import com.j256.ormlite.stmt.StatementBuilder.StatementType;
+
+public class CachingDatabaseConnectionProxyTest extends BaseCoreTest {
+
+	private static final FieldType[] noFieldTypes = new FieldType[0];
+
+	@Test
+	public void testDaoOperations() throws Exception {
+		H2ConnectionSource.setDatabaseConnectionProxyFactory(new CachingDatabaseConnectionProxyFactory(10));
+		H2ConnectionSource cs = new H2ConnectionSource();
+		try {
+			Dao<Foo, Integer> dao = createDao(cs, Foo.class, true);
+			Foo foo = new Foo();
+			foo.val = 1;
+			assertEquals(1, dao.create(foo));
+
+			DatabaseConnection conn = cs.getReadOnlyConnection(FOO_TABLE_NAME);
+			cs.releaseConnection(conn);
+			assertTrue(conn instanceof CachingDatabaseConnectionProxy);
+			CachingDatabaseConnectionProxy proxy = (CachingDatabaseConnectionProxy) conn;
+
+			long hitCount = proxy.getHitCount();
+			long missCount = proxy.getMissCount();
+			for (int i = 0; i < 5; i++) {
+				Foo result = dao.queryForId(foo.id);
+				assertNotNull(result);
+				assertEquals(foo.val, result.val);
+			}
+			// the first is a miss and then the rest are hits
+			assertEquals(missCount + 1, proxy.getMissCount());
+			assertEquals(hitCount + 4, proxy.getHitCount());
+
+			foo.val = 2;
+			assertEquals(1, dao.update(foo));
+			foo.val = 3;
+			assertEquals(1, dao.update(foo));
+			assertEquals(foo.val, dao.queryForId(foo.id).val);
+			assertEquals(1, dao.countOf());
+			assertEquals(1, dao.countOf());
+			assertEquals(1, dao.delete(foo));
+			assertNull(dao.queryForId(foo.id));
+			assertEquals(0, dao.countOf());
+			// the update, count, and query-for-id statements were reused
+			assertEquals(hitCount + 4 + 5, proxy.getHitCount());
+		} finally {
+			H2ConnectionSource.setDatabaseConnectionProxyFactory(null);
+			cs.close();
+		}
+	}
+
+	@Test
+	public void testStatementReused() throws Exception {
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		CompiledStatement stmt = createMock(CompiledStatement.class);
+		String statement = "select * from foo";
+		expect(conn.compileStatement(statement, StatementType.SELECT, noFieldTypes,
+				DatabaseConnection.DEFAULT_RESULT_FLAGS, false)).andReturn(stmt);
+		stmt.setMaxRows(10);
+		stmt.setMaxRows(0);
+		stmt.closeQuietly();
+		conn.close();
+		replay(conn, stmt);
+		CachingDatabaseConnectionProxy proxy = new CachingDatabaseConnectionProxy(conn, 10);
+		CompiledStatement cached = proxy.compileStatement(statement, StatementType.SELECT, noFieldTypes,
+				DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
+		cached.setMaxRows(10);
+		cached.close();
+		assertEquals(1, proxy.getCacheSize());
+		CompiledStatement reused = proxy.compileStatement(statement, StatementType.SELECT, noFieldTypes,
+				DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
+		// each use gets its own wrapper of the same statement
+		assertNotSame(cached, reused);
+		assertEquals(0, proxy.getCacheSize());
+		reused.close();
+		assertEquals(1, proxy.getMissCount());
+		assertEquals(1, proxy.getHitCount());
+		proxy.close();
+		assertEquals(0, proxy.getCacheSize());
+		verify(conn, stmt);
+	}
+
+	@Test
+	public void testDoubleClose() throws Exception {
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		CompiledStatement stmt = createMock(CompiledStatement.class);
+		String statement = "select * from foo";
+		expect(conn.compileStatement(statement, StatementType.SELECT, noFieldTypes,
+				DatabaseConnection.DEFAULT_RESULT_FLAGS, false)).andReturn(stmt);
+		// the statement is only closed when the proxy is closed
+		stmt.closeQuietly();
+		conn.close();
+		replay(conn, stmt);
+		CachingDatabaseConnectionProxy proxy = new CachingDatabaseConnectionProxy(conn, 10);
+		CompiledStatement first = proxy.compileStatement(statement, StatementType.SELECT, noFieldTypes,
+				DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
+		first.close();
+		first.close();
+		assertEquals(1, proxy.getCacheSize());
+		CompiledStatement second = proxy.compileStatement(statement, StatementType.SELECT, noFieldTypes,
+				DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
+		assertEquals(0, proxy.getCacheSize());
+		// closing the first again doesn't return the statement while the second is using it
+		first.close();
+		assertEquals(0, proxy.getCacheSize());
+		second.close();
+		assertEquals(1, proxy.getCacheSize());
+		assertEquals(1, proxy.getHitCount());
+		proxy.close();
+		verify(conn, stmt);
+	}
+
+	@Test
+	public void testStatementInUse() throws Exception {
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		CompiledStatement stmt1 = createMock(CompiledStatement.class);
+		CompiledStatement stmt2 = createMock(CompiledStatement.class);
+		String statement = "select * from foo";
+		expect(conn.compileStatement(statement, StatementType.SELECT, noFieldTypes,
+				DatabaseConnection.DEFAULT_RESULT_FLAGS, false)).andReturn(stmt1);
+		expect(conn.compileStatement(statement, StatementType.SELECT, noFieldTypes,
+				DatabaseConnection.DEFAULT_RESULT_FLAGS, false)).andReturn(stmt2);
+		// the second one is closed because the first one is already in the cache
+		stmt2.closeQuietly();
+		replay(conn, stmt1, stmt2);
+		CachingDatabaseConnectionProxy proxy = new CachingDatabaseConnectionProxy(conn, 10);
+		CompiledStatement cached1 = proxy.compileStatement(statement, StatementType.SELECT, noFieldTypes,
+				DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
+		CompiledStatement cached2 = proxy.compileStatement(statement, StatementType.SELECT, noFieldTypes,
+				DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
+		assertNotSame(cached1, cached2);
+		cached1.close();
+		cached2.close();
+		assertEquals(1, proxy.getCacheSize());
+		assertEquals(2, proxy.getMissCount());
+		verify(conn, stmt1, stmt2);
+	}
+
+	@Test
+	public void testEviction() throws Exception {
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		CompiledStatement stmt1 = createMock(CompiledStatement.class);
+		CompiledStatement stmt2 = createMock(CompiledStatement.class);
+		expect(conn.compileStatement("select 1", StatementType.SELECT, noFieldTypes,
+				DatabaseConnection.DEFAULT_RESULT_FLAGS, false)).andReturn(stmt1);
+		expect(conn.compileStatement("select 2", StatementType.SELECT, noFieldTypes,
+				DatabaseConnection.DEFAULT_RESULT_FLAGS, false)).andReturn(stmt2);
+		stmt1.closeQuietly();
+		stmt2.closeQuietly();
+		replay(conn, stmt1, stmt2);
+		CachingDatabaseConnectionProxy proxy = new CachingDatabaseConnectionProxy(conn, 1);
+		proxy.compileStatement("select 1", StatementType.SELECT, noFieldTypes, DatabaseConnection.DEFAULT_RESULT_FLAGS,
+				false).close();
+		proxy.compileStatement("select 2", StatementType.SELECT, noFieldTypes, DatabaseConnection.DEFAULT_RESULT_FLAGS,
+				false).close();
+		assertEquals(1, proxy.getCacheSize());
+		assertEquals(1, proxy.getEvictionCount());
+		proxy.clearStatementCache();
+		assertEquals(0, proxy.getCacheSize());
+		verify(conn, stmt1, stmt2);
+	}
+
+	@Test
+	public void testClosedConnection() throws Exception {
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		CompiledStatement stmt = createMock(CompiledStatement.class);
+		expect(conn.compileStatement("select 1", StatementType.SELECT, noFieldTypes,
+				DatabaseConnection.DEFAULT_RESULT_FLAGS, false)).andReturn(stmt);
+		conn.closeQuietly();
+		stmt.closeQuietly();
+		replay(conn, stmt);
+		CachingDatabaseConnectionProxy proxy = new CachingDatabaseConnectionProxy(conn, 10);
+		CompiledStatement cached = proxy.compileStatement("select 1", StatementType.SELECT, noFieldTypes,
+				DatabaseConnection.DEFAULT_RESULT_FLAGS, false);
+		proxy.closeQuietly();
+		// statement closed after the connection is not cached
+		cached.close();
+		assertEquals(0, proxy.getCacheSize());
+		verify(conn, stmt);
+	}
+
+	@Test
+	public void testBadMaxStatements() {
+		assertThrowsExactly(IllegalArgumentException.class, () -> new CachingDatabaseConnectionProxy(null, 0));
+		assertThrowsExactly(IllegalArgumentException.class, () -> new CachingDatabaseConnectionProxyFactory(0));
+	}
+}
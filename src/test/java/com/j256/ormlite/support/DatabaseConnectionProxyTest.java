@@ -176,6 +176,27 @@ public class DatabaseConnectionProxyTest {
 		proxy.close();
 	}
 
+	@Test
+	public void testCompileInsertStatement() throws Exception {
+		DatabaseConnection conn = createMock(DatabaseConnection.class);
+		String statement = "insert bar";
+		String columnName = "id";
+		expect(conn.compileInsertStatement(statement, null, columnName)).andReturn(null);
+		conn.close();
+		DatabaseConnectionProxy proxy = new DatabaseConnectionProxy(conn);
+		replay(conn);
+		proxy.compileInsertStatement(statement, null, columnName);
+		proxy.close();
+		verify(conn);
+	}
+
+	@Test
+	public void testCompileInsertStatementNull() throws Exception {
+		DatabaseConnectionProxy proxy = new DatabaseConnectionProxy(null);
+		assertNull(proxy.compileInsertStatement("statment", null, null));
+		proxy.close();
+	}
+
 	@Test
 	public void testInsert() throws Exception {
 		DatabaseConnection conn = createMock(DatabaseConnection.class);
@@ -0,0 +1,309 @@
+package com.j256.ormlite.table;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.j256.ormlite.BaseCoreTest;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.field.DataType;
+import com.j256.ormlite.field.DatabaseField;
+import com.j256.ormlite.misc.SqlArgStreamUtils;
+
+public class TableExportUtilsTest extends BaseCoreTest {
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		testRoundTrip(false);
+	}
+
+	@Test
+	public void testRoundTripCompressed() throws Exception {
+		testRoundTrip(true);
+	}
+
+	@Test
+	public void testChannels() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		for (int i = 0; i < 10; i++) {
+			Foo foo = new Foo();
+			foo.val = i;
+			foo.stringField = "str" + i;
+			assertEquals(1, dao.create(foo));
+		}
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		assertEquals(10, TableExportUtils.exportTable(dao, Channels.newChannel(output), true));
+		TableUtils.clearTable(connectionSource, Foo.class);
+		assertEquals(10, TableExportUtils.importTable(dao,
+				Channels.newChannel(new ByteArrayInputStream(output.toByteArray())), 3));
+		List<Foo> results = dao.queryBuilder().orderBy(Foo.VAL_COLUMN_NAME, true).query();
+		assertEquals(10, results.size());
+		for (int i = 0; i < 10; i++) {
+			assertEquals(i, results.get(i).val);
+			assertEquals("str" + i, results.get(i).stringField);
+		}
+	}
+
+	@Test
+	public void testEmptyTable() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		assertEquals(0, TableExportUtils.exportTable(dao, output, false));
+		assertEquals(0, TableExportUtils.importTable(dao, new ByteArrayInputStream(output.toByteArray())));
+		assertEquals(0, dao.countOf());
+	}
+
+	@Test
+	public void testForeign() throws Exception {
+		Dao<Foo, Integer> fooDao = createDao(Foo.class, true);
+		Dao<WithForeign, Integer> dao = createDao(WithForeign.class, true);
+		Foo foo = new Foo();
+		assertEquals(1, fooDao.create(foo));
+		WithForeign withForeign = new WithForeign();
+		withForeign.foo = foo;
+		assertEquals(1, dao.create(withForeign));
+		assertEquals(1, dao.create(new WithForeign()));
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		assertEquals(2, TableExportUtils.exportTable(dao, output, false));
+		TableUtils.clearTable(connectionSource, WithForeign.class);
+		assertEquals(2, TableExportUtils.importTable(dao, new ByteArrayInputStream(output.toByteArray())));
+		List<WithForeign> results = dao.queryBuilder().orderBy("id", true).query();
+		assertEquals(2, results.size());
+		assertNotNull(results.get(0).foo);
+		assertEquals(foo.id, results.get(0).foo.id);
+		assertNull(results.get(1).foo);
+	}
+
+	@Test
+	public void testGeneratedIdsKept() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		Foo foo1 = new Foo();
+		foo1.val = 100;
+		assertEquals(1, dao.create(foo1));
+		Foo foo2 = new Foo();
+		assertEquals(1, dao.create(foo2));
+		Foo foo3 = new Foo();
+		foo3.val = 300;
+		assertEquals(1, dao.create(foo3));
+		assertEquals(1, dao.delete(foo2));
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		assertEquals(2, TableExportUtils.exportTable(dao, output, false));
+		TableUtils.clearTable(connectionSource, Foo.class);
+		// a batch size of 1 so we go through more than one batch
+		assertEquals(2, TableExportUtils.importTable(dao, new ByteArrayInputStream(output.toByteArray()), 1));
+		List<Foo> results = dao.queryBuilder().orderBy(Foo.ID_COLUMN_NAME, true).query();
+		assertEquals(2, results.size());
+		assertEquals(foo1.id, results.get(0).id);
+		assertEquals(foo1.val, results.get(0).val);
+		assertEquals(foo3.id, results.get(1).id);
+		assertEquals(foo3.val, results.get(1).val);
+	}
+
+	@Test
+	public void testBadStream() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		assertThrowsExactly(SQLException.class,
+				() -> TableExportUtils.importTable(dao, new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6 })));
+		// truncated stream
+		assertThrowsExactly(SQLException.class,
+				() -> TableExportUtils.importTable(dao, new ByteArrayInputStream(new byte[] { 1 })));
+		assertThrowsExactly(IllegalArgumentException.class,
+				() -> TableExportUtils.importTable(dao, new ByteArrayInputStream(new byte[0]), 0));
+	}
+
+	@Test
+	public void testColumnMismatch() throws Exception {
+		Dao<Foo, Integer> fooDao = createDao(Foo.class, true);
+		assertEquals(1, fooDao.create(new Foo()));
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		assertEquals(1, TableExportUtils.exportTable(fooDao, output, false));
+		Dao<AllTypes, Integer> dao = createDao(AllTypes.class, true);
+		assertThrowsExactly(SQLException.class,
+				() -> TableExportUtils.importTable(dao, new ByteArrayInputStream(output.toByteArray())));
+		assertEquals(0, dao.countOf());
+	}
+
+	@Test
+	public void testSerializedValueInOtherColumn() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(output);
+		// same header as exportTable writes
+		out.writeInt(0x4F524D4C);
+		out.writeByte(1);
+		out.writeByte(0);
+		out.writeUTF(FOO_TABLE_NAME);
+		out.writeInt(1);
+		out.writeUTF(Foo.STRING_COLUMN_NAME);
+		out.writeByte(1);
+		// a serialized object where a string is expected
+		SqlArgStreamUtils.writeValue(out, new ArrayList<String>());
+		out.writeByte(0);
+		out.flush();
+		assertThrowsExactly(SQLException.class,
+				() -> TableExportUtils.importTable(dao, new ByteArrayInputStream(output.toByteArray())));
+		assertEquals(0, dao.countOf());
+	}
+
+	@Test
+	public void testForgedLengths() throws Exception {
+		Dao<Foo, Integer> dao = createDao(Foo.class, true);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(output);
+		out.writeInt(0x4F524D4C);
+		out.writeByte(1);
+		out.writeByte(0);
+		out.writeUTF(FOO_TABLE_NAME);
+		out.writeInt(1);
+		out.writeUTF(Foo.STRING_COLUMN_NAME);
+		out.writeByte(1);
+		// a string that claims to be huge
+		out.writeByte(1);
+		out.writeInt(Integer.MAX_VALUE);
+		out.flush();
+		assertThrowsExactly(SQLException.class,
+				() -> TableExportUtils.importTable(dao, new ByteArrayInputStream(output.toByteArray())));
+
+		output.reset();
+		out.writeInt(0x4F524D4C);
+		out.writeByte(1);
+		out.writeByte(0);
+		out.writeUTF(FOO_TABLE_NAME);
+		// more columns than the table has
+		out.writeInt(Integer.MAX_VALUE);
+		out.flush();
+		assertThrowsExactly(SQLException.class,
+				() -> TableExportUtils.importTable(dao, new ByteArrayInputStream(output.toByteArray())));
+		assertEquals(0, dao.countOf());
+	}
+
+	private void testRoundTrip(boolean compress) throws Exception {
+		Dao<AllTypes, Integer> dao = createDao(AllTypes.class, true);
+		List<AllTypes> expected = new ArrayList<AllTypes>();
+		for (int i = 0; i < 25; i++) {
+			AllTypes allTypes = new AllTypes();
+			allTypes.id = i + 1;
+			allTypes.stringField = "string é " + i;
+			allTypes.intField = i;
+			allTypes.longField = (1L << 40) + i;
+			allTypes.doubleField = i / 3.0;
+			allTypes.booleanField = (i % 2 == 0);
+			allTypes.charField = (char) ('a' + i);
+			allTypes.dateField = new Date(1000000000L + i * 1000);
+			allTypes.bytesField = new byte[] { 1, 2, (byte) i };
+			allTypes.bigDecimalField = new BigDecimal("123.45" + i);
+			allTypes.uuidField = UUID.randomUUID();
+			allTypes.enumField = (i % 2 == 0 ? OurEnum.FIRST : OurEnum.SECOND);
+			allTypes.serializableField = new SerialField(i);
+			if (i == 0) {
+				allTypes.stringField = null;
+				allTypes.dateField = null;
+				allTypes.uuidField = null;
+			}
+			assertEquals(1, dao.create(allTypes));
+			expected.add(allTypes);
+		}
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		assertEquals(expected.size(), TableExportUtils.exportTable(dao, output, compress));
+		TableUtils.clearTable(connectionSource, AllTypes.class);
+		assertEquals(0, dao.countOf());
+		assertEquals(expected.size(),
+				TableExportUtils.importTable(dao, new ByteArrayInputStream(output.toByteArray()), 10));
+
+		List<AllTypes> results = dao.queryBuilder().orderBy("id", true).query();
+		assertEquals(expected.size(), results.size());
+		for (int i = 0; i < expected.size(); i++) {
+			AllTypes exp = expected.get(i);
+			AllTypes result = results.get(i);
+			assertEquals(exp.id, result.id);
+			assertEquals(exp.stringField, result.stringField);
+			assertEquals(exp.intField, result.intField);
+			assertEquals(exp.longField, result.longField);
+			assertEquals(exp.doubleField, result.doubleField, 0.0);
+			assertEquals(exp.booleanField, result.booleanField);
+			assertEquals(exp.charField, result.charField);
+			assertEquals(exp.dateField, result.dateField);
+			assertArrayEquals(exp.bytesField, result.bytesField);
+			assertEquals(exp.bigDecimalField, result.bigDecimalField);
+			assertEquals(exp.uuidField, result.uuidField);
+			assertEquals(exp.enumField, result.enumField);
+			assertEquals(exp.serializableField.value, result.serializableField.value);
+		}
+	}
+
+	protected static class AllTypes {
+		@DatabaseField(id = true)
+		int id;
+		@DatabaseField
+		String stringField;
+		@DatabaseField
+		int intField;
+		@DatabaseField
+		long longField;
+		@DatabaseField
+		double doubleField;
+		@DatabaseField
+		boolean booleanField;
+		@DatabaseField
+		char charField;
+		@DatabaseField
+		Date dateField;
+		@DatabaseField(dataType = DataType.BYTE_ARRAY)
+		byte[] bytesField;
+		@DatabaseField
+		BigDecimal bigDecimalField;
+		@DatabaseField
+		UUID uuidField;
+		@DatabaseField
+		OurEnum enumField;
+		@DatabaseField(dataType = DataType.SERIALIZABLE)
+		SerialField serializableField;
+
+		public AllTypes() {
+		}
+	}
+
+	protected static class WithForeign {
+		@DatabaseField(generatedId = true, allowGeneratedIdInsert = true)
+		int id;
+		@DatabaseField(foreign = true)
+		Foo foo;
+
+		public WithForeign() {
+		}
+	}
+
+	protected enum OurEnum {
+		FIRST,
+		SECOND,
+		// end
+		;
+	}
+
+	protected static class SerialField implements java.io.Serializable {
+		private static final long serialVersionUID = 5215640271544574439L;
+		int value;
+
+		public SerialField(int value) {
+			this.value = value;
+		}
+	}
+}
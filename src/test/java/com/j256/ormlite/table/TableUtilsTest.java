@@ -16,8 +16,12 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.lang.reflect.Constructor;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.easymock.EasyMock;
@@ -26,10 +30,12 @@ import org.junit.jupiter.api.Test;
 
 import com.j256.ormlite.BaseCoreTest;
 import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
 import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.field.FieldType;
 import com.j256.ormlite.h2.H2DatabaseType;
+import com.j256.ormlite.h2.H2PooledConnectionSource;
 import com.j256.ormlite.stmt.StatementBuilder.StatementType;
 import com.j256.ormlite.support.CompiledStatement;
 import com.j256.ormlite.support.ConnectionSource;
@@ -576,6 +582,49 @@ public class TableUtilsTest extends BaseCoreTest {
 		}
 	}
 
+	@Test
+	public void testCreateTables() throws Exception {
+		List<Class<?>> classes = Arrays.asList(ForeignFoo.class, Foo.class, LocalFoo.class);
+		ConnectionSource pooledConnectionSource = new H2PooledConnectionSource();
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			// 1 create statement each
+			assertEquals(3, TableUtils.createTables(pooledConnectionSource, classes, executor));
+			Dao<ForeignFoo, Integer> foreignDao = DaoManager.createDao(pooledConnectionSource, ForeignFoo.class);
+			assertEquals(0, foreignDao.countOf());
+			// the if-not-exists statements are still run
+			assertEquals(3, TableUtils.createTablesIfNotExists(pooledConnectionSource, classes, executor));
+			// already exist
+			assertThrowsExactly(SQLException.class,
+					() -> TableUtils.createTables(pooledConnectionSource, classes, executor));
+			for (Class<?> clazz : classes) {
+				TableUtils.dropTable(pooledConnectionSource, clazz, false);
+			}
+		} finally {
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+			pooledConnectionSource.close();
+		}
+	}
+
+	@Test
+	public void testCreateTablesSingleConnection() throws Exception {
+		List<Class<?>> classes = Arrays.asList(ForeignFoo.class, Foo.class);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			// the statements are run in this thread since there is only one connection
+			assertEquals(2, TableUtils.createTablesIfNotExists(connectionSource, classes, executor));
+			Dao<Foo, Integer> fooDao = createDao(Foo.class, false);
+			assertEquals(0, fooDao.countOf());
+			for (Class<?> clazz : classes) {
+				TableUtils.dropTable(connectionSource, clazz, false);
+			}
+		} finally {
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		}
+	}
+
 	protected static class LocalFoo {
 		public static final String ID_FIELD_NAME = "id";
 		public static final String NAME_FIELD_NAME = "name";
@@ -644,4 +693,15 @@ public class TableUtilsTest extends BaseCoreTest {
 		public ForeignType() {
 		}
 	}
+
+	protected static class ForeignFoo {
+		@DatabaseField(generatedId = true)
+		int id;
+
+		@DatabaseField(foreign = true)
+		Foo foo;
+
+		public ForeignFoo() {
+		}
+	}
 }